@@ -0,0 +1,136 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limits of one class of requests: a number of call slots with a bounded queue in front of them,
+ * and a share of the connection pool. A call that finds the queue full, or waits longer than the maximum
+ * for a slot or a connection, is rejected with a {@link BulkheadFullException} instead of tying up a
+ * request thread, so saturation of one bulkhead does not spill over into the others.
+ */
+public final class Bulkhead {
+
+    private final BulkheadType type;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final int maxConnections;
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+
+    private final Semaphore calls;
+    private final Semaphore connections;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder rejectedConnections = new LongAdder();
+
+    public Bulkhead(BulkheadType type, BulkheadProperties.Limits limits) {
+        this.type = type;
+        this.maxConcurrent = limits.maxConcurrent();
+        this.maxQueue = limits.maxQueue();
+        this.maxConnections = limits.maxConnections();
+        this.maxWaitNanos = limits.maxWait().toNanos();
+        this.retryAfter = limits.retryAfter();
+        this.calls = new Semaphore(maxConcurrent, true);
+        this.connections = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Takes a call slot, queueing for one if the queue has room.
+     * Every successful call must be paired with {@link #exit()}.
+     *
+     * @throws BulkheadFullException if the queue is full or no slot frees up within the maximum wait
+     */
+    public void enter() {
+        if (calls.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            throw reject(rejectedCalls, "call slot");
+        }
+        try {
+            if (!calls.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(rejectedCalls, "call slot");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject(rejectedCalls, "call slot");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a call slot taken by {@link #enter()}.
+     */
+    public void exit() {
+        calls.release();
+    }
+
+    /**
+     * Takes one of the bulkhead's connections, waiting up to the maximum wait.
+     * Every successful call must be paired with {@link #releaseConnection()}.
+     *
+     * @throws BulkheadFullException if no connection frees up within the maximum wait
+     */
+    public void acquireConnection() {
+        try {
+            if (!connections.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(rejectedConnections, "connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject(rejectedConnections, "connection");
+        }
+    }
+
+    /**
+     * Returns a connection taken by {@link #acquireConnection()}.
+     */
+    public void releaseConnection() {
+        connections.release();
+    }
+
+    private BulkheadFullException reject(LongAdder counter, String resource) {
+        counter.increment();
+        return new BulkheadFullException(type, resource, retryAfter);
+    }
+
+    public BulkheadType getType() {
+        return type;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrent - calls.availablePermits();
+    }
+
+    public int getQueuedCalls() {
+        return queued.get();
+    }
+
+    public int getActiveConnections() {
+        return maxConnections - connections.availablePermits();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    public long getRejectedConnections() {
+        return rejectedConnections.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package com.charter.reward_api.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the request bulkheads: admits {@link Bulkheaded} requests through their bulkhead
+ * and wraps the application DataSource so that their connections are charged to it.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadConfig(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(bulkheads)).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Creates the post-processor that wraps DataSource beans in a {@link BulkheadDataSource}.
+     *
+     * @return the DataSource post-processor
+     */
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.charter.reward_api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that charges every connection taken on behalf of a bulkheaded request to that request's bulkhead,
+ * so that one class of requests cannot drain the pool the others depend on.
+ * Connections taken outside bulkheaded requests, such as by background jobs, are not limited.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    public BulkheadDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = Bulkheads.current();
+        if (bulkhead == null) {
+            return super.getConnection();
+        }
+        bulkhead.acquireConnection();
+        try {
+            return releasingOnClose(super.getConnection(), bulkhead);
+        } catch (SQLException | RuntimeException ex) {
+            bulkhead.releaseConnection();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead bulkhead = Bulkheads.current();
+        if (bulkhead == null) {
+            return super.getConnection(username, password);
+        }
+        bulkhead.acquireConnection();
+        try {
+            return releasingOnClose(super.getConnection(username, password), bulkhead);
+        } catch (SQLException | RuntimeException ex) {
+            bulkhead.releaseConnection();
+            throw ex;
+        }
+    }
+
+    /**
+     * Wraps a connection so that its first {@code close()} returns it to the bulkhead.
+     */
+    private static Connection releasingOnClose(Connection connection, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        bulkhead.releaseConnection();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,48 @@
+package com.charter.reward_api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests to {@link Bulkheaded} controller methods through their bulkhead.
+ * A rejection is thrown from {@link #preHandle}, so it reaches the {@code GlobalExceptionHandler};
+ * the call slot is returned once the response is complete.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String BULKHEAD_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".bulkhead";
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadInterceptor(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Bulkheaded bulkheaded = handlerMethod.getMethodAnnotation(Bulkheaded.class);
+        if (bulkheaded == null) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheads.get(bulkheaded.value());
+        bulkhead.enter();
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        Bulkheads.setCurrent(bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(BULKHEAD_ATTRIBUTE) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            Bulkheads.setCurrent(null);
+            bulkhead.exit();
+        }
+    }
+}
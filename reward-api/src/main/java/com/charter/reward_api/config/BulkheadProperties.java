@@ -0,0 +1,58 @@
+package com.charter.reward_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead limits bound from {@code reward.bulkhead}; every limit not set falls back to the defaults below.
+ * The connection limits partition the connection pool, so their sum should not exceed its size.
+ *
+ * @param lookup limits of {@link BulkheadType#LOOKUP}
+ * @param listing limits of {@link BulkheadType#LISTING}
+ */
+@ConfigurationProperties("reward.bulkhead")
+public record BulkheadProperties(Limits lookup, Limits listing) {
+
+    private static final Limits LOOKUP_DEFAULTS =
+            new Limits(64, 64, Duration.ofMillis(500), 6, Duration.ofSeconds(1));
+    private static final Limits LISTING_DEFAULTS =
+            new Limits(4, 8, Duration.ofSeconds(2), 4, Duration.ofSeconds(5));
+
+    public BulkheadProperties {
+        lookup = lookup != null ? lookup.orElse(LOOKUP_DEFAULTS) : LOOKUP_DEFAULTS;
+        listing = listing != null ? listing.orElse(LISTING_DEFAULTS) : LISTING_DEFAULTS;
+    }
+
+    /**
+     * Gets the limits of a bulkhead.
+     *
+     * @param type the bulkhead type
+     * @return its limits
+     */
+    public Limits limits(BulkheadType type) {
+        return type == BulkheadType.LOOKUP ? lookup : listing;
+    }
+
+    /**
+     * Limits of one bulkhead.
+     *
+     * @param maxConcurrent the number of calls running at once
+     * @param maxQueue the number of calls waiting for a slot; further calls are rejected at once
+     * @param maxWait how long a call waits for a slot, and a running call for a connection, before it is rejected
+     * @param maxConnections the number of pooled connections the bulkhead's calls hold at once
+     * @param retryAfter the {@code Retry-After} delay suggested to rejected clients
+     */
+    public record Limits(Integer maxConcurrent, Integer maxQueue, Duration maxWait, Integer maxConnections,
+                         Duration retryAfter) {
+
+        Limits orElse(Limits defaults) {
+            return new Limits(
+                    maxConcurrent != null ? maxConcurrent : defaults.maxConcurrent,
+                    maxQueue != null ? maxQueue : defaults.maxQueue,
+                    maxWait != null ? maxWait : defaults.maxWait,
+                    maxConnections != null ? maxConnections : defaults.maxConnections,
+                    retryAfter != null ? retryAfter : defaults.retryAfter);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.charter.reward_api.config;
+
+/**
+ * Classes of requests isolated from each other by their own {@link Bulkhead}.
+ */
+public enum BulkheadType {
+
+    /** Single-customer lookups, which are cheap and latency-sensitive. */
+    LOOKUP,
+
+    /** Listings and feeds over many customers, which are heavy and may be large. */
+    LISTING
+}
@@ -0,0 +1,24 @@
+package com.charter.reward_api.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a controller method inside a bulkhead: the call needs one of the bulkhead's call slots,
+ * and every connection it takes comes out of the bulkhead's share of the connection pool.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkheaded {
+
+    /**
+     * Gets the bulkhead the method runs in.
+     *
+     * @return the bulkhead type
+     */
+    BulkheadType value();
+}
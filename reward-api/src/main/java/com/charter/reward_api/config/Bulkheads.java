@@ -0,0 +1,95 @@
+package com.charter.reward_api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The bulkheads of the application, and the one the current thread's request runs in.
+ * Reports per-bulkhead utilisation, queue length and rejections as {@code reward.bulkhead.*} metrics.
+ */
+@Component
+public class Bulkheads implements MeterBinder {
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final Map<BulkheadType, Bulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    public Bulkheads(BulkheadProperties properties) {
+        for (BulkheadType type : BulkheadType.values()) {
+            bulkheads.put(type, new Bulkhead(type, properties.limits(type)));
+        }
+    }
+
+    /**
+     * Gets a bulkhead.
+     *
+     * @param type the bulkhead type
+     * @return the bulkhead
+     */
+    public Bulkhead get(BulkheadType type) {
+        return bulkheads.get(type);
+    }
+
+    /**
+     * Gets the bulkhead the current thread's request runs in.
+     *
+     * @return the bulkhead, or null outside bulkheaded requests
+     */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the bulkhead the current thread's request runs in.
+     *
+     * @param bulkhead the bulkhead, or null to clear it
+     */
+    public static void setCurrent(Bulkhead bulkhead) {
+        if (bulkhead == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(bulkhead);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            String name = bulkhead.getType().name().toLowerCase(Locale.ROOT);
+            Gauge.builder("reward.bulkhead.calls.active", bulkhead, Bulkhead::getActiveCalls)
+                    .tag("bulkhead", name)
+                    .description("Calls holding a slot of the bulkhead")
+                    .register(registry);
+            Gauge.builder("reward.bulkhead.calls.queued", bulkhead, Bulkhead::getQueuedCalls)
+                    .tag("bulkhead", name)
+                    .description("Calls waiting for a slot of the bulkhead")
+                    .register(registry);
+            Gauge.builder("reward.bulkhead.connections.active", bulkhead, Bulkhead::getActiveConnections)
+                    .tag("bulkhead", name)
+                    .description("Pooled connections held by calls of the bulkhead")
+                    .register(registry);
+            Gauge.builder("reward.bulkhead.saturation", bulkhead,
+                            b -> (double) b.getActiveCalls() / b.getMaxConcurrent())
+                    .tag("bulkhead", name)
+                    .description("Fraction of the bulkhead's call slots in use")
+                    .register(registry);
+            FunctionCounter.builder("reward.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCalls)
+                    .tag("bulkhead", name)
+                    .tag("resource", "call")
+                    .description("Calls rejected for want of a slot")
+                    .register(registry);
+            FunctionCounter.builder("reward.bulkhead.rejected", bulkhead, Bulkhead::getRejectedConnections)
+                    .tag("bulkhead", name)
+                    .tag("resource", "connection")
+                    .description("Calls rejected for want of a connection")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.ChangeCursor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts {@code version:version:...} request parameters to {@link ChangeCursor}s.
+ * Registered with Spring MVC as a bean; malformed values surface as a 400 for the parameter.
+ */
+@Component
+public class ChangeCursorConverter implements Converter<String, ChangeCursor> {
+
+    @Override
+    public ChangeCursor convert(String source) {
+        return ChangeCursor.parse(source);
+    }
+}
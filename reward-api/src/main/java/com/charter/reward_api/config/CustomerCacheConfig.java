@@ -0,0 +1,98 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.model.Customer;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Configuration of Hibernate's second-level and query caches, which keep {@link Customer} rows and pages of
+ * customers in memory. The caches live in a Caffeine JCache cache manager owned by this application context;
+ * the customer and query regions are bounded in size and expire a fixed time after being written.
+ * <p>
+ * Writes through Hibernate evict the cached customer and every cached query over the customer table.
+ * Writes made with plain SQL, or by another instance, are seen once the entries expire.
+ * The query cache is keyed by statement and parameters but not by shard, so it stays off when sharding is
+ * configured; customers themselves are still cached, as a customer ID lives on exactly one shard.
+ */
+@Configuration
+public class CustomerCacheConfig {
+
+    /** Cache region holding {@link Customer} entities. */
+    public static final String CUSTOMER_REGION = "customer";
+    /** Cache region holding the results of cacheable queries. */
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * Creates the JCache provider whose cache manager backs the Hibernate caches. Closing the provider with the
+     * context closes its cache manager, so contexts in the same JVM never share caches.
+     *
+     * @return the caching provider
+     */
+    @Bean(destroyMethod = "close")
+    public CaffeineCachingProvider customerCacheProvider() {
+        return new CaffeineCachingProvider();
+    }
+
+    /**
+     * Enables the second-level cache for customers and the query cache, or disables both.
+     *
+     * @param provider the caching provider
+     * @param shardingProperties the sharding configuration
+     * @param enabled whether customers and customer queries are cached
+     * @param maxCustomers the largest number of cached customers
+     * @param maxQueries the largest number of cached query results
+     * @param ttl the time after which a cached customer or query result expires
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer customerCacheCustomizer(
+            CaffeineCachingProvider provider,
+            ShardingProperties shardingProperties,
+            @Value("${reward.customer-cache.enabled:true}") boolean enabled,
+            @Value("${reward.customer-cache.max-customers:100000}") long maxCustomers,
+            @Value("${reward.customer-cache.max-queries:1000}") long maxQueries,
+            @Value("${reward.customer-cache.ttl:10m}") Duration ttl) {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            if (!enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(),
+                    provider.getDefaultClassLoader());
+            createCache(cacheManager, CUSTOMER_REGION, OptionalLong.of(maxCustomers), OptionalLong.of(ttl.toNanos()));
+            createCache(cacheManager, QUERY_RESULTS_REGION, OptionalLong.of(maxQueries), OptionalLong.of(ttl.toNanos()));
+            // Query results are only valid while the timestamps of the tables they read are kept, so those never expire.
+            createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    OptionalLong.empty(), OptionalLong.empty());
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, shardingProperties.shardCount() == 1);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, OptionalLong maximumSize,
+                                    OptionalLong expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,85 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.MonthlyRewardDTO;
+import com.charter.reward_api.service.ClosedMonthFragmentCache;
+import com.charter.reward_api.service.ClosedMonthPolicy;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Streams {@link CustomerRewardSummaryDTO} without reflection, splicing in pre-encoded JSON for closed months.
+ * A customer's leading run of closed months is written from the UTF-8 bytes the {@link ClosedMonthFragmentCache}
+ * encoded when the lookup cached them, and only the open months are generated; closed months without a matching
+ * fragment are generated like the open ones. The output is identical to Jackson's default serialization of the record.
+ */
+@JsonComponent
+public class CustomerRewardSummarySerializer extends JsonSerializer<CustomerRewardSummaryDTO> {
+
+    private final ClosedMonthPolicy closedMonthPolicy;
+    private final ClosedMonthFragmentCache fragmentCache;
+
+    public CustomerRewardSummarySerializer(ClosedMonthPolicy closedMonthPolicy,
+                                           ClosedMonthFragmentCache fragmentCache) {
+        this.closedMonthPolicy = closedMonthPolicy;
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    public void serialize(CustomerRewardSummaryDTO summary, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        gen.writeStartObject(summary);
+        if (summary.customerId() != null) {
+            gen.writeNumberField("customerId", summary.customerId());
+        }
+        if (summary.customerName() != null) {
+            gen.writeStringField("customerName", summary.customerName());
+        }
+        List<MonthlyRewardDTO> monthlyRewards = summary.monthlyRewards();
+        if (monthlyRewards != null) {
+            gen.writeFieldName("monthlyRewards");
+            gen.writeStartArray(monthlyRewards, monthlyRewards.size());
+            int closed = summary.customerId() != null ? closedPrefixLength(monthlyRewards) : 0;
+            SerializedString closedJson = closed > 0
+                    ? fragmentCache.find(summary.customerId(), monthlyRewards.subList(0, closed))
+                    : null;
+            if (closedJson != null) {
+                gen.writeRawValue(closedJson);
+            } else {
+                closed = 0;
+            }
+            for (MonthlyRewardDTO monthlyReward : monthlyRewards.subList(closed, monthlyRewards.size())) {
+                gen.writeStartObject();
+                gen.writeNumberField("year", monthlyReward.year());
+                gen.writeStringField("month", monthlyReward.month());
+                gen.writeNumberField("points", monthlyReward.points());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeNumberField("totalPoints", summary.totalPoints());
+        gen.writeEndObject();
+    }
+
+    private int closedPrefixLength(List<MonthlyRewardDTO> monthlyRewards) {
+        YearMonth latestClosed = closedMonthPolicy.latestClosedMonth();
+        int cutoff = latestClosed.getYear() * 12 + latestClosed.getMonthValue();
+        int closed = 0;
+        for (MonthlyRewardDTO monthlyReward : monthlyRewards) {
+            if (monthlyReward.month() == null
+                    || monthlyReward.year() * 12 + Month.valueOf(monthlyReward.month()).getValue() > cutoff) {
+                break;
+            }
+            closed++;
+        }
+        return closed;
+    }
+}
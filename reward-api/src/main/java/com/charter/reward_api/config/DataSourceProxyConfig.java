@@ -0,0 +1,52 @@
+package com.charter.reward_api.config;
+
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy {@link ProxyDataSource} that reports statement
+ * executions to every {@link JdbcLifecycleEventListener} bean. Without listeners the DataSource is left unwrapped.
+ * Result sets are proxied only while request cost tracking is enabled, as only row counting needs them.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    /**
+     * Creates the post-processor that wraps DataSource beans.
+     *
+     * @param listeners the JDBC event listeners
+     * @param environment the environment holding {@code reward.request-cost.enabled}
+     * @return the DataSource post-processor
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<JdbcLifecycleEventListener> listeners,
+                                                                 Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                List<JdbcLifecycleEventListener> registered = listeners.orderedStream().toList();
+                if (registered.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                registered.forEach(builder::listener);
+                if (environment.getProperty("reward.request-cost.enabled", Boolean.class, true)) {
+                    builder.proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+}
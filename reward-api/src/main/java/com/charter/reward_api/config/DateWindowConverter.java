@@ -0,0 +1,18 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.DateWindow;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts {@code yyyy-MM-dd/yyyy-MM-dd} request parameters to {@link DateWindow}s.
+ * Registered with Spring MVC as a bean; malformed values surface as a 400 for the parameter.
+ */
+@Component
+public class DateWindowConverter implements Converter<String, DateWindow> {
+
+    @Override
+    public DateWindow convert(String source) {
+        return DateWindow.parse(source);
+    }
+}
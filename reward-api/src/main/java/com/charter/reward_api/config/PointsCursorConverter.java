@@ -0,0 +1,18 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.PointsCursor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts {@code points:customerId} request parameters to {@link PointsCursor}s.
+ * Registered with Spring MVC as a bean; malformed values surface as a 400 for the parameter.
+ */
+@Component
+public class PointsCursorConverter implements Converter<String, PointsCursor> {
+
+    @Override
+    public PointsCursor convert(String source) {
+        return PointsCursor.parse(source);
+    }
+}
@@ -0,0 +1,190 @@
+package com.charter.reward_api.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cost breakdown of one HTTP request: time per named phase, SQL statements executed and result set rows read.
+ * Bound to the request thread by {@link RequestCostFilter}; without a bound instance every recording method
+ * is a single thread-local lookup. Work fanned out to shard threads records into the caller's instance,
+ * so phases that ran in parallel report the sum of their durations.
+ */
+public final class RequestCost {
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementMillis = new LongAdder();
+    private final LongAdder rowsRead = new LongAdder();
+    private String openPhase;
+    private long openPhaseStart;
+
+    /**
+     * Gets the cost breakdown bound to the current thread.
+     *
+     * @return the current request's cost, or null if the request is not tracked
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a cost breakdown to the current thread, or unbinds it if null.
+     *
+     * @param cost the cost breakdown, or null
+     */
+    public static void set(RequestCost cost) {
+        if (cost == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(cost);
+        }
+    }
+
+    /**
+     * Runs work as a named phase of the current request, adding its duration to the phase.
+     *
+     * @param phase the phase name
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the work's result
+     */
+    public static <T> T time(String phase, Supplier<T> work) {
+        RequestCost cost = CURRENT.get();
+        if (cost == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            cost.addPhase(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds time to a named phase.
+     *
+     * @param phase the phase name
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public synchronized void addPhase(String phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Starts a phase that ends outside the current call stack, such as response serialization.
+     *
+     * @param phase the phase name
+     */
+    public synchronized void openPhase(String phase) {
+        closeOpenPhase();
+        openPhase = phase;
+        openPhaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the phase started by {@link #openPhase(String)}, if any, adding its duration.
+     */
+    public synchronized void closeOpenPhase() {
+        if (openPhase != null) {
+            addPhase(openPhase, System.nanoTime() - openPhaseStart);
+            openPhase = null;
+        }
+    }
+
+    /**
+     * Records executed SQL statements.
+     *
+     * @param count the number of statements, more than one for a batch
+     * @param elapsedMillis the execution time in milliseconds
+     */
+    public void addStatements(int count, long elapsedMillis) {
+        statements.add(count);
+        statementMillis.add(elapsedMillis);
+    }
+
+    /**
+     * Records one result set row read.
+     */
+    public void addRowRead() {
+        rowsRead.increment();
+    }
+
+    /**
+     * Records this request's share of work done once on behalf of several requests, such as a batched lookup:
+     * the statements that served it, and an even share of their time, of the rows they read and of the phases
+     * timed while doing the work.
+     *
+     * @param shared the cost of the shared work
+     * @param requests the number of requests the work served
+     */
+    public void addShare(RequestCost shared, int requests) {
+        shared.getPhaseNanos().forEach((phase, nanos) -> addPhase(phase, nanos / requests));
+        statements.add(shared.getStatements());
+        statementMillis.add(shared.getStatementMillis() / requests);
+        rowsRead.add(shared.getRowsRead() / requests);
+    }
+
+    /**
+     * Gets the time of each phase, in the order the phases were first recorded.
+     *
+     * @return phase durations in milliseconds
+     */
+    public synchronized Map<String, Double> getPhaseMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        phaseNanos.forEach((phase, nanos) -> millis.put(phase, nanos / 1_000_000.0));
+        return millis;
+    }
+
+    private synchronized Map<String, Long> getPhaseNanos() {
+        return new LinkedHashMap<>(phaseNanos);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getStatementMillis() {
+        return statementMillis.sum();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    /**
+     * Gets the time since this breakdown was created.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public double getTotalMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Formats the breakdown as a {@code Server-Timing} header value, with the statement and row counts
+     * as the description of the {@code db} metric.
+     *
+     * @return the header value
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        getPhaseMillis().forEach((phase, millis) -> header.append(phase).append(";dur=")
+                .append(format(millis)).append(", "));
+        header.append("db;dur=").append(getStatementMillis())
+                .append(";desc=\"").append(getStatements()).append(" statements, ")
+                .append(getRowsRead()).append(" rows\", ");
+        header.append("total;dur=").append(format(getTotalMillis()));
+        return header.toString();
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
@@ -0,0 +1,213 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.RequestCostDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Tracks the cost of every {@code /api/} request and reports it in a {@code Server-Timing} response header.
+ * The response is not buffered: the header is added just before the first body bytes are written, so serialization
+ * is timed up to then. With {@code debug=true}, the body is buffered instead and the breakdown is also added to a
+ * JSON object body as its {@code debug} field.
+ */
+@Component
+@ConditionalOnProperty(value = "reward.request-cost.enabled", matchIfMissing = true)
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+    public static final String DEBUG_PARAMETER = "debug";
+
+    private final ObjectMapper objectMapper;
+
+    public RequestCostFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestCost cost = new RequestCost();
+        if (!Boolean.parseBoolean(request.getParameter(DEBUG_PARAMETER))) {
+            ServerTimingResponse timedResponse = new ServerTimingResponse(response, cost);
+            RequestCost.set(cost);
+            try {
+                filterChain.doFilter(request, timedResponse);
+            } finally {
+                RequestCost.set(null);
+            }
+            timedResponse.addServerTiming();
+            return;
+        }
+
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        RequestCost.set(cost);
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            RequestCost.set(null);
+        }
+        cost.closeOpenPhase();
+
+        byte[] body = withDebugField(bufferedResponse.getContentAsByteArray(), bufferedResponse.getContentType(), cost);
+        response.setHeader(SERVER_TIMING, cost.toServerTiming());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] withDebugField(byte[] body, String contentType, RequestCost cost) throws IOException {
+        if (contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return body;
+        }
+        JsonNode json = objectMapper.readTree(body);
+        if (!(json instanceof ObjectNode object)) {
+            return body;
+        }
+        object.set("debug", objectMapper.valueToTree(new RequestCostDTO(cost.getPhaseMillis(), cost.getStatements(),
+                cost.getStatementMillis(), cost.getRowsRead(), cost.getTotalMillis())));
+        return objectMapper.writeValueAsBytes(object);
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header, from the cost measured so far, before the response is committed:
+     * before the first body bytes are written or flushed, an error is sent, or the request completes.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestCost cost;
+        private boolean timed;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestCost cost) {
+            super(response);
+            this.cost = cost;
+        }
+
+        private void addServerTiming() {
+            if (timed) {
+                return;
+            }
+            timed = true;
+            cost.closeOpenPhase();
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING, cost.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        addServerTiming();
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        addServerTiming();
+                        delegate.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        addServerTiming();
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        addServerTiming();
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter delegate = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] buffer, int off, int len) {
+                        addServerTiming();
+                        delegate.write(buffer, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        addServerTiming();
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        addServerTiming();
+                        delegate.close();
+                    }
+                });
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.charter.reward_api.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts the SQL statements and result set rows of tracked requests on the proxied DataSource.
+ */
+@Component
+@ConditionalOnProperty(value = "reward.request-cost.enabled", matchIfMissing = true)
+public class RequestCostJdbcListener extends JdbcLifecycleEventListenerAdapter {
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestCost cost = RequestCost.current();
+        if (cost != null) {
+            cost.addStatements(execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size(),
+                    execInfo.getElapsedTime());
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        RequestCost cost = RequestCost.current();
+        if (cost != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            cost.addRowRead();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.charter.reward_api.config;
+
+/**
+ * Holds the shard the current thread's data access is routed to.
+ * Set through {@link com.charter.reward_api.service.ShardRouter}; threads without a shard use shard 0.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Gets the shard of the current thread.
+     *
+     * @return the shard number, or null if none is set
+     */
+    public static Integer get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the shard of the current thread, or clears it if null.
+     *
+     * @param shard the shard number, or null
+     */
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
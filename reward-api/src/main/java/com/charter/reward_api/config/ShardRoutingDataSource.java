@@ -0,0 +1,27 @@
+package com.charter.reward_api.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource that hands out connections of the shard set in {@link ShardContext}.
+ * The shard is resolved when a connection is acquired, so it must be chosen before a transaction starts.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.charter.reward_api.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for customer-ID sharding.
+ * When {@code reward.sharding.shards} is set, the application DataSource becomes a {@link ShardRoutingDataSource}
+ * over one connection pool per shard, replacing the auto-configured {@code spring.datasource}.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Creates the routing DataSource over the configured shards. Shard 0 is the default target.
+     *
+     * @param properties the sharding configuration
+     * @return the routing DataSource
+     */
+    @Bean
+    @ConditionalOnProperty("reward.sharding.shards[0].url")
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < properties.shards().size(); shard++) {
+            ShardingProperties.Shard settings = properties.shards().get(shard);
+            targets.put(shard, DataSourceBuilder.create()
+                    .url(settings.url())
+                    .username(settings.username())
+                    .password(settings.password())
+                    .driverClassName(settings.driverClassName())
+                    .build());
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(targets.get(0));
+        return dataSource;
+    }
+
+    /**
+     * Applies Hibernate's create or create-drop schema management to every shard but the default one,
+     * which Hibernate already handles while bootstrapping.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param properties the sharding configuration
+     * @param ddlAuto the configured {@code spring.jpa.hibernate.ddl-auto} value
+     * @return the schema initializer
+     */
+    @Bean
+    @ConditionalOnProperty("reward.sharding.shards[0].url")
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardingProperties properties,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        return new ShardSchemaInitializer(schemaManager, properties.shardCount(), ddlAuto);
+    }
+
+    /**
+     * Creates and drops the mapped tables on the non-default shards.
+     */
+    static final class ShardSchemaInitializer implements InitializingBean, DisposableBean {
+
+        private final SchemaManager schemaManager;
+        private final int shardCount;
+        private final boolean create;
+        private final boolean drop;
+
+        private ShardSchemaInitializer(SchemaManager schemaManager, int shardCount, String ddlAuto) {
+            this.schemaManager = schemaManager;
+            this.shardCount = shardCount;
+            this.create = ddlAuto.equals("create") || ddlAuto.equals("create-drop");
+            this.drop = ddlAuto.equals("create-drop");
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            if (create) {
+                forEachSecondaryShard(() -> {
+                    schemaManager.dropMappedObjects(false);
+                    schemaManager.exportMappedObjects(false);
+                });
+            }
+        }
+
+        @Override
+        public void destroy() {
+            if (drop) {
+                forEachSecondaryShard(() -> schemaManager.dropMappedObjects(false));
+            }
+        }
+
+        private void forEachSecondaryShard(Runnable action) {
+            Integer previous = ShardContext.get();
+            try {
+                for (int shard = 1; shard < shardCount; shard++) {
+                    ShardContext.set(shard);
+                    action.run();
+                }
+            } finally {
+                ShardContext.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.charter.reward_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Customer-ID sharding configuration bound from {@code reward.sharding}.
+ * Without configured shards the application runs on the single {@code spring.datasource}.
+ *
+ * @param strategy how customer IDs map to shards (default: HASH)
+ * @param rangeBounds exclusive upper customer ID bound of every shard but the last, ascending; RANGE only
+ * @param shards the shard datasources, indexed by shard number
+ * @param scatterThreads threads shared by all requests for reading shards in parallel (default: 16)
+ */
+@ConfigurationProperties("reward.sharding")
+public record ShardingProperties(Strategy strategy, List<Long> rangeBounds, List<Shard> shards,
+                                 Integer scatterThreads) {
+
+    public ShardingProperties {
+        strategy = strategy != null ? strategy : Strategy.HASH;
+        rangeBounds = rangeBounds != null ? List.copyOf(rangeBounds) : List.of();
+        shards = shards != null ? List.copyOf(shards) : List.of();
+        scatterThreads = scatterThreads != null ? scatterThreads : 16;
+    }
+
+    /**
+     * Gets the number of shards, which is 1 when no shards are configured.
+     *
+     * @return the shard count
+     */
+    public int shardCount() {
+        return Math.max(1, shards.size());
+    }
+
+    /**
+     * Customer ID to shard mapping strategy.
+     */
+    public enum Strategy {
+        /** Shard number is the customer ID hash modulo the shard count. */
+        HASH,
+        /** Shard number is the first shard whose range bound exceeds the customer ID. */
+        RANGE
+    }
+
+    /**
+     * Connection settings of one shard.
+     *
+     * @param url the JDBC URL
+     * @param username the database user
+     * @param password the database password
+     * @param driverClassName the JDBC driver class, detected from the URL if null
+     */
+    public record Shard(String url, String username, String password, String driverClassName) {
+    }
+}
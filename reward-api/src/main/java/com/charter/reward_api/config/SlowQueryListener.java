@@ -0,0 +1,171 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.service.QueryShapeStatistics;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement on the proxied DataSource, records it per statement shape in {@link QueryShapeStatistics}
+ * and logs executions over {@code reward.slow-query.threshold}. Bound parameter values are never logged; only
+ * their positions and types are. For a slow SELECT, the database's EXPLAIN output is captured with the same
+ * parameters, at most once per shape per {@code reward.slow-query.explain-interval}. The capture runs in the
+ * background on a connection of its own from the same shard, so it adds no statement to the slow request's
+ * connection or transaction; captures that find the background queue full are dropped.
+ */
+@Component
+public class SlowQueryListener extends JdbcLifecycleEventListenerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+    private static final String START_NANOS = SlowQueryListener.class.getName() + ".startNanos";
+    private static final int EXPLAIN_QUEUE = 16;
+
+    private final QueryShapeStatistics statistics;
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdNanos;
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryListener(QueryShapeStatistics statistics, ObjectProvider<DataSource> dataSource,
+                             @Value("${reward.slow-query.threshold:200ms}") Duration threshold) {
+        this.statistics = statistics;
+        this.dataSource = dataSource;
+        this.thresholdNanos = threshold.toNanos();
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        boolean slow = nanos >= thresholdNanos;
+        for (QueryInfo query : queryInfoList) {
+            String sql = query.getQuery();
+            if (isExplain(sql)) {
+                continue;
+            }
+            String shape = QueryShapeStatistics.shapeOf(sql);
+            statistics.record(shape, nanos, slow);
+            if (slow) {
+                log.warn("Slow query ({} ms): {} {}", nanos / 1_000_000, shape, redactedParameters(query));
+                if (!execInfo.isBatch() && isSelect(sql) && statistics.claimExplain(shape)) {
+                    scheduleExplain(shape, sql, query.getParametersList().isEmpty()
+                            ? List.of() : List.copyOf(query.getParametersList().get(0)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Describes the bound parameters of a statement by position and type only.
+     */
+    private static String redactedParameters(QueryInfo query) {
+        StringJoiner parameters = new StringJoiner(", ", "[", "]");
+        for (List<ParameterSetOperation> operations : query.getParametersList()) {
+            for (ParameterSetOperation operation : operations) {
+                Object[] args = operation.getArgs();
+                String type = args.length > 1 && args[1] != null ? args[1].getClass().getSimpleName() : "null";
+                parameters.add(args[0] + ":" + type);
+            }
+        }
+        return "parameters=" + parameters;
+    }
+
+    /**
+     * Queues the plan capture of a statement, to run on the shard the statement ran on.
+     */
+    private void scheduleExplain(String shape, String sql, List<ParameterSetOperation> parameters) {
+        Integer shard = ShardContext.get();
+        try {
+            explainExecutor.execute(() -> {
+                ShardContext.set(shard);
+                try {
+                    statistics.recordPlan(shape, explain(sql, parameters));
+                } finally {
+                    ShardContext.set(null);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.debug("Plan capture queue is full; plan of {} not captured", shape);
+        }
+    }
+
+    private String explain(String sql, List<ParameterSetOperation> parameters) {
+        try (Connection connection = dataSource.getObject().getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation operation : parameters) {
+                operation.getMethod().invoke(explain, operation.getArgs());
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                return format(plan);
+            }
+        } catch (SQLException | ReflectiveOperationException | RuntimeException ex) {
+            log.debug("Could not capture query plan", ex);
+            return "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+
+    private static String format(ResultSet plan) throws SQLException {
+        ResultSetMetaData metaData = plan.getMetaData();
+        StringJoiner rows = new StringJoiner("\n");
+        while (plan.next()) {
+            if (metaData.getColumnCount() == 1) {
+                rows.add(String.valueOf(plan.getObject(1)));
+                continue;
+            }
+            StringJoiner columns = new StringJoiner(", ");
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                columns.add(metaData.getColumnLabel(column) + "=" + plan.getObject(column));
+            }
+            rows.add(columns.toString());
+        }
+        return rows.toString();
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static boolean isExplain(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("explain");
+    }
+}
@@ -0,0 +1,61 @@
+package com.charter.reward_api.controller;
+
+import com.charter.reward_api.dto.QueryShapeDTO;
+import com.charter.reward_api.exception.LocalAccessOnlyException;
+import com.charter.reward_api.service.QueryShapeStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * REST controller for database query diagnostics, available to local callers only.
+ */
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@Validated
+@Tag(name = "Query Diagnostics", description = "SQL statement latency and captured query plans")
+public class QueryDiagnosticsController {
+
+    private final QueryShapeStatistics statistics;
+
+    public QueryDiagnosticsController(QueryShapeStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Retrieves the slowest SQL statement shapes by 99th percentile execution time.
+     *
+     * @param limit the maximum number of shapes (1-100)
+     * @param request the HTTP request, whose remote address must be a loopback address
+     * @return the slowest shapes with counts, percentiles and captured plans
+     */
+    @GetMapping
+    @Operation(summary = "List the slowest SQL statement shapes")
+    public ResponseEntity<List<QueryShapeDTO>> getSlowestQueries(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit, HttpServletRequest request) {
+        if (!isLoopback(request.getRemoteAddr())) {
+            throw new LocalAccessOnlyException(request.getRemoteAddr());
+        }
+        return ResponseEntity.ok(statistics.getSlowestShapes(limit));
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException ex) {
+            return false;
+        }
+    }
+}
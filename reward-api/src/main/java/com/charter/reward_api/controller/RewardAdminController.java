@@ -0,0 +1,156 @@
+package com.charter.reward_api.controller;
+
+import com.charter.reward_api.dto.AggregateRebuildStatusDTO;
+import com.charter.reward_api.dto.CacheRegionStatsDTO;
+import com.charter.reward_api.dto.HotCustomerDTO;
+import com.charter.reward_api.dto.MonthCloseResultDTO;
+import com.charter.reward_api.dto.PointsExpiryResultDTO;
+import com.charter.reward_api.dto.RewardSimulationDTO;
+import com.charter.reward_api.dto.RewardSimulationRequestDTO;
+import com.charter.reward_api.service.CustomerCacheStatistics;
+import com.charter.reward_api.service.HotCustomerCache;
+import com.charter.reward_api.service.MonthCloseService;
+import com.charter.reward_api.service.RewardBalanceService;
+import com.charter.reward_api.service.RewardAggregateRebuildService;
+import com.charter.reward_api.service.RewardSimulationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for administrative reward operations.
+ */
+@RestController
+@RequestMapping("/api/admin/rewards")
+@Tag(name = "Reward Administration", description = "Reward maintenance operations")
+public class RewardAdminController {
+
+    private final RewardAggregateRebuildService rebuildService;
+    private final MonthCloseService monthCloseService;
+    private final HotCustomerCache hotCustomerCache;
+    private final CustomerCacheStatistics customerCacheStatistics;
+    private final RewardBalanceService balanceService;
+    private final RewardSimulationService simulationService;
+
+    public RewardAdminController(RewardAggregateRebuildService rebuildService, MonthCloseService monthCloseService,
+                                 HotCustomerCache hotCustomerCache, CustomerCacheStatistics customerCacheStatistics,
+                                 RewardBalanceService balanceService, RewardSimulationService simulationService) {
+        this.rebuildService = rebuildService;
+        this.monthCloseService = monthCloseService;
+        this.hotCustomerCache = hotCustomerCache;
+        this.customerCacheStatistics = customerCacheStatistics;
+        this.balanceService = balanceService;
+        this.simulationService = simulationService;
+    }
+
+    /**
+     * Starts a rebuild of all monthly reward aggregates in the background.
+     *
+     * @param fresh if true, start a new job instead of resuming the latest unfinished one
+     * @return the status of the started job
+     */
+    @PostMapping("/aggregates/rebuild")
+    @Operation(summary = "Start or resume a rebuild of all monthly reward aggregates")
+    public ResponseEntity<AggregateRebuildStatusDTO> startRebuild(@RequestParam(defaultValue = "false") boolean fresh) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.start(fresh));
+    }
+
+    /**
+     * Retrieves the progress of the current or latest aggregate rebuild.
+     *
+     * @return the rebuild status
+     */
+    @GetMapping("/aggregates/rebuild")
+    @Operation(summary = "Get aggregate rebuild progress")
+    public ResponseEntity<AggregateRebuildStatusDTO> getRebuildStatus() {
+        return ResponseEntity.ok(rebuildService.getStatus());
+    }
+
+    /**
+     * Cancels the running aggregate rebuild. Completed ranges are kept and skipped on resume.
+     *
+     * @return the rebuild status
+     */
+    @DeleteMapping("/aggregates/rebuild")
+    @Operation(summary = "Cancel the running aggregate rebuild")
+    public ResponseEntity<AggregateRebuildStatusDTO> cancelRebuild() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.cancel());
+    }
+
+    /**
+     * Runs the month close without waiting for the scheduled one: opens upcoming months and seals every closed
+     * month opened by an earlier run.
+     *
+     * @return the months sealed by this call and the sealed range of the default shard
+     */
+    @PostMapping("/month-close")
+    @Operation(summary = "Seal all closed months into immutable reward snapshots")
+    public ResponseEntity<MonthCloseResultDTO> closeMonths() {
+        List<YearMonth> sealed = monthCloseService.closeMonths();
+        Optional<MonthCloseService.SealedMonths> range = monthCloseService.getSealedMonths();
+        return ResponseEntity.ok(new MonthCloseResultDTO(sealed,
+                range.map(MonthCloseService.SealedMonths::first).orElse(null),
+                range.map(MonthCloseService.SealedMonths::last).orElse(null)));
+    }
+
+    /**
+     * Expires the points earned before the expiry cutoff, without waiting for the scheduled expiry.
+     *
+     * @return the cutoff month and the customers and points expired by this call
+     */
+    @PostMapping("/expirations")
+    @Operation(summary = "Expire the reward points earned before the expiry cutoff")
+    public ResponseEntity<PointsExpiryResultDTO> expirePoints() {
+        return ResponseEntity.ok(balanceService.expirePoints());
+    }
+
+    /**
+     * Simulates candidate reward rules over historical transactions and compares them with the current rule.
+     * Transactions are read from an in-memory snapshot, taken on first use and reused until it expires.
+     *
+     * @param request the date range, the candidate rules and the number of customers to report per rule
+     * @param refresh if true, read the transactions again before simulating
+     * @return the points of the current rule and the outcome of each candidate rule
+     */
+    @PostMapping("/simulations")
+    @Operation(summary = "Simulate candidate reward rules over historical transactions")
+    public ResponseEntity<RewardSimulationDTO> simulate(@RequestBody @Valid RewardSimulationRequestDTO request,
+                                                        @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(simulationService.simulate(request, refresh));
+    }
+
+    /**
+     * Lists the hot customers whose reward summaries are currently kept precomputed.
+     *
+     * @return the hot customers, most requested first
+     */
+    @GetMapping("/hot-customers")
+    @Operation(summary = "List the hot customers with precomputed reward summaries")
+    public ResponseEntity<List<HotCustomerDTO>> getHotCustomers() {
+        return ResponseEntity.ok(hotCustomerCache.getHotCustomers());
+    }
+
+    /**
+     * Reports the hit ratios of the customer entity and query caches since startup.
+     *
+     * @return one entry per cache region, empty if the caches are disabled
+     */
+    @GetMapping("/customer-cache")
+    @Operation(summary = "Report customer cache hit ratios")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCustomerCacheStatistics() {
+        return ResponseEntity.ok(customerCacheStatistics.getRegionStatistics());
+    }
+}
@@ -0,0 +1,48 @@
+package com.charter.reward_api.controller;
+
+import com.charter.reward_api.config.BulkheadType;
+import com.charter.reward_api.config.Bulkheaded;
+import com.charter.reward_api.dto.RewardAnalyticsDTO;
+import com.charter.reward_api.service.RewardAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+/**
+ * REST controller for reward analytics across all customers, served from monthly rollups.
+ */
+@RestController
+@RequestMapping("/api/rewards/analytics")
+@Tag(name = "Reward Analytics", description = "Population-wide reward analytics API")
+public class RewardAnalyticsController {
+
+    private final RewardAnalyticsService analyticsService;
+
+    public RewardAnalyticsController(RewardAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Retrieves the points issued, transactions and distinct active customers of every month in a range.
+     *
+     * @param from optional first month (yyyy-MM, default: eleven months before {@code to})
+     * @param to optional last month (yyyy-MM, default: the current month)
+     * @return the totals of the range and of each of its months
+     */
+    @GetMapping("/monthly")
+    @Bulkheaded(BulkheadType.LOOKUP)
+    @Operation(summary = "Get points issued and active customers per month across all customers")
+    public ResponseEntity<RewardAnalyticsDTO> getMonthlyAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        return ResponseEntity.ok(analyticsService.getMonthlyAnalytics(from, to));
+    }
+}
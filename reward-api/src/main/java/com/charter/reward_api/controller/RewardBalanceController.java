@@ -0,0 +1,66 @@
+package com.charter.reward_api.controller;
+
+import com.charter.reward_api.config.BulkheadType;
+import com.charter.reward_api.config.Bulkheaded;
+import com.charter.reward_api.dto.RedemptionRequestDTO;
+import com.charter.reward_api.dto.RewardBalanceDTO;
+import com.charter.reward_api.service.RewardBalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for customers' redeemable points balances: earned minus redeemed minus expired points.
+ */
+@RestController
+@RequestMapping("/api/rewards")
+@Validated
+@Tag(name = "Reward Balances", description = "Redeemable reward points API")
+public class RewardBalanceController {
+
+    private final RewardBalanceService balanceService;
+
+    public RewardBalanceController(RewardBalanceService balanceService) {
+        this.balanceService = balanceService;
+    }
+
+    /**
+     * Retrieves a customer's redeemable points balance.
+     *
+     * @param customerId the customer ID (must be >= 1)
+     * @return the earned, redeemed and expired points and the redeemable balance
+     */
+    @GetMapping("/{customerId}/balance")
+    @Bulkheaded(BulkheadType.LOOKUP)
+    @Operation(summary = "Get the redeemable points balance of a customer")
+    public ResponseEntity<RewardBalanceDTO> getBalance(
+            @PathVariable @Min(value = 1, message = "Customer ID must be >= 1") Long customerId
+    ) {
+        return ResponseEntity.ok(balanceService.getBalance(customerId));
+    }
+
+    /**
+     * Redeems points from a customer's balance.
+     *
+     * @param customerId the customer ID (must be >= 1)
+     * @param request the points to redeem and an optional reference
+     * @return the balance after the redemption
+     */
+    @PostMapping("/{customerId}/redemptions")
+    @Operation(summary = "Redeem points from the balance of a customer")
+    public ResponseEntity<RewardBalanceDTO> redeem(
+            @PathVariable @Min(value = 1, message = "Customer ID must be >= 1") Long customerId,
+            @RequestBody @Valid RedemptionRequestDTO request
+    ) {
+        return ResponseEntity.ok(balanceService.redeem(customerId, request.points(), request.reference()));
+    }
+}
@@ -1,11 +1,23 @@
 package com.charter.reward_api.controller;
 
+import com.charter.reward_api.config.BulkheadType;
+import com.charter.reward_api.config.Bulkheaded;
+import com.charter.reward_api.dto.ChangeCursor;
 import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.DateWindow;
 import com.charter.reward_api.dto.PagedRewardSummaryDTO;
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.dto.RewardChangesDTO;
+import com.charter.reward_api.dto.RewardSort;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.dto.RewardWindowsDTO;
+import com.charter.reward_api.dto.TotalCountMode;
 import com.charter.reward_api.service.RewardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * REST controller for managing customer reward points.
@@ -33,23 +46,55 @@ public class RewardController {
     }
 
     /**
-     * Retrieves reward summaries for all customers with pagination and optional date filtering.
+     * Retrieves reward summaries for all customers with pagination and optional date filtering,
+     * in customer ID order or in descending order of points within the date range.
      *
      * @param page the page number (default: 0, must be >= 0)
      * @param size the page size (default: 10, must be >= 1)
      * @param from optional start date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
      * @param to optional end date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param total how totals are reported: EXACT (count query), ESTIMATED (cached count) or NONE (hasNext only)
+     * @param view how much of each summary is computed: TOTALS, MONTHLY or FULL
+     * @param sort the order of the customers: ID or POINTS
+     * @param after with POINTS, the nextCursor of the previous page to continue from (points:customerId)
      * @return paginated list of customer reward summaries with monthly breakdowns and total points
      */
     @GetMapping
+    @Bulkheaded(BulkheadType.LISTING)
     @Operation(summary = "Get all customer rewards with pagination")
     public ResponseEntity<PagedRewardSummaryDTO> getAllCustomerRewards(
             @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must be >= 0") int page,
             @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be >= 1") int size,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "EXACT") TotalCountMode total,
+            @RequestParam(defaultValue = "FULL") RewardView view,
+            @RequestParam(defaultValue = "ID") RewardSort sort,
+            @RequestParam(required = false) PointsCursor after
     ) {
-        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(page, size, from, to);
+        PagedRewardSummaryDTO result = sort == RewardSort.POINTS
+                ? rewardService.getAllCustomerRewardsByPoints(page, size, from, to, after, total, view)
+                : rewardService.getAllCustomerRewards(page, size, from, to, total, view);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the customer months whose reward points changed after a position in the change feed.
+     * Clients pass the returned high-water mark as {@code since} on the next call.
+     *
+     * @param since the change version of each shard to read from, separated by {@code :} (default: 0)
+     * @param limit the maximum number of change log entries to consume (default: 1000, between 1 and 10000)
+     * @return changed customer months with their current points and the new high-water mark
+     */
+    @GetMapping("/changes")
+    @Bulkheaded(BulkheadType.LISTING)
+    @Operation(summary = "Get reward changes since a change version")
+    public ResponseEntity<RewardChangesDTO> getRewardChanges(
+            @RequestParam(defaultValue = "0") ChangeCursor since,
+            @RequestParam(defaultValue = "1000") @Min(value = 1, message = "Limit must be >= 1")
+            @Max(value = 10000, message = "Limit must be <= 10000") int limit
+    ) {
+        RewardChangesDTO result = rewardService.getRewardChanges(since, limit);
         return ResponseEntity.ok(result);
     }
 
@@ -59,16 +104,38 @@ public class RewardController {
      * @param customerId the customer ID (must be >= 1)
      * @param from optional start date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
      * @param to optional end date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param view how much of the summary is computed: TOTALS, MONTHLY or FULL
      * @return customer reward summary with monthly breakdowns and total points
      */
     @GetMapping("/{customerId}")
+    @Bulkheaded(BulkheadType.LOOKUP)
     @Operation(summary = "Get reward summary for a specific customer")
     public ResponseEntity<CustomerRewardSummaryDTO> getCustomerRewards(
             @PathVariable @Min(value = 1, message = "Customer ID must be >= 1") Long customerId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "FULL") RewardView view
+    ) {
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(customerId, from, to, view);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves a customer's reward points over several date windows in one call,
+     * such as the last 3, 6 and 12 months and the year to date.
+     *
+     * @param customerId the customer ID (must be >= 1)
+     * @param window the date windows, each as yyyy-MM-dd/yyyy-MM-dd (between 1 and 50)
+     * @return the points of each window, in request order
+     */
+    @GetMapping("/{customerId}/windows")
+    @Bulkheaded(BulkheadType.LOOKUP)
+    @Operation(summary = "Get reward points of a customer over several date windows")
+    public ResponseEntity<RewardWindowsDTO> getRewardWindows(
+            @PathVariable @Min(value = 1, message = "Customer ID must be >= 1") Long customerId,
+            @RequestParam @Size(min = 1, max = 50, message = "Between 1 and 50 windows are allowed") List<DateWindow> window
     ) {
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(customerId, from, to);
+        RewardWindowsDTO result = rewardService.getRewardWindows(customerId, window);
         return ResponseEntity.ok(result);
     }
 }
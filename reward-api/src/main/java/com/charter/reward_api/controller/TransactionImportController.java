@@ -0,0 +1,59 @@
+package com.charter.reward_api.controller;
+
+import com.charter.reward_api.dto.TransactionImportResultDTO;
+import com.charter.reward_api.service.TransactionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST controller for loading transactions in bulk.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@Tag(name = "Transactions", description = "Transaction import API")
+public class TransactionImportController {
+
+    private final TransactionImportService importService;
+
+    public TransactionImportController(TransactionImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Imports the transactions of a CSV file uploaded as the {@code file} part of a multipart request.
+     *
+     * @param file the CSV file with a customer_id, amount and transaction_date header
+     * @return the rows accepted and rejected, and the import throughput
+     * @throws IOException if the uploaded file cannot be read
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import transactions from an uploaded CSV file")
+    public ResponseEntity<TransactionImportResultDTO> importFile(@RequestPart("file") MultipartFile file)
+            throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importCsv(input));
+        }
+    }
+
+    /**
+     * Imports the transactions of a CSV file sent as the request body, read as it arrives.
+     *
+     * @param body the CSV file with a customer_id, amount and transaction_date header
+     * @return the rows accepted and rejected, and the import throughput
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import transactions from a CSV request body")
+    public ResponseEntity<TransactionImportResultDTO> importBody(InputStream body) {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+}
@@ -0,0 +1,29 @@
+package com.charter.reward_api.dto;
+
+import com.charter.reward_api.model.RebuildStatus;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object describing the progress of an aggregate rebuild.
+ *
+ * @param jobId the rebuild job ID
+ * @param status the job status
+ * @param totalRanges the number of customer ID ranges in the job
+ * @param completedRanges the number of ranges rebuilt so far, including ranges completed before a resume
+ * @param transactionsProcessed the number of transactions read so far
+ * @param cancelRequested indicates if cancellation was requested and workers are stopping
+ * @param startedAt the time the job was started or last resumed
+ * @param finishedAt the time the job finished, or null while running
+ */
+public record AggregateRebuildStatusDTO(
+        Long jobId,
+        RebuildStatus status,
+        int totalRanges,
+        int completedRanges,
+        long transactionsProcessed,
+        boolean cancelRequested,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
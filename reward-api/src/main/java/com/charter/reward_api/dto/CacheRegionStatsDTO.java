@@ -0,0 +1,19 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Data Transfer Object describing the use of one Hibernate cache region since startup.
+ *
+ * @param region the region name
+ * @param hits the lookups answered by the region
+ * @param misses the lookups that went to the database
+ * @param puts the entries stored in the region
+ * @param hitRatio the share of lookups answered by the region, or 0 if there was none
+ */
+public record CacheRegionStatsDTO(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRatio
+) {
+}
@@ -0,0 +1,53 @@
+package com.charter.reward_api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Position in the reward change feed: the last change version read from each shard's change log.
+ * Written in requests and responses as the versions of shards 0, 1, ... separated by {@code :}, so with a single
+ * shard it is a plain change version. Shards missing from a cursor are read from the start.
+ *
+ * @param versions the exclusive change version to read each shard from, indexed by shard number
+ */
+public record ChangeCursor(List<Long> versions) {
+
+    public ChangeCursor {
+        versions = List.copyOf(versions);
+    }
+
+    /**
+     * Parses a cursor written as {@code version:version:...}.
+     *
+     * @param text the cursor text
+     * @return the parsed cursor
+     * @throws IllegalArgumentException if the text is not a valid cursor
+     */
+    public static ChangeCursor parse(String text) {
+        List<Long> versions = new ArrayList<>();
+        for (String version : text.split(":", -1)) {
+            long value = Long.parseLong(version.trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Change versions must be >= 0: " + text);
+            }
+            versions.add(value);
+        }
+        return new ChangeCursor(versions);
+    }
+
+    /**
+     * Gets the version to read a shard's change log from.
+     *
+     * @param shard the shard number
+     * @return the exclusive change version, 0 if the cursor does not cover the shard
+     */
+    public long version(int shard) {
+        return shard < versions.size() ? versions.get(shard) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return versions.stream().map(String::valueOf).collect(Collectors.joining(":"));
+    }
+}
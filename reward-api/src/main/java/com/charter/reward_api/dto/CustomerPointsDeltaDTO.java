@@ -0,0 +1,17 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Data Transfer Object comparing one customer's points under a candidate rule with the current rule.
+ *
+ * @param customerId the customer ID
+ * @param currentPoints the points under the current rule
+ * @param points the points under the candidate rule
+ * @param delta the candidate points minus the current points
+ */
+public record CustomerPointsDeltaDTO(
+        long customerId,
+        long currentPoints,
+        long points,
+        long delta
+) {
+}
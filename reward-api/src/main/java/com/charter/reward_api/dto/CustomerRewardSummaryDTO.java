@@ -1,5 +1,7 @@
 package com.charter.reward_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -8,9 +10,10 @@ import java.util.List;
  *
  * @param customerId the unique identifier of the customer
  * @param customerName the name of the customer
- * @param monthlyRewards list of monthly reward breakdowns
+ * @param monthlyRewards list of monthly reward breakdowns, or null for the {@link RewardView#TOTALS} view
  * @param totalPoints total reward points earned across all months
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record CustomerRewardSummaryDTO(
         Long customerId,
         String customerName,
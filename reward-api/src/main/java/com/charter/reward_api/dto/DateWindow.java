@@ -0,0 +1,29 @@
+package com.charter.reward_api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive date range requested from the multi-window rewards endpoint.
+ * Written in requests as {@code yyyy-MM-dd/yyyy-MM-dd}.
+ *
+ * @param from the start date (inclusive)
+ * @param to the end date (inclusive)
+ */
+public record DateWindow(LocalDate from, LocalDate to) {
+
+    /**
+     * Parses a window written as {@code yyyy-MM-dd/yyyy-MM-dd}.
+     *
+     * @param text the window text
+     * @return the parsed window
+     * @throws IllegalArgumentException if the text is not a valid window
+     */
+    public static DateWindow parse(String text) {
+        int separator = text.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected yyyy-MM-dd/yyyy-MM-dd: " + text);
+        }
+        return new DateWindow(LocalDate.parse(text.substring(0, separator).trim()),
+                LocalDate.parse(text.substring(separator + 1).trim()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.charter.reward_api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object describing a hot customer whose reward summary is kept precomputed.
+ *
+ * @param customerId the customer ID
+ * @param estimatedRequests the estimated recent requests for the customer, decayed over time
+ * @param estimatedTransactionsRead the estimated transactions read by the customer's recent database lookups
+ * @param warm indicates if the precomputed summary is current, rather than being computed or recomputed
+ * @param hotSince the time the customer became hot
+ * @param precomputedAt the time the summary was last computed, or null if it never was
+ */
+public record HotCustomerDTO(
+        Long customerId,
+        long estimatedRequests,
+        long estimatedTransactionsRead,
+        boolean warm,
+        Instant hotSince,
+        Instant precomputedAt
+) {
+}
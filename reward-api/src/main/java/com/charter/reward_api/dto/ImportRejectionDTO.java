@@ -0,0 +1,13 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Data Transfer Object describing a row of an imported file that was not inserted.
+ *
+ * @param line the 1-based line number of the row in the file
+ * @param reason why the row was rejected
+ */
+public record ImportRejectionDTO(
+        long line,
+        String reason
+) {
+}
@@ -0,0 +1,18 @@
+package com.charter.reward_api.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Data Transfer Object describing the outcome of a month close run.
+ *
+ * @param sealedMonths the months sealed by the run, oldest first
+ * @param firstSealed the oldest sealed month, or null if no month is sealed
+ * @param lastSealed the newest sealed month, or null if no month is sealed
+ */
+public record MonthCloseResultDTO(
+        List<YearMonth> sealedMonths,
+        YearMonth firstSealed,
+        YearMonth lastSealed
+) {
+}
@@ -0,0 +1,19 @@
+package com.charter.reward_api.dto;
+
+import java.time.YearMonth;
+
+/**
+ * Data Transfer Object representing the reward activity of all customers in one month.
+ *
+ * @param month the month
+ * @param points the reward points earned in the month
+ * @param transactions the number of transactions in the month
+ * @param activeCustomers the estimated number of distinct customers with a transaction in the month
+ */
+public record MonthlyAnalyticsDTO(
+        YearMonth month,
+        long points,
+        long transactions,
+        long activeCustomers
+) {
+}
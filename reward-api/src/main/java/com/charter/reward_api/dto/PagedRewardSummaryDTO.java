@@ -1,24 +1,42 @@
 package com.charter.reward_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * Data Transfer Object for paginated reward summary responses.
  * Contains customer reward summaries and pagination metadata.
+ * Totals are omitted when the listing was requested without counting; the cursor only when sorted by points.
  *
  * @param content list of customer reward summaries for the current page
  * @param page current page number (zero-based)
  * @param size number of items per page
- * @param totalElements total number of customers across all pages
- * @param totalPages total number of pages
+ * @param totalElements total number of customers across all pages, or null if not counted
+ * @param totalPages total number of pages, or null if not counted
  * @param last indicates if this is the last page
+ * @param hasNext indicates if a further page exists
+ * @param totalExact indicates if the totals come from an exact count rather than a cached estimate
+ * @param nextCursor the position to continue the listing sorted by points from, or null if no page follows
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PagedRewardSummaryDTO(
         List<CustomerRewardSummaryDTO> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
-        boolean last
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        boolean hasNext,
+        boolean totalExact,
+        String nextCursor
 ) {
+
+    /**
+     * Creates a page of the listing in customer ID order, which has no cursor.
+     */
+    public PagedRewardSummaryDTO(List<CustomerRewardSummaryDTO> content, int page, int size, Long totalElements,
+                                 Integer totalPages, boolean last, boolean hasNext, boolean totalExact) {
+        this(content, page, size, totalElements, totalPages, last, hasNext, totalExact, null);
+    }
 }
@@ -0,0 +1,43 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Position of a customer in the reward listing sorted by points: its points, then its customer ID.
+ * Written in requests and responses as {@code points:customerId}; a listing continued from a cursor starts
+ * with the customer right after it.
+ *
+ * @param points the customer's points within the listed range
+ * @param customerId the customer ID
+ */
+public record PointsCursor(long points, long customerId) {
+
+    /**
+     * Parses a cursor written as {@code points:customerId}.
+     *
+     * @param text the cursor text
+     * @return the parsed cursor
+     * @throws IllegalArgumentException if the text is not a valid cursor
+     */
+    public static PointsCursor parse(String text) {
+        int separator = text.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected points:customerId: " + text);
+        }
+        return new PointsCursor(Long.parseLong(text.substring(0, separator).trim()),
+                Long.parseLong(text.substring(separator + 1).trim()));
+    }
+
+    /**
+     * Checks whether this position comes before another in the points order.
+     *
+     * @param other the other position
+     * @return true if this customer is listed first
+     */
+    public boolean precedes(PointsCursor other) {
+        return points != other.points ? points > other.points : customerId < other.customerId;
+    }
+
+    @Override
+    public String toString() {
+        return points + ":" + customerId;
+    }
+}
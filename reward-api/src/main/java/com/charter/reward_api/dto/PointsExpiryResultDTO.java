@@ -0,0 +1,17 @@
+package com.charter.reward_api.dto;
+
+import java.time.YearMonth;
+
+/**
+ * Data Transfer Object describing the outcome of a points expiry run.
+ *
+ * @param expiredBefore the first month whose points are kept; points earned before it expired
+ * @param customers the number of customers whose points expired
+ * @param points the total points expired
+ */
+public record PointsExpiryResultDTO(
+        YearMonth expiredBefore,
+        long customers,
+        long points
+) {
+}
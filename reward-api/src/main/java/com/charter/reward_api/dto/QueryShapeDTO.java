@@ -0,0 +1,21 @@
+package com.charter.reward_api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object representing the latency statistics of one SQL statement shape.
+ * Percentiles are computed over the most recent executions of the shape.
+ *
+ * @param sql the statement with literals replaced by {@code ?}
+ * @param count number of executions
+ * @param slowCount number of executions over the slow-query threshold
+ * @param p50Millis median execution time in milliseconds
+ * @param p95Millis 95th percentile execution time in milliseconds
+ * @param p99Millis 99th percentile execution time in milliseconds
+ * @param maxMillis slowest execution time in milliseconds
+ * @param plan the database's EXPLAIN output of the latest captured slow execution, or null if none was captured
+ * @param planCapturedAt when the plan was captured, or null
+ */
+public record QueryShapeDTO(String sql, long count, long slowCount, double p50Millis, double p95Millis,
+                            double p99Millis, double maxMillis, String plan, Instant planCapturedAt) {
+}
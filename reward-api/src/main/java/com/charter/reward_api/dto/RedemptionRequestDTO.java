@@ -0,0 +1,16 @@
+package com.charter.reward_api.dto;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for a request to redeem reward points.
+ *
+ * @param points the points to redeem (must be positive)
+ * @param reference an optional caller reference recorded in the ledger, such as an order number
+ */
+public record RedemptionRequestDTO(
+        @Positive(message = "Points must be > 0") long points,
+        @Size(max = 64, message = "Reference must be at most 64 characters") String reference
+) {
+}
@@ -0,0 +1,16 @@
+package com.charter.reward_api.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object representing the cost breakdown of one request, added to the body in debug mode.
+ *
+ * @param phases time spent per phase in milliseconds, in the order the phases first ran
+ * @param statements number of SQL statements executed
+ * @param statementMillis total SQL execution time in milliseconds
+ * @param rowsRead number of result set rows read
+ * @param totalMillis total request time in milliseconds
+ */
+public record RequestCostDTO(Map<String, Double> phases, long statements, long statementMillis, long rowsRead,
+                             double totalMillis) {
+}
@@ -0,0 +1,26 @@
+package com.charter.reward_api.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the reward activity of all customers over a range of months.
+ *
+ * @param from the first month of the range
+ * @param to the last month of the range
+ * @param totalPoints the reward points earned in the range
+ * @param totalTransactions the number of transactions in the range
+ * @param activeCustomers the estimated number of distinct customers with a transaction in the range
+ * @param activeCustomersError the relative standard error of the active customer estimates
+ * @param months the activity of every month of the range, oldest first
+ */
+public record RewardAnalyticsDTO(
+        YearMonth from,
+        YearMonth to,
+        long totalPoints,
+        long totalTransactions,
+        long activeCustomers,
+        double activeCustomersError,
+        List<MonthlyAnalyticsDTO> months
+) {
+}
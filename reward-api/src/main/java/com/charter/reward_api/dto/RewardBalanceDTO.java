@@ -0,0 +1,25 @@
+package com.charter.reward_api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object representing a customer's redeemable points balance.
+ *
+ * @param customerId the customer ID
+ * @param earnedPoints the points earned from all of the customer's transactions
+ * @param redeemedPoints the points redeemed so far
+ * @param expiredPoints the points expired so far
+ * @param writtenOffPoints the redeemed or expired points whose transactions were removed, written off
+ * @param balance the redeemable points: earned minus redeemed minus expired, plus written off; never negative
+ * @param updatedAt the time the balance was last written
+ */
+public record RewardBalanceDTO(
+        Long customerId,
+        long earnedPoints,
+        long redeemedPoints,
+        long expiredPoints,
+        long writtenOffPoints,
+        long balance,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Data Transfer Object representing the current reward points of a changed customer month.
+ *
+ * @param customerId the unique identifier of the customer
+ * @param year the year of the reward period
+ * @param month the month name (e.g., "JANUARY", "FEBRUARY")
+ * @param points current reward points for this month (0 if all its transactions were removed)
+ */
+public record RewardChangeDTO(Long customerId, int year, String month, long points) {
+}
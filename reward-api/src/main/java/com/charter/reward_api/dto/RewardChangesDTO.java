@@ -0,0 +1,20 @@
+package com.charter.reward_api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the reward change feed.
+ * Clients pass {@code highWaterMark} as the next {@code since} value to continue the feed.
+ *
+ * @param changes customer months whose reward points changed after the requested position
+ * @param since the {@link ChangeCursor} the changes were read from
+ * @param highWaterMark the {@link ChangeCursor} covering this response
+ * @param hasMore indicates if further changes are available after the high-water mark
+ */
+public record RewardChangesDTO(
+        List<RewardChangeDTO> changes,
+        String since,
+        String highWaterMark,
+        boolean hasMore
+) {
+}
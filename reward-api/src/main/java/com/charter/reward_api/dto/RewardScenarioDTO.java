@@ -0,0 +1,23 @@
+package com.charter.reward_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a candidate reward rule to simulate.
+ * The current rule is the tiers {@code [{"aboveDollars": 50, "pointsPerDollar": 1},
+ * {"aboveDollars": 100, "pointsPerDollar": 2}]}.
+ *
+ * @param name the scenario name, echoed in the result
+ * @param tiers the tiers in ascending threshold order
+ */
+public record RewardScenarioDTO(
+        @NotBlank(message = "Name is required") @Size(max = 64, message = "Name must be at most 64 characters") String name,
+        @NotEmpty(message = "At least one tier is required")
+        @Size(max = 10, message = "At most 10 tiers are allowed") List<@Valid RewardTierDTO> tiers
+) {
+}
@@ -0,0 +1,23 @@
+package com.charter.reward_api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of one simulated reward rule.
+ *
+ * @param name the scenario name
+ * @param points the points the rule would have issued
+ * @param delta the points the rule would have issued minus those of the current rule
+ * @param customersGaining the number of customers who would have earned more points
+ * @param customersLosing the number of customers who would have earned fewer points
+ * @param topCustomers the customers with the largest absolute changes, largest first
+ */
+public record RewardScenarioResultDTO(
+        String name,
+        long points,
+        long delta,
+        long customersGaining,
+        long customersLosing,
+        List<CustomerPointsDeltaDTO> topCustomers
+) {
+}
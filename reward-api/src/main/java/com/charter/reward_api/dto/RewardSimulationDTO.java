@@ -0,0 +1,27 @@
+package com.charter.reward_api.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a reward rule simulation.
+ *
+ * @param from the first transaction date simulated, or null if unbounded
+ * @param to the last transaction date simulated, or null if unbounded
+ * @param snapshotTakenAt the time the simulated transactions were read from the database
+ * @param transactions the number of transactions simulated
+ * @param customers the number of customers with transactions simulated
+ * @param currentPoints the points the current rule issued for those transactions
+ * @param scenarios the outcome of each candidate rule, in request order
+ */
+public record RewardSimulationDTO(
+        LocalDate from,
+        LocalDate to,
+        Instant snapshotTakenAt,
+        long transactions,
+        long customers,
+        long currentPoints,
+        List<RewardScenarioResultDTO> scenarios
+) {
+}
@@ -0,0 +1,28 @@
+package com.charter.reward_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a request to simulate candidate reward rules over historical transactions.
+ *
+ * @param from optional first transaction date (inclusive)
+ * @param to optional last transaction date (inclusive)
+ * @param scenarios the candidate rules, between 1 and 8
+ * @param topCustomers optional number of customers with the largest changes reported per scenario (default: 10)
+ */
+public record RewardSimulationRequestDTO(
+        LocalDate from,
+        LocalDate to,
+        @NotEmpty(message = "At least one scenario is required")
+        @Size(max = 8, message = "At most 8 scenarios are allowed") List<@Valid RewardScenarioDTO> scenarios,
+        @Min(value = 0, message = "Top customers must be >= 0")
+        @Max(value = 1000, message = "Top customers must be <= 1000") Integer topCustomers
+) {
+}
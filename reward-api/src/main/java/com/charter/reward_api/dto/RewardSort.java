@@ -0,0 +1,18 @@
+package com.charter.reward_api.dto;
+
+/**
+ * Order of the customers in the reward listing.
+ */
+public enum RewardSort {
+
+    /**
+     * Ascending customer ID; pages are numbered.
+     */
+    ID,
+
+    /**
+     * Descending points within the requested range, then ascending customer ID; pages are numbered or continue
+     * from a {@link PointsCursor}.
+     */
+    POINTS
+}
@@ -0,0 +1,15 @@
+package com.charter.reward_api.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Data Transfer Object for one tier of a candidate reward rule.
+ *
+ * @param aboveDollars the whole-dollar amount above which the tier starts paying
+ * @param pointsPerDollar the points paid per dollar between this tier's threshold and the next one's
+ */
+public record RewardTierDTO(
+        @PositiveOrZero(message = "Tier threshold must be >= 0") long aboveDollars,
+        @PositiveOrZero(message = "Points per dollar must be >= 0") long pointsPerDollar
+) {
+}
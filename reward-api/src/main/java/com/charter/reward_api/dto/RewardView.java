@@ -0,0 +1,25 @@
+package com.charter.reward_api.dto;
+
+/**
+ * How much of a customer's reward summary is computed and returned.
+ */
+public enum RewardView {
+
+    /**
+     * Total points only; computed by a single SUM aggregation in the database, without a monthly breakdown.
+     * Sealed months are read from their snapshots.
+     */
+    TOTALS,
+
+    /**
+     * Monthly breakdown and total points; computed by a per-month aggregation in the database.
+     * Sealed months are read from their snapshots.
+     */
+    MONTHLY,
+
+    /**
+     * Monthly breakdown and total points; computed from the individual transactions.
+     * Ranges covering sealed months are computed like {@link #MONTHLY}, reading those months from their snapshots.
+     */
+    FULL
+}
@@ -0,0 +1,13 @@
+package com.charter.reward_api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object representing a customer's reward points over one date window.
+ *
+ * @param from the start date of the window (inclusive)
+ * @param to the end date of the window (inclusive)
+ * @param points reward points earned within the window
+ */
+public record RewardWindowDTO(LocalDate from, LocalDate to, long points) {
+}
@@ -0,0 +1,12 @@
+package com.charter.reward_api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a customer's reward points over several date windows.
+ *
+ * @param customerId the unique identifier of the customer
+ * @param windows the point totals, in the order the windows were requested
+ */
+public record RewardWindowsDTO(Long customerId, List<RewardWindowDTO> windows) {
+}
@@ -0,0 +1,22 @@
+package com.charter.reward_api.dto;
+
+/**
+ * How the reward listing reports the total number of customers.
+ */
+public enum TotalCountMode {
+
+    /**
+     * Runs a count query on every request; the total is exact.
+     */
+    EXACT,
+
+    /**
+     * Uses a cached customer count refreshed within a configured staleness bound; the total is approximate.
+     */
+    ESTIMATED,
+
+    /**
+     * Skips counting entirely; only {@code hasNext} is reported.
+     */
+    NONE
+}
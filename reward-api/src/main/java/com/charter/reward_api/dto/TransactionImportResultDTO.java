@@ -0,0 +1,21 @@
+package com.charter.reward_api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object describing the outcome of a transaction file import.
+ *
+ * @param rowsAccepted the rows inserted as transactions
+ * @param rowsRejected the rows skipped because they were malformed or named an unknown customer
+ * @param rejections the first rejected rows, ordered by line, at most {@code reward.import.max-rejections}
+ * @param elapsedMillis the wall-clock time of the import in milliseconds
+ * @param rowsPerSecond the rows read per second, accepted or rejected
+ */
+public record TransactionImportResultDTO(
+        long rowsAccepted,
+        long rowsRejected,
+        List<ImportRejectionDTO> rejections,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+}
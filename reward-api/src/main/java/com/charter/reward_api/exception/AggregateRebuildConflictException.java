@@ -0,0 +1,16 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when an aggregate rebuild request conflicts with the current rebuild state,
+ * such as starting a rebuild while one is running or cancelling when none is.
+ */
+public class AggregateRebuildConflictException extends RuntimeException {
+    /**
+     * Constructs a new AggregateRebuildConflictException with the given message.
+     *
+     * @param message the conflict description
+     */
+    public AggregateRebuildConflictException(String message) {
+        super(message);
+    }
+}
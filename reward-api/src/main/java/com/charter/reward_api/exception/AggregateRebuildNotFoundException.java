@@ -0,0 +1,13 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when rebuild status is requested before any aggregate rebuild was started.
+ */
+public class AggregateRebuildNotFoundException extends RuntimeException {
+    /**
+     * Constructs a new AggregateRebuildNotFoundException.
+     */
+    public AggregateRebuildNotFoundException() {
+        super("No aggregate rebuild has been started");
+    }
+}
@@ -0,0 +1,17 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when a balance update keeps losing optimistic lock races to concurrent writes
+ * and runs out of retries.
+ */
+public class BalanceUpdateConflictException extends RuntimeException {
+    /**
+     * Constructs a new BalanceUpdateConflictException with a message containing the customer ID.
+     *
+     * @param customerId the customer ID
+     * @param attempts the number of attempts made
+     */
+    public BalanceUpdateConflictException(Long customerId, int attempts) {
+        super("Balance of customer " + customerId + " changed concurrently " + attempts + " times, retry later");
+    }
+}
@@ -0,0 +1,35 @@
+package com.charter.reward_api.exception;
+
+import com.charter.reward_api.config.BulkheadType;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is rejected because its bulkhead has no call slot or connection to spare.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final BulkheadType type;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new BulkheadFullException.
+     *
+     * @param type the bulkhead that rejected the request
+     * @param resource what the bulkhead ran out of
+     * @param retryAfter the delay suggested to the client before retrying
+     */
+    public BulkheadFullException(BulkheadType type, String resource, Duration retryAfter) {
+        super("Bulkhead " + type + " has no " + resource + " available");
+        this.type = type;
+        this.retryAfter = retryAfter;
+    }
+
+    public BulkheadType getType() {
+        return type;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
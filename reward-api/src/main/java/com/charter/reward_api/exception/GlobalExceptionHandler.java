@@ -4,11 +4,18 @@ import com.charter.reward_api.dto.ErrorResponseDTO;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 /**
  * Global exception handler for the Reward API.
@@ -47,6 +54,35 @@ public class GlobalExceptionHandler {
         return errorBody(HttpStatus.BAD_REQUEST, message);
     }
 
+    /**
+     * Handles MethodArgumentNotValidException for an invalid request body and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidBody(MethodArgumentNotValidException ex) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .findFirst()
+                .orElse("Invalid request body");
+        return errorBody(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Handles HttpMessageNotReadableException for a missing or malformed request body and returns a 400 Bad Request
+     * response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return errorBody(HttpStatus.BAD_REQUEST, "Request body is missing or malformed");
+    }
+
     /**
      * Handles MethodArgumentTypeMismatchException for invalid parameter types and returns a 400 Bad Request response.
      *
@@ -59,6 +95,18 @@ public class GlobalExceptionHandler {
         return errorBody(HttpStatus.BAD_REQUEST, "Invalid parameter: " + ex.getName());
     }
 
+    /**
+     * Handles MissingServletRequestParameterException for absent required parameters and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleMissingParameter(MissingServletRequestParameterException ex) {
+        return errorBody(HttpStatus.BAD_REQUEST, "Missing parameter: " + ex.getParameterName());
+    }
+
     /**
      * Handles InvalidDateRangeException and returns a 400 Bad Request response.
      *
@@ -71,17 +119,201 @@ public class GlobalExceptionHandler {
         return errorBody(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    /**
+     * Handles InvalidImportFileException and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidImportFile(InvalidImportFileException ex) {
+        return errorBody(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidSimulationException and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(InvalidSimulationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidSimulation(InvalidSimulationException ex) {
+        return errorBody(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Handles SimulationTooLargeException and returns a 422 Unprocessable Entity response.
+     *
+     * @param ex the exception
+     * @return error response with 422 status
+     */
+    @ExceptionHandler(SimulationTooLargeException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponseDTO handleSimulationTooLarge(SimulationTooLargeException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    /**
+     * Handles HttpMediaTypeNotSupportedException and returns a 415 Unsupported Media Type response.
+     *
+     * @param ex the exception
+     * @return error response with 415 status
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public ErrorResponseDTO handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        return errorBody(HttpStatus.UNSUPPORTED_MEDIA_TYPE, ex.getMessage());
+    }
+
+    /**
+     * Handles MaxUploadSizeExceededException and returns a 413 Payload Too Large response.
+     *
+     * @param ex the exception
+     * @return error response with 413 status
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ErrorResponseDTO handleMaxUploadSize(MaxUploadSizeExceededException ex) {
+        return errorBody(HttpStatus.PAYLOAD_TOO_LARGE, "Uploaded file exceeds the maximum upload size");
+    }
+
+    /**
+     * Handles RequestCoalescingTimeoutException and returns a 503 Service Unavailable response.
+     *
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(RequestCoalescingTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponseDTO handleCoalescingTimeout(RequestCoalescingTimeoutException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for an identical request in progress");
+    }
+
+    /**
+     * Handles RequestBatchTimeoutException and returns a 503 Service Unavailable response.
+     *
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(RequestBatchTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponseDTO handleBatchTimeout(RequestBatchTimeoutException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for a batched lookup in progress");
+    }
+
+    /**
+     * Handles ImportCapacityExceededException and returns a 503 Service Unavailable response.
+     *
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponseDTO handleImportCapacityExceeded(ImportCapacityExceededException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, retry later");
+    }
+
+    /**
+     * Handles BulkheadFullException and returns a 503 Service Unavailable response with a Retry-After header.
+     *
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn(ex.getMessage());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests, retry later"));
+    }
+
+    /**
+     * Handles InsufficientPointsException and returns a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(InsufficientPointsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDTO handleInsufficientPoints(InsufficientPointsException ex) {
+        return errorBody(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Handles BalanceUpdateConflictException and returns a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(BalanceUpdateConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDTO handleBalanceUpdateConflict(BalanceUpdateConflictException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Handles AggregateRebuildConflictException and returns a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(AggregateRebuildConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDTO handleRebuildConflict(AggregateRebuildConflictException ex) {
+        return errorBody(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Handles AggregateRebuildNotFoundException and returns a 404 Not Found response.
+     *
+     * @param ex the exception
+     * @return error response with 404 status
+     */
+    @ExceptionHandler(AggregateRebuildNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponseDTO handleRebuildNotFound(AggregateRebuildNotFoundException ex) {
+        return errorBody(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    /**
+     * Handles LocalAccessOnlyException and returns a 403 Forbidden response.
+     *
+     * @param ex the exception
+     * @return error response with 403 status
+     */
+    @ExceptionHandler(LocalAccessOnlyException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ErrorResponseDTO handleLocalAccessOnly(LocalAccessOnlyException ex) {
+        log.warn(ex.getMessage());
+        return errorBody(HttpStatus.FORBIDDEN, "Endpoint is only available locally");
+    }
+
     /**
      * Handles all unhandled exceptions and returns a 500 Internal Server Error response.
+     * A bulkhead rejection wrapped by the data access layer, as when a transaction cannot get its connection,
+     * is still answered with 503.
      *
      * @param ex the exception
      * @return error response with 500 status
      */
     @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponseDTO handleGeneric(Exception ex) {
+    public ResponseEntity<ErrorResponseDTO> handleGeneric(Exception ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                return handleBulkheadFull(bulkheadFull);
+            }
+        }
         log.error("Unexpected error", ex);
-        return errorBody(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(errorBody(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"));
     }
 
     /**
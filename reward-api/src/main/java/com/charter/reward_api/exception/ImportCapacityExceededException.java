@@ -0,0 +1,15 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when a transaction import is rejected because every import writer is busy.
+ */
+public class ImportCapacityExceededException extends RuntimeException {
+    /**
+     * Constructs a new ImportCapacityExceededException with a message containing the number of writers.
+     *
+     * @param writers the number of imports that may insert at once
+     */
+    public ImportCapacityExceededException(int writers) {
+        super("All " + writers + " import writers are busy");
+    }
+}
@@ -0,0 +1,17 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when a redemption asks for more points than the customer's redeemable balance.
+ */
+public class InsufficientPointsException extends RuntimeException {
+    /**
+     * Constructs a new InsufficientPointsException with a message containing the requested and available points.
+     *
+     * @param customerId the customer ID
+     * @param requested the points requested
+     * @param available the redeemable balance
+     */
+    public InsufficientPointsException(Long customerId, long requested, long available) {
+        super("Customer " + customerId + " cannot redeem " + requested + " points, balance is " + available);
+    }
+}
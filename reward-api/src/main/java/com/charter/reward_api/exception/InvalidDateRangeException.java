@@ -15,4 +15,13 @@ public class InvalidDateRangeException extends RuntimeException {
     public InvalidDateRangeException(LocalDate from, LocalDate to) {
         super("'from' date (" + from + ") must not be after 'to' date (" + to + ")");
     }
+
+    /**
+     * Constructs a new InvalidDateRangeException with the given message.
+     *
+     * @param message the description of the invalid range
+     */
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,16 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when an uploaded transaction file cannot be imported as a whole, such as when its header
+ * lacks a required column.
+ */
+public class InvalidImportFileException extends RuntimeException {
+    /**
+     * Constructs a new InvalidImportFileException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
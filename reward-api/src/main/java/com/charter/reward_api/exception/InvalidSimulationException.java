@@ -0,0 +1,16 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when a reward rule simulation is requested with a rule that cannot be evaluated, such as
+ * tiers whose thresholds are not ascending.
+ */
+public class InvalidSimulationException extends RuntimeException {
+    /**
+     * Constructs a new InvalidSimulationException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidSimulationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when an endpoint restricted to local callers is requested from another host.
+ */
+public class LocalAccessOnlyException extends RuntimeException {
+    /**
+     * Constructs a new LocalAccessOnlyException for a remote address.
+     *
+     * @param remoteAddress the caller's address
+     */
+    public LocalAccessOnlyException(String remoteAddress) {
+        super("Endpoint is only available locally, not from " + remoteAddress);
+    }
+}
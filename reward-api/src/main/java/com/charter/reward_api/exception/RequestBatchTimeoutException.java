@@ -0,0 +1,18 @@
+package com.charter.reward_api.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a batched lookup gives up waiting for the batch it joined to be loaded.
+ */
+public class RequestBatchTimeoutException extends RuntimeException {
+    /**
+     * Constructs a new RequestBatchTimeoutException with a message containing the batch key.
+     *
+     * @param key the batch key of the lookup
+     * @param waitTimeout the maximum time the lookup waited
+     */
+    public RequestBatchTimeoutException(Object key, Duration waitTimeout) {
+        super("Timed out after " + waitTimeout.toMillis() + " ms waiting for batched lookup: " + key);
+    }
+}
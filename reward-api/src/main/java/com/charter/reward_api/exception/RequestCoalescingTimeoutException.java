@@ -0,0 +1,18 @@
+package com.charter.reward_api.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a coalesced request gives up waiting for the identical request in flight.
+ */
+public class RequestCoalescingTimeoutException extends RuntimeException {
+    /**
+     * Constructs a new RequestCoalescingTimeoutException with a message containing the request key.
+     *
+     * @param key the coalescing key of the request
+     * @param waitTimeout the maximum time the request waited
+     */
+    public RequestCoalescingTimeoutException(Object key, Duration waitTimeout) {
+        super("Timed out after " + waitTimeout.toMillis() + " ms waiting for in-flight request: " + key);
+    }
+}
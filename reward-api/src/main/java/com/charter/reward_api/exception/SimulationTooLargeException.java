@@ -0,0 +1,15 @@
+package com.charter.reward_api.exception;
+
+/**
+ * Exception thrown when a reward rule simulation would load more transactions into memory than allowed.
+ */
+public class SimulationTooLargeException extends RuntimeException {
+    /**
+     * Constructs a new SimulationTooLargeException with a message containing the limit.
+     *
+     * @param maxTransactions the largest number of transactions a simulation may load
+     */
+    public SimulationTooLargeException(long maxTransactions) {
+        super("Simulations are limited to " + maxTransactions + " transactions");
+    }
+}
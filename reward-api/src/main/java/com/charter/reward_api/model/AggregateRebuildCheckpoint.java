@@ -0,0 +1,89 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity recording a customer ID range completed by an aggregate rebuild job.
+ * Written in the same transaction as the range's aggregates, so a resumed job skips exactly the committed ranges.
+ */
+@Entity
+@Table(name = "aggregate_rebuild_checkpoint", indexes = @Index(columnList = "jobId"))
+public class AggregateRebuildCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private long rangeStart;
+
+    @Column(nullable = false)
+    private long rangeEnd;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private Instant completedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AggregateRebuildCheckpoint() {
+    }
+
+    /**
+     * Constructs a new AggregateRebuildCheckpoint.
+     *
+     * @param jobId the rebuild job ID
+     * @param rangeStart the first customer ID of the range (inclusive)
+     * @param rangeEnd the last customer ID of the range (inclusive)
+     * @param transactionCount the number of transactions read for the range
+     * @param completedAt the completion time
+     */
+    public AggregateRebuildCheckpoint(Long jobId, long rangeStart, long rangeEnd, long transactionCount, Instant completedAt) {
+        this.jobId = jobId;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.transactionCount = transactionCount;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Gets the rebuild job ID.
+     *
+     * @return the job ID
+     */
+    public Long getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Gets the first customer ID of the range.
+     *
+     * @return the range start (inclusive)
+     */
+    public long getRangeStart() {
+        return rangeStart;
+    }
+
+    /**
+     * Gets the number of transactions read for the range.
+     *
+     * @return the transaction count
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
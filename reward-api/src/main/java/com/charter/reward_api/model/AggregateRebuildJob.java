@@ -0,0 +1,169 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity representing a rebuild of all monthly reward aggregates.
+ * Records the customer ID range layout so that an interrupted rebuild can resume with the same ranges.
+ */
+@Entity
+@Table(name = "aggregate_rebuild_job")
+public class AggregateRebuildJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RebuildStatus status;
+
+    @Column(nullable = false)
+    private long minCustomerId;
+
+    @Column(nullable = false)
+    private long maxCustomerId;
+
+    @Column(nullable = false)
+    private int rangeSize;
+
+    @Column(nullable = false)
+    private int totalRanges;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AggregateRebuildJob() {
+    }
+
+    /**
+     * Constructs a new running AggregateRebuildJob.
+     *
+     * @param minCustomerId the lowest customer ID to rebuild
+     * @param maxCustomerId the highest customer ID to rebuild
+     * @param rangeSize the number of customer IDs per range
+     * @param totalRanges the number of ranges
+     * @param startedAt the start time
+     */
+    public AggregateRebuildJob(long minCustomerId, long maxCustomerId, int rangeSize, int totalRanges, Instant startedAt) {
+        this.status = RebuildStatus.RUNNING;
+        this.minCustomerId = minCustomerId;
+        this.maxCustomerId = maxCustomerId;
+        this.rangeSize = rangeSize;
+        this.totalRanges = totalRanges;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Gets the job ID.
+     *
+     * @return the job ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the job status.
+     *
+     * @return the job status
+     */
+    public RebuildStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the job status.
+     *
+     * @param status the job status
+     */
+    public void setStatus(RebuildStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the lowest customer ID to rebuild.
+     *
+     * @return the lowest customer ID
+     */
+    public long getMinCustomerId() {
+        return minCustomerId;
+    }
+
+    /**
+     * Gets the highest customer ID to rebuild.
+     *
+     * @return the highest customer ID
+     */
+    public long getMaxCustomerId() {
+        return maxCustomerId;
+    }
+
+    /**
+     * Gets the number of customer IDs per range.
+     *
+     * @return the range size
+     */
+    public int getRangeSize() {
+        return rangeSize;
+    }
+
+    /**
+     * Gets the number of ranges.
+     *
+     * @return the total number of ranges
+     */
+    public int getTotalRanges() {
+        return totalRanges;
+    }
+
+    /**
+     * Gets the time the job was started.
+     *
+     * @return the start time
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Sets the time the job was started or resumed.
+     *
+     * @param startedAt the start time
+     */
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Gets the time the job finished.
+     *
+     * @return the finish time, or null while running
+     */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the time the job finished.
+     *
+     * @param finishedAt the finish time
+     */
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -1,17 +1,23 @@
 package com.charter.reward_api.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * JPA entity representing a customer in the rewards program.
+ * Kept in Hibernate's second-level cache, as customers are read by every reward request and rarely change.
  */
 @Entity
 @Table(name = "customer")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
 public class Customer {
 
     @Id
@@ -0,0 +1,12 @@
+package com.charter.reward_api.model;
+
+/**
+ * Kind of change to a customer's redeemable balance other than earning points.
+ */
+public enum LedgerEntryType {
+    REDEMPTION,
+    EXPIRY,
+
+    /** Earned points removed after they were redeemed or expired; the part the balance cannot cover is written off. */
+    CLAWBACK
+}
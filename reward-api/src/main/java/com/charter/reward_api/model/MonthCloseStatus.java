@@ -0,0 +1,9 @@
+package com.charter.reward_api.model;
+
+/**
+ * Lifecycle state of a month in the month close.
+ */
+public enum MonthCloseStatus {
+    OPEN,
+    SEALED
+}
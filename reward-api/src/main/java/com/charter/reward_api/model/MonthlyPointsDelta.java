@@ -0,0 +1,14 @@
+package com.charter.reward_api.model;
+
+import java.time.YearMonth;
+
+/**
+ * Change in a customer's reward points for one month caused by a transaction write.
+ *
+ * @param customerId the ID of the affected customer
+ * @param month the affected month
+ * @param points the change in reward points (negative for removals)
+ * @param transactions the change in transaction count (negative for removals)
+ */
+public record MonthlyPointsDelta(Long customerId, YearMonth month, long points, long transactions) {
+}
@@ -0,0 +1,71 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding a customer's pre-aggregated reward points for one month.
+ * Kept current from transaction writes and recomputed in bulk by the aggregate rebuild.
+ */
+@Entity
+@Table(name = "customer_monthly_reward")
+public class MonthlyRewardAggregate {
+
+    @EmbeddedId
+    private MonthlyRewardAggregateId id;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public MonthlyRewardAggregate() {
+    }
+
+    /**
+     * Gets the customer and month this aggregate belongs to.
+     *
+     * @return the aggregate ID
+     */
+    public MonthlyRewardAggregateId getId() {
+        return id;
+    }
+
+    /**
+     * Gets the reward points earned in the month.
+     *
+     * @return the reward points
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the number of transactions in the month.
+     *
+     * @return the transaction count
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Gets the time the aggregate was last written.
+     *
+     * @return the last update time
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
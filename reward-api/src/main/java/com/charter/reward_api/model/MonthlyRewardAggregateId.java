@@ -0,0 +1,73 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link MonthlyRewardAggregate} and {@link RewardMonthSnapshot}:
+ * a customer and the first day of a month.
+ */
+@Embeddable
+public class MonthlyRewardAggregateId implements Serializable {
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDate rewardMonth;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public MonthlyRewardAggregateId() {
+    }
+
+    /**
+     * Constructs a new MonthlyRewardAggregateId.
+     *
+     * @param customerId the customer ID
+     * @param rewardMonth the first day of the month
+     */
+    public MonthlyRewardAggregateId(Long customerId, LocalDate rewardMonth) {
+        this.customerId = customerId;
+        this.rewardMonth = rewardMonth;
+    }
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the first day of the month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonthlyRewardAggregateId other)) {
+            return false;
+        }
+        return Objects.equals(customerId, other.customerId) && Objects.equals(rewardMonth, other.rewardMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, rewardMonth);
+    }
+}
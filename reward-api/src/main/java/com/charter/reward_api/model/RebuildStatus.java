@@ -0,0 +1,11 @@
+package com.charter.reward_api.model;
+
+/**
+ * Lifecycle state of an aggregate rebuild job.
+ */
+public enum RebuildStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,102 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity recording a change to a sealed month: a transaction written, changed or removed after the
+ * month's snapshot was taken. A sealed month's points are its snapshot plus its adjustments.
+ */
+@Entity
+@Immutable
+@Table(name = "reward_adjustment", indexes = @Index(columnList = "customerId, rewardMonth"))
+public class RewardAdjustment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDate rewardMonth;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardAdjustment() {
+    }
+
+    /**
+     * Gets the adjustment ID.
+     *
+     * @return the adjustment ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the adjusted customer.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the first day of the adjusted month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    /**
+     * Gets the change in reward points (negative for removals).
+     *
+     * @return the points delta
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the change in transaction count (negative for removals).
+     *
+     * @return the transaction count delta
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Gets the time the adjustment was recorded.
+     *
+     * @return the creation time
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
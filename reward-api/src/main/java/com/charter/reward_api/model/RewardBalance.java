@@ -0,0 +1,144 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding a customer's running points balance, so the redeemable balance is read with a single
+ * primary-key lookup. Earned points follow the monthly aggregates inside every transaction write; redeemed,
+ * expired and written-off points follow the ledger. Every change increments the version, so a redemption that read a stale
+ * balance fails its optimistic lock check and is retried.
+ */
+@Entity
+@Table(name = "reward_balance")
+public class RewardBalance {
+
+    @Id
+    private Long customerId;
+
+    @Column(nullable = false)
+    private long earned;
+
+    @Column(nullable = false)
+    private long redeemed;
+
+    @Column(nullable = false)
+    private long expired;
+
+    @Column(nullable = false)
+    private long writtenOff;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardBalance() {
+    }
+
+    /**
+     * Debits redeemed points from the balance.
+     *
+     * @param points the points redeemed
+     * @param now the time of the redemption
+     */
+    public void redeem(long points, Instant now) {
+        this.redeemed += points;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Debits expired points from the balance.
+     *
+     * @param points the points expired
+     * @param now the time of the expiry
+     */
+    public void expire(long points, Instant now) {
+        this.expired += points;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Gets the ID of the customer owning the balance.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the points earned from all of the customer's transactions.
+     *
+     * @return the earned points
+     */
+    public long getEarned() {
+        return earned;
+    }
+
+    /**
+     * Gets the points redeemed so far.
+     *
+     * @return the redeemed points
+     */
+    public long getRedeemed() {
+        return redeemed;
+    }
+
+    /**
+     * Gets the points expired so far.
+     *
+     * @return the expired points
+     */
+    public long getExpired() {
+        return expired;
+    }
+
+    /**
+     * Gets the points redeemed or expired before the transactions that earned them were removed, written off so
+     * that the balance does not go negative.
+     *
+     * @return the written-off points
+     */
+    public long getWrittenOff() {
+        return writtenOff;
+    }
+
+    /**
+     * Gets the redeemable balance: earned minus redeemed minus expired points, plus the written-off points.
+     * Never negative.
+     *
+     * @return the redeemable points
+     */
+    public long getBalance() {
+        return earned - redeemed - expired + writtenOff;
+    }
+
+    /**
+     * Gets the optimistic lock version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the time the balance was last written.
+     *
+     * @return the last update time
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
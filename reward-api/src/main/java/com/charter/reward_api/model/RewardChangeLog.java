@@ -0,0 +1,114 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity representing one entry of the reward change log.
+ * Each entry marks a (customer, month) whose reward points may have changed. The generated ID orders entries by
+ * insert, which is not the order they become visible in; the change version is assigned after commit, in visibility
+ * order, by {@link com.charter.reward_api.repository.RewardChangeLogWriter#assignVersions(int)}.
+ */
+@Entity
+@Table(name = "reward_change_log", indexes = @Index(columnList = "commitVersion"))
+public class RewardChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDate rewardMonth;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    private Long commitVersion;
+
+    @Column(length = 36)
+    private String origin;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardChangeLog() {
+    }
+
+    /**
+     * Constructs a new RewardChangeLog entry.
+     *
+     * @param customerId the ID of the affected customer
+     * @param rewardMonth the first day of the affected month
+     * @param changedAt the time of the change
+     */
+    public RewardChangeLog(Long customerId, LocalDate rewardMonth, Instant changedAt) {
+        this.customerId = customerId;
+        this.rewardMonth = rewardMonth;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Gets the insert order of the entry.
+     *
+     * @return the entry ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the affected customer.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the first day of the affected month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    /**
+     * Gets the time of the change.
+     *
+     * @return the change time
+     */
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * Gets the instance that made the change.
+     *
+     * @return the origin of the writing instance, or null if unknown
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the change version, assigned in commit order once the entry is visible.
+     *
+     * @return the change version, or null until assigned
+     */
+    public Long getCommitVersion() {
+        return commitVersion;
+    }
+}
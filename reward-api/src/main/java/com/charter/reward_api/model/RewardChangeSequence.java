@@ -0,0 +1,37 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity holding the last change version assigned on a shard, in a single row.
+ * Versions are only assigned while this row is locked, so they follow the order in which change log entries
+ * became visible.
+ */
+@Entity
+@Table(name = "reward_change_sequence")
+public class RewardChangeSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long lastVersion;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardChangeSequence() {
+    }
+
+    /**
+     * Gets the last change version assigned.
+     *
+     * @return the last change version, or 0 if none was assigned
+     */
+    public long getLastVersion() {
+        return lastVersion;
+    }
+}
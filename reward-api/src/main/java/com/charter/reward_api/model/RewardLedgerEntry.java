@@ -0,0 +1,121 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * JPA entity recording points debited from a customer's balance by a redemption or an expiry.
+ * Written in the same transaction as the {@link RewardBalance} change it explains.
+ */
+@Entity
+@Immutable
+@Table(name = "reward_ledger", indexes = @Index(columnList = "customerId"))
+public class RewardLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private LedgerEntryType type;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(length = 64)
+    private String reference;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardLedgerEntry() {
+    }
+
+    /**
+     * Constructs a ledger entry.
+     *
+     * @param customerId the ID of the customer whose balance is debited
+     * @param type the kind of debit
+     * @param points the points debited
+     * @param reference an optional caller reference, such as an order number
+     * @param createdAt the time of the debit
+     */
+    public RewardLedgerEntry(Long customerId, LedgerEntryType type, long points, String reference, Instant createdAt) {
+        this.customerId = customerId;
+        this.type = type;
+        this.points = points;
+        this.reference = reference;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets the ledger entry ID.
+     *
+     * @return the entry ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the customer whose balance was debited.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the kind of debit.
+     *
+     * @return the entry type
+     */
+    public LedgerEntryType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the points debited.
+     *
+     * @return the points
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the caller reference of a redemption.
+     *
+     * @return the reference, or null if none was given
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Gets the time of the debit.
+     *
+     * @return the creation time
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity recording the close of one month. The month close creates the row as open ahead of time, normally
+ * before the month begins; writes to the month share its lock and sealing takes it exclusively, so the snapshot
+ * and every write agree on whether the write is part of the snapshot or an adjustment to it.
+ */
+@Entity
+@Table(name = "reward_month_close")
+public class RewardMonthClose {
+
+    @Id
+    private LocalDate rewardMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MonthCloseStatus status;
+
+    private Instant sealedAt;
+
+    private Long snapshotRows;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardMonthClose() {
+    }
+
+    /**
+     * Gets the first day of the month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    /**
+     * Gets the close state of the month.
+     *
+     * @return the status
+     */
+    public MonthCloseStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the time the month's snapshot was taken.
+     *
+     * @return the seal time, or null while open
+     */
+    public Instant getSealedAt() {
+        return sealedAt;
+    }
+
+    /**
+     * Gets the number of customer snapshot rows written for the month.
+     *
+     * @return the snapshot row count, or null while open
+     */
+    public Long getSnapshotRows() {
+        return snapshotRows;
+    }
+}
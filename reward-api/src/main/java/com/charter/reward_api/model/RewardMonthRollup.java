@@ -0,0 +1,72 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding the reward points and transaction count of all customers of one stripe in one month.
+ * A month's totals are split over stripes, chosen by customer ID, so concurrent writes for different customers
+ * rarely wait on the same row; the month's totals are the sum of its stripes.
+ */
+@Entity
+@Table(name = "reward_month_rollup")
+public class RewardMonthRollup {
+
+    @EmbeddedId
+    private RewardMonthRollupId id;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardMonthRollup() {
+    }
+
+    /**
+     * Gets the month and stripe this rollup belongs to.
+     *
+     * @return the rollup ID
+     */
+    public RewardMonthRollupId getId() {
+        return id;
+    }
+
+    /**
+     * Gets the reward points earned in the month by the stripe's customers.
+     *
+     * @return the reward points
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the number of transactions in the month of the stripe's customers.
+     *
+     * @return the transaction count
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Gets the time the rollup was last written.
+     *
+     * @return the last update time
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link RewardMonthRollup}: the first day of a month and a stripe of customers.
+ */
+@Embeddable
+public class RewardMonthRollupId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate rewardMonth;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardMonthRollupId() {
+    }
+
+    /**
+     * Constructs a new RewardMonthRollupId.
+     *
+     * @param rewardMonth the first day of the month
+     * @param stripe the customer stripe
+     */
+    public RewardMonthRollupId(LocalDate rewardMonth, int stripe) {
+        this.rewardMonth = rewardMonth;
+        this.stripe = stripe;
+    }
+
+    /**
+     * Gets the first day of the month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    /**
+     * Gets the customer stripe.
+     *
+     * @return the stripe
+     */
+    public int getStripe() {
+        return stripe;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RewardMonthRollupId other)) {
+            return false;
+        }
+        return stripe == other.stripe && Objects.equals(rewardMonth, other.rewardMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rewardMonth, stripe);
+    }
+}
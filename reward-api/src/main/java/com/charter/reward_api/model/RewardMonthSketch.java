@@ -0,0 +1,63 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding the HyperLogLog registers of the customers with a transaction written in one month.
+ * Instances merge the customers they saw into the stored registers, so the row estimates the distinct
+ * active customers of the month across all instances.
+ */
+@Entity
+@Table(name = "reward_month_sketch")
+public class RewardMonthSketch {
+
+    @Id
+    private LocalDate rewardMonth;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] registers;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardMonthSketch() {
+    }
+
+    /**
+     * Gets the first day of the month.
+     *
+     * @return the reward month
+     */
+    public LocalDate getRewardMonth() {
+        return rewardMonth;
+    }
+
+    /**
+     * Gets the sketch registers.
+     *
+     * @return the registers
+     */
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Gets the time the sketch was last merged into.
+     *
+     * @return the last update time
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,73 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding a customer's reward points for a sealed month, as they stood when the month was closed.
+ * Never updated; later corrections to the month are recorded as {@link RewardAdjustment}s.
+ */
+@Entity
+@Immutable
+@Table(name = "reward_month_snapshot")
+public class RewardMonthSnapshot {
+
+    @EmbeddedId
+    private MonthlyRewardAggregateId id;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private Instant sealedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardMonthSnapshot() {
+    }
+
+    /**
+     * Gets the customer and month this snapshot belongs to.
+     *
+     * @return the snapshot ID
+     */
+    public MonthlyRewardAggregateId getId() {
+        return id;
+    }
+
+    /**
+     * Gets the reward points earned in the month when it was sealed.
+     *
+     * @return the reward points
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the number of transactions in the month when it was sealed.
+     *
+     * @return the transaction count
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Gets the time the month was sealed.
+     *
+     * @return the seal time
+     */
+    public Instant getSealedAt() {
+        return sealedAt;
+    }
+}
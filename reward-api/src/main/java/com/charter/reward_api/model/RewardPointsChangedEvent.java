@@ -0,0 +1,13 @@
+package com.charter.reward_api.model;
+
+import java.util.List;
+
+/**
+ * Application event published synchronously, inside the writing transaction, whenever transactions are
+ * inserted, updated or deleted. Listeners that maintain derived reward data apply the deltas in the same
+ * transaction, so the derived data commits or rolls back with the write.
+ *
+ * @param deltas the per-customer, per-month point changes caused by the write
+ */
+public record RewardPointsChangedEvent(List<MonthlyPointsDelta> deltas) {
+}
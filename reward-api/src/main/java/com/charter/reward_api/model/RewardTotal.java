@@ -0,0 +1,67 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding a customer's reward points over all time or over one calendar year.
+ * Rows follow every transaction write, and the index on (year, points, customer) lets a listing sorted by
+ * points read one page of customers in order, without summing anyone's transactions.
+ */
+@Entity
+@Table(name = "reward_total", indexes = @Index(name = "idx_reward_total_rank",
+        columnList = "rewardYear, points DESC, customerId"))
+public class RewardTotal {
+
+    /**
+     * Year of the rows holding all-time totals.
+     */
+    public static final int ALL_TIME = 0;
+
+    @EmbeddedId
+    private RewardTotalId id;
+
+    @Column(nullable = false)
+    private long points;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardTotal() {
+    }
+
+    /**
+     * Gets the customer and year this total belongs to.
+     *
+     * @return the total ID
+     */
+    public RewardTotalId getId() {
+        return id;
+    }
+
+    /**
+     * Gets the reward points earned by the customer in the year, or over all time.
+     *
+     * @return the reward points
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the time the total was last written.
+     *
+     * @return the last update time
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.charter.reward_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link RewardTotal}: a customer and a calendar year, or {@link RewardTotal#ALL_TIME}.
+ */
+@Embeddable
+public class RewardTotalId implements Serializable {
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private int rewardYear;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RewardTotalId() {
+    }
+
+    /**
+     * Constructs a new RewardTotalId.
+     *
+     * @param customerId the customer ID
+     * @param rewardYear the calendar year, or {@link RewardTotal#ALL_TIME}
+     */
+    public RewardTotalId(Long customerId, int rewardYear) {
+        this.customerId = customerId;
+        this.rewardYear = rewardYear;
+    }
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the calendar year.
+     *
+     * @return the year, or {@link RewardTotal#ALL_TIME}
+     */
+    public int getRewardYear() {
+        return rewardYear;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RewardTotalId other)) {
+            return false;
+        }
+        return rewardYear == other.rewardYear && Objects.equals(customerId, other.customerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, rewardYear);
+    }
+}
@@ -2,12 +2,17 @@ package com.charter.reward_api.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -16,9 +21,11 @@ import java.time.LocalDate;
 
 /**
  * JPA entity representing a customer transaction.
+ * Writes are published as reward point changes by {@link TransactionChangeListener}.
  */
 @Entity
 @Table(name = "transaction")
+@EntityListeners(TransactionChangeListener.class)
 public class Transaction {
 
     @Id
@@ -38,6 +45,15 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDate transactionDate;
 
+    @Transient
+    private Long loadedCustomerId;
+
+    @Transient
+    private LocalDate loadedTransactionDate;
+
+    @Transient
+    private BigDecimal loadedAmount;
+
     /**
      * Default constructor for JPA.
      */
@@ -128,4 +144,44 @@ public class Transaction {
     public void setTransactionDate(LocalDate transactionDate) {
         this.transactionDate = transactionDate;
     }
+
+    /**
+     * Gets the customer ID as last loaded from or written to the database.
+     *
+     * @return the persisted customer ID, or null if never persisted
+     */
+    Long getLoadedCustomerId() {
+        return loadedCustomerId;
+    }
+
+    /**
+     * Gets the transaction date as last loaded from or written to the database.
+     *
+     * @return the persisted transaction date, or null if never persisted
+     */
+    LocalDate getLoadedTransactionDate() {
+        return loadedTransactionDate;
+    }
+
+    /**
+     * Gets the amount as last loaded from or written to the database.
+     *
+     * @return the persisted amount, or null if never persisted
+     */
+    BigDecimal getLoadedAmount() {
+        return loadedAmount;
+    }
+
+    /**
+     * Captures the persisted state so that updates can report the values they replace.
+     * Entity callbacks run after entity listeners, so listeners still see the previous state.
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void captureLoadedState() {
+        this.loadedCustomerId = customer != null ? customer.getId() : null;
+        this.loadedTransactionDate = transactionDate;
+        this.loadedAmount = amount;
+    }
 }
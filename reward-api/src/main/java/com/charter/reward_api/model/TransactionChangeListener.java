@@ -0,0 +1,76 @@
+package com.charter.reward_api.model;
+
+import com.charter.reward_core.RewardPointsCalculator;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * JPA entity listener that turns every transaction write into a {@link RewardPointsChangedEvent}.
+ * Runs inside the writing transaction, so everything derived from the event commits or rolls back with the write.
+ */
+@Component
+public class TransactionChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TransactionChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Publishes the points added by a newly inserted transaction.
+     *
+     * @param transaction the inserted transaction
+     */
+    @PostPersist
+    public void onInsert(Transaction transaction) {
+        publish(List.of(delta(transaction.getCustomer().getId(), transaction.getTransactionDate(),
+                RewardPointsCalculator.calculatePoints(transaction.getAmount()), 1)));
+    }
+
+    /**
+     * Publishes the points moved by an updated transaction: removed from its previously persisted
+     * customer and month, added to its new ones.
+     *
+     * @param transaction the updated transaction
+     */
+    @PostUpdate
+    public void onUpdate(Transaction transaction) {
+        MonthlyPointsDelta added = delta(transaction.getCustomer().getId(), transaction.getTransactionDate(),
+                RewardPointsCalculator.calculatePoints(transaction.getAmount()), 1);
+
+        if (transaction.getLoadedTransactionDate() == null) {
+            publish(List.of(added));
+            return;
+        }
+        MonthlyPointsDelta removed = delta(transaction.getLoadedCustomerId(), transaction.getLoadedTransactionDate(),
+                -RewardPointsCalculator.calculatePoints(transaction.getLoadedAmount()), -1);
+        publish(List.of(removed, added));
+    }
+
+    /**
+     * Publishes the points removed by a deleted transaction.
+     *
+     * @param transaction the deleted transaction
+     */
+    @PostRemove
+    public void onDelete(Transaction transaction) {
+        publish(List.of(delta(transaction.getCustomer().getId(), transaction.getTransactionDate(),
+                -RewardPointsCalculator.calculatePoints(transaction.getAmount()), -1)));
+    }
+
+    private static MonthlyPointsDelta delta(Long customerId, LocalDate date, long points, long transactions) {
+        return new MonthlyPointsDelta(customerId, YearMonth.from(date), points, transactions);
+    }
+
+    private void publish(List<MonthlyPointsDelta> deltas) {
+        eventPublisher.publishEvent(new RewardPointsChangedEvent(deltas));
+    }
+}
@@ -0,0 +1,22 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.AggregateRebuildCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for AggregateRebuildCheckpoint entity.
+ */
+@Repository
+public interface AggregateRebuildCheckpointRepository extends JpaRepository<AggregateRebuildCheckpoint, Long> {
+
+    /**
+     * Finds the ranges completed by a rebuild job.
+     *
+     * @param jobId the rebuild job ID
+     * @return the completed range checkpoints
+     */
+    List<AggregateRebuildCheckpoint> findByJobId(Long jobId);
+}
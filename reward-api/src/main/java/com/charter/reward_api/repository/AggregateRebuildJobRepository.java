@@ -0,0 +1,21 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.AggregateRebuildJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for AggregateRebuildJob entity.
+ */
+@Repository
+public interface AggregateRebuildJobRepository extends JpaRepository<AggregateRebuildJob, Long> {
+
+    /**
+     * Finds the most recently created rebuild job.
+     *
+     * @return the latest job, if any
+     */
+    Optional<AggregateRebuildJob> findTopByOrderByIdDesc();
+}
@@ -0,0 +1,50 @@
+package com.charter.reward_api.repository;
+
+/**
+ * Projection of a customer left-joined to its reward points of one month, summed in the database.
+ * A customer without transactions in the queried range yields a single row counting no transactions.
+ */
+public interface CustomerMonthRow {
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    Long getCustomerId();
+
+    /**
+     * Gets the customer name.
+     *
+     * @return the customer name
+     */
+    String getCustomerName();
+
+    /**
+     * Gets the year of the month.
+     *
+     * @return the year, or null if the row carries no month
+     */
+    Integer getRewardYear();
+
+    /**
+     * Gets the month of the year, from 1 to 12.
+     *
+     * @return the month number, or null if the row carries no month
+     */
+    Integer getRewardMonth();
+
+    /**
+     * Gets the summed reward points of the month.
+     *
+     * @return the reward points, or null if the row carries no month
+     */
+    Number getPoints();
+
+    /**
+     * Gets the number of transactions of the month.
+     *
+     * @return the transaction count, zero if the row carries no month
+     */
+    Number getTransactionCount();
+}
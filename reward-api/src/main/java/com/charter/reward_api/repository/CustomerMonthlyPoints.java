@@ -0,0 +1,35 @@
+package com.charter.reward_api.repository;
+
+/**
+ * Projection of a customer's reward points for one month, summed in the database.
+ */
+public interface CustomerMonthlyPoints {
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    Long getCustomerId();
+
+    /**
+     * Gets the year of the month.
+     *
+     * @return the year
+     */
+    Integer getRewardYear();
+
+    /**
+     * Gets the month of the year, from 1 to 12.
+     *
+     * @return the month number
+     */
+    Integer getRewardMonth();
+
+    /**
+     * Gets the summed reward points of the month.
+     *
+     * @return the reward points
+     */
+    Number getPoints();
+}
@@ -0,0 +1,21 @@
+package com.charter.reward_api.repository;
+
+/**
+ * Projection of a customer's reward points summed in the database.
+ */
+public interface CustomerPointsTotal {
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    Long getCustomerId();
+
+    /**
+     * Gets the summed reward points.
+     *
+     * @return the reward points
+     */
+    Number getPoints();
+}
@@ -1,12 +1,110 @@
 package com.charter.reward_api.repository;
 import com.charter.reward_api.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for Customer entity.
  * Provides CRUD operations for customer data.
+ * Pages of customers are held in Hibernate's query cache when it is enabled.
  */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Finds a page of customers and counts the total number of customers, both through the query cache.
+     *
+     * @param pageable the page to read
+     * @return the customers of the page and the total number of customers
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Page<Customer> findAll(Pageable pageable);
+
+    /**
+     * Finds a slice of customers without counting the total number of customers, through the query cache.
+     *
+     * @param pageable the page to read
+     * @return the customers of the page and whether a further page exists
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Slice<Customer> findAllBy(Pageable pageable);
+
+    /**
+     * Finds a customer together with its transactions within a date range, in one statement.
+     * A customer without transactions in the range yields one row without a transaction;
+     * an unknown customer yields no rows.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return one row per transaction, or a single row without a transaction
+     */
+    @Query("SELECT c.id AS customerId, c.name AS customerName, t.amount AS amount, " +
+            "t.transactionDate AS transactionDate " +
+            "FROM Customer c LEFT JOIN Transaction t ON t.customer = c " +
+            "AND t.transactionDate BETWEEN :from AND :to WHERE c.id = :customerId")
+    List<CustomerTransactionRow> findWithTransactionsInRange(
+            @Param("customerId") Long customerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Finds a customer together with its reward points per month within a date range, in one statement.
+     * A customer without transactions in the range yields one row without a month;
+     * an unknown customer yields no rows.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return points and transactions per month, ordered by month, or a single row without a month
+     */
+    @Query("SELECT c.id AS customerId, c.name AS customerName, " +
+            "EXTRACT(YEAR FROM t.transactionDate) AS rewardYear, EXTRACT(MONTH FROM t.transactionDate) AS rewardMonth, " +
+            "SUM(" + TransactionRepository.POINTS_EXPRESSION + ") AS points, COUNT(t.id) AS transactionCount " +
+            "FROM Customer c LEFT JOIN Transaction t ON t.customer = c " +
+            "AND t.transactionDate BETWEEN :from AND :to WHERE c.id = :customerId " +
+            "GROUP BY c.id, c.name, EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate) " +
+            "ORDER BY EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate)")
+    List<CustomerMonthRow> findWithPointsByMonthInRange(
+            @Param("customerId") Long customerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Finds a set of customers together with their reward points per month within a date range, in one
+     * statement, like {@link #findWithPointsByMonthInRange(Long, LocalDate, LocalDate)} for each of them.
+     *
+     * @param customerIds the customer IDs
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return points and transactions per month, ordered by customer and month, or a single row without a month,
+     * per known customer
+     */
+    @Query("SELECT c.id AS customerId, c.name AS customerName, " +
+            "EXTRACT(YEAR FROM t.transactionDate) AS rewardYear, EXTRACT(MONTH FROM t.transactionDate) AS rewardMonth, " +
+            "SUM(" + TransactionRepository.POINTS_EXPRESSION + ") AS points, COUNT(t.id) AS transactionCount " +
+            "FROM Customer c LEFT JOIN Transaction t ON t.customer = c " +
+            "AND t.transactionDate BETWEEN :from AND :to WHERE c.id IN :customerIds " +
+            "GROUP BY c.id, c.name, EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate) " +
+            "ORDER BY c.id, EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate)")
+    List<CustomerMonthRow> findWithPointsByMonthInRange(
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
 }
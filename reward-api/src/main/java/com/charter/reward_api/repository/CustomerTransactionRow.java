@@ -0,0 +1,39 @@
+package com.charter.reward_api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of a customer left-joined to one of its transactions. A customer without transactions in the
+ * queried range yields a single row whose transaction columns are null.
+ */
+public interface CustomerTransactionRow {
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    Long getCustomerId();
+
+    /**
+     * Gets the customer name.
+     *
+     * @return the customer name
+     */
+    String getCustomerName();
+
+    /**
+     * Gets the transaction amount.
+     *
+     * @return the amount, or null if the row carries no transaction
+     */
+    BigDecimal getAmount();
+
+    /**
+     * Gets the transaction date.
+     *
+     * @return the date, or null if the row carries no transaction
+     */
+    LocalDate getTransactionDate();
+}
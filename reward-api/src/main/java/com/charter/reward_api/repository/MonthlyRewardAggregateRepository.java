@@ -0,0 +1,24 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.MonthlyRewardAggregate;
+import com.charter.reward_api.model.MonthlyRewardAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for MonthlyRewardAggregate entity.
+ * Provides reads of pre-aggregated monthly reward points.
+ */
+@Repository
+public interface MonthlyRewardAggregateRepository extends JpaRepository<MonthlyRewardAggregate, MonthlyRewardAggregateId> {
+
+    /**
+     * Finds all monthly aggregates of a customer, oldest month first.
+     *
+     * @param customerId the customer ID
+     * @return the customer's monthly aggregates
+     */
+    List<MonthlyRewardAggregate> findByIdCustomerIdOrderByIdRewardMonthAsc(Long customerId);
+}
@@ -0,0 +1,117 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the customer_monthly_reward table with plain JDBC.
+ * Transaction writes are applied as deltas inside the writing transaction; the aggregate rebuild
+ * replaces whole customer ID ranges with batched statements.
+ */
+@Repository
+public class MonthlyRewardAggregateWriter {
+
+    private static final String ADD_DELTA_SQL = "UPDATE customer_monthly_reward " +
+            "SET points = points + ?, transaction_count = transaction_count + ?, updated_at = ? " +
+            "WHERE customer_id = ? AND reward_month = ?";
+    private static final String INSERT_SQL = "INSERT INTO customer_monthly_reward " +
+            "(customer_id, reward_month, points, transaction_count, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM customer_monthly_reward WHERE customer_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MonthlyRewardAggregateWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Applies the point changes of a transaction write to the affected monthly aggregates.
+     * Runs before the other listeners of the event, which may read the aggregates. First locks the affected
+     * customers' rows in ID order until the write commits, so the aggregate rebuild, which locks its range the same
+     * way, never replaces a range with transactions read before this write committed.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        List<Long> customerIds = event.deltas().stream().map(MonthlyPointsDelta::customerId).distinct().toList();
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(customerIds.size(), "?"));
+        jdbcTemplate.queryForList("SELECT id FROM customer WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                Long.class, customerIds.toArray());
+
+        Timestamp now = Timestamp.from(Instant.now());
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            applyDelta(delta, now);
+        }
+    }
+
+    /**
+     * Adds a delta to an existing aggregate row, inserting the row if it does not exist yet.
+     * A concurrent insert of the same row is resolved by retrying the update.
+     *
+     * @param delta the point change
+     * @param now the update time
+     */
+    private void applyDelta(MonthlyPointsDelta delta, Timestamp now) {
+        Object[] updateArgs = {delta.points(), delta.transactions(), now, delta.customerId(), delta.month().atDay(1)};
+        if (jdbcTemplate.update(ADD_DELTA_SQL, updateArgs) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, delta.customerId(), delta.month().atDay(1),
+                    delta.points(), delta.transactions(), now);
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update(ADD_DELTA_SQL, updateArgs);
+        }
+    }
+
+    /**
+     * Replaces all aggregates of a customer ID range with freshly computed ones using batched statements.
+     * Must run inside a transaction so that readers never observe the range half written.
+     *
+     * @param fromCustomerId the first customer ID of the range (inclusive)
+     * @param toCustomerId the last customer ID of the range (inclusive)
+     * @param aggregates points and transaction count per customer and month
+     * @param batchSize the maximum number of rows per JDBC batch
+     */
+    public void replaceRange(long fromCustomerId, long toCustomerId,
+                             Map<Long, Map<YearMonth, long[]>> aggregates, int batchSize) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, fromCustomerId, toCustomerId);
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<Long, Map<YearMonth, long[]>> customer : aggregates.entrySet()) {
+            for (Map.Entry<YearMonth, long[]> month : customer.getValue().entrySet()) {
+                long[] values = month.getValue();
+                batch.add(new Object[]{customer.getKey(), month.getKey().atDay(1), values[0], values[1], now});
+                if (batch.size() == batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+}
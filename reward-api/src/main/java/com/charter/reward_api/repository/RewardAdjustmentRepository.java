@@ -0,0 +1,23 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardAdjustment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for RewardAdjustment entity.
+ * Adjustments are inserted by {@link RewardSnapshotWriter}; this repository only reads them.
+ */
+@Repository
+public interface RewardAdjustmentRepository extends JpaRepository<RewardAdjustment, Long> {
+
+    /**
+     * Finds the adjustments of a customer in the order they were recorded.
+     *
+     * @param customerId the customer ID
+     * @return the customer's adjustments
+     */
+    List<RewardAdjustment> findByCustomerIdOrderByIdAsc(Long customerId);
+}
@@ -0,0 +1,13 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for RewardBalance entity.
+ * Earned points are written by {@link RewardBalanceWriter}; redemptions and expiries go through this repository.
+ */
+@Repository
+public interface RewardBalanceRepository extends JpaRepository<RewardBalance, Long> {
+}
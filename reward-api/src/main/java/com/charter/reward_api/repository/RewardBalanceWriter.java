@@ -0,0 +1,162 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.LedgerEntryType;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintains the earned points of the reward_balance table with plain JDBC.
+ * A customer's balance row is created on first use from the customer's monthly aggregates and from then on
+ * follows every transaction write as a delta, inside the writing transaction. Each change increments the row's
+ * version, so a concurrent redemption holding the old version fails its optimistic lock check.
+ * <p>
+ * Earned points drop when transactions are removed. If they drop below the points already redeemed and expired,
+ * the shortfall is written off and recorded as a {@link LedgerEntryType#CLAWBACK} ledger entry, so the balance
+ * stays at zero instead of going negative and later earnings are redeemable at once.
+ */
+@Repository
+public class RewardBalanceWriter {
+
+    private static final String ADD_EARNED_SQL = "UPDATE reward_balance " +
+            "SET earned = earned + ?, version = version + 1, updated_at = ? WHERE customer_id = ?";
+    private static final String INITIALIZE_SQL = "INSERT INTO reward_balance " +
+            "(customer_id, earned, redeemed, expired, written_off, version, updated_at) " +
+            "SELECT c.id, COALESCE(SUM(a.points), 0), 0, 0, 0, 0, ? FROM customer c " +
+            "LEFT JOIN customer_monthly_reward a ON a.customer_id = c.id WHERE c.id = ? GROUP BY c.id";
+    private static final String RESET_EARNED_RANGE_SQL = "UPDATE reward_balance SET earned = " +
+            "(SELECT COALESCE(SUM(a.points), 0) FROM customer_monthly_reward a " +
+            "WHERE a.customer_id = reward_balance.customer_id), version = version + 1, updated_at = ? " +
+            "WHERE customer_id BETWEEN ? AND ?";
+    private static final String OVERDRAWN_CONDITION =
+            "customer_id BETWEEN ? AND ? AND earned + written_off < redeemed + expired";
+    private static final String RECORD_CLAWBACKS_SQL = "INSERT INTO reward_ledger " +
+            "(customer_id, type, points, created_at) " +
+            "SELECT customer_id, '" + LedgerEntryType.CLAWBACK + "', redeemed + expired - written_off - earned, ? " +
+            "FROM reward_balance WHERE " + OVERDRAWN_CONDITION;
+    private static final String WRITE_OFF_SQL = "UPDATE reward_balance " +
+            "SET written_off = redeemed + expired - earned, version = version + 1, updated_at = ? " +
+            "WHERE " + OVERDRAWN_CONDITION;
+    private static final String EXPIRY_CANDIDATES_SQL = "SELECT b.customer_id, SUM(a.points) " +
+            "FROM reward_balance b JOIN customer_monthly_reward a ON a.customer_id = b.customer_id " +
+            "WHERE b.customer_id > ? AND a.reward_month < ? " +
+            "GROUP BY b.customer_id, b.redeemed, b.expired, b.written_off " +
+            "HAVING SUM(a.points) > b.redeemed + b.expired - b.written_off " +
+            "ORDER BY b.customer_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RewardBalanceWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds the point changes of a transaction write to the earned points of the affected customers.
+     * Runs after {@link MonthlyRewardAggregateWriter}, so a balance row created here already counts the write.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        Map<Long, Long> earned = new LinkedHashMap<>();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            earned.merge(delta.customerId(), delta.points(), Long::sum);
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        earned.forEach((customerId, points) -> applyEarned(customerId, points, now));
+    }
+
+    /**
+     * Adds earned points to a balance row, creating the row from the aggregates if it does not exist yet.
+     * A concurrent creation of the same row, which cannot have seen this uncommitted write, is resolved by
+     * retrying the update. A drop below the points already spent is written off.
+     *
+     * @param customerId the customer ID
+     * @param points the earned points delta
+     * @param now the update time
+     */
+    private void applyEarned(long customerId, long points, Timestamp now) {
+        if (points == 0) {
+            return;
+        }
+        if (jdbcTemplate.update(ADD_EARNED_SQL, points, now, customerId) == 0) {
+            try {
+                jdbcTemplate.update(INITIALIZE_SQL, now, customerId);
+                return;
+            } catch (DuplicateKeyException ex) {
+                jdbcTemplate.update(ADD_EARNED_SQL, points, now, customerId);
+            }
+        }
+        if (points < 0) {
+            writeOffOverdrawn(customerId, customerId, now);
+        }
+    }
+
+    /**
+     * Writes off the shortfall of the balances in a customer ID range whose earned points dropped below the points
+     * redeemed and expired, recording a clawback ledger entry for each.
+     *
+     * @param fromCustomerId the first customer ID of the range (inclusive)
+     * @param toCustomerId the last customer ID of the range (inclusive)
+     * @param now the update time
+     */
+    private void writeOffOverdrawn(long fromCustomerId, long toCustomerId, Timestamp now) {
+        if (jdbcTemplate.update(RECORD_CLAWBACKS_SQL, now, fromCustomerId, toCustomerId) > 0) {
+            jdbcTemplate.update(WRITE_OFF_SQL, now, fromCustomerId, toCustomerId);
+        }
+    }
+
+    /**
+     * Creates a customer's balance row from the customer's monthly aggregates.
+     *
+     * @param customerId the customer ID
+     * @return true if the row was created, false if the customer does not exist
+     * @throws DuplicateKeyException if the row already exists
+     */
+    public boolean initialize(long customerId) {
+        return jdbcTemplate.update(INITIALIZE_SQL, Timestamp.from(Instant.now()), customerId) > 0;
+    }
+
+    /**
+     * Recomputes the earned points of a customer ID range from its aggregates, after the aggregate rebuild
+     * replaced them, writing off balances the new earned points no longer cover. Must run in the transaction that
+     * replaced the aggregates.
+     *
+     * @param fromCustomerId the first customer ID of the range (inclusive)
+     * @param toCustomerId the last customer ID of the range (inclusive)
+     */
+    public void resetEarnedRange(long fromCustomerId, long toCustomerId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(RESET_EARNED_RANGE_SQL, now, fromCustomerId, toCustomerId);
+        writeOffOverdrawn(fromCustomerId, toCustomerId, now);
+    }
+
+    /**
+     * Finds the next customers holding points earned before a month that are neither redeemed nor expired.
+     * Redemptions and expiries consume the oldest points first, so the unconsumed part of those points is what
+     * they earned before the month minus everything redeemed and expired so far that was not written off.
+     *
+     * @param before the first month whose points are kept
+     * @param afterCustomerId the exclusive customer ID to continue from
+     * @param limit the maximum number of customers returned
+     * @return the points earned before the month per customer, in customer ID order
+     */
+    public Map<Long, Long> findExpiryCandidates(YearMonth before, long afterCustomerId, int limit) {
+        Map<Long, Long> candidates = new LinkedHashMap<>();
+        RowCallbackHandler collect = rs -> candidates.put(rs.getLong(1), rs.getLong(2));
+        jdbcTemplate.query(EXPIRY_CANDIDATES_SQL, collect, afterCustomerId, Date.valueOf(before.atDay(1)), limit);
+        return candidates;
+    }
+}
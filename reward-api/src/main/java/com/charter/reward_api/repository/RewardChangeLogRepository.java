@@ -0,0 +1,34 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for RewardChangeLog entity.
+ * Provides ordered reads of the change log by version.
+ */
+@Repository
+public interface RewardChangeLogRepository extends JpaRepository<RewardChangeLog, Long> {
+
+    /**
+     * Finds change log entries newer than a change version, oldest first.
+     * Entries not yet assigned a version are not returned.
+     *
+     * @param version the exclusive lower version bound
+     * @param pageable the maximum number of entries to return
+     * @return change log entries ordered by version
+     */
+    List<RewardChangeLog> findByCommitVersionGreaterThanOrderByCommitVersionAsc(Long version, Pageable pageable);
+
+    /**
+     * Finds the change log entry with the highest assigned change version.
+     *
+     * @return the entry with the highest version, or empty if no version was assigned yet
+     */
+    Optional<RewardChangeLog> findTopByCommitVersionNotNullOrderByCommitVersionDesc();
+}
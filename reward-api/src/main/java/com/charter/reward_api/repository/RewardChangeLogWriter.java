@@ -0,0 +1,104 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends entries to the reward change log with plain JDBC, and assigns their change versions once committed.
+ * Invoked from JPA entity callbacks, where the entity manager must not be re-entered; the insert
+ * joins the caller's transaction through the shared connection. Built on the DataSource rather
+ * than the shared JdbcTemplate, which is only available once the entity manager factory exists.
+ */
+@Repository
+public class RewardChangeLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reward_change_log (customer_id, reward_month, changed_at, origin) VALUES (?, ?, ?, ?)";
+
+    private static final String CREATE_SEQUENCE_SQL =
+            "INSERT INTO reward_change_sequence (id, last_version) VALUES (1, 0)";
+    private static final String LOCK_SEQUENCE_SQL =
+            "SELECT last_version FROM reward_change_sequence WHERE id = 1 FOR UPDATE";
+    private static final String UNVERSIONED_SQL =
+            "SELECT id FROM reward_change_log WHERE commit_version IS NULL ORDER BY id LIMIT ?";
+    private static final String ASSIGN_VERSION_SQL = "UPDATE reward_change_log SET commit_version = ? WHERE id = ?";
+    private static final String ADVANCE_SEQUENCE_SQL = "UPDATE reward_change_sequence SET last_version = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String origin = UUID.randomUUID().toString();
+
+    public RewardChangeLogWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Gets the origin recorded with every entry this instance writes, unique to the running instance.
+     *
+     * @return the origin of this instance
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Records one change log entry per customer month touched by a transaction write.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = event.deltas().stream()
+                .map(delta -> new Object[]{delta.customerId(), delta.month().atDay(1), changedAt, origin})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Creates the current shard's change version sequence if it does not exist yet.
+     *
+     * @return true if the sequence was created, false if it already existed
+     */
+    public boolean createSequence() {
+        try {
+            jdbcTemplate.update(CREATE_SEQUENCE_SQL);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Assigns the next change versions to committed entries of the current shard that have none yet, oldest first.
+     * Must run in its own transaction: the sequence stays locked until it commits, so versions are assigned and become
+     * visible in increasing order, and an entry that commits later always receives a higher version than any already
+     * read. Entries of uncommitted writes are not visible here and are left for a later call.
+     *
+     * @param max the largest number of entries to assign versions to
+     * @return the number of entries assigned a version
+     */
+    public int assignVersions(int max) {
+        long last = jdbcTemplate.queryForObject(LOCK_SEQUENCE_SQL, Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(UNVERSIONED_SQL, Long.class, max);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> versions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            versions.add(new Object[]{++last, id});
+        }
+        jdbcTemplate.batchUpdate(ASSIGN_VERSION_SQL, versions);
+        jdbcTemplate.update(ADVANCE_SEQUENCE_SQL, last);
+        return ids.size();
+    }
+}
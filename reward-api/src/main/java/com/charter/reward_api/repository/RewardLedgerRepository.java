@@ -0,0 +1,22 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for RewardLedgerEntry entity.
+ */
+@Repository
+public interface RewardLedgerRepository extends JpaRepository<RewardLedgerEntry, Long> {
+
+    /**
+     * Finds the ledger entries of a customer in the order they were recorded.
+     *
+     * @param customerId the customer ID
+     * @return the customer's ledger entries
+     */
+    List<RewardLedgerEntry> findByCustomerIdOrderByIdAsc(Long customerId);
+}
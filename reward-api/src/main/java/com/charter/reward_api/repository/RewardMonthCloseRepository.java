@@ -0,0 +1,22 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.RewardMonthClose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for RewardMonthClose entity.
+ */
+@Repository
+public interface RewardMonthCloseRepository extends JpaRepository<RewardMonthClose, LocalDate> {
+
+    /**
+     * Finds every closed or closing month, oldest first. The table holds one row per month.
+     *
+     * @return the month closes ordered by month
+     */
+    List<RewardMonthClose> findAllByOrderByRewardMonthAsc();
+}
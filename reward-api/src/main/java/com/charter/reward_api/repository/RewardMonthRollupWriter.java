@@ -0,0 +1,175 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maintains the population-wide monthly rollups and active-customer sketches with plain JDBC.
+ * Rollups follow every transaction write as deltas inside the writing transaction. Sketches are merged in
+ * from outside any write, by {@link com.charter.reward_api.service.RewardAnalyticsService}.
+ */
+@Repository
+public class RewardMonthRollupWriter {
+
+    private static final String ADD_DELTA_SQL = "UPDATE reward_month_rollup " +
+            "SET points = points + ?, transaction_count = transaction_count + ?, updated_at = ? " +
+            "WHERE reward_month = ? AND stripe = ?";
+    private static final String INSERT_SQL = "INSERT INTO reward_month_rollup " +
+            "(reward_month, stripe, points, transaction_count, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String READ_ROLLUPS_SQL = "SELECT reward_month, SUM(points), SUM(transaction_count) " +
+            "FROM reward_month_rollup WHERE reward_month BETWEEN ? AND ? GROUP BY reward_month";
+    private static final String COUNT_ROLLUPS_SQL = "SELECT COUNT(*) FROM reward_month_rollup";
+    private static final String READ_SKETCHES_SQL =
+            "SELECT reward_month, registers FROM reward_month_sketch WHERE reward_month BETWEEN ? AND ?";
+    private static final String LOCK_SKETCH_SQL =
+            "SELECT registers FROM reward_month_sketch WHERE reward_month = ? FOR UPDATE";
+    private static final String UPDATE_SKETCH_SQL =
+            "UPDATE reward_month_sketch SET registers = ?, updated_at = ? WHERE reward_month = ?";
+    private static final String INSERT_SKETCH_SQL =
+            "INSERT INTO reward_month_sketch (reward_month, registers, updated_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int stripes;
+
+    public RewardMonthRollupWriter(DataSource dataSource, @Value("${reward.analytics.stripes:16}") int stripes) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.stripes = stripes;
+    }
+
+    /**
+     * Applies the point changes of a transaction write to the rollups of the affected months and stripes.
+     * Rows are updated in month and stripe order, so concurrent writes lock them in the same order.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        Map<YearMonth, Map<Integer, long[]>> deltas = new TreeMap<>();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            long[] values = deltas.computeIfAbsent(delta.month(), month -> new TreeMap<>())
+                    .computeIfAbsent(stripeFor(delta.customerId()), stripe -> new long[2]);
+            values[0] += delta.points();
+            values[1] += delta.transactions();
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        deltas.forEach((month, byStripe) -> byStripe.forEach((stripe, values) -> {
+            if (values[0] != 0 || values[1] != 0) {
+                applyDelta(month, stripe, values, now);
+            }
+        }));
+    }
+
+    private void applyDelta(YearMonth month, int stripe, long[] values, Timestamp now) {
+        Object[] updateArgs = {values[0], values[1], now, month.atDay(1), stripe};
+        if (jdbcTemplate.update(ADD_DELTA_SQL, updateArgs) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, month.atDay(1), stripe, values[0], values[1], now);
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update(ADD_DELTA_SQL, updateArgs);
+        }
+    }
+
+    /**
+     * Gets the stripe of a customer's rollups.
+     *
+     * @param customerId the customer ID
+     * @return the stripe
+     */
+    public int stripeFor(long customerId) {
+        return (int) Math.floorMod(customerId, (long) stripes);
+    }
+
+    /**
+     * Checks whether any rollup exists yet.
+     *
+     * @return true if the rollup table is empty
+     */
+    public boolean isEmpty() {
+        Long rows = jdbcTemplate.queryForObject(COUNT_ROLLUPS_SQL, Long.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * Inserts the rollups of every month and stripe computed in bulk. Must run inside a transaction, on an empty table.
+     *
+     * @param rollups points and transaction count per month and stripe
+     */
+    public void insertRollups(Map<YearMonth, Map<Integer, long[]>> rollups) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        rollups.forEach((month, byStripe) -> byStripe.forEach((stripe, values) ->
+                rows.add(new Object[]{month.atDay(1), stripe, values[0], values[1], now})));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Reads the totals of every month with rollups in a month range.
+     *
+     * @param from the first month (inclusive)
+     * @param to the last month (inclusive)
+     * @return points and transaction count per month, for the months that have rollups
+     */
+    public Map<YearMonth, long[]> readRollups(YearMonth from, YearMonth to) {
+        Map<YearMonth, long[]> totals = new TreeMap<>();
+        RowCallbackHandler collect = rs -> totals.put(YearMonth.from(rs.getDate(1).toLocalDate()),
+                new long[]{rs.getLong(2), rs.getLong(3)});
+        jdbcTemplate.query(READ_ROLLUPS_SQL, collect, Date.valueOf(from.atDay(1)), Date.valueOf(to.atDay(1)));
+        return totals;
+    }
+
+    /**
+     * Reads the stored active-customer sketches of a month range.
+     *
+     * @param from the first month (inclusive)
+     * @param to the last month (inclusive)
+     * @return the sketch registers per month, for the months that have a sketch
+     */
+    public Map<YearMonth, byte[]> readSketches(YearMonth from, YearMonth to) {
+        Map<YearMonth, byte[]> sketches = new TreeMap<>();
+        RowCallbackHandler collect = rs -> sketches.put(YearMonth.from(rs.getDate(1).toLocalDate()),
+                rs.getBytes(2));
+        jdbcTemplate.query(READ_SKETCHES_SQL, collect, Date.valueOf(from.atDay(1)), Date.valueOf(to.atDay(1)));
+        return sketches;
+    }
+
+    /**
+     * Merges registers into a month's stored sketch under the sketch row's lock, creating the row if needed.
+     * Must run inside a transaction.
+     *
+     * @param month the month
+     * @param merge computes the registers to store from the stored ones, given null if none are stored yet
+     */
+    public void mergeSketch(YearMonth month, UnaryOperator<byte[]> merge) {
+        Date rewardMonth = Date.valueOf(month.atDay(1));
+        Timestamp now = Timestamp.from(Instant.now());
+        List<byte[]> stored = jdbcTemplate.query(LOCK_SKETCH_SQL, (rs, rowNum) -> rs.getBytes(1), rewardMonth);
+        if (stored.isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_SKETCH_SQL, rewardMonth, merge.apply(null), now);
+                return;
+            } catch (DuplicateKeyException ex) {
+                stored = jdbcTemplate.query(LOCK_SKETCH_SQL, (rs, rowNum) -> rs.getBytes(1), rewardMonth);
+            }
+        }
+        jdbcTemplate.update(UPDATE_SKETCH_SQL, merge.apply(stored.get(0)), now, rewardMonth);
+    }
+}
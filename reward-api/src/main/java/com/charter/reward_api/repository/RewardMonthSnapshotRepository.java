@@ -0,0 +1,148 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.MonthlyRewardAggregateId;
+import com.charter.reward_api.model.RewardMonthSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for RewardMonthSnapshot entity.
+ * Snapshots are written by {@link RewardSnapshotWriter}; this repository reads them merged with live data.
+ */
+@Repository
+public interface RewardMonthSnapshotRepository extends JpaRepository<RewardMonthSnapshot, MonthlyRewardAggregateId> {
+
+    /**
+     * Sums the reward points of each of a set of customers per month within a date range, in one statement.
+     * Months from {@code sealedFrom} through {@code sealedTo} are read from their snapshots plus adjustments;
+     * the rest of the range is summed from the transactions. Months left without transactions are not returned.
+     *
+     * @param customerIds the customer IDs
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @param sealedFrom the first day of the first sealed month, which must lie within the range
+     * @param sealedTo the first day of the last sealed month, whose last day must lie within the range
+     * @param sealedEnd the last day of the last sealed month
+     * @return points per customer and month, ordered by customer and month
+     */
+    @Query(value = "SELECT u.customer_id AS customerId, " +
+            "EXTRACT(YEAR FROM u.month_date) AS rewardYear, EXTRACT(MONTH FROM u.month_date) AS rewardMonth, " +
+            "SUM(u.points) AS points FROM (" +
+            "SELECT s.customer_id, s.reward_month AS month_date, s.points, s.transaction_count " +
+            "FROM reward_month_snapshot s WHERE s.customer_id IN (:customerIds) " +
+            "AND s.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT a.customer_id, a.reward_month, a.points, a.transaction_count " +
+            "FROM reward_adjustment a WHERE a.customer_id IN (:customerIds) " +
+            "AND a.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT t.customer_id, t.transaction_date, " + TransactionRepository.POINTS_EXPRESSION + ", 1 " +
+            "FROM transaction t WHERE t.customer_id IN (:customerIds) " +
+            "AND t.transaction_date BETWEEN :from AND :to " +
+            "AND (t.transaction_date < :sealedFrom OR t.transaction_date > :sealedEnd)" +
+            ") u " +
+            "GROUP BY u.customer_id, EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date) " +
+            "HAVING SUM(u.transaction_count) > 0 " +
+            "ORDER BY u.customer_id, EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date)",
+            nativeQuery = true)
+    List<CustomerMonthlyPoints> sumPointsByCustomerMonth(
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("sealedFrom") LocalDate sealedFrom,
+            @Param("sealedTo") LocalDate sealedTo,
+            @Param("sealedEnd") LocalDate sealedEnd
+    );
+
+    /**
+     * Finds a customer together with its reward points per month within a date range, in one statement,
+     * reading sealed months like {@link #sumPointsByCustomerMonth}. Months are returned even when adjustments
+     * left them without transactions, so the caller drops rows counting none; a customer without rows in the
+     * range yields one row without a month, and an unknown customer yields no rows.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @param sealedFrom the first day of the first sealed month, which must lie within the range
+     * @param sealedTo the first day of the last sealed month, whose last day must lie within the range
+     * @param sealedEnd the last day of the last sealed month
+     * @return points and transactions per month, ordered by month, or a single row without a month
+     */
+    @Query(value = "SELECT c.id AS customerId, c.name AS customerName, " +
+            "EXTRACT(YEAR FROM u.month_date) AS rewardYear, EXTRACT(MONTH FROM u.month_date) AS rewardMonth, " +
+            "SUM(u.points) AS points, COALESCE(SUM(u.transaction_count), 0) AS transactionCount " +
+            "FROM customer c LEFT JOIN (" +
+            "SELECT s.customer_id, s.reward_month AS month_date, s.points, s.transaction_count " +
+            "FROM reward_month_snapshot s WHERE s.customer_id = :customerId " +
+            "AND s.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT a.customer_id, a.reward_month, a.points, a.transaction_count " +
+            "FROM reward_adjustment a WHERE a.customer_id = :customerId " +
+            "AND a.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT t.customer_id, t.transaction_date, " + TransactionRepository.POINTS_EXPRESSION + ", 1 " +
+            "FROM transaction t WHERE t.customer_id = :customerId " +
+            "AND t.transaction_date BETWEEN :from AND :to " +
+            "AND (t.transaction_date < :sealedFrom OR t.transaction_date > :sealedEnd)" +
+            ") u ON u.customer_id = c.id WHERE c.id = :customerId " +
+            "GROUP BY c.id, c.name, EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date) " +
+            "ORDER BY EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date)",
+            nativeQuery = true)
+    List<CustomerMonthRow> findWithPointsByMonth(
+            @Param("customerId") Long customerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("sealedFrom") LocalDate sealedFrom,
+            @Param("sealedTo") LocalDate sealedTo,
+            @Param("sealedEnd") LocalDate sealedEnd
+    );
+
+    /**
+     * Finds a set of customers together with their reward points per month within a date range, in one
+     * statement, like {@link #findWithPointsByMonth(Long, LocalDate, LocalDate, LocalDate, LocalDate, LocalDate)}
+     * for each of them.
+     *
+     * @param customerIds the customer IDs
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @param sealedFrom the first day of the first sealed month, which must lie within the range
+     * @param sealedTo the first day of the last sealed month, whose last day must lie within the range
+     * @param sealedEnd the last day of the last sealed month
+     * @return points and transactions per month, ordered by customer and month, or a single row without a month,
+     * per known customer
+     */
+    @Query(value = "SELECT c.id AS customerId, c.name AS customerName, " +
+            "EXTRACT(YEAR FROM u.month_date) AS rewardYear, EXTRACT(MONTH FROM u.month_date) AS rewardMonth, " +
+            "SUM(u.points) AS points, COALESCE(SUM(u.transaction_count), 0) AS transactionCount " +
+            "FROM customer c LEFT JOIN (" +
+            "SELECT s.customer_id, s.reward_month AS month_date, s.points, s.transaction_count " +
+            "FROM reward_month_snapshot s WHERE s.customer_id IN (:customerIds) " +
+            "AND s.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT a.customer_id, a.reward_month, a.points, a.transaction_count " +
+            "FROM reward_adjustment a WHERE a.customer_id IN (:customerIds) " +
+            "AND a.reward_month BETWEEN :sealedFrom AND :sealedTo " +
+            "UNION ALL " +
+            "SELECT t.customer_id, t.transaction_date, " + TransactionRepository.POINTS_EXPRESSION + ", 1 " +
+            "FROM transaction t WHERE t.customer_id IN (:customerIds) " +
+            "AND t.transaction_date BETWEEN :from AND :to " +
+            "AND (t.transaction_date < :sealedFrom OR t.transaction_date > :sealedEnd)" +
+            ") u ON u.customer_id = c.id WHERE c.id IN (:customerIds) " +
+            "GROUP BY c.id, c.name, EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date) " +
+            "ORDER BY c.id, EXTRACT(YEAR FROM u.month_date), EXTRACT(MONTH FROM u.month_date)",
+            nativeQuery = true)
+    List<CustomerMonthRow> findWithPointsByMonth(
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("sealedFrom") LocalDate sealedFrom,
+            @Param("sealedTo") LocalDate sealedTo,
+            @Param("sealedEnd") LocalDate sealedEnd
+    );
+}
@@ -0,0 +1,141 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.model.MonthCloseStatus;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the month close with plain JDBC: opens months ahead of time, seals them into immutable per-customer
+ * snapshots, and turns transaction writes to sealed months into adjustments. Writes take a shared lock on each past
+ * month's close row until they commit, and sealing takes the exclusive one, so the snapshot is taken only once every
+ * write holding the month has committed and is part of it, and every later write is recorded as an adjustment.
+ * Writes to one month never wait for each other. Like the other writers, built on the DataSource and invoked inside
+ * the caller's transaction.
+ */
+@Repository
+public class RewardSnapshotWriter {
+
+    private static final String INSERT_CLOSE_SQL =
+            "INSERT INTO reward_month_close (reward_month, status) VALUES (?, ?)";
+    private static final String LOCK_CLOSE_SQL =
+            "SELECT status FROM reward_month_close WHERE reward_month = ? FOR UPDATE";
+    private static final String SHARE_CLOSE_SQL =
+            "SELECT status FROM reward_month_close WHERE reward_month = ? FOR SHARE";
+    private static final String SNAPSHOT_SQL = "INSERT INTO reward_month_snapshot " +
+            "(customer_id, reward_month, points, transaction_count, sealed_at) " +
+            "SELECT t.customer_id, ?, SUM(" + TransactionRepository.POINTS_EXPRESSION + "), COUNT(*), ? " +
+            "FROM transaction t WHERE t.transaction_date BETWEEN ? AND ? GROUP BY t.customer_id";
+    private static final String SEALED_SQL =
+            "UPDATE reward_month_close SET status = ?, sealed_at = ?, snapshot_rows = ? WHERE reward_month = ?";
+    private static final String INSERT_ADJUSTMENT_SQL = "INSERT INTO reward_adjustment " +
+            "(customer_id, reward_month, points, transaction_count, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String EARLIEST_TRANSACTION_SQL = "SELECT MIN(transaction_date) FROM transaction";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String writeLockSql;
+
+    public RewardSnapshotWriter(DataSource dataSource,
+                                @Value("${reward.month-close.shared-locks:true}") boolean sharedLocks) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.writeLockSql = sharedLocks ? SHARE_CLOSE_SQL : LOCK_CLOSE_SQL;
+    }
+
+    /**
+     * Opens a month, so that writes to it take its lock from the commit on. Months are opened ahead of time by
+     * the month close, never by writes.
+     *
+     * @param month the month
+     * @return true if opened, false if the month already has a close row, e.g. opened by another instance
+     */
+    public boolean openMonth(YearMonth month) {
+        try {
+            jdbcTemplate.update(INSERT_CLOSE_SQL, Date.valueOf(month.atDay(1)), MonthCloseStatus.OPEN.name());
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Snapshots every customer's points of an open month and marks the month sealed.
+     * Must run inside a transaction; waits for uncommitted writes to the month, which all hold its shared lock.
+     *
+     * @param month the month
+     * @return the number of snapshot rows written, or -1 if the month is not open
+     */
+    public long sealMonth(YearMonth month) {
+        Date firstDay = Date.valueOf(month.atDay(1));
+        List<String> status = jdbcTemplate.queryForList(LOCK_CLOSE_SQL, String.class, firstDay);
+        if (status.isEmpty() || !MonthCloseStatus.OPEN.name().equals(status.get(0))) {
+            return -1;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        long rows = jdbcTemplate.update(SNAPSHOT_SQL, firstDay, now, firstDay, Date.valueOf(month.atEndOfMonth()));
+        jdbcTemplate.update(SEALED_SQL, MonthCloseStatus.SEALED.name(), now, rows, firstDay);
+        return rows;
+    }
+
+    /**
+     * Gets the month of the oldest transaction.
+     *
+     * @return the earliest transaction month, or null if there are no transactions
+     */
+    public YearMonth earliestTransactionMonth() {
+        Date earliest = jdbcTemplate.queryForObject(EARLIEST_TRANSACTION_SQL, Date.class);
+        return earliest != null ? YearMonth.from(earliest.toLocalDate()) : null;
+    }
+
+    /**
+     * Records the point changes of a transaction write to sealed months as adjustments, holding the shared lock of
+     * every earlier month written until the write commits. Months are locked once each, oldest first, so concurrent
+     * writes and the month close always lock them in the same order. A month without a close row takes no lock: it
+     * is sealed at the earliest by the month close run after the one that opens it. The current month is skipped without a
+     * query: it is sealed only once the closed-month grace period has passed, long after every write to it has
+     * committed.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            if (delta.month().isBefore(currentMonth)) {
+                months.add(delta.month());
+            }
+        }
+        Set<YearMonth> sealed = new HashSet<>();
+        for (YearMonth month : months) {
+            List<String> status = jdbcTemplate.queryForList(writeLockSql, String.class, Date.valueOf(month.atDay(1)));
+            if (!status.isEmpty() && MonthCloseStatus.SEALED.name().equals(status.get(0))) {
+                sealed.add(month);
+            }
+        }
+        if (sealed.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            if (sealed.contains(delta.month())) {
+                jdbcTemplate.update(INSERT_ADJUSTMENT_SQL, delta.customerId(), Date.valueOf(delta.month().atDay(1)),
+                        delta.points(), delta.transactions(), now);
+            }
+        }
+    }
+}
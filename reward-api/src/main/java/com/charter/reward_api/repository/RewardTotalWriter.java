@@ -0,0 +1,229 @@
+package com.charter.reward_api.repository;
+
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.charter.reward_api.model.RewardTotal;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the reward_total table with plain JDBC and reads customers in descending points order.
+ * Totals follow every transaction write as deltas inside the writing transaction; the aggregate rebuild
+ * recomputes whole customer ID ranges from the monthly aggregates.
+ * <p>
+ * A listing sorted by points reads the customers with positive points in (points, customer ID) order, then
+ * the remaining customers in customer ID order, so a cursor with zero points continues among the latter.
+ * All-time and calendar-year listings walk the index of reward_total; other ranges sum the monthly
+ * aggregates or, for ranges not made of whole months, the transactions, and sort the sums in the database.
+ */
+@Repository
+public class RewardTotalWriter {
+
+    private static final String ADD_POINTS_SQL = "UPDATE reward_total SET points = points + ?, updated_at = ? " +
+            "WHERE customer_id = ? AND reward_year = ?";
+    private static final String INITIALIZE_SQL = "INSERT INTO reward_total " +
+            "(customer_id, reward_year, points, updated_at) " +
+            "SELECT ?, ?, COALESCE(SUM(points), 0), ? FROM customer_monthly_reward " +
+            "WHERE customer_id = ? AND reward_month BETWEEN ? AND ?";
+    private static final String DELETE_RANGE_SQL = "DELETE FROM reward_total WHERE customer_id BETWEEN ? AND ?";
+    private static final String INSERT_ALL_TIME_RANGE_SQL = "INSERT INTO reward_total " +
+            "(customer_id, reward_year, points, updated_at) " +
+            "SELECT customer_id, " + RewardTotal.ALL_TIME + ", SUM(points), ? FROM customer_monthly_reward " +
+            "WHERE customer_id BETWEEN ? AND ? GROUP BY customer_id";
+    private static final String INSERT_YEARS_RANGE_SQL = "INSERT INTO reward_total " +
+            "(customer_id, reward_year, points, updated_at) " +
+            "SELECT customer_id, EXTRACT(YEAR FROM reward_month), SUM(points), ? FROM customer_monthly_reward " +
+            "WHERE customer_id BETWEEN ? AND ? GROUP BY customer_id, EXTRACT(YEAR FROM reward_month)";
+    private static final String COUNT_TOTALS_SQL = "SELECT COUNT(*) FROM reward_total";
+
+    private static final String RANK_TOTALS_SQL = "SELECT customer_id, points FROM reward_total " +
+            "WHERE reward_year = ? AND points > 0 AND (points < ? OR (points = ? AND customer_id > ?)) " +
+            "ORDER BY points DESC, customer_id LIMIT ?";
+    private static final String UNRANKED_TOTALS_SQL = "SELECT c.id FROM customer c WHERE c.id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM reward_total r " +
+            "WHERE r.customer_id = c.id AND r.reward_year = ? AND r.points > 0) ORDER BY c.id LIMIT ?";
+    private static final String RANK_MONTHS_SQL = "SELECT customer_id, SUM(points) AS total " +
+            "FROM customer_monthly_reward WHERE reward_month BETWEEN ? AND ? GROUP BY customer_id " +
+            "HAVING SUM(points) > 0 AND (SUM(points) < ? OR (SUM(points) = ? AND customer_id > ?)) " +
+            "ORDER BY total DESC, customer_id LIMIT ?";
+    private static final String UNRANKED_MONTHS_SQL = "SELECT c.id FROM customer c WHERE c.id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM customer_monthly_reward a " +
+            "WHERE a.customer_id = c.id AND a.reward_month BETWEEN ? AND ? AND a.points > 0) ORDER BY c.id LIMIT ?";
+    private static final String RANK_TRANSACTIONS_SQL = "SELECT t.customer_id, " +
+            "SUM(" + TransactionRepository.POINTS_EXPRESSION + ") AS total " +
+            "FROM transaction t WHERE t.transaction_date BETWEEN ? AND ? GROUP BY t.customer_id " +
+            "HAVING SUM(" + TransactionRepository.POINTS_EXPRESSION + ") > 0 " +
+            "AND (SUM(" + TransactionRepository.POINTS_EXPRESSION + ") < ? " +
+            "OR (SUM(" + TransactionRepository.POINTS_EXPRESSION + ") = ? AND t.customer_id > ?)) " +
+            "ORDER BY total DESC, t.customer_id LIMIT ?";
+    private static final String UNRANKED_TRANSACTIONS_SQL = "SELECT c.id FROM customer c WHERE c.id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM transaction t WHERE t.customer_id = c.id " +
+            "AND t.transaction_date BETWEEN ? AND ? AND " + TransactionRepository.POINTS_EXPRESSION + " > 0) " +
+            "ORDER BY c.id LIMIT ?";
+
+    private static final LocalDate FIRST_MONTH = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_MONTH = LocalDate.of(2100, 12, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RewardTotalWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds the point changes of a transaction write to the all-time and yearly totals of the affected customers.
+     * Rows are updated in customer and year order, so concurrent writes lock them in the same order.
+     * Runs after {@link MonthlyRewardAggregateWriter}, so a total created here already counts the write.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        Map<Long, Map<Integer, Long>> deltas = new TreeMap<>();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            Map<Integer, Long> byYear = deltas.computeIfAbsent(delta.customerId(), id -> new TreeMap<>());
+            byYear.merge(RewardTotal.ALL_TIME, delta.points(), Long::sum);
+            byYear.merge(delta.month().getYear(), delta.points(), Long::sum);
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        deltas.forEach((customerId, byYear) -> byYear.forEach((year, points) -> {
+            if (points != 0) {
+                applyPoints(customerId, year, points, now);
+            }
+        }));
+    }
+
+    /**
+     * Adds points to a total, creating the total from the customer's monthly aggregates if it does not exist yet.
+     * A concurrent creation of the same row, which cannot have seen this uncommitted write, is resolved by
+     * retrying the update.
+     *
+     * @param customerId the customer ID
+     * @param year the calendar year, or {@link RewardTotal#ALL_TIME}
+     * @param points the points delta
+     * @param now the update time
+     */
+    private void applyPoints(long customerId, int year, long points, Timestamp now) {
+        if (jdbcTemplate.update(ADD_POINTS_SQL, points, now, customerId, year) > 0) {
+            return;
+        }
+        LocalDate from = year == RewardTotal.ALL_TIME ? FIRST_MONTH : LocalDate.of(year, 1, 1);
+        LocalDate to = year == RewardTotal.ALL_TIME ? LAST_MONTH : LocalDate.of(year, 12, 1);
+        try {
+            jdbcTemplate.update(INITIALIZE_SQL, customerId, year, now, customerId, Date.valueOf(from), Date.valueOf(to));
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update(ADD_POINTS_SQL, points, now, customerId, year);
+        }
+    }
+
+    /**
+     * Recomputes the totals of a customer ID range from its monthly aggregates, after the aggregate rebuild
+     * replaced them or when the totals are first created. Must run inside a transaction.
+     *
+     * @param fromCustomerId the first customer ID of the range (inclusive)
+     * @param toCustomerId the last customer ID of the range (inclusive)
+     */
+    public void rebuildRange(long fromCustomerId, long toCustomerId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(DELETE_RANGE_SQL, fromCustomerId, toCustomerId);
+        jdbcTemplate.update(INSERT_ALL_TIME_RANGE_SQL, now, fromCustomerId, toCustomerId);
+        jdbcTemplate.update(INSERT_YEARS_RANGE_SQL, now, fromCustomerId, toCustomerId);
+    }
+
+    /**
+     * Checks whether any total exists yet.
+     *
+     * @return true if the totals table is empty
+     */
+    public boolean isEmpty() {
+        Long rows = jdbcTemplate.queryForObject(COUNT_TOTALS_SQL, Long.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * Reads the next customers in descending order of their all-time or calendar-year totals.
+     *
+     * @param year the calendar year, or {@link RewardTotal#ALL_TIME}
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param limit the maximum number of customers returned
+     * @return the customers with their points, in listing order
+     */
+    public List<PointsCursor> rankByTotal(int year, PointsCursor after, int limit) {
+        return rank(RANK_TOTALS_SQL, new Object[]{year}, UNRANKED_TOTALS_SQL, new Object[]{year}, after, limit);
+    }
+
+    /**
+     * Reads the next customers in descending order of their points summed over whole months.
+     *
+     * @param fromMonth the first day of the first month (inclusive)
+     * @param toMonth the first day of the last month (inclusive)
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param limit the maximum number of customers returned
+     * @return the customers with their points, in listing order
+     */
+    public List<PointsCursor> rankByMonths(LocalDate fromMonth, LocalDate toMonth, PointsCursor after, int limit) {
+        Object[] range = {Date.valueOf(fromMonth), Date.valueOf(toMonth)};
+        return rank(RANK_MONTHS_SQL, range, UNRANKED_MONTHS_SQL, range, after, limit);
+    }
+
+    /**
+     * Reads the next customers in descending order of their points summed over the transactions of a date range.
+     *
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param limit the maximum number of customers returned
+     * @return the customers with their points, in listing order
+     */
+    public List<PointsCursor> rankByTransactions(LocalDate from, LocalDate to, PointsCursor after, int limit) {
+        Object[] range = {Date.valueOf(from), Date.valueOf(to)};
+        return rank(RANK_TRANSACTIONS_SQL, range, UNRANKED_TRANSACTIONS_SQL, range, after, limit);
+    }
+
+    /**
+     * Reads customers with positive points after a position, then, while the limit is not reached, customers
+     * without points in customer ID order.
+     *
+     * @param rankedSql selects customers with positive points after a (points, customer ID) position
+     * @param rankedArgs the arguments of the ranked statement preceding the position
+     * @param unrankedSql selects customers without points after a customer ID
+     * @param unrankedArgs the arguments of the unranked statement following the customer ID
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param limit the maximum number of customers returned
+     * @return the customers with their points, in listing order
+     */
+    private List<PointsCursor> rank(String rankedSql, Object[] rankedArgs, String unrankedSql, Object[] unrankedArgs,
+                                    PointsCursor after, int limit) {
+        List<PointsCursor> customers = new ArrayList<>();
+        if (after == null || after.points() > 0) {
+            long points = after != null ? after.points() : Long.MAX_VALUE;
+            long customerId = after != null ? after.customerId() : Long.MIN_VALUE;
+            List<Object> args = new ArrayList<>(List.of(rankedArgs));
+            args.addAll(List.of(points, points, customerId, limit));
+            customers.addAll(jdbcTemplate.query(rankedSql,
+                    (rs, rowNum) -> new PointsCursor(rs.getLong(2), rs.getLong(1)), args.toArray()));
+        }
+        if (customers.size() < limit) {
+            long afterCustomerId = after != null && after.points() <= 0 ? after.customerId() : Long.MIN_VALUE;
+            List<Object> args = new ArrayList<>(List.of(afterCustomerId));
+            args.addAll(List.of(unrankedArgs));
+            args.add(limit - customers.size());
+            customers.addAll(jdbcTemplate.query(unrankedSql,
+                    (rs, rowNum) -> new PointsCursor(0, rs.getLong(1)), args.toArray()));
+        }
+        return customers;
+    }
+}
@@ -1,11 +1,13 @@
 package com.charter.reward_api.repository;
 
 import com.charter.reward_api.model.Transaction;
+import com.charter.reward_core.RewardPointsCalculator;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,30 +18,63 @@ import java.util.List;
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     /**
-     * Finds all transactions for a specific customer within a date range.
+     * JPQL expression computing the reward points of one transaction {@code t};
+     * mirrors {@link RewardPointsCalculator}.
+     */
+    String POINTS_EXPRESSION = "CASE WHEN FLOOR(t.amount) > 100 THEN 50 + (FLOOR(t.amount) - 100) * 2 " +
+            "WHEN FLOOR(t.amount) > 50 THEN FLOOR(t.amount) - 50 ELSE 0 END";
+
+    /**
+     * Finds all transactions for a set of customers within a date range.
      *
-     * @param customerId the customer ID
+     * @param customerIds the customer IDs
      * @param from the start date (inclusive)
      * @param to the end date (inclusive)
      * @return list of transactions
      */
-    @Query("SELECT t FROM Transaction t WHERE t.customer.id = :customerId " +
+    @Query("SELECT t FROM Transaction t WHERE t.customer.id IN :customerIds " +
             "AND t.transactionDate BETWEEN :from AND :to")
-    List<Transaction> findByCustomerIdAndDateRange(
-            @Param("customerId") Long customerId,
+    List<Transaction> findByCustomerIdsAndDateRange(
+            @Param("customerIds") Collection<Long> customerIds,
             @Param("from") LocalDate from,
             @Param("to") LocalDate to
     );
 
     /**
-     * Finds all transactions within a date range.
+     * Sums the reward points of each of a set of customers within a date range.
+     * Customers without transactions in the range are not returned.
      *
+     * @param customerIds the customer IDs
      * @param from the start date (inclusive)
      * @param to the end date (inclusive)
-     * @return list of transactions
+     * @return total points per customer
+     */
+    @Query("SELECT t.customer.id AS customerId, SUM(" + POINTS_EXPRESSION + ") AS points " +
+            "FROM Transaction t WHERE t.customer.id IN :customerIds " +
+            "AND t.transactionDate BETWEEN :from AND :to GROUP BY t.customer.id")
+    List<CustomerPointsTotal> sumPointsByCustomer(
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Sums the reward points of each of a set of customers per month within a date range.
+     *
+     * @param customerIds the customer IDs
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return points per customer and month, ordered by customer and month
      */
-    @Query("SELECT t FROM Transaction t WHERE t.transactionDate BETWEEN :from AND :to")
-    List<Transaction> findByDateRange(
+    @Query("SELECT t.customer.id AS customerId, " +
+            "EXTRACT(YEAR FROM t.transactionDate) AS rewardYear, EXTRACT(MONTH FROM t.transactionDate) AS rewardMonth, " +
+            "SUM(" + POINTS_EXPRESSION + ") AS points " +
+            "FROM Transaction t WHERE t.customer.id IN :customerIds " +
+            "AND t.transactionDate BETWEEN :from AND :to " +
+            "GROUP BY t.customer.id, EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate) " +
+            "ORDER BY t.customer.id, EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate)")
+    List<CustomerMonthlyPoints> sumPointsByCustomerMonth(
+            @Param("customerIds") Collection<Long> customerIds,
             @Param("from") LocalDate from,
             @Param("to") LocalDate to
     );
@@ -0,0 +1,179 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.MonthlyRewardDTO;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-customer closed months of a date range, with their points and pre-encoded JSON, so that a repeated lookup
+ * reads only the open months and the response splices in the closed ones as bytes. Fragments are keyed by customer
+ * and by the closed part of the requested range; a customer's fragments are evicted once a transaction write for
+ * that customer commits, here or on another instance.
+ */
+@Component
+public class ClosedMonthFragmentCache implements MeterBinder {
+
+    private static final int MAX_RANGES_PER_CUSTOMER = 8;
+
+    private final Cache<Long, Map<ClosedRange, Fragment>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ClosedMonthFragmentCache(@Value("${reward.serialization.fragment-cache-size:10000}") long maxCustomers) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCustomers)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the closed months of a customer within a range of closed days.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive), no later than the last day of the latest closed month
+     * @return the cached fragment, or null if there is none
+     */
+    public Fragment get(Long customerId, LocalDate from, LocalDate to) {
+        Map<ClosedRange, Fragment> ranges = cache.getIfPresent(customerId);
+        return ranges != null ? ranges.get(new ClosedRange(from, to)) : null;
+    }
+
+    /**
+     * Gets the current invalidation generation, to be read before the closed months are loaded and passed to
+     * {@link #put(Long, LocalDate, LocalDate, List, long, long)}.
+     *
+     * @return the number of invalidations so far
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Encodes and caches the closed months of a customer within a range of closed days, unless an invalidation
+     * happened since the given generation, so a load that overlaps a committed write is never cached.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive), no later than the last day of the latest closed month
+     * @param months the customer's months with transactions within the range, oldest first
+     * @param transactions the number of transactions in those months
+     * @param generation the generation read before the months were loaded
+     */
+    public void put(Long customerId, LocalDate from, LocalDate to, List<MonthlyRewardDTO> months, long transactions,
+                    long generation) {
+        Fragment fragment = Fragment.encode(months, transactions);
+        Map<ClosedRange, Fragment> ranges = cache.get(customerId, id -> new ConcurrentHashMap<>());
+        if (ranges.size() >= MAX_RANGES_PER_CUSTOMER) {
+            ranges.clear();
+        }
+        ranges.put(new ClosedRange(from, to), fragment);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(customerId, ranges);
+        }
+    }
+
+    /**
+     * Finds the pre-encoded JSON of a customer's leading run of closed months.
+     *
+     * @param customerId the customer ID
+     * @param closedMonths the closed months being written
+     * @return the encoded months, or null if no cached fragment holds exactly those months
+     */
+    public SerializedString find(Long customerId, List<MonthlyRewardDTO> closedMonths) {
+        Map<ClosedRange, Fragment> ranges = cache.getIfPresent(customerId);
+        if (ranges == null) {
+            return null;
+        }
+        for (Fragment fragment : ranges.values()) {
+            if (fragment.months().equals(closedMonths)) {
+                return fragment.json();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evicts the fragments of the customers touched by a committed transaction write.
+     *
+     * @param event the reward points change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        invalidations.incrementAndGet();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            cache.invalidate(delta.customerId());
+        }
+    }
+
+    /**
+     * Evicts the fragments of a customer whose transactions were written by another application instance.
+     *
+     * @param customerId the customer ID
+     */
+    public void invalidate(Long customerId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(customerId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "reward.json-fragments");
+    }
+
+    /**
+     * The closed part of a requested date range.
+     *
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     */
+    private record ClosedRange(LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * A customer's closed months within a range, with their points and their comma-separated JSON array elements,
+     * whose UTF-8 encoding is computed upfront.
+     *
+     * @param months the closed months with transactions, oldest first
+     * @param points the points of those months
+     * @param transactions the number of transactions in those months
+     * @param json the encoded months
+     */
+    public record Fragment(List<MonthlyRewardDTO> months, long points, long transactions, SerializedString json) {
+
+        static Fragment encode(List<MonthlyRewardDTO> months, long transactions) {
+            StringBuilder json = new StringBuilder(months.size() * 48);
+            long points = 0;
+            for (MonthlyRewardDTO month : months) {
+                if (!json.isEmpty()) {
+                    json.append(',');
+                }
+                json.append("{\"year\":").append(month.year())
+                        .append(",\"month\":\"");
+                JsonStringEncoder.getInstance().quoteAsString(month.month(), json);
+                json.append("\",\"points\":").append(month.points())
+                        .append('}');
+                points += month.points();
+            }
+            SerializedString encoded = new SerializedString(json.toString());
+            encoded.asUnquotedUTF8();
+            return new Fragment(List.copyOf(months), points, transactions, encoded);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.charter.reward_api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Decides which months are closed: months whose last day lies more than a grace period in the past.
+ * Late or corrected transactions are expected only within the grace period, so closed-month
+ * rewards are treated as stable and their rendered form may be reused.
+ */
+@Component
+public class ClosedMonthPolicy {
+
+    private final Duration gracePeriod;
+    private final Clock clock;
+
+    @Autowired
+    public ClosedMonthPolicy(@Value("${reward.closed-month.grace-period:5d}") Duration gracePeriod) {
+        this(gracePeriod, Clock.systemUTC());
+    }
+
+    ClosedMonthPolicy(Duration gracePeriod, Clock clock) {
+        this.gracePeriod = gracePeriod;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a month is closed.
+     *
+     * @param month the month
+     * @return true if the month ended more than the grace period ago
+     */
+    public boolean isClosed(YearMonth month) {
+        return !month.isAfter(latestClosedMonth());
+    }
+
+    /**
+     * Gets the most recent closed month.
+     *
+     * @return the latest month that ended more than the grace period ago
+     */
+    public YearMonth latestClosedMonth() {
+        LocalDate lastClosedDay = LocalDate.now(clock).minusDays(gracePeriod.toDays() + 1);
+        YearMonth month = YearMonth.from(lastClosedDay);
+        return lastClosedDay.equals(month.atEndOfMonth()) ? month : month.minusMonths(1);
+    }
+}
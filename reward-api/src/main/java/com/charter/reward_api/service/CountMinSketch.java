@@ -0,0 +1,93 @@
+package com.charter.reward_api.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch of per-customer counts in a fixed amount of memory, independent of the number of customers.
+ * Each customer is counted in one cell per row; the estimate is the smallest of its cells, so it never
+ * undercounts and overcounts only by the weight of the other customers sharing all of its cells.
+ * Increments use conservative update, raising only the cells below the new estimate, which keeps the
+ * overcount of rarely seen customers low.
+ * <p>
+ * Concurrent increments of the same customer may lose part of their weight; the sketch trades that for being
+ * lock-free on the request path. {@link #halve()} ages all counts so that they track a recent rate.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray cells;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param width the number of cells per row, rounded up to a power of two
+     * @param depth the number of rows, from 1 to 8
+     */
+    CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Invalid sketch size " + width + "x" + depth);
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << (width > 1 ? 1 : 0);
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.cells = new AtomicLongArray(roundedWidth * depth);
+    }
+
+    /**
+     * Adds a weight to a customer's count.
+     *
+     * @param key the customer ID
+     * @param weight the non-negative weight to add
+     * @return the customer's estimated count after the increment
+     */
+    long add(long key, long weight) {
+        long estimate = estimate(key) + weight;
+        for (int row = 0; row < depth; row++) {
+            int index = index(key, row);
+            long current = cells.get(index);
+            while (current < estimate && !cells.compareAndSet(index, current, estimate)) {
+                current = cells.get(index);
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates a customer's count.
+     *
+     * @param key the customer ID
+     * @return the estimated count, never below the true count since the last {@link #halve()}
+     */
+    long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells.get(index(key, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Halves every count, so that past activity fades out by half per call.
+     */
+    void halve() {
+        for (int i = 0; i < cells.length(); i++) {
+            long current = cells.get(i);
+            while (!cells.compareAndSet(i, current, current >>> 1)) {
+                current = cells.get(i);
+            }
+        }
+    }
+
+    private int index(long key, int row) {
+        long hash = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 31)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+}
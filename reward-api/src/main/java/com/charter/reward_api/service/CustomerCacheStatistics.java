@@ -0,0 +1,78 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.CustomerCacheConfig;
+import com.charter.reward_api.dto.CacheRegionStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hit and miss counts of the Hibernate cache regions configured by {@link CustomerCacheConfig}.
+ * Reports nothing when the caches are disabled, as Hibernate statistics are then not collected.
+ */
+@Component
+public class CustomerCacheStatistics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public CustomerCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Gets the use of every cache region since startup.
+     *
+     * @return one entry per region, by region name
+     */
+    public List<CacheRegionStatsDTO> getRegionStatistics() {
+        return regionNames().stream()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(region -> {
+                    long lookups = region.getHitCount() + region.getMissCount();
+                    return new CacheRegionStatsDTO(region.getRegionName(), region.getHitCount(), region.getMissCount(),
+                            region.getPutCount(), lookups > 0 ? (double) region.getHitCount() / lookups : 0);
+                })
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regionNames()) {
+            register(registry, "reward.customer-cache.hits", region, CacheRegionStatistics::getHitCount,
+                    "Lookups answered by the cache region");
+            register(registry, "reward.customer-cache.misses", region, CacheRegionStatistics::getMissCount,
+                    "Lookups of the cache region that went to the database");
+            register(registry, "reward.customer-cache.puts", region, CacheRegionStatistics::getPutCount,
+                    "Entries stored in the cache region");
+        }
+    }
+
+    private void register(MeterRegistry registry, String name, String region,
+                          ToLongFunction<CacheRegionStatistics> count, String description) {
+        FunctionCounter.builder(name, statistics, stats -> {
+                    CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+                    return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+                })
+                .tag("region", region)
+                .description(description)
+                .register(registry);
+    }
+
+    private List<String> regionNames() {
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cached customer count used for estimated listing totals, summed over all shards.
+ * The count is refreshed by at most one caller at a time once it is older than the configured
+ * staleness bound; concurrent callers keep using the previous value meanwhile.
+ */
+@Component
+public class CustomerCountCache {
+
+    private final CustomerRepository customerRepository;
+    private final ShardRouter shardRouter;
+    private final long maxStalenessNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile CountSnapshot snapshot;
+
+    public CustomerCountCache(CustomerRepository customerRepository, ShardRouter shardRouter,
+                              @Value("${reward.pagination.count-max-staleness:30s}") Duration maxStaleness) {
+        this.customerRepository = customerRepository;
+        this.shardRouter = shardRouter;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /**
+     * Gets the customer count, at most the configured staleness bound old
+     * unless another caller is refreshing it at this moment.
+     *
+     * @return the cached customer count
+     */
+    public long getCount() {
+        CountSnapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAtNanos() < maxStalenessNanos) {
+            return current.count();
+        }
+        boolean acquired = refreshing.compareAndSet(false, true);
+        if (!acquired && current != null) {
+            return current.count();
+        }
+        try {
+            long count = shardRouter.onEachShard(shard -> customerRepository.count()).stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            CountSnapshot refreshed = new CountSnapshot(count, System.nanoTime());
+            snapshot = refreshed;
+            return refreshed.count();
+        } finally {
+            if (acquired) {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Customer count captured at a point in time.
+     *
+     * @param count the customer count
+     * @param loadedAtNanos the {@link System#nanoTime()} at which it was loaded
+     */
+    private record CountSnapshot(long count, long loadedAtNanos) {
+    }
+}
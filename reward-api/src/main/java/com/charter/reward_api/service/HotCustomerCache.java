@@ -0,0 +1,429 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.HotCustomerDTO;
+import com.charter.reward_api.dto.MonthlyRewardDTO;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.exception.CustomerNotFoundException;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.charter.reward_api.repository.CustomerMonthRow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the reward summaries of hot customers precomputed, so that their lookups skip the database.
+ * Hot customers are those requested often whose lookups read many transactions: two {@link CountMinSketch}es
+ * count, per customer, the requests and the transactions read by lookups. Both are halved every decay interval,
+ * so the counts track a recent rate in a fixed amount of memory however many customers there are.
+ * <p>
+ * A customer is promoted once its requests reach {@code min-requests} and its lookups read on average at least
+ * {@code min-transactions} transactions. Its all-time points and transaction count per month are then computed in
+ * the background and answer every lookup whose range is unbounded or covers whole months. A write to the customer
+ * on this instance adds its monthly deltas to the summary when it commits, without reading the database. A write on
+ * another instance, learned through {@link RewardChangeLogPoller}, marks the summary stale and recomputes it.
+ * A customer whose requests fall below half of {@code min-requests} is evicted at the next decay.
+ * <p>
+ * A summary computed while a write to the customer is uncommitted could already include it once stored, so a
+ * computation is discarded if a write to the customer is made before it is stored, and is deferred while a write
+ * to the customer is uncommitted.
+ */
+@Component
+public class HotCustomerCache implements MeterBinder, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(HotCustomerCache.class);
+
+    private final ObjectProvider<RewardServiceImpl> rewardService;
+    private final boolean enabled;
+    private final long minRequests;
+    private final long minTransactions;
+    private final int maxCustomers;
+    private final Duration decayInterval;
+    private final CountMinSketch requests;
+    private final CountMinSketch transactionsRead;
+    private final ConcurrentMap<Long, HotCustomer> hotCustomers = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong precomputations = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public HotCustomerCache(ObjectProvider<RewardServiceImpl> rewardService,
+                            @Value("${reward.hot-customers.enabled:true}") boolean enabled,
+                            @Value("${reward.hot-customers.min-requests:50}") long minRequests,
+                            @Value("${reward.hot-customers.min-transactions:1000}") long minTransactions,
+                            @Value("${reward.hot-customers.max-customers:100}") int maxCustomers,
+                            @Value("${reward.hot-customers.decay-interval:1m}") Duration decayInterval,
+                            @Value("${reward.hot-customers.sketch-width:4096}") int sketchWidth,
+                            @Value("${reward.hot-customers.sketch-depth:4}") int sketchDepth) {
+        this.rewardService = rewardService;
+        this.enabled = enabled;
+        this.minRequests = minRequests;
+        this.minTransactions = minTransactions;
+        this.maxCustomers = maxCustomers;
+        this.decayInterval = decayInterval;
+        this.requests = new CountMinSketch(sketchWidth, sketchDepth);
+        this.transactionsRead = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    /**
+     * Starts the thread that decays the counts and precomputes the summaries of promoted customers.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reward-hot-customers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::decaySafely, decayInterval.toMillis(), decayInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Counts a lookup of a customer and answers it from the customer's precomputed summary if it is hot.
+     *
+     * @param customerId the customer ID
+     * @param from optional start date
+     * @param to optional end date
+     * @param view how much of the summary is computed
+     * @return the summary, or empty if the customer is not hot, its summary is being recomputed,
+     *         or the range does not cover whole months
+     */
+    public Optional<CustomerRewardSummaryDTO> lookup(Long customerId, LocalDate from, LocalDate to, RewardView view) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        requests.add(customerId, 1);
+        HotCustomer hot = hotCustomers.get(customerId);
+        Summary summary = hot != null ? hot.summary : null;
+        if (summary == null) {
+            return Optional.empty();
+        }
+        LocalDate startDate = from != null ? from : LocalDate.of(1900, 1, 1);
+        LocalDate endDate = to != null ? to : LocalDate.of(2100, 12, 31);
+        if (startDate.getDayOfMonth() != 1 || !endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                || startDate.isAfter(endDate)) {
+            return Optional.empty();
+        }
+        List<MonthlyRewardDTO> months = new ArrayList<>();
+        long totalPoints = 0;
+        for (Map.Entry<YearMonth, MonthTotal> month : summary.months()
+                .subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).entrySet()) {
+            months.add(new MonthlyRewardDTO(month.getKey().getYear(), month.getKey().getMonth().name(),
+                    month.getValue().points()));
+            totalPoints += month.getValue().points();
+        }
+        hits.incrementAndGet();
+        return Optional.of(new CustomerRewardSummaryDTO(customerId, summary.customerName(),
+                view != RewardView.TOTALS ? months : null, totalPoints));
+    }
+
+    /**
+     * Counts the transactions read by a lookup of a customer from the database, and promotes the customer
+     * once it crosses both thresholds.
+     *
+     * @param customerId the customer ID
+     * @param transactions the number of transactions the lookup read or summed
+     */
+    public void recordLoad(Long customerId, long transactions) {
+        if (!enabled) {
+            return;
+        }
+        long read = transactionsRead.add(customerId, transactions);
+        long requested = requests.estimate(customerId);
+        if (requested < minRequests || read < requested * minTransactions
+                || hotCustomers.containsKey(customerId) || hotCustomers.size() >= maxCustomers) {
+            return;
+        }
+        if (hotCustomers.putIfAbsent(customerId, new HotCustomer(Instant.now())) == null) {
+            promotions.incrementAndGet();
+            log.info("Customer {} is hot: ~{} requests, ~{} transactions read", customerId, requested, read);
+            schedulePrecompute(customerId);
+        }
+    }
+
+    /**
+     * Applies the monthly deltas of a transaction write to the summaries of the hot customers it touches once the
+     * write commits. Outside a transaction the write is already visible, so their summaries are recomputed instead.
+     *
+     * @param event the reward points change
+     */
+    @EventListener
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.deltas().forEach(delta -> invalidate(delta.customerId()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new CommittingWrite(event.deltas()));
+    }
+
+    /**
+     * Marks the summary of a customer written by another instance stale and recomputes it if the customer is hot.
+     *
+     * @param customerId the customer ID
+     */
+    public void invalidate(Long customerId) {
+        HotCustomer hot = hotCustomers.get(customerId);
+        if (hot != null) {
+            synchronized (hot) {
+                hot.generation++;
+                hot.summary = null;
+            }
+            schedulePrecompute(customerId);
+        }
+    }
+
+    /**
+     * Gets the current hot customers, most requested first.
+     *
+     * @return the hot customers with their estimated activity
+     */
+    public List<HotCustomerDTO> getHotCustomers() {
+        return hotCustomers.entrySet().stream()
+                .map(entry -> new HotCustomerDTO(entry.getKey(), requests.estimate(entry.getKey()),
+                        transactionsRead.estimate(entry.getKey()), entry.getValue().summary != null,
+                        entry.getValue().hotSince, entry.getValue().precomputedAt))
+                .sorted(Comparator.comparingLong(HotCustomerDTO::estimatedRequests).reversed()
+                        .thenComparing(HotCustomerDTO::customerId))
+                .toList();
+    }
+
+    /**
+     * Halves the counts and evicts the customers that cooled down. Called by the decay thread;
+     * also usable to force a decay.
+     */
+    public synchronized void decay() {
+        requests.halve();
+        transactionsRead.halve();
+        hotCustomers.keySet().removeIf(customerId -> {
+            if (requests.estimate(customerId) * 2 >= minRequests) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            log.info("Customer {} cooled down and is no longer precomputed", customerId);
+            return true;
+        });
+    }
+
+    private void decaySafely() {
+        try {
+            decay();
+        } catch (RuntimeException ex) {
+            log.warn("Hot customer decay failed", ex);
+        }
+    }
+
+    private void schedulePrecompute(Long customerId) {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> precompute(customerId));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Hot customer cache is shut down; customer {} not precomputed", customerId);
+        }
+    }
+
+    /**
+     * Computes a hot customer's all-time monthly summary. A computation that overlaps an invalidation or a committing
+     * write is discarded, since it may predate the write; another one is scheduled once the write has completed.
+     */
+    private void precompute(Long customerId) {
+        HotCustomer hot = hotCustomers.get(customerId);
+        if (hot == null) {
+            return;
+        }
+        long generation;
+        synchronized (hot) {
+            if (hot.summary != null || hot.committingWrites > 0) {
+                return;
+            }
+            generation = hot.generation;
+        }
+        try {
+            List<CustomerMonthRow> rows = rewardService.getObject().precomputeCustomerMonths(customerId);
+            NavigableMap<YearMonth, MonthTotal> months = new TreeMap<>();
+            for (CustomerMonthRow row : rows) {
+                if (row.getTransactionCount().longValue() > 0) {
+                    months.put(YearMonth.of(row.getRewardYear(), row.getRewardMonth()),
+                            new MonthTotal(row.getPoints().longValue(), row.getTransactionCount().longValue()));
+                }
+            }
+            synchronized (hot) {
+                if (hot.generation == generation && hotCustomers.get(customerId) == hot) {
+                    hot.summary = new Summary(rows.get(0).getCustomerName(), months);
+                    hot.precomputedAt = Instant.now();
+                    precomputations.incrementAndGet();
+                }
+            }
+        } catch (CustomerNotFoundException ex) {
+            hotCustomers.remove(customerId, hot);
+        } catch (RuntimeException ex) {
+            log.warn("Precomputing the rewards of hot customer {} failed", customerId, ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reward.hot-customers.size", hotCustomers, ConcurrentMap::size)
+                .description("Customers whose reward summaries are kept precomputed")
+                .register(registry);
+        FunctionCounter.builder("reward.hot-customers.hits", hits, AtomicLong::get)
+                .description("Lookups answered from a precomputed summary")
+                .register(registry);
+        FunctionCounter.builder("reward.hot-customers.promotions", promotions, AtomicLong::get)
+                .description("Customers promoted to the hot set")
+                .register(registry);
+        FunctionCounter.builder("reward.hot-customers.evictions", evictions, AtomicLong::get)
+                .description("Customers evicted from the hot set after cooling down")
+                .register(registry);
+        FunctionCounter.builder("reward.hot-customers.precomputations", precomputations, AtomicLong::get)
+                .description("Summaries of hot customers computed in the background")
+                .register(registry);
+        FunctionCounter.builder("reward.hot-customers.updates", updates, AtomicLong::get)
+                .description("Committed writes applied to precomputed summaries without recomputing them")
+                .register(registry);
+    }
+
+    /**
+     * Applies a transaction write to the hot customers it touches when its transaction completes. The customers
+     * hot when the write is made hold off their precomputation until then; those that became hot later are
+     * recomputed.
+     */
+    private final class CommittingWrite implements TransactionSynchronization {
+
+        private final Map<Long, List<MonthlyPointsDelta>> deltasByCustomer = new LinkedHashMap<>();
+        private final Map<Long, HotCustomer> committing = new HashMap<>();
+
+        private CommittingWrite(List<MonthlyPointsDelta> deltas) {
+            for (MonthlyPointsDelta delta : deltas) {
+                deltasByCustomer.computeIfAbsent(delta.customerId(), id -> new ArrayList<>()).add(delta);
+            }
+            deltasByCustomer.keySet().forEach(customerId -> {
+                HotCustomer hot = hotCustomers.get(customerId);
+                if (hot != null) {
+                    synchronized (hot) {
+                        hot.generation++;
+                        hot.committingWrites++;
+                    }
+                    committing.put(customerId, hot);
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            deltasByCustomer.forEach((customerId, deltas) -> {
+                HotCustomer hot = committing.get(customerId);
+                if (hot == null) {
+                    if (status == STATUS_COMMITTED) {
+                        invalidate(customerId);
+                    }
+                    return;
+                }
+                boolean stale;
+                synchronized (hot) {
+                    hot.committingWrites--;
+                    if (status == STATUS_COMMITTED && hot.summary != null) {
+                        hot.summary = hot.summary.plus(deltas);
+                        updates.incrementAndGet();
+                    }
+                    stale = hot.summary == null && hot.committingWrites == 0;
+                }
+                if (stale) {
+                    schedulePrecompute(customerId);
+                }
+            });
+        }
+    }
+
+    /**
+     * A hot customer's name and its points and transaction count of every month with transactions.
+     */
+    private record Summary(String customerName, NavigableMap<YearMonth, MonthTotal> months) {
+
+        private Summary plus(List<MonthlyPointsDelta> deltas) {
+            NavigableMap<YearMonth, MonthTotal> updated = new TreeMap<>(months);
+            for (MonthlyPointsDelta delta : deltas) {
+                MonthTotal total = updated.getOrDefault(delta.month(), new MonthTotal(0, 0));
+                MonthTotal sum = new MonthTotal(total.points() + delta.points(),
+                        total.transactions() + delta.transactions());
+                if (sum.transactions() > 0) {
+                    updated.put(delta.month(), sum);
+                } else {
+                    updated.remove(delta.month());
+                }
+            }
+            return new Summary(customerName, updated);
+        }
+    }
+
+    private record MonthTotal(long points, long transactions) {
+    }
+
+    /**
+     * A hot customer and its precomputed summary, null until computed and while stale.
+     * The generation counts the invalidations of the customer and the writes made to it; it and the count of
+     * uncommitted writes are guarded by the instance's lock.
+     */
+    private static final class HotCustomer {
+
+        private final Instant hotSince;
+        private long generation;
+        private int committingWrites;
+        private volatile Summary summary;
+        private volatile Instant precomputedAt;
+
+        private HotCustomer(Instant hotSince) {
+            this.hotSince = hotSince;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.charter.reward_api.service;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct customers in a fixed amount of memory.
+ * Each customer ID is hashed to one of {@code 2^precision} registers, which keeps the longest run of leading
+ * zeros seen among the hashes routed to it. The estimate has a relative standard error of about
+ * {@code 1.04 / sqrt(2^precision)}; small counts are estimated exactly enough by linear counting.
+ * <p>
+ * Sketches of the same precision merge by taking the larger register of each pair, so the sketch of a union
+ * of sets is the merge of their sketches: months merge into a range, shards and instances into a whole.
+ * Adding a customer twice changes nothing, and customers cannot be removed.
+ */
+final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param precision the number of index bits, from 4 to 16
+     */
+    HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Invalid sketch precision " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Restores a sketch from its registers.
+     *
+     * @param precision the number of index bits
+     * @param registers the registers, as returned by {@link #toBytes()}
+     * @return the sketch
+     * @throws IllegalArgumentException if the registers do not match the precision
+     */
+    static HyperLogLog fromBytes(int precision, byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        if (registers.length != sketch.registers.length) {
+            throw new IllegalArgumentException("Expected " + sketch.registers.length + " registers, found "
+                    + registers.length);
+        }
+        System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+        return sketch;
+    }
+
+    /**
+     * Adds a customer to the sketch.
+     *
+     * @param key the customer ID
+     */
+    synchronized void add(long key) {
+        long hash = mix(key);
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Merges another sketch into this one, which then covers the customers of both.
+     *
+     * @param other a sketch of the same precision
+     */
+    void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of precision " + precision + " and "
+                    + other.precision);
+        }
+        byte[] theirs = other.toBytes();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] < theirs[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct customers added.
+     *
+     * @return the estimated count
+     */
+    synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Gets the relative standard error of the estimate.
+     *
+     * @return the relative standard error
+     */
+    double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Copies the registers for storage.
+     *
+     * @return a copy of the registers
+     */
+    synchronized byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    /**
+     * Spreads the bits of a customer ID over the whole hash (the finalizer of SplitMix64),
+     * since sequential IDs differ only in their low bits.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,226 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.ShardContext;
+import com.charter.reward_api.model.MonthCloseStatus;
+import com.charter.reward_api.model.RewardMonthClose;
+import com.charter.reward_api.repository.RewardMonthCloseRepository;
+import com.charter.reward_api.repository.RewardSnapshotWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Closes months once they are past the late-arrival grace period of {@link ClosedMonthPolicy}, sealing every
+ * customer's points of the month into an immutable snapshot. Reads of sealed months use the snapshots plus any
+ * adjustments recorded for writes that arrived after the close, instead of the month's transactions.
+ * <p>
+ * Every run first opens each month up to the next one that has no close row yet, so months are opened long before
+ * they end and writes to past months always find their row to lock. Months are then sealed oldest first on every
+ * shard, each in its own transaction that takes the month's exclusive lock, so the snapshot waits for every
+ * uncommitted write to the month rather than for a fixed delay. Only months opened by an earlier run are sealed:
+ * a write that found no row for a month opened by this run must have committed before the next one. The job runs
+ * on every instance; opening and sealing are idempotent, so instances that race simply skip the months another one
+ * opened or sealed.
+ */
+@Service
+public class MonthCloseService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthCloseService.class);
+
+    private final RewardSnapshotWriter snapshotWriter;
+    private final RewardMonthCloseRepository closeRepository;
+    private final ClosedMonthPolicy closedMonthPolicy;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final AtomicReferenceArray<SealedMonths> sealedMonths;
+    private ScheduledExecutorService scheduler;
+
+    public MonthCloseService(RewardSnapshotWriter snapshotWriter,
+                             RewardMonthCloseRepository closeRepository,
+                             ClosedMonthPolicy closedMonthPolicy,
+                             ShardRouter shardRouter,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${reward.month-close.enabled:true}") boolean enabled,
+                             @Value("${reward.month-close.interval:1h}") Duration interval) {
+        this.snapshotWriter = snapshotWriter;
+        this.closeRepository = closeRepository;
+        this.closedMonthPolicy = closedMonthPolicy;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.sealedMonths = new AtomicReferenceArray<>(shardRouter.getShardCount());
+    }
+
+    /**
+     * Loads the sealed months of every shard and schedules the month close.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < sealedMonths.length(); shard++) {
+            int target = shard;
+            shardRouter.onShard(shard, () -> refresh(target));
+        }
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reward-month-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::closeMonthsSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the sealed months of the shard the current thread is routed to.
+     *
+     * @return the contiguous run of sealed months, or empty if no month is sealed
+     */
+    public Optional<SealedMonths> getSealedMonths() {
+        Integer shard = ShardContext.get();
+        return Optional.ofNullable(sealedMonths.get(shard != null ? shard : 0));
+    }
+
+    /**
+     * Opens upcoming months and seals every closed month opened by an earlier run, on every shard.
+     *
+     * @return the months sealed by this call, oldest first
+     */
+    public synchronized List<YearMonth> closeMonths() {
+        TreeSet<YearMonth> sealed = new TreeSet<>();
+        for (int shard = 0; shard < sealedMonths.length(); shard++) {
+            int target = shard;
+            sealed.addAll(shardRouter.onShard(shard, () -> closeMonthsOnShard(target)));
+        }
+        return List.copyOf(sealed);
+    }
+
+    /**
+     * Opens the months of a shard from its first close row, or from its oldest transaction month while no month
+     * is sealed yet, up to next month, then seals the closed months that were already open. Months written to
+     * before the first sealed month are never opened and are read from their transactions.
+     */
+    private List<YearMonth> closeMonthsOnShard(int shard) {
+        Set<YearMonth> known = new HashSet<>();
+        TreeSet<YearMonth> open = new TreeSet<>();
+        YearMonth first = null;
+        boolean anySealed = false;
+        for (RewardMonthClose close : closeRepository.findAllByOrderByRewardMonthAsc()) {
+            YearMonth month = YearMonth.from(close.getRewardMonth());
+            first = first != null ? first : month;
+            known.add(month);
+            if (close.getStatus() == MonthCloseStatus.OPEN) {
+                open.add(month);
+            } else {
+                anySealed = true;
+            }
+        }
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        if (!anySealed) {
+            YearMonth earliest = snapshotWriter.earliestTransactionMonth();
+            first = earliest != null && (first == null || earliest.isBefore(first)) ? earliest : first;
+        }
+        for (YearMonth month = first != null ? first : currentMonth; !month.isAfter(currentMonth.plusMonths(1));
+             month = month.plusMonths(1)) {
+            if (!known.contains(month)) {
+                snapshotWriter.openMonth(month);
+            }
+        }
+
+        List<YearMonth> sealed = new ArrayList<>();
+        YearMonth latestClosed = closedMonthPolicy.latestClosedMonth();
+        for (YearMonth month : open.headSet(latestClosed, true)) {
+            Long rows = transactionTemplate.execute(status -> snapshotWriter.sealMonth(month));
+            if (rows != null && rows >= 0) {
+                log.info("Sealed reward month {} on shard {}: {} customer snapshots", month, shard, rows);
+                sealed.add(month);
+            }
+        }
+        refresh(shard);
+        return sealed;
+    }
+
+    private Void refresh(int shard) {
+        YearMonth first = null;
+        YearMonth last = null;
+        for (RewardMonthClose close : closeRepository.findAllByOrderByRewardMonthAsc()) {
+            YearMonth month = YearMonth.from(close.getRewardMonth());
+            if (close.getStatus() != MonthCloseStatus.SEALED) {
+                if (first != null) {
+                    break;
+                }
+                continue;
+            }
+            if (last != null && !month.equals(last.plusMonths(1))) {
+                break;
+            }
+            first = first != null ? first : month;
+            last = month;
+        }
+        sealedMonths.set(shard, first != null ? new SealedMonths(first, last) : null);
+        return null;
+    }
+
+    private void closeMonthsSafely() {
+        try {
+            closeMonths();
+        } catch (RuntimeException ex) {
+            log.error("Month close failed", ex);
+        }
+    }
+
+    /**
+     * A contiguous run of sealed months.
+     *
+     * @param first the oldest sealed month
+     * @param last the newest sealed month
+     */
+    public record SealedMonths(YearMonth first, YearMonth last) {
+
+        /**
+         * Gets the sealed months lying entirely within a date range.
+         *
+         * @param from the start date (inclusive)
+         * @param to the end date (inclusive)
+         * @return the sealed months covered by the range, or empty if none is
+         */
+        public Optional<SealedMonths> within(LocalDate from, LocalDate to) {
+            YearMonth fromMonth = YearMonth.from(from);
+            YearMonth toMonth = YearMonth.from(to);
+            YearMonth start = from.getDayOfMonth() == 1 ? fromMonth : fromMonth.plusMonths(1);
+            YearMonth end = to.equals(toMonth.atEndOfMonth()) ? toMonth : toMonth.minusMonths(1);
+            start = start.isBefore(first) ? first : start;
+            end = end.isAfter(last) ? last : end;
+            return start.isAfter(end) ? Optional.empty() : Optional.of(new SealedMonths(start, end));
+        }
+    }
+}
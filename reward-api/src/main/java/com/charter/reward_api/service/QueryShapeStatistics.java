@@ -0,0 +1,168 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.QueryShapeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Execution statistics per SQL statement shape, with the query plan of the latest slow execution.
+ * A shape is the statement text with literals replaced by {@code ?} and IN lists collapsed, so executions
+ * that differ only in their values share statistics. At most {@code reward.slow-query.max-shapes} shapes are tracked.
+ */
+@Component
+public class QueryShapeStatistics {
+
+    private static final int SAMPLES_PER_SHAPE = 1024;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final int maxShapes;
+    private final long explainIntervalNanos;
+
+    public QueryShapeStatistics(@Value("${reward.slow-query.max-shapes:500}") int maxShapes,
+                                @Value("${reward.slow-query.explain-interval:10m}") Duration explainInterval) {
+        this.maxShapes = maxShapes;
+        this.explainIntervalNanos = explainInterval.toNanos();
+    }
+
+    /**
+     * Gets the shape of a SQL statement.
+     *
+     * @param sql the statement
+     * @return the statement with literals replaced by {@code ?}, IN lists collapsed and whitespace normalized
+     */
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Records one execution of a statement shape.
+     *
+     * @param shape the statement shape
+     * @param nanos the execution time in nanoseconds
+     * @param slow whether the execution exceeded the slow-query threshold
+     */
+    public void record(String shape, long nanos, boolean slow) {
+        ShapeStats stats = statsOf(shape);
+        if (stats != null) {
+            stats.record(nanos, slow);
+        }
+    }
+
+    /**
+     * Claims the right to capture a plan for a shape, at most once per explain interval per shape.
+     *
+     * @param shape the statement shape
+     * @return true if the caller should capture the plan now
+     */
+    public boolean claimExplain(String shape) {
+        ShapeStats stats = statsOf(shape);
+        return stats != null && stats.claimExplain(System.nanoTime(), explainIntervalNanos);
+    }
+
+    /**
+     * Stores the captured plan of a shape.
+     *
+     * @param shape the statement shape
+     * @param plan the EXPLAIN output
+     */
+    public void recordPlan(String shape, String plan) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            stats.plan = new CapturedPlan(plan, Instant.now());
+        }
+    }
+
+    /**
+     * Gets the slowest shapes by 99th percentile execution time.
+     *
+     * @param limit the maximum number of shapes
+     * @return the slowest shapes, slowest first
+     */
+    public List<QueryShapeDTO> getSlowestShapes(int limit) {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(QueryShapeDTO::p99Millis)
+                        .thenComparingDouble(QueryShapeDTO::maxMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private ShapeStats statsOf(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null && shapes.size() < maxShapes) {
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        return stats;
+    }
+
+    /**
+     * The EXPLAIN output of a shape and when it was captured.
+     */
+    private record CapturedPlan(String plan, Instant capturedAt) {
+    }
+
+    /**
+     * Counters and a ring of the most recent execution times of one shape.
+     */
+    private static final class ShapeStats {
+
+        private final long[] samples = new long[SAMPLES_PER_SHAPE];
+        private long count;
+        private long slowCount;
+        private long maxNanos;
+        private long lastExplainNanos;
+        private boolean explained;
+        private volatile CapturedPlan plan;
+
+        synchronized void record(long nanos, boolean slow) {
+            samples[(int) (count % SAMPLES_PER_SHAPE)] = nanos;
+            count++;
+            if (slow) {
+                slowCount++;
+            }
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        synchronized boolean claimExplain(long now, long intervalNanos) {
+            if (explained && now - lastExplainNanos < intervalNanos) {
+                return false;
+            }
+            explained = true;
+            lastExplainNanos = now;
+            return true;
+        }
+
+        synchronized QueryShapeDTO toDto(String shape) {
+            long[] recent = Arrays.copyOf(samples, (int) Math.min(count, SAMPLES_PER_SHAPE));
+            Arrays.sort(recent);
+            CapturedPlan captured = plan;
+            return new QueryShapeDTO(shape, count, slowCount, percentile(recent, 0.50), percentile(recent, 0.95),
+                    percentile(recent, 0.99), maxNanos / 1_000_000.0,
+                    captured != null ? captured.plan() : null, captured != null ? captured.capturedAt() : null);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
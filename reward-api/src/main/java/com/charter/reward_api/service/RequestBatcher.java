@@ -0,0 +1,259 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.exception.RequestBatchTimeoutException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Micro-batcher merging concurrent lookups of different IDs into one query.
+ * The first caller for a batch key opens a batch. If another batch is being loaded at that moment, it waits for the
+ * batching window, or until the batch holds the maximum number of IDs; otherwise it closes the batch at once, so a
+ * lookup on an idle system adds no latency. It then loads every ID of the batch on its own thread and hands each
+ * waiting caller its value. Callers arriving during a load form the next batch, so batches grow with the load.
+ * The load's {@link RequestCost} is recorded apart from the opener's own and shared out evenly per ID, so each
+ * caller reports its part of the batch rather than the opener reporting all of it.
+ * Unlike {@link RequestCoalescer}, callers need not ask for the same ID, only for the same batch key.
+ */
+@Component
+public class RequestBatcher implements MeterBinder {
+
+    private final ConcurrentMap<Object, Batch> openBatches = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final AtomicInteger loading = new AtomicInteger();
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration waitTimeout;
+
+    public RequestBatcher(@Value("${reward.batching.enabled:true}") boolean enabled,
+                          @Value("${reward.batching.window:300us}") Duration window,
+                          @Value("${reward.batching.max-batch-size:100}") int maxBatchSize,
+                          @Value("${reward.batching.wait-timeout:5s}") Duration waitTimeout) {
+        this.enabled = enabled && maxBatchSize > 1;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Loads the value of an ID together with the IDs other callers look up under the same key meanwhile.
+     * The loader of the caller that opened the batch is the one run, so the key must identify everything the
+     * loader depends on besides the IDs. When batching is disabled, the loader runs for this ID alone.
+     *
+     * @param key the batch key; must implement equals and hashCode
+     * @param id the ID to look up
+     * @param loader loads the values of a set of IDs, omitting IDs without a value
+     * @param <V> the value type
+     * @return the value of the ID, or null if the loader returned none
+     * @throws RequestBatchTimeoutException if the batch is not loaded within the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V load(Object key, Long id, Function<Set<Long>, Map<Long, V>> loader) {
+        lookups.increment();
+        if (!enabled) {
+            loads.increment();
+            return loader.apply(Set.of(id)).get(id);
+        }
+
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(key, k -> new Batch());
+            Boolean leader = batch.join(id, maxBatchSize);
+            if (leader == null) {
+                openBatches.remove(key, batch);
+                continue;
+            }
+            if (!leader) {
+                return (V) share(await(key, batch.result)).get(id);
+            }
+            return (V) share(lead(key, batch, loader)).get(id);
+        }
+    }
+
+    /**
+     * Waits for the batching window while other batches are loading, closes the batch and loads its IDs.
+     *
+     * @param key the batch key
+     * @param batch the batch this caller opened
+     * @param loader loads the values of the batch's IDs
+     * @return the values of the batch and the cost of loading them
+     */
+    private LoadedBatch lead(Object key, Batch batch, Function<Set<Long>, ? extends Map<Long, ?>> loader) {
+        if (loading.get() > 0) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining;
+            while (!batch.isClosed() && (remaining = deadline - System.nanoTime()) > 0
+                    && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(batch, remaining);
+            }
+        }
+        Set<Long> ids = batch.close();
+        openBatches.remove(key, batch);
+
+        loads.increment();
+        loading.incrementAndGet();
+        RequestCost requestCost = RequestCost.current();
+        RequestCost batchCost = new RequestCost();
+        RequestCost.set(batchCost);
+        try {
+            LoadedBatch loaded = new LoadedBatch(loader.apply(ids), batchCost, ids.size());
+            batch.result.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error ex) {
+            batch.result.completeExceptionally(ex);
+            if (requestCost != null) {
+                requestCost.addShare(batchCost, 1);
+            }
+            throw ex;
+        } finally {
+            RequestCost.set(requestCost);
+            loading.decrementAndGet();
+        }
+    }
+
+    /**
+     * Charges the current request its share of a loaded batch.
+     *
+     * @param loaded the loaded batch
+     * @return the values of the batch
+     */
+    private static Map<Long, ?> share(LoadedBatch loaded) {
+        RequestCost cost = RequestCost.current();
+        if (cost != null) {
+            cost.addShare(loaded.cost(), loaded.ids());
+        }
+        return loaded.values();
+    }
+
+    /**
+     * Waits for a batch to be loaded and rethrows its failure unchanged.
+     *
+     * @param key the batch key
+     * @param future the batch's values
+     * @return the loaded batch
+     */
+    private LoadedBatch await(Object key, CompletableFuture<LoadedBatch> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new RequestBatchTimeoutException(key, waitTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestBatchTimeoutException(key, waitTimeout);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Gets the number of IDs looked up.
+     *
+     * @return lookup count
+     */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * Gets the number of times a loader ran, once per batch.
+     *
+     * @return load count
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reward.batching.lookups", lookups, LongAdder::sum)
+                .description("IDs looked up through the request batcher")
+                .register(registry);
+        FunctionCounter.builder("reward.batching.loads", loads, LongAdder::sum)
+                .description("Batched queries run for those lookups")
+                .register(registry);
+    }
+
+    /**
+     * The values loaded for a batch, with the cost of loading them.
+     *
+     * @param values the values of the batch's IDs
+     * @param cost the cost of the load, recorded apart from any request
+     * @param ids the number of IDs the load served
+     */
+    private record LoadedBatch(Map<Long, ?> values, RequestCost cost, int ids) {
+    }
+
+    /**
+     * IDs collected under one key until the batch is closed, and the values loaded for them.
+     */
+    private static final class Batch {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final CompletableFuture<LoadedBatch> result = new CompletableFuture<>();
+        private Thread leader;
+        private boolean closed;
+
+        /**
+         * Adds an ID unless the batch is closed, closing it when it becomes full.
+         *
+         * @param id the ID to add
+         * @param maxSize the number of IDs that fills the batch
+         * @return true if the caller opened the batch and must load it, false if it joined, null if it was closed
+         */
+        synchronized Boolean join(Long id, int maxSize) {
+            if (closed) {
+                return null;
+            }
+            ids.add(id);
+            boolean first = leader == null;
+            if (first) {
+                leader = Thread.currentThread();
+            }
+            if (ids.size() >= maxSize) {
+                closed = true;
+                LockSupport.unpark(leader);
+            }
+            return first;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Closes the batch to further IDs.
+         *
+         * @return the batch's IDs
+         */
+        synchronized Set<Long> close() {
+            closed = true;
+            return Set.copyOf(ids);
+        }
+    }
+}
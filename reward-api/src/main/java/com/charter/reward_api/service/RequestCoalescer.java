@@ -0,0 +1,125 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.exception.RequestCoalescingTimeoutException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescer for identical concurrent requests.
+ * The first caller for a key executes the computation; callers arriving while it is in flight
+ * wait for and share its result, or its exception, for at most the configured wait timeout.
+ */
+@Component
+public class RequestCoalescer implements MeterBinder {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final Duration waitTimeout;
+
+    public RequestCoalescer(@Value("${reward.coalescing.wait-timeout:5s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Executes the supplier for the given key, or joins an identical computation already in flight.
+     *
+     * @param key the request key; must implement equals and hashCode
+     * @param supplier the computation to run when no identical request is in flight
+     * @param <T> the result type
+     * @return the shared result
+     * @throws RequestCoalescingTimeoutException if the in-flight computation does not finish within the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> supplier) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(key, existing);
+        }
+
+        executed.increment();
+        try {
+            T result = supplier.get();
+            inFlight.remove(key, future);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for an in-flight computation and rethrows its failure unchanged.
+     *
+     * @param key the request key
+     * @param future the in-flight computation
+     * @return the computed result
+     */
+    private Object await(Object key, CompletableFuture<Object> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new RequestCoalescingTimeoutException(key, waitTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestCoalescingTimeoutException(key, waitTimeout);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Gets the number of calls that ran their own computation.
+     *
+     * @return executed call count
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Gets the number of calls that joined a computation already in flight.
+     *
+     * @return coalesced call count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reward.coalescing.calls", executed, LongAdder::sum)
+                .tag("outcome", "executed")
+                .description("Reward requests that executed their own computation")
+                .register(registry);
+        FunctionCounter.builder("reward.coalescing.calls", coalesced, LongAdder::sum)
+                .tag("outcome", "coalesced")
+                .description("Reward requests that shared an in-flight computation")
+                .register(registry);
+    }
+}
@@ -0,0 +1,372 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.AggregateRebuildStatusDTO;
+import com.charter.reward_api.exception.AggregateRebuildConflictException;
+import com.charter.reward_api.exception.AggregateRebuildNotFoundException;
+import com.charter.reward_api.model.AggregateRebuildCheckpoint;
+import com.charter.reward_api.model.AggregateRebuildJob;
+import com.charter.reward_api.model.RebuildStatus;
+import com.charter.reward_api.repository.AggregateRebuildCheckpointRepository;
+import com.charter.reward_api.repository.AggregateRebuildJobRepository;
+import com.charter.reward_api.repository.MonthlyRewardAggregateWriter;
+import com.charter.reward_api.repository.RewardBalanceWriter;
+import com.charter.reward_api.repository.RewardTotalWriter;
+import com.charter.reward_core.RewardPointsCalculator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the monthly reward aggregates of every customer in parallel.
+ * The customer ID space of all shards is split into fixed-size ranges that are processed on a dedicated fork-join
+ * pool. On every shard, each range locks its customers, streams their transactions, aggregates them in memory and
+ * replaces the range's aggregates with batched statements, all in one transaction, so transaction writes to the
+ * range wait for the rebuild or commit before it reads. A checkpoint row is recorded once every shard is done.
+ * A cancelled, failed or interrupted job resumes by skipping the ranges that already have a checkpoint.
+ */
+@Service
+public class RewardAggregateRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardAggregateRebuildService.class);
+
+    private static final String CUSTOMER_ID_BOUNDS_SQL = "SELECT MIN(id), MAX(id) FROM customer";
+    private static final String LOCK_RANGE_SQL =
+            "SELECT id FROM customer WHERE id BETWEEN ? AND ? ORDER BY id FOR UPDATE";
+    private static final String RANGE_TRANSACTIONS_SQL =
+            "SELECT customer_id, amount, transaction_date FROM transaction WHERE customer_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyRewardAggregateWriter aggregateWriter;
+    private final RewardBalanceWriter balanceWriter;
+    private final RewardTotalWriter totalWriter;
+    private final AggregateRebuildJobRepository jobRepository;
+    private final AggregateRebuildCheckpointRepository checkpointRepository;
+    private final RewardPrefixSumIndex prefixSumIndex;
+    private final ShardRouter shardRouter;
+    private final ForkJoinPool pool;
+    private final int rangeSize;
+    private final int batchSize;
+    private final int fetchSize;
+    private volatile RebuildRun currentRun;
+
+    public RewardAggregateRebuildService(JdbcTemplate jdbcTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         MonthlyRewardAggregateWriter aggregateWriter,
+                                         RewardBalanceWriter balanceWriter,
+                                         RewardTotalWriter totalWriter,
+                                         AggregateRebuildJobRepository jobRepository,
+                                         AggregateRebuildCheckpointRepository checkpointRepository,
+                                         RewardPrefixSumIndex prefixSumIndex,
+                                         ShardRouter shardRouter,
+                                         @Value("${reward.rebuild.parallelism:4}") int parallelism,
+                                         @Value("${reward.rebuild.range-size:1000}") int rangeSize,
+                                         @Value("${reward.rebuild.batch-size:500}") int batchSize,
+                                         @Value("${reward.rebuild.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.aggregateWriter = aggregateWriter;
+        this.balanceWriter = balanceWriter;
+        this.totalWriter = totalWriter;
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.prefixSumIndex = prefixSumIndex;
+        this.shardRouter = shardRouter;
+        this.pool = new ForkJoinPool(parallelism);
+        this.rangeSize = rangeSize;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Starts a rebuild in the background, resuming the latest unfinished job unless a fresh one is requested.
+     *
+     * @param fresh if true, ignore any unfinished job and start over with a new range layout
+     * @return the status of the started job
+     * @throws AggregateRebuildConflictException if a rebuild is already running
+     */
+    public synchronized AggregateRebuildStatusDTO start(boolean fresh) {
+        RebuildRun running = currentRun;
+        if (running != null && running.status == RebuildStatus.RUNNING) {
+            throw new AggregateRebuildConflictException("Aggregate rebuild already running: job " + running.job.getId());
+        }
+
+        AggregateRebuildJob job = fresh ? null : jobRepository.findTopByOrderByIdDesc()
+                .filter(latest -> latest.getStatus() != RebuildStatus.COMPLETED)
+                .orElse(null);
+        if (job == null) {
+            job = createJob();
+        } else {
+            job.setStatus(RebuildStatus.RUNNING);
+            job.setStartedAt(Instant.now());
+            job.setFinishedAt(null);
+            job = jobRepository.save(job);
+        }
+
+        List<AggregateRebuildCheckpoint> checkpoints = checkpointRepository.findByJobId(job.getId());
+        Set<Long> completedStarts = checkpoints.stream()
+                .map(AggregateRebuildCheckpoint::getRangeStart)
+                .collect(Collectors.toSet());
+        List<CustomerIdRange> pending = new ArrayList<>();
+        for (long start = job.getMinCustomerId(); start <= job.getMaxCustomerId() && job.getTotalRanges() > 0;
+             start += job.getRangeSize()) {
+            if (!completedStarts.contains(start)) {
+                pending.add(new CustomerIdRange(start, Math.min(start + job.getRangeSize() - 1, job.getMaxCustomerId())));
+            }
+        }
+
+        RebuildRun run = new RebuildRun(job, checkpoints.size(),
+                checkpoints.stream().mapToLong(AggregateRebuildCheckpoint::getTransactionCount).sum());
+        currentRun = run;
+        log.info("Starting aggregate rebuild job {}: {} of {} ranges pending", job.getId(), pending.size(), job.getTotalRanges());
+        pool.execute(() -> execute(run, pending));
+        return run.toStatus();
+    }
+
+    /**
+     * Gets the progress of the current rebuild, or of the latest rebuild if none ran since startup.
+     *
+     * @return the rebuild status
+     * @throws AggregateRebuildNotFoundException if no rebuild was ever started
+     */
+    public AggregateRebuildStatusDTO getStatus() {
+        RebuildRun run = currentRun;
+        if (run != null) {
+            return run.toStatus();
+        }
+        AggregateRebuildJob job = jobRepository.findTopByOrderByIdDesc()
+                .orElseThrow(AggregateRebuildNotFoundException::new);
+        List<AggregateRebuildCheckpoint> checkpoints = checkpointRepository.findByJobId(job.getId());
+        return new AggregateRebuildStatusDTO(job.getId(), job.getStatus(), job.getTotalRanges(), checkpoints.size(),
+                checkpoints.stream().mapToLong(AggregateRebuildCheckpoint::getTransactionCount).sum(),
+                false, job.getStartedAt(), job.getFinishedAt());
+    }
+
+    /**
+     * Requests cancellation of the running rebuild. Ranges already in progress finish; no new range starts.
+     *
+     * @return the rebuild status
+     * @throws AggregateRebuildConflictException if no rebuild is running
+     */
+    public AggregateRebuildStatusDTO cancel() {
+        RebuildRun run = currentRun;
+        if (run == null || run.status != RebuildStatus.RUNNING) {
+            throw new AggregateRebuildConflictException("No aggregate rebuild is running");
+        }
+        run.cancelRequested = true;
+        return run.toStatus();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        RebuildRun run = currentRun;
+        if (run != null) {
+            run.cancelRequested = true;
+        }
+        pool.shutdown();
+    }
+
+    private AggregateRebuildJob createJob() {
+        long[] bounds = null;
+        for (long[] shardBounds : shardRouter.onEachShard(shard -> jdbcTemplate.queryForObject(CUSTOMER_ID_BOUNDS_SQL,
+                (rs, rowNum) -> {
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? new long[0] : new long[]{min, rs.getLong(2)};
+                }))) {
+            if (shardBounds.length > 0) {
+                bounds = bounds == null ? shardBounds
+                        : new long[]{Math.min(bounds[0], shardBounds[0]), Math.max(bounds[1], shardBounds[1])};
+            }
+        }
+        if (bounds == null) {
+            return jobRepository.save(new AggregateRebuildJob(0, -1, rangeSize, 0, Instant.now()));
+        }
+        int totalRanges = (int) ((bounds[1] - bounds[0]) / rangeSize + 1);
+        return jobRepository.save(new AggregateRebuildJob(bounds[0], bounds[1], rangeSize, totalRanges, Instant.now()));
+    }
+
+    /**
+     * Runs the pending ranges on the fork-join pool and records the final job status. The status is recorded
+     * whatever the failure, including an Error, so the job never stays RUNNING after its run has ended.
+     *
+     * @param run the run state
+     * @param pending the ranges to rebuild
+     */
+    private void execute(RebuildRun run, List<CustomerIdRange> pending) {
+        RebuildStatus outcome = RebuildStatus.FAILED;
+        try {
+            new RangeRebuildTask(run, pending, 0, pending.size()).invoke();
+            outcome = run.cancelRequested ? RebuildStatus.CANCELLED : RebuildStatus.COMPLETED;
+        } catch (RuntimeException | Error ex) {
+            log.error("Aggregate rebuild job {} failed", run.job.getId(), ex);
+            if (ex instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            finish(run, outcome);
+        }
+    }
+
+    /**
+     * Records the final status of a run, in memory even if the job row cannot be saved.
+     *
+     * @param run the run state
+     * @param outcome the final status
+     */
+    private void finish(RebuildRun run, RebuildStatus outcome) {
+        AggregateRebuildJob job = run.job;
+        job.setStatus(outcome);
+        job.setFinishedAt(Instant.now());
+        try {
+            jobRepository.save(job);
+        } catch (RuntimeException ex) {
+            log.error("Could not record the {} status of aggregate rebuild job {}", outcome, job.getId(), ex);
+        } finally {
+            run.finishedAt = job.getFinishedAt();
+            run.status = outcome;
+        }
+        log.info("Aggregate rebuild job {} {}: {} of {} ranges, {} transactions", job.getId(), outcome,
+                run.completedRanges.get(), job.getTotalRanges(), run.transactionsProcessed.sum());
+    }
+
+    /**
+     * Rebuilds one range on every shard and records its checkpoint. A failure on one shard leaves the range
+     * without a checkpoint, so it is rebuilt again, on every shard, when the job resumes.
+     *
+     * @param run the run state
+     * @param range the customer ID range
+     */
+    private void rebuildRange(RebuildRun run, CustomerIdRange range) {
+        long transactionCount = shardRouter.onEachShard(shard ->
+                        transactionTemplate.execute(status -> rebuildRangeOnShard(range))).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        checkpointRepository.save(new AggregateRebuildCheckpoint(run.job.getId(), range.from(), range.to(),
+                transactionCount, Instant.now()));
+        prefixSumIndex.invalidateRange(range.from(), range.to());
+
+        run.completedRanges.incrementAndGet();
+        run.transactionsProcessed.add(transactionCount);
+    }
+
+    /**
+     * Locks the customers of one range on the current shard, streams their transactions, aggregates them per
+     * customer and month, and replaces the range's aggregates. The earned points of the range's balances and its
+     * reward totals are recomputed from the new aggregates. Must run inside a transaction, which holds the locks
+     * until the new aggregates are committed; transaction writes lock their customers first as well.
+     *
+     * @param range the customer ID range
+     * @return the number of transactions read
+     */
+    private long rebuildRangeOnShard(CustomerIdRange range) {
+        jdbcTemplate.queryForList(LOCK_RANGE_SQL, Long.class, range.from(), range.to());
+
+        Map<Long, Map<YearMonth, long[]>> aggregates = new HashMap<>();
+        long[] transactionCount = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(RANGE_TRANSACTIONS_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, range.from());
+            statement.setLong(2, range.to());
+            return statement;
+        }, rs -> {
+            long customerId = rs.getLong(1);
+            BigDecimal amount = rs.getBigDecimal(2);
+            YearMonth month = YearMonth.from(rs.getObject(3, LocalDate.class));
+            long[] values = aggregates.computeIfAbsent(customerId, id -> new HashMap<>())
+                    .computeIfAbsent(month, m -> new long[2]);
+            values[0] += RewardPointsCalculator.calculatePoints(amount);
+            values[1]++;
+            transactionCount[0]++;
+        });
+
+        aggregateWriter.replaceRange(range.from(), range.to(), aggregates, batchSize);
+        balanceWriter.resetEarnedRange(range.from(), range.to());
+        totalWriter.rebuildRange(range.from(), range.to());
+        return transactionCount[0];
+    }
+
+    /**
+     * Fork-join task that splits the pending ranges in halves until a single range remains.
+     */
+    private final class RangeRebuildTask extends RecursiveAction {
+
+        private final RebuildRun run;
+        private final List<CustomerIdRange> ranges;
+        private final int from;
+        private final int to;
+
+        private RangeRebuildTask(RebuildRun run, List<CustomerIdRange> ranges, int from, int to) {
+            this.run = run;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 0 || run.cancelRequested) {
+                return;
+            }
+            if (to - from == 1) {
+                rebuildRange(run, ranges.get(from));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeRebuildTask(run, ranges, from, middle), new RangeRebuildTask(run, ranges, middle, to));
+        }
+    }
+
+    /**
+     * Inclusive range of customer IDs rebuilt as one unit.
+     *
+     * @param from the first customer ID
+     * @param to the last customer ID
+     */
+    private record CustomerIdRange(long from, long to) {
+    }
+
+    /**
+     * Mutable progress of the rebuild running in this instance.
+     */
+    private static final class RebuildRun {
+
+        private final AggregateRebuildJob job;
+        private final AtomicInteger completedRanges;
+        private final LongAdder transactionsProcessed = new LongAdder();
+        private volatile boolean cancelRequested;
+        private volatile RebuildStatus status = RebuildStatus.RUNNING;
+        private volatile Instant finishedAt;
+
+        private RebuildRun(AggregateRebuildJob job, int completedRanges, long transactionsProcessed) {
+            this.job = job;
+            this.completedRanges = new AtomicInteger(completedRanges);
+            this.transactionsProcessed.add(transactionsProcessed);
+        }
+
+        private AggregateRebuildStatusDTO toStatus() {
+            return new AggregateRebuildStatusDTO(job.getId(), status, job.getTotalRanges(), completedRanges.get(),
+                    transactionsProcessed.sum(), cancelRequested, job.getStartedAt(), finishedAt);
+        }
+    }
+}
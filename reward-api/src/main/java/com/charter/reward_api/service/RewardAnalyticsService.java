@@ -0,0 +1,286 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.config.ShardContext;
+import com.charter.reward_api.dto.MonthlyAnalyticsDTO;
+import com.charter.reward_api.dto.RewardAnalyticsDTO;
+import com.charter.reward_api.exception.InvalidDateRangeException;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.charter.reward_api.repository.RewardMonthRollupWriter;
+import com.charter.reward_core.RewardPointsCalculator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves population-wide monthly reward analytics from rollups, without reading transactions.
+ * <p>
+ * Points and transaction counts per month are kept by {@link RewardMonthRollupWriter} inside every transaction
+ * write. Distinct active customers per month are estimated with HyperLogLog sketches: each instance adds the
+ * customers of committed writes to in-memory sketches and periodically merges them into the stored sketch of
+ * each month. Sketches merge, so a range's distinct customers are estimated by merging its months, and shards
+ * and instances by merging theirs. Reads include this instance's unflushed customers; those of other instances
+ * show up after their next flush.
+ * <p>
+ * Rollups and sketches of data written before they existed are computed once at startup from the transactions,
+ * on every shard whose rollups are empty.
+ */
+@Service
+public class RewardAnalyticsService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardAnalyticsService.class);
+
+    private static final String ALL_TRANSACTIONS_SQL = "SELECT customer_id, amount, transaction_date FROM transaction";
+    private static final Map<YearMonth, HyperLogLog> EMPTY = Map.of();
+
+    private final RewardMonthRollupWriter rollupWriter;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int precision;
+    private final Duration flushInterval;
+    private final int maxMonths;
+    private final int fetchSize;
+    private final Map<Integer, Map<YearMonth, HyperLogLog>> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public RewardAnalyticsService(RewardMonthRollupWriter rollupWriter,
+                                  ShardRouter shardRouter,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${reward.analytics.sketch-precision:12}") int precision,
+                                  @Value("${reward.analytics.sketch-flush-interval:5s}") Duration flushInterval,
+                                  @Value("${reward.analytics.max-months:120}") int maxMonths,
+                                  @Value("${reward.rebuild.fetch-size:1000}") int fetchSize) {
+        this.rollupWriter = rollupWriter;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.precision = precision;
+        this.flushInterval = flushInterval;
+        this.maxMonths = maxMonths;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Backfills the rollups of shards that have none and schedules the sketch flush.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            shardRouter.onShard(shard, () -> backfillIfEmpty(target));
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reward-analytics-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sketch flush and flushes the customers seen since the last one.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Adds the customers of a committed transaction write to the in-memory sketches of its months.
+     * Only new transactions count: a customer stays active in a month once a transaction was written to it.
+     *
+     * @param event the reward points change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        Integer shard = ShardContext.get();
+        Map<YearMonth, HyperLogLog> months = pending.computeIfAbsent(shard != null ? shard : 0,
+                s -> new ConcurrentHashMap<>());
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            if (delta.transactions() > 0) {
+                months.compute(delta.month(), (month, sketch) -> {
+                    HyperLogLog target = sketch != null ? sketch : new HyperLogLog(precision);
+                    target.add(delta.customerId());
+                    return target;
+                });
+            }
+        }
+    }
+
+    /**
+     * Retrieves the reward activity of all customers per month over a range of months.
+     *
+     * @param from the first month, or null for eleven months before {@code to}
+     * @param to the last month, or null for the current month
+     * @return the totals of the range and of each of its months
+     * @throws InvalidDateRangeException if {@code from} is after {@code to} or the range is too long
+     */
+    public RewardAnalyticsDTO getMonthlyAnalytics(YearMonth from, YearMonth to) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(11);
+        if (first.isAfter(last)) {
+            throw new InvalidDateRangeException(first.atDay(1), last.atEndOfMonth());
+        }
+        if (first.until(last, ChronoUnit.MONTHS) >= maxMonths) {
+            throw new InvalidDateRangeException("Range from " + first + " to " + last + " exceeds " + maxMonths
+                    + " months");
+        }
+
+        List<StoredAnalytics> shards = RequestCost.time("rollups", () -> shardRouter.onEachShard(shard ->
+                new StoredAnalytics(rollupWriter.readRollups(first, last), rollupWriter.readSketches(first, last),
+                        pending.getOrDefault(shard, EMPTY))));
+
+        return RequestCost.time("merge", () -> {
+            HyperLogLog range = new HyperLogLog(precision);
+            List<MonthlyAnalyticsDTO> months = new ArrayList<>();
+            long totalPoints = 0;
+            long totalTransactions = 0;
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                HyperLogLog active = new HyperLogLog(precision);
+                long points = 0;
+                long transactions = 0;
+                for (StoredAnalytics stored : shards) {
+                    long[] totals = stored.rollups().get(month);
+                    if (totals != null) {
+                        points += totals[0];
+                        transactions += totals[1];
+                    }
+                    byte[] registers = stored.sketches().get(month);
+                    if (registers != null) {
+                        active.merge(HyperLogLog.fromBytes(precision, registers));
+                    }
+                    HyperLogLog unflushed = stored.unflushed().get(month);
+                    if (unflushed != null) {
+                        active.merge(unflushed);
+                    }
+                }
+                range.merge(active);
+                months.add(new MonthlyAnalyticsDTO(month, points, transactions, active.estimate()));
+                totalPoints += points;
+                totalTransactions += transactions;
+            }
+            return new RewardAnalyticsDTO(first, last, totalPoints, totalTransactions, range.estimate(),
+                    range.relativeError(), months);
+        });
+    }
+
+    /**
+     * Merges the customers seen since the last flush into the stored sketches, one month per transaction.
+     * A month that fails to merge is put back for the next flush.
+     */
+    public void flush() {
+        pending.forEach((shard, months) -> {
+            for (YearMonth month : List.copyOf(months.keySet())) {
+                HyperLogLog sketch = months.remove(month);
+                if (sketch == null) {
+                    continue;
+                }
+                try {
+                    shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                        rollupWriter.mergeSketch(month, stored -> merged(stored, sketch));
+                        return null;
+                    }));
+                } catch (RuntimeException ex) {
+                    months.merge(month, sketch, (current, failed) -> {
+                        current.merge(failed);
+                        return current;
+                    });
+                    throw ex;
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes the rollups and sketches of a shard from its transactions if the shard has no rollups yet.
+     * Runs before the application serves requests, so no write of this instance can interleave.
+     *
+     * @param shard the shard number
+     */
+    private Void backfillIfEmpty(int shard) {
+        if (!rollupWriter.isEmpty()) {
+            return null;
+        }
+        Map<YearMonth, Map<Integer, long[]>> rollups = new TreeMap<>();
+        Map<YearMonth, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(ALL_TRANSACTIONS_SQL);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            long customerId = rs.getLong(1);
+            YearMonth month = YearMonth.from(rs.getObject(3, LocalDate.class));
+            long[] values = rollups.computeIfAbsent(month, m -> new TreeMap<>())
+                    .computeIfAbsent(rollupWriter.stripeFor(customerId), s -> new long[2]);
+            values[0] += RewardPointsCalculator.calculatePoints(rs.getBigDecimal(2));
+            values[1]++;
+            sketches.computeIfAbsent(month, m -> new HyperLogLog(precision)).add(customerId);
+        });
+        if (rollups.isEmpty()) {
+            return null;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupWriter.insertRollups(rollups);
+            sketches.forEach((month, sketch) -> rollupWriter.mergeSketch(month, stored -> merged(stored, sketch)));
+        });
+        log.info("Backfilled reward analytics of {} months on shard {}", rollups.size(), shard);
+        return null;
+    }
+
+    private byte[] merged(byte[] stored, HyperLogLog sketch) {
+        if (stored == null) {
+            return sketch.toBytes();
+        }
+        HyperLogLog union = HyperLogLog.fromBytes(precision, stored);
+        union.merge(sketch);
+        return union.toBytes();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Active customer sketch flush failed", ex);
+        }
+    }
+
+    /**
+     * Rollups and sketches of one shard for a month range.
+     *
+     * @param rollups points and transaction count per month
+     * @param sketches stored sketch registers per month
+     * @param unflushed this instance's sketches per month not flushed yet
+     */
+    private record StoredAnalytics(Map<YearMonth, long[]> rollups, Map<YearMonth, byte[]> sketches,
+                                   Map<YearMonth, HyperLogLog> unflushed) {
+    }
+}
@@ -0,0 +1,321 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.dto.PointsExpiryResultDTO;
+import com.charter.reward_api.dto.RewardBalanceDTO;
+import com.charter.reward_api.exception.BalanceUpdateConflictException;
+import com.charter.reward_api.exception.CustomerNotFoundException;
+import com.charter.reward_api.exception.InsufficientPointsException;
+import com.charter.reward_api.model.LedgerEntryType;
+import com.charter.reward_api.model.RewardBalance;
+import com.charter.reward_api.model.RewardLedgerEntry;
+import com.charter.reward_api.repository.RewardBalanceRepository;
+import com.charter.reward_api.repository.RewardBalanceWriter;
+import com.charter.reward_api.repository.RewardLedgerRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Reads and debits customers' redeemable points balances.
+ * <p>
+ * Each customer has one balance row holding earned, redeemed and expired points, so a balance read is a single
+ * primary-key lookup. The row is created from the customer's monthly aggregates on first use and kept current by
+ * {@link RewardBalanceWriter} inside every transaction write. Redemptions and expiries debit the row through JPA
+ * together with a ledger entry; concurrent changes to the same row are detected by its version and the debit is
+ * retried against the fresh balance. Removing transactions whose points were already spent writes the shortfall
+ * off, so the balance never goes negative.
+ * <p>
+ * Points expire a fixed number of months after the month they were earned in. Redemptions and expiries consume
+ * the oldest points first, so the points due to expire are those earned before the cutoff month minus everything
+ * redeemed and expired so far that was not written off. The expiry runs on a schedule on every instance; the version check makes a
+ * concurrent run on another instance expire each point once.
+ */
+@Service
+public class RewardBalanceService implements SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardBalanceService.class);
+
+    private final RewardBalanceRepository balanceRepository;
+    private final RewardLedgerRepository ledgerRepository;
+    private final RewardBalanceWriter balanceWriter;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRetries;
+    private final boolean expiryEnabled;
+    private final int expiryMonths;
+    private final Duration expiryInterval;
+    private final int expiryBatchSize;
+    private final AtomicLong redemptionsAccepted = new AtomicLong();
+    private final AtomicLong redemptionsInsufficient = new AtomicLong();
+    private final AtomicLong redemptionsConflicted = new AtomicLong();
+    private final AtomicLong lockRetries = new AtomicLong();
+    private final AtomicLong pointsExpired = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public RewardBalanceService(RewardBalanceRepository balanceRepository,
+                                RewardLedgerRepository ledgerRepository,
+                                RewardBalanceWriter balanceWriter,
+                                ShardRouter shardRouter,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${reward.balance.max-retries:5}") int maxRetries,
+                                @Value("${reward.balance.expiry.enabled:true}") boolean expiryEnabled,
+                                @Value("${reward.balance.expiry.after-months:24}") int expiryMonths,
+                                @Value("${reward.balance.expiry.interval:1h}") Duration expiryInterval,
+                                @Value("${reward.balance.expiry.batch-size:500}") int expiryBatchSize) {
+        this.balanceRepository = balanceRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.balanceWriter = balanceWriter;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRetries = maxRetries;
+        this.expiryEnabled = expiryEnabled;
+        this.expiryMonths = expiryMonths;
+        this.expiryInterval = expiryInterval;
+        this.expiryBatchSize = expiryBatchSize;
+    }
+
+    /**
+     * Schedules the points expiry.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!expiryEnabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reward-points-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::expirePointsSafely, 0, expiryInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Retrieves a customer's redeemable balance. Once the balance row exists this is a single primary-key lookup.
+     *
+     * @param customerId the customer ID
+     * @return the customer's balance
+     * @throws CustomerNotFoundException if the customer does not exist
+     */
+    public RewardBalanceDTO getBalance(Long customerId) {
+        return shardRouter.onShard(shardRouter.shardFor(customerId), () -> RequestCost.time("balance", () -> {
+            Optional<RewardBalance> balance = balanceRepository.findById(customerId);
+            if (balance.isEmpty()) {
+                initialize(customerId);
+                balance = balanceRepository.findById(customerId);
+            }
+            return toDTO(balance.orElseThrow(() -> new CustomerNotFoundException(customerId)));
+        }));
+    }
+
+    /**
+     * Redeems points from a customer's balance and records the redemption in the ledger.
+     *
+     * @param customerId the customer ID
+     * @param points the points to redeem
+     * @param reference an optional caller reference recorded in the ledger
+     * @return the balance after the redemption
+     * @throws CustomerNotFoundException if the customer does not exist
+     * @throws InsufficientPointsException if the balance is lower than the points requested
+     * @throws BalanceUpdateConflictException if concurrent changes to the balance outlast the retries
+     */
+    public RewardBalanceDTO redeem(Long customerId, long points, String reference) {
+        return shardRouter.onShard(shardRouter.shardFor(customerId), () -> RequestCost.time("balance", () -> {
+            try {
+                RewardBalanceDTO result = withOptimisticRetries(customerId, () -> {
+                    RewardBalance balance = balanceRepository.findById(customerId)
+                            .orElseThrow(() -> new CustomerNotFoundException(customerId));
+                    if (balance.getBalance() < points) {
+                        throw new InsufficientPointsException(customerId, points, balance.getBalance());
+                    }
+                    Instant now = Instant.now();
+                    balance.redeem(points, now);
+                    ledgerRepository.save(new RewardLedgerEntry(customerId, LedgerEntryType.REDEMPTION, points,
+                            reference, now));
+                    return toDTO(balance);
+                });
+                redemptionsAccepted.incrementAndGet();
+                return result;
+            } catch (InsufficientPointsException ex) {
+                redemptionsInsufficient.incrementAndGet();
+                throw ex;
+            } catch (BalanceUpdateConflictException ex) {
+                redemptionsConflicted.incrementAndGet();
+                throw ex;
+            }
+        }));
+    }
+
+    /**
+     * Expires the points earned before the cutoff month that are neither redeemed nor expired, on every shard.
+     *
+     * @return the cutoff month and the customers and points expired by this call
+     */
+    public synchronized PointsExpiryResultDTO expirePoints() {
+        YearMonth cutoff = YearMonth.now().minusMonths(expiryMonths);
+        long customers = 0;
+        long points = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            long[] expired = shardRouter.onShard(shard, () -> expirePointsOnShard(cutoff));
+            customers += expired[0];
+            points += expired[1];
+        }
+        if (customers > 0) {
+            log.info("Expired {} points earned before {} from {} customers", points, cutoff, customers);
+        }
+        return new PointsExpiryResultDTO(cutoff, customers, points);
+    }
+
+    private long[] expirePointsOnShard(YearMonth cutoff) {
+        long customers = 0;
+        long points = 0;
+        long after = 0;
+        Map<Long, Long> candidates;
+        do {
+            candidates = balanceWriter.findExpiryCandidates(cutoff, after, expiryBatchSize);
+            for (Map.Entry<Long, Long> candidate : candidates.entrySet()) {
+                long expired = expire(candidate.getKey(), candidate.getValue());
+                if (expired > 0) {
+                    customers++;
+                    points += expired;
+                }
+                after = candidate.getKey();
+            }
+        } while (candidates.size() == expiryBatchSize);
+        return new long[]{customers, points};
+    }
+
+    /**
+     * Expires the unconsumed part of the points a customer earned before the cutoff month.
+     *
+     * @param customerId the customer ID
+     * @param earnedBeforeCutoff the points the customer earned before the cutoff month
+     * @return the points expired
+     */
+    private long expire(Long customerId, long earnedBeforeCutoff) {
+        long expired = withOptimisticRetries(customerId, () -> {
+            RewardBalance balance = balanceRepository.findById(customerId).orElse(null);
+            if (balance == null) {
+                return 0L;
+            }
+            long points = Math.min(earnedBeforeCutoff - balance.getRedeemed() - balance.getExpired()
+                    + balance.getWrittenOff(), balance.getBalance());
+            if (points <= 0) {
+                return 0L;
+            }
+            Instant now = Instant.now();
+            balance.expire(points, now);
+            ledgerRepository.save(new RewardLedgerEntry(customerId, LedgerEntryType.EXPIRY, points, null, now));
+            return points;
+        });
+        pointsExpired.addAndGet(expired);
+        return expired;
+    }
+
+    /**
+     * Runs a balance change in its own transaction, creating the balance row first if it does not exist yet,
+     * and retries the change when a concurrent write bumped the balance's version before the commit, or when the
+     * database gave up waiting for the row lock held by that write.
+     *
+     * @param customerId the customer ID
+     * @param change the change, reading the balance inside the transaction
+     * @param <T> the result type
+     * @return the change's result
+     */
+    private <T> T withOptimisticRetries(Long customerId, Supplier<T> change) {
+        if (!balanceRepository.existsById(customerId)) {
+            initialize(customerId);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt > maxRetries) {
+                    throw new BalanceUpdateConflictException(customerId, attempt);
+                }
+                lockRetries.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Creates a customer's balance row from the monthly aggregates. A row created concurrently by another
+     * request or write is as good as our own.
+     *
+     * @param customerId the customer ID
+     * @throws CustomerNotFoundException if the customer does not exist
+     */
+    private void initialize(Long customerId) {
+        try {
+            if (!balanceWriter.initialize(customerId)) {
+                throw new CustomerNotFoundException(customerId);
+            }
+        } catch (DuplicateKeyException ex) {
+            log.debug("Balance of customer {} created concurrently", customerId);
+        }
+    }
+
+    private void expirePointsSafely() {
+        try {
+            expirePoints();
+        } catch (RuntimeException ex) {
+            log.error("Points expiry failed", ex);
+        }
+    }
+
+    private static RewardBalanceDTO toDTO(RewardBalance balance) {
+        return new RewardBalanceDTO(balance.getCustomerId(), balance.getEarned(), balance.getRedeemed(),
+                balance.getExpired(), balance.getWrittenOff(), balance.getBalance(), balance.getUpdatedAt());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reward.balance.redemptions", redemptionsAccepted, AtomicLong::get)
+                .tag("outcome", "accepted")
+                .description("Point redemptions, by outcome")
+                .register(registry);
+        FunctionCounter.builder("reward.balance.redemptions", redemptionsInsufficient, AtomicLong::get)
+                .tag("outcome", "insufficient")
+                .description("Point redemptions, by outcome")
+                .register(registry);
+        FunctionCounter.builder("reward.balance.redemptions", redemptionsConflicted, AtomicLong::get)
+                .tag("outcome", "conflict")
+                .description("Point redemptions, by outcome")
+                .register(registry);
+        FunctionCounter.builder("reward.balance.lock-retries", lockRetries, AtomicLong::get)
+                .description("Balance changes retried after losing an optimistic lock race")
+                .register(registry);
+        FunctionCounter.builder("reward.balance.expired-points", pointsExpired, AtomicLong::get)
+                .description("Points expired from customer balances")
+                .register(registry);
+    }
+}
@@ -0,0 +1,179 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.model.RewardChangeLog;
+import com.charter.reward_api.repository.RewardChangeLogRepository;
+import com.charter.reward_api.repository.RewardChangeLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps this instance's reward caches coherent with writes made by other instances by polling the reward change log.
+ * Every transaction write appends its (customer, month) entries to the log in the writing transaction; each poll
+ * reads the entries added since the last one on every shard and evicts the affected customers' cache entries.
+ * Entries written by this instance are skipped, since its caches already applied them when the write committed.
+ * <p>
+ * Each poll first has {@link RewardChangeSequencer} assign change versions to the entries committed since, and reads
+ * by change version, so an entry committed late by a slow transaction is still read, however late.
+ */
+@Component
+public class RewardChangeLogPoller implements MeterBinder, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardChangeLogPoller.class);
+
+    private final RewardChangeLogRepository changeLogRepository;
+    private final RewardChangeSequencer changeSequencer;
+    private final RewardChangeLogWriter changeLogWriter;
+    private final RewardPrefixSumIndex prefixSumIndex;
+    private final HotCustomerCache hotCustomerCache;
+    private final ClosedMonthFragmentCache fragmentCache;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final long[] versions;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lagMillis;
+    private volatile long lastPollMillis = System.currentTimeMillis();
+    private ScheduledExecutorService scheduler;
+
+    public RewardChangeLogPoller(RewardChangeLogRepository changeLogRepository,
+                                 RewardChangeSequencer changeSequencer,
+                                 RewardChangeLogWriter changeLogWriter,
+                                 RewardPrefixSumIndex prefixSumIndex,
+                                 HotCustomerCache hotCustomerCache,
+                                 ClosedMonthFragmentCache fragmentCache,
+                                 ShardRouter shardRouter,
+                                 @Value("${reward.cache-sync.enabled:true}") boolean enabled,
+                                 @Value("${reward.cache-sync.poll-interval:1s}") Duration pollInterval,
+                                 @Value("${reward.cache-sync.batch-size:500}") int batchSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeSequencer = changeSequencer;
+        this.changeLogWriter = changeLogWriter;
+        this.prefixSumIndex = prefixSumIndex;
+        this.hotCustomerCache = hotCustomerCache;
+        this.fragmentCache = fragmentCache;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.versions = new long[shardRouter.getShardCount()];
+    }
+
+    /**
+     * Starts reading every shard's change log at its current end, once every shard's schema exists
+     * and before the web server takes requests that could fill this instance's caches.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard = 0; shard < versions.length; shard++) {
+            versions[shard] = shardRouter.onShard(shard, () -> changeLogRepository
+                    .findTopByCommitVersionNotNullOrderByCommitVersionDesc()
+                    .map(RewardChangeLog::getCommitVersion)
+                    .orElse(0L));
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reward-cache-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollSafely, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the change log of every shard up to its current end and evicts the cache entries affected by other
+     * instances' writes.
+     * Called by the poll thread; also usable to force a poll. Does nothing when polling is disabled.
+     *
+     * @return the number of new change log entries of other instances applied
+     */
+    public synchronized int poll() {
+        if (!enabled) {
+            return 0;
+        }
+        int applied = 0;
+        long maxLagMillis = 0;
+        for (int shard = 0; shard < versions.length; shard++) {
+            List<RewardChangeLog> entries;
+            do {
+                long from = versions[shard];
+                entries = shardRouter.onShard(shard, () -> {
+                    changeSequencer.sequence(batchSize);
+                    return changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(from,
+                            PageRequest.of(0, batchSize));
+                });
+                for (RewardChangeLog entry : entries) {
+                    versions[shard] = entry.getCommitVersion();
+                    if (changeLogWriter.getOrigin().equals(entry.getOrigin())) {
+                        continue;
+                    }
+                    prefixSumIndex.invalidate(entry.getCustomerId());
+                    hotCustomerCache.invalidate(entry.getCustomerId());
+                    fragmentCache.invalidate(entry.getCustomerId());
+                    maxLagMillis = Math.max(maxLagMillis,
+                            System.currentTimeMillis() - entry.getChangedAt().toEpochMilli());
+                    applied++;
+                }
+            } while (entries.size() == batchSize);
+        }
+        invalidations.addAndGet(applied);
+        lagMillis = maxLagMillis;
+        lastPollMillis = System.currentTimeMillis();
+        return applied;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            failures.incrementAndGet();
+            log.warn("Reward change log poll failed; caches may serve other instances' writes late", ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reward.cache-sync.lag", this, poller -> poller.lagMillis / 1000.0)
+                .description("Largest delay between a change being logged and evicted here, over the latest poll")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("reward.cache-sync.staleness", this,
+                        poller -> (System.currentTimeMillis() - poller.lastPollMillis) / 1000.0)
+                .description("Time since the change log was last read to its end")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("reward.cache-sync.invalidations", invalidations, AtomicLong::get)
+                .description("Change log entries applied to the local caches")
+                .register(registry);
+        FunctionCounter.builder("reward.cache-sync.failures", failures, AtomicLong::get)
+                .description("Change log polls that failed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.repository.RewardChangeLogWriter;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Assigns change versions to committed reward change log entries before the log is read.
+ * Insert IDs become visible in commit order, not ID order, so a reader that remembered the highest ID it read would
+ * skip an entry committed late with a lower ID. Readers instead order the log by the change version, which is only
+ * assigned to entries already visible, under a per-shard lock, so a version once read is never followed by a lower one.
+ */
+@Service
+public class RewardChangeSequencer implements SmartInitializingSingleton {
+
+    private final RewardChangeLogWriter changeLogWriter;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public RewardChangeSequencer(RewardChangeLogWriter changeLogWriter, ShardRouter shardRouter,
+                                 TransactionTemplate transactionTemplate) {
+        this.changeLogWriter = changeLogWriter;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates every shard's sequence once every shard's schema exists.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        shardRouter.onEachShard(shard -> changeLogWriter.createSequence());
+    }
+
+    /**
+     * Assigns change versions to the current shard's committed entries that have none yet, in a transaction of
+     * its own. Must be called outside a transaction.
+     *
+     * @param max the largest number of entries to assign versions to
+     * @return the number of entries assigned a version
+     */
+    public int sequence(int max) {
+        return transactionTemplate.execute(status -> changeLogWriter.assignVersions(max));
+    }
+}
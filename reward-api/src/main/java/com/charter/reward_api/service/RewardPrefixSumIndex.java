@@ -0,0 +1,156 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.MonthlyRewardAggregate;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.charter.reward_api.repository.MonthlyRewardAggregateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-customer cumulative reward points by month, so that the points of any run of whole months
+ * are a single subtraction. Built from the monthly aggregates and cached; a customer's index is
+ * evicted once a transaction write for that customer commits.
+ */
+@Component
+public class RewardPrefixSumIndex implements MeterBinder {
+
+    private final MonthlyRewardAggregateRepository aggregateRepository;
+    private final Cache<Long, PrefixSums> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public RewardPrefixSumIndex(MonthlyRewardAggregateRepository aggregateRepository,
+                                @Value("${reward.prefix-index.max-customers:10000}") long maxCustomers) {
+        this.aggregateRepository = aggregateRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCustomers)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets a customer's prefix sums, loading them from the monthly aggregates of the current shard on a miss.
+     * A load that overlaps an invalidation is returned but not cached, so a committed write is never masked.
+     *
+     * @param customerId the customer ID
+     * @return the customer's prefix sums
+     */
+    public PrefixSums get(Long customerId) {
+        PrefixSums cached = cache.getIfPresent(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        PrefixSums loaded = PrefixSums.of(aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(customerId));
+        if (invalidations.get() == generation) {
+            cache.put(customerId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the indexes of the customers touched by a committed transaction write.
+     *
+     * @param event the reward points change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRewardPointsChanged(RewardPointsChangedEvent event) {
+        invalidations.incrementAndGet();
+        for (MonthlyPointsDelta delta : event.deltas()) {
+            cache.invalidate(delta.customerId());
+        }
+    }
+
+    /**
+     * Evicts the index of a customer whose transactions were written by another application instance.
+     *
+     * @param customerId the customer ID
+     */
+    public void invalidate(Long customerId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(customerId);
+    }
+
+    /**
+     * Evicts the indexes of a customer ID range whose aggregates were replaced outside transaction writes.
+     *
+     * @param fromCustomerId the first customer ID (inclusive)
+     * @param toCustomerId the last customer ID (inclusive)
+     */
+    public void invalidateRange(long fromCustomerId, long toCustomerId) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(id -> id >= fromCustomerId && id <= toCustomerId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "reward.prefix-index");
+    }
+
+    /**
+     * Cumulative points of one customer over a dense run of months.
+     * {@code cumulative[i]} holds the points of months {@code first} through {@code first + i}.
+     *
+     * @param first the customer's first month with an aggregate, or null if there is none
+     * @param cumulative the running totals
+     */
+    public record PrefixSums(YearMonth first, long[] cumulative) {
+
+        private static final PrefixSums EMPTY = new PrefixSums(null, new long[0]);
+
+        /**
+         * Builds prefix sums from monthly aggregates ordered by month; months without an aggregate count as 0.
+         *
+         * @param aggregates the monthly aggregates, oldest first
+         * @return the prefix sums
+         */
+        static PrefixSums of(List<MonthlyRewardAggregate> aggregates) {
+            if (aggregates.isEmpty()) {
+                return EMPTY;
+            }
+            YearMonth first = YearMonth.from(aggregates.get(0).getId().getRewardMonth());
+            YearMonth last = YearMonth.from(aggregates.get(aggregates.size() - 1).getId().getRewardMonth());
+            long[] cumulative = new long[(int) first.until(last, ChronoUnit.MONTHS) + 1];
+            for (MonthlyRewardAggregate aggregate : aggregates) {
+                int index = (int) first.until(YearMonth.from(aggregate.getId().getRewardMonth()),
+                        ChronoUnit.MONTHS);
+                cumulative[index] = aggregate.getPoints();
+            }
+            for (int i = 1; i < cumulative.length; i++) {
+                cumulative[i] += cumulative[i - 1];
+            }
+            return new PrefixSums(first, cumulative);
+        }
+
+        /**
+         * Gets the points earned in the months {@code from} through {@code to}, both inclusive.
+         *
+         * @param from the first month
+         * @param to the last month
+         * @return the points of the months
+         */
+        public long points(YearMonth from, YearMonth to) {
+            if (first == null || from.isAfter(to)) {
+                return 0;
+            }
+            long start = Math.max(0, first.until(from, ChronoUnit.MONTHS));
+            long end = Math.min(cumulative.length - 1, first.until(to, ChronoUnit.MONTHS));
+            if (start > end) {
+                return 0;
+            }
+            return cumulative[(int) end] - (start > 0 ? cumulative[(int) start - 1] : 0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.model.RewardTotal;
+import com.charter.reward_api.repository.RewardTotalWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders customers by their reward points within a date range, for the reward listing sorted by points.
+ * <p>
+ * All-time and calendar-year ranges are read from the totals maintained on every write, in index order, so a
+ * page costs the same however many customers and transactions exist. Any other range is summed and sorted in
+ * the database: from the monthly aggregates when it consists of whole months, from the transactions otherwise.
+ * Each shard returns its first customers after the requested position, and the shard lists are merged.
+ * <p>
+ * Totals of data written before they existed are computed once at startup from the monthly aggregates,
+ * on every shard whose totals are empty.
+ */
+@Service
+public class RewardRankingService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardRankingService.class);
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2100, 12, 31);
+    private static final Comparator<PointsCursor> LISTING_ORDER = Comparator
+            .comparingLong(PointsCursor::points).reversed()
+            .thenComparingLong(PointsCursor::customerId);
+
+    private final RewardTotalWriter totalWriter;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public RewardRankingService(RewardTotalWriter totalWriter, ShardRouter shardRouter,
+                                TransactionTemplate transactionTemplate) {
+        this.totalWriter = totalWriter;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates the totals of shards that have none from their monthly aggregates.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            shardRouter.onShard(shard, () -> {
+                if (totalWriter.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> totalWriter.rebuildRange(0, Long.MAX_VALUE));
+                    log.info("Created reward totals on shard {}", target);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Reads one page of customers in descending order of their points within a date range, ties broken by
+     * ascending customer ID. Customers without points in the range come last.
+     *
+     * @param from the start date (inclusive), or null for no lower bound
+     * @param to the end date (inclusive), or null for no upper bound
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param offset the number of customers to skip after the position
+     * @param size the page size
+     * @return the customers of the page with their points, and whether more follow
+     */
+    public RankedCustomers rank(LocalDate from, LocalDate to, PointsCursor after, long offset, int size) {
+        int window = (int) Math.min(offset + size + 1, Integer.MAX_VALUE - 1);
+        List<PointsCursor> merged = new ArrayList<>();
+        shardRouter.onEachShard(shard -> rankOnShard(from, to, after, window)).forEach(merged::addAll);
+        merged.sort(LISTING_ORDER);
+
+        int start = (int) Math.min(offset, merged.size());
+        int end = (int) Math.min(offset + size, merged.size());
+        return new RankedCustomers(List.copyOf(merged.subList(start, end)), merged.size() > end);
+    }
+
+    /**
+     * Reads the first customers after a position on the shard the current thread is routed to, from the
+     * cheapest source that answers the range.
+     *
+     * @param from the start date (inclusive), or null for no lower bound
+     * @param to the end date (inclusive), or null for no upper bound
+     * @param after the exclusive position to continue from, or null to start from the top
+     * @param limit the maximum number of customers returned
+     * @return the customers with their points, in listing order
+     */
+    private List<PointsCursor> rankOnShard(LocalDate from, LocalDate to, PointsCursor after, int limit) {
+        if (from == null && to == null) {
+            return totalWriter.rankByTotal(RewardTotal.ALL_TIME, after, limit);
+        }
+        LocalDate startDate = from != null ? from : FIRST_DAY;
+        LocalDate endDate = to != null ? to : LAST_DAY;
+        if (startDate.getYear() == endDate.getYear() && startDate.getDayOfYear() == 1
+                && endDate.equals(endDate.withMonth(12).withDayOfMonth(31))) {
+            return totalWriter.rankByTotal(startDate.getYear(), after, limit);
+        }
+        if (startDate.getDayOfMonth() == 1 && endDate.equals(YearMonth.from(endDate).atEndOfMonth())) {
+            return totalWriter.rankByMonths(startDate, endDate.withDayOfMonth(1), after, limit);
+        }
+        return totalWriter.rankByTransactions(startDate, endDate, after, limit);
+    }
+
+    /**
+     * One page of customers in points order.
+     *
+     * @param customers the customers of the page with their points, in listing order
+     * @param hasNext whether further customers follow the page
+     */
+    public record RankedCustomers(List<PointsCursor> customers, boolean hasNext) {
+    }
+}
@@ -1,9 +1,17 @@
 package com.charter.reward_api.service;
 
+import com.charter.reward_api.dto.ChangeCursor;
 import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.DateWindow;
 import com.charter.reward_api.dto.PagedRewardSummaryDTO;
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.dto.RewardChangesDTO;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.dto.RewardWindowsDTO;
+import com.charter.reward_api.dto.TotalCountMode;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service interface for calculating and retrieving customer reward points.
@@ -17,13 +25,40 @@ public interface RewardService {
      * @param size the page size
      * @param from optional start date for filtering transactions
      * @param to optional end date for filtering transactions
+     * @param totalMode how the total number of customers is reported
+     * @param view how much of each summary is computed
      * @return paginated reward summaries
      */
     PagedRewardSummaryDTO getAllCustomerRewards(
             int page,
             int size,
             LocalDate from,
-            LocalDate to
+            LocalDate to,
+            TotalCountMode totalMode,
+            RewardView view
+    );
+
+    /**
+     * Retrieves paginated reward summaries for all customers in descending order of their points within an
+     * optional date range, ties broken by ascending customer ID.
+     *
+     * @param page the page number, counted from the cursor if one is given
+     * @param size the page size
+     * @param from optional start date for filtering transactions
+     * @param to optional end date for filtering transactions
+     * @param after optional position to continue the listing from
+     * @param totalMode how the total number of customers is reported
+     * @param view how much of each summary is computed
+     * @return paginated reward summaries with the cursor of the next page
+     */
+    PagedRewardSummaryDTO getAllCustomerRewardsByPoints(
+            int page,
+            int size,
+            LocalDate from,
+            LocalDate to,
+            PointsCursor after,
+            TotalCountMode totalMode,
+            RewardView view
     );
 
     /**
@@ -32,11 +67,31 @@ public interface RewardService {
      * @param customerId the customer ID
      * @param from optional start date for filtering transactions
      * @param to optional end date for filtering transactions
+     * @param view how much of the summary is computed
      * @return customer reward summary
      */
     CustomerRewardSummaryDTO getCustomerRewards(
             Long customerId,
             LocalDate from,
-            LocalDate to
+            LocalDate to,
+            RewardView view
     );
+
+    /**
+     * Retrieves the customer months whose reward points changed after a position in the change feed.
+     *
+     * @param since the position to read each shard's change log from
+     * @param limit the maximum number of change log entries to consume, over all shards
+     * @return changed customer months with their current points and the new high-water mark
+     */
+    RewardChangesDTO getRewardChanges(ChangeCursor since, int limit);
+
+    /**
+     * Retrieves a customer's reward points over several date windows in one call.
+     *
+     * @param customerId the customer ID
+     * @param windows the date windows
+     * @return the points of each window, in request order
+     */
+    RewardWindowsDTO getRewardWindows(Long customerId, List<DateWindow> windows);
 }
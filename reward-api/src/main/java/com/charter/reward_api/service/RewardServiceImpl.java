@@ -1,57 +1,122 @@
 package com.charter.reward_api.service;
 
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.dto.ChangeCursor;
 import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.DateWindow;
 import com.charter.reward_api.dto.MonthlyRewardDTO;
 import com.charter.reward_api.dto.PagedRewardSummaryDTO;
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.dto.RewardChangeDTO;
+import com.charter.reward_api.dto.RewardChangesDTO;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.dto.RewardWindowDTO;
+import com.charter.reward_api.dto.RewardWindowsDTO;
+import com.charter.reward_api.dto.TotalCountMode;
 import com.charter.reward_api.exception.CustomerNotFoundException;
 import com.charter.reward_api.exception.InvalidDateRangeException;
 import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.RewardChangeLog;
 import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerMonthRow;
+import com.charter.reward_api.repository.CustomerMonthlyPoints;
+import com.charter.reward_api.repository.CustomerPointsTotal;
 import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.CustomerTransactionRow;
+import com.charter.reward_api.repository.RewardChangeLogRepository;
+import com.charter.reward_api.repository.RewardMonthSnapshotRepository;
 import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_core.MonthlyPointsAccumulator;
+import com.charter.reward_core.RewardPointsCalculator;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of RewardService that calculates customer reward points based on transaction amounts.
- * Points calculation: 1 point per dollar over $50, and 2 points per dollar over $100.
+ * Points calculation: 1 point per dollar over $50, and 2 points per dollar over $100 (see {@link RewardPointsCalculator}).
  */
 @Service
 public class RewardServiceImpl implements RewardService {
 
     private final TransactionRepository transactionRepository;
     private final CustomerRepository customerRepository;
+    private final RewardChangeLogRepository changeLogRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final CustomerCountCache customerCountCache;
+    private final ShardRouter shardRouter;
+    private final RewardPrefixSumIndex prefixSumIndex;
+    private final RewardMonthSnapshotRepository snapshotRepository;
+    private final MonthCloseService monthCloseService;
+    private final HotCustomerCache hotCustomerCache;
+    private final RewardRankingService rankingService;
+    private final RequestBatcher requestBatcher;
+    private final RewardChangeSequencer changeSequencer;
+    private final ClosedMonthPolicy closedMonthPolicy;
+    private final ClosedMonthFragmentCache fragmentCache;
 
-    public RewardServiceImpl(TransactionRepository transactionRepository, CustomerRepository customerRepository) {
+    public RewardServiceImpl(TransactionRepository transactionRepository, CustomerRepository customerRepository,
+                             RewardChangeLogRepository changeLogRepository, RequestCoalescer requestCoalescer,
+                             CustomerCountCache customerCountCache, ShardRouter shardRouter,
+                             RewardPrefixSumIndex prefixSumIndex, RewardMonthSnapshotRepository snapshotRepository,
+                             MonthCloseService monthCloseService, HotCustomerCache hotCustomerCache,
+                             RewardRankingService rankingService, RequestBatcher requestBatcher,
+                             RewardChangeSequencer changeSequencer, ClosedMonthPolicy closedMonthPolicy,
+                             ClosedMonthFragmentCache fragmentCache) {
         this.transactionRepository = transactionRepository;
         this.customerRepository = customerRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.customerCountCache = customerCountCache;
+        this.shardRouter = shardRouter;
+        this.prefixSumIndex = prefixSumIndex;
+        this.snapshotRepository = snapshotRepository;
+        this.monthCloseService = monthCloseService;
+        this.hotCustomerCache = hotCustomerCache;
+        this.rankingService = rankingService;
+        this.requestBatcher = requestBatcher;
+        this.changeSequencer = changeSequencer;
+        this.closedMonthPolicy = closedMonthPolicy;
+        this.fragmentCache = fragmentCache;
     }
 
     @Override
-    @Transactional(readOnly = true)
     /**
      * Retrieves paginated reward summaries for all customers within the specified date range.
-     * Validates date range and groups transactions by customer to calculate monthly and total points.
+     * Validates date range and reads only the transactions of the page's customers, so the cost of a page
+     * does not grow with the number of customers or transactions. Runs without a surrounding transaction so that, when sharded, every shard is read on its own connection.
      *
      * @param page the page number
      * @param size the page size
      * @param from optional start date (defaults to 1900-01-01 if null)
      * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param totalMode how the total is reported; only {@link TotalCountMode#EXACT} runs a count query
+     * @param view how much of each summary is computed
      * @return paginated reward summaries with monthly breakdowns
      * @throws InvalidDateRangeException if start date is after end date
      */
-    public PagedRewardSummaryDTO getAllCustomerRewards(int page, int size, LocalDate from, LocalDate to) {
+    public PagedRewardSummaryDTO getAllCustomerRewards(int page, int size, LocalDate from, LocalDate to,
+                                                       TotalCountMode totalMode, RewardView view) {
         LocalDate startDate = from != null ? from : LocalDate.of(1900, 1, 1);
         LocalDate endDate = to != null ? to : LocalDate.of(2100, 12, 31);
 
@@ -59,44 +124,265 @@ public class RewardServiceImpl implements RewardService {
             throw new InvalidDateRangeException(startDate, endDate);
         }
 
+        if (shardRouter.getShardCount() > 1) {
+            return getShardedCustomerRewards(page, size, startDate, endDate, totalMode, view);
+        }
+
         Pageable pageable = PageRequest.of(page, size);
-        Page<Customer> customerPage = customerRepository.findAll(pageable);
+        Slice<Customer> customerPage = RequestCost.time("customers", () -> totalMode == TotalCountMode.EXACT
+                ? customerRepository.findAll(pageable)
+                : customerRepository.findAllBy(pageable));
+
+        List<CustomerRewardSummaryDTO> summaries = buildSummaries(customerPage.getContent(), startDate, endDate, view);
+        return toPagedSummary(summaries, customerPage, totalMode);
+    }
+
+    @Override
+    /**
+     * Retrieves paginated reward summaries for all customers in descending order of their points within the
+     * specified date range. The customers of the page are ordered by {@link RewardRankingService} without
+     * computing anyone else's summary; their summaries are then built on the shard owning each of them, in parallel.
+     * The page ends with a cursor that continues the listing at the next customer however deep it is.
+     *
+     * @param page the page number, counted from the cursor if one is given
+     * @param size the page size
+     * @param from optional start date (unbounded if null)
+     * @param to optional end date (unbounded if null)
+     * @param after optional position to continue the listing from
+     * @param totalMode how the total is reported; only {@link TotalCountMode#EXACT} runs a count query
+     * @param view how much of each summary is computed
+     * @return paginated reward summaries with the cursor of the next page
+     * @throws InvalidDateRangeException if start date is after end date
+     */
+    public PagedRewardSummaryDTO getAllCustomerRewardsByPoints(int page, int size, LocalDate from, LocalDate to,
+                                                               PointsCursor after, TotalCountMode totalMode,
+                                                               RewardView view) {
+        LocalDate startDate = from != null ? from : LocalDate.of(1900, 1, 1);
+        LocalDate endDate = to != null ? to : LocalDate.of(2100, 12, 31);
+
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        RewardRankingService.RankedCustomers ranked = RequestCost.time("ranking",
+                () -> rankingService.rank(from, to, after, (long) page * size, size));
+        List<PointsCursor> positions = ranked.customers();
+
+        Map<Integer, List<Long>> customerIdsByShard = positions.stream()
+                .collect(Collectors.groupingBy(position -> shardRouter.shardFor(position.customerId()),
+                        Collectors.mapping(PointsCursor::customerId, Collectors.toList())));
+        Map<Long, CustomerRewardSummaryDTO> summariesByCustomer = shardRouter.onEachShard(shard -> {
+                    List<Long> customerIds = customerIdsByShard.getOrDefault(shard, List.of());
+                    if (customerIds.isEmpty()) {
+                        return List.<CustomerRewardSummaryDTO>of();
+                    }
+                    List<Customer> customers = RequestCost.time("customers",
+                            () -> customerRepository.findAllById(customerIds));
+                    return buildSummaries(customers, startDate, endDate, view);
+                })
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(CustomerRewardSummaryDTO::customerId, summary -> summary));
+
+        List<CustomerRewardSummaryDTO> summaries = positions.stream()
+                .map(position -> summariesByCustomer.get(position.customerId()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        Long totalElements = null;
+        Integer totalPages = null;
+        if (totalMode != TotalCountMode.NONE) {
+            totalElements = totalMode == TotalCountMode.EXACT
+                    ? RequestCost.time("count", () -> shardRouter.onEachShard(shard -> customerRepository.count())
+                            .stream().mapToLong(Long::longValue).sum())
+                    : RequestCost.time("count", customerCountCache::getCount);
+            totalPages = (int) ((totalElements + size - 1) / size);
+        }
+        String nextCursor = ranked.hasNext() ? positions.get(positions.size() - 1).toString() : null;
+        return new PagedRewardSummaryDTO(summaries, page, size, totalElements, totalPages, !ranked.hasNext(),
+                ranked.hasNext(), totalMode == TotalCountMode.EXACT, nextCursor);
+    }
+
+    /**
+     * Scatter-gathers a page of reward summaries across all shards.
+     * Every shard returns its first (page + 1) * size customers in ID order; the sorted shard lists are
+     * merged into one global ID order, from which the requested page is cut. Summaries are then computed
+     * only for the customers of that page, on the shard owning each of them, in parallel.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param totalMode how the total is reported
+     * @param view how much of each summary is computed
+     * @return paginated reward summaries
+     */
+    private PagedRewardSummaryDTO getShardedCustomerRewards(int page, int size, LocalDate startDate, LocalDate endDate,
+                                                          TotalCountMode totalMode, RewardView view) {
+        int window = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE - 1);
+        Pageable head = PageRequest.of(0, window, Sort.by("id"));
+        List<ShardSlice> shardSlices = RequestCost.time("customers", () -> shardRouter.onEachShard(shard -> new ShardSlice(
+                customerRepository.findAllBy(head),
+                totalMode == TotalCountMode.EXACT ? customerRepository.count() : 0)));
+
+        List<Customer> merged = RequestCost.time("merge", () -> mergeById(
+                shardSlices.stream().map(slice -> slice.customers().getContent()).toList(), window));
+        int offset = (int) Math.min((long) page * size, merged.size());
+        List<Customer> pageCustomers = merged.subList(offset, merged.size());
+        boolean hasNext = shardSlices.stream().anyMatch(slice -> slice.customers().hasNext())
+                || shardSlices.stream().mapToInt(slice -> slice.customers().getNumberOfElements()).sum() > window;
 
-        List<Transaction> transactions = transactionRepository.findByDateRange(startDate, endDate);
-        Map<Long, List<Transaction>> transactionsByCustomer = transactions.stream()
-                .collect(Collectors.groupingBy(t -> t.getCustomer().getId()));
+        Map<Integer, List<Customer>> customersByShard = pageCustomers.stream()
+                .collect(Collectors.groupingBy(customer -> shardRouter.shardFor(customer.getId())));
+        Map<Long, CustomerRewardSummaryDTO> summariesByCustomer = shardRouter.onEachShard(shard ->
+                        buildSummaries(customersByShard.getOrDefault(shard, List.of()), startDate, endDate, view))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(CustomerRewardSummaryDTO::customerId, summary -> summary));
 
-        List<CustomerRewardSummaryDTO> summaries = customerPage.getContent().stream()
-                .map(customer -> buildCustomerSummary(customer, transactionsByCustomer.getOrDefault(customer.getId(), List.of())))
+        List<CustomerRewardSummaryDTO> summaries = pageCustomers.stream()
+                .map(customer -> summariesByCustomer.get(customer.getId()))
                 .toList();
 
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<Customer> customerPage = totalMode == TotalCountMode.EXACT
+                ? new PageImpl<>(pageCustomers, pageable, shardSlices.stream().mapToLong(ShardSlice::count).sum())
+                : new SliceImpl<>(pageCustomers, pageable, hasNext);
+        return toPagedSummary(summaries, customerPage, totalMode);
+    }
+
+    /**
+     * Merges customer lists, each sorted by ID, into one list sorted by ID.
+     *
+     * @param sortedLists the per-shard customer lists
+     * @param limit the maximum number of customers to return
+     * @return the first customers in global ID order
+     */
+    private static List<Customer> mergeById(List<List<Customer>> sortedLists, int limit) {
+        PriorityQueue<MergeCursor> heads = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.current().getId()));
+        for (List<Customer> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new MergeCursor(list, 0));
+            }
+        }
+        List<Customer> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            MergeCursor cursor = heads.poll();
+            merged.add(cursor.current());
+            if (cursor.index() + 1 < cursor.list().size()) {
+                heads.add(new MergeCursor(cursor.list(), cursor.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Assembles the paged response, taking totals from the exact count, the cached count or neither.
+     * An estimated total is never reported below the number of customers the slice itself proves to exist.
+     *
+     * @param summaries the reward summaries of the page
+     * @param customerPage the customer slice the summaries were built from
+     * @param totalMode how the total is reported
+     * @return paginated reward summaries
+     */
+    private PagedRewardSummaryDTO toPagedSummary(List<CustomerRewardSummaryDTO> summaries, Slice<Customer> customerPage,
+                                                 TotalCountMode totalMode) {
+        Long totalElements = null;
+        Integer totalPages = null;
+
+        if (customerPage instanceof Page<Customer> countedPage) {
+            totalElements = countedPage.getTotalElements();
+            totalPages = countedPage.getTotalPages();
+        } else if (totalMode == TotalCountMode.ESTIMATED) {
+            long seen = (long) customerPage.getNumber() * customerPage.getSize() + customerPage.getNumberOfElements()
+                    + (customerPage.hasNext() ? 1 : 0);
+            totalElements = Math.max(RequestCost.time("count", customerCountCache::getCount), seen);
+            totalPages = (int) ((totalElements + customerPage.getSize() - 1) / customerPage.getSize());
+        }
+
         return new PagedRewardSummaryDTO(
                 summaries,
                 customerPage.getNumber(),
                 customerPage.getSize(),
-                customerPage.getTotalElements(),
-                customerPage.getTotalPages(),
-                customerPage.isLast()
+                totalElements,
+                totalPages,
+                customerPage.isLast(),
+                customerPage.hasNext(),
+                totalMode == TotalCountMode.EXACT
         );
     }
 
     @Override
-    @Transactional(readOnly = true)
     /**
      * Retrieves reward summary for a specific customer within the specified date range.
-     * Validates customer existence and date range, then calculates monthly and total points.
+     * Concurrent calls for the same customer and date range share a single in-flight computation,
+     * so the lookup runs outside a surrounding transaction and waiting callers hold no connection.
      *
      * @param customerId the customer ID
      * @param from optional start date (defaults to 1900-01-01 if null)
      * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param view how much of the summary is computed
      * @return customer reward summary with monthly breakdowns
      * @throws CustomerNotFoundException if customer does not exist
      * @throws InvalidDateRangeException if start date is after end date
      */
-    public CustomerRewardSummaryDTO getCustomerRewards(Long customerId, LocalDate from, LocalDate to) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new CustomerNotFoundException(customerId));
+    public CustomerRewardSummaryDTO getCustomerRewards(Long customerId, LocalDate from, LocalDate to, RewardView view) {
+        Optional<CustomerRewardSummaryDTO> precomputed = hotCustomerCache.lookup(customerId, from, to, view);
+        if (precomputed.isPresent()) {
+            return precomputed.get();
+        }
+        RewardQueryKey key = new RewardQueryKey(customerId, from, to, view);
+        return requestCoalescer.execute(key, () -> loadCustomerRewards(customerId, from, to, view));
+    }
 
+    /**
+     * Loads a customer's reward summary, validating customer existence and date range.
+     *
+     * @param customerId the customer ID
+     * @param from optional start date (defaults to 1900-01-01 if null)
+     * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param view how much of the summary is computed
+     * @return customer reward summary with monthly breakdowns
+     */
+    private CustomerRewardSummaryDTO loadCustomerRewards(Long customerId, LocalDate from, LocalDate to, RewardView view) {
+        return shardRouter.onShard(shardRouter.shardFor(customerId),
+                () -> loadCustomerRewardsOnShard(customerId, from, to, view));
+    }
+
+    /**
+     * Reads a customer's points and transaction count of every month, to be kept warm by {@link HotCustomerCache}
+     * for a hot customer and updated there by the deltas of later writes.
+     *
+     * @param customerId the customer ID
+     * @return the customer's month rows; a customer without transactions yields one row without a month
+     * @throws CustomerNotFoundException if customer does not exist
+     */
+    List<CustomerMonthRow> precomputeCustomerMonths(Long customerId) {
+        LocalDate startDate = LocalDate.of(1900, 1, 1);
+        LocalDate endDate = LocalDate.of(2100, 12, 31);
+        List<CustomerMonthRow> rows = shardRouter.onShard(shardRouter.shardFor(customerId),
+                () -> findMonthRows(Set.of(customerId), startDate, endDate, sealedMonthsWithin(startDate, endDate)))
+                .getOrDefault(customerId, List.of());
+        if (rows.isEmpty()) {
+            throw new CustomerNotFoundException(customerId);
+        }
+        return rows;
+    }
+
+    /**
+     * Loads a customer's reward summary from the shard the current thread is routed to.
+     * The closed months of the range are taken from the {@link ClosedMonthFragmentCache} when a previous lookup
+     * of the same range cached them, so only the open months are read; otherwise the whole range is read and its
+     * closed months are cached for the next lookup.
+     *
+     * @param customerId the customer ID
+     * @param from optional start date (defaults to 1900-01-01 if null)
+     * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param view how much of the summary is computed
+     * @return customer reward summary with monthly breakdowns
+     */
+    private CustomerRewardSummaryDTO loadCustomerRewardsOnShard(Long customerId, LocalDate from, LocalDate to,
+                                                                RewardView view) {
         LocalDate startDate = from != null ? from : LocalDate.of(1900, 1, 1);
         LocalDate endDate = to != null ? to : LocalDate.of(2100, 12, 31);
 
@@ -104,8 +390,432 @@ public class RewardServiceImpl implements RewardService {
             throw new InvalidDateRangeException(startDate, endDate);
         }
 
-        List<Transaction> transactions = transactionRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate);
-        return buildCustomerSummary(customer, transactions);
+        YearMonth latestClosed = closedMonthPolicy.latestClosedMonth();
+        LocalDate closedEnd = latestClosed.atEndOfMonth().isBefore(endDate) ? latestClosed.atEndOfMonth() : endDate;
+        CustomerRewardSummaryDTO summary;
+        if (closedEnd.isBefore(startDate)) {
+            LoadedMonths loaded = loadMonthsOnShard(customerId, startDate, endDate, view, latestClosed);
+            hotCustomerCache.recordLoad(customerId, loaded.transactions());
+            summary = loaded.summary();
+        } else {
+            ClosedMonthFragmentCache.Fragment closed = fragmentCache.get(customerId, startDate, closedEnd);
+            if (closed != null) {
+                LoadedMonths open = loadMonthsOnShard(customerId, closedEnd.plusDays(1), endDate, view, latestClosed);
+                hotCustomerCache.recordLoad(customerId, closed.transactions() + open.transactions());
+                List<MonthlyRewardDTO> months = new ArrayList<>(closed.months());
+                months.addAll(open.summary().monthlyRewards());
+                summary = new CustomerRewardSummaryDTO(customerId, open.summary().customerName(), months,
+                        closed.points() + open.summary().totalPoints());
+            } else {
+                long generation = fragmentCache.generation();
+                LoadedMonths loaded = loadMonthsOnShard(customerId, startDate, endDate, view, latestClosed);
+                hotCustomerCache.recordLoad(customerId, loaded.transactions());
+                summary = loaded.summary();
+                fragmentCache.put(customerId, startDate, closedEnd, closedMonths(summary.monthlyRewards(), latestClosed),
+                        loaded.closedTransactions(), generation);
+            }
+        }
+        return view != RewardView.TOTALS ? summary : new CustomerRewardSummaryDTO(customerId,
+                summary.customerName(), null, summary.totalPoints());
+    }
+
+    /**
+     * Reads a customer's months within a date range from the shard the current thread is routed to.
+     * The customer and its transactions, or its points per month, are read in a single statement that
+     * left-joins the customer to them: a customer without transactions still yields a row, an unknown
+     * customer yields none. Concurrent loads of points per month of other customers of the shard over the same
+     * range are merged into that statement by the {@link RequestBatcher}; transactions are read per customer,
+     * since a batch of them would be grouped on a single request thread. A range that starts after it ends only
+     * checks that the customer exists.
+     *
+     * @param customerId the customer ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param view how much of the summary is computed
+     * @param latestClosed the latest closed month
+     * @return customer reward summary with monthly breakdowns, and the number of transactions read or summed
+     */
+    private LoadedMonths loadMonthsOnShard(Long customerId, LocalDate startDate, LocalDate endDate, RewardView view,
+                                           YearMonth latestClosed) {
+        Optional<MonthCloseService.SealedMonths> sealed = startDate.isAfter(endDate)
+                ? Optional.empty()
+                : sealedMonthsWithin(startDate, endDate);
+        int shard = shardRouter.shardFor(customerId);
+        if (view != RewardView.FULL || sealed.isPresent()) {
+            LookupBatchKey key = new LookupBatchKey(shard, startDate, endDate, sealed.orElse(null));
+            List<CustomerMonthRow> rows = RequestCost.time("customers", () -> Objects.requireNonNullElse(
+                    requestBatcher.load(key, customerId, ids -> findMonthRows(ids, startDate, endDate, sealed)),
+                    List.of()));
+            if (rows.isEmpty()) {
+                throw new CustomerNotFoundException(customerId);
+            }
+            return RequestCost.time("grouping", () -> {
+                List<MonthlyRewardDTO> months = new ArrayList<>();
+                long transactions = 0;
+                long closedTransactions = 0;
+                for (CustomerMonthRow row : rows) {
+                    long count = row.getTransactionCount().longValue();
+                    if (count > 0) {
+                        months.add(new MonthlyRewardDTO(row.getRewardYear(),
+                                Month.of(row.getRewardMonth()).name(), row.getPoints().longValue()));
+                        transactions += count;
+                        if (!YearMonth.of(row.getRewardYear(), row.getRewardMonth()).isAfter(latestClosed)) {
+                            closedTransactions += count;
+                        }
+                    }
+                }
+                long totalPoints = months.stream().mapToLong(MonthlyRewardDTO::points).sum();
+                return new LoadedMonths(new CustomerRewardSummaryDTO(customerId, rows.get(0).getCustomerName(),
+                        months, totalPoints), transactions, closedTransactions);
+            });
+        }
+
+        List<CustomerTransactionRow> rows = RequestCost.time("customers",
+                () -> customerRepository.findWithTransactionsInRange(customerId, startDate, endDate));
+        if (rows.isEmpty()) {
+            throw new CustomerNotFoundException(customerId);
+        }
+        return RequestCost.time("grouping", () -> {
+            MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator();
+            long closedTransactions = 0;
+            for (CustomerTransactionRow row : rows) {
+                if (row.getTransactionDate() != null) {
+                    accumulator.add(row.getTransactionDate(), row.getAmount());
+                    if (!YearMonth.from(row.getTransactionDate()).isAfter(latestClosed)) {
+                        closedTransactions++;
+                    }
+                }
+            }
+            return new LoadedMonths(toCustomerSummary(customerId, rows.get(0).getCustomerName(), accumulator),
+                    rows.get(0).getTransactionDate() != null ? rows.size() : 0, closedTransactions);
+        });
+    }
+
+    /**
+     * Reads a batch of customers left-joined to their points per month, using the single-customer
+     * statement for a batch of one.
+     *
+     * @param customerIds the customer IDs
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param sealed the sealed months within the range, read from the snapshots
+     * @return the rows of each known customer
+     */
+    private Map<Long, List<CustomerMonthRow>> findMonthRows(Set<Long> customerIds, LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            Optional<MonthCloseService.SealedMonths> sealed) {
+        if (customerIds.size() == 1) {
+            Long customerId = customerIds.iterator().next();
+            return Map.of(customerId, sealed
+                    .map(months -> snapshotRepository.findWithPointsByMonth(customerId, startDate, endDate,
+                            months.first().atDay(1), months.last().atDay(1), months.last().atEndOfMonth()))
+                    .orElseGet(() -> customerRepository.findWithPointsByMonthInRange(customerId, startDate, endDate)));
+        }
+        return sealed
+                .map(months -> snapshotRepository.findWithPointsByMonth(customerIds, startDate, endDate,
+                        months.first().atDay(1), months.last().atDay(1), months.last().atEndOfMonth()))
+                .orElseGet(() -> customerRepository.findWithPointsByMonthInRange(customerIds, startDate, endDate))
+                .stream()
+                .collect(Collectors.groupingBy(CustomerMonthRow::getCustomerId));
+    }
+
+    @Override
+    /**
+     * Retrieves the customer months whose reward points changed after a position in the change feed.
+     * Each shard's change log is read from its own version in the cursor, and the shards' entries are merged
+     * oldest first. Each shard's committed entries are first assigned change versions by {@link RewardChangeSequencer},
+     * in the order they became visible, so an entry committed late by a slow transaction is still returned after any
+     * entry already read. Each changed (customer, month) is reported
+     * once with its current points, summed from the transactions of exactly that month, so the cost is
+     * proportional to the churn read from the log. Runs without a surrounding transaction so that, when sharded,
+     * every shard is read on its own connection.
+     *
+     * @param since the position to read from; shards missing from it are read from the start
+     * @param limit the maximum number of change log entries to consume, over all shards
+     * @return changed customer months with their current points and the new high-water mark
+     */
+    public RewardChangesDTO getRewardChanges(ChangeCursor since, int limit) {
+        List<List<RewardChangeLog>> logged = RequestCost.time("change-log", () -> shardRouter.onEachShard(shard ->
+                sequencedChanges(since.version(shard), limit)));
+
+        int shards = logged.size();
+        int[] consumed = new int[shards];
+        List<Long> marks = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            marks.add(since.version(shard));
+        }
+        for (int total = 0; total < limit; total++) {
+            int oldest = -1;
+            for (int shard = 0; shard < shards; shard++) {
+                List<RewardChangeLog> entries = logged.get(shard);
+                if (consumed[shard] < entries.size() && (oldest < 0 || entries.get(consumed[shard]).getChangedAt()
+                        .isBefore(logged.get(oldest).get(consumed[oldest]).getChangedAt()))) {
+                    oldest = shard;
+                }
+            }
+            if (oldest < 0) {
+                break;
+            }
+            marks.set(oldest, logged.get(oldest).get(consumed[oldest]++).getCommitVersion());
+        }
+        boolean hasMore = false;
+        for (int shard = 0; shard < shards; shard++) {
+            hasMore |= consumed[shard] < logged.get(shard).size() || logged.get(shard).size() == limit;
+        }
+
+        List<Map<YearMonth, Set<Long>>> customersByMonth = new ArrayList<>();
+        Map<Long, Set<YearMonth>> changedMonthsByCustomer = new TreeMap<>();
+        for (int shard = 0; shard < shards; shard++) {
+            Map<YearMonth, Set<Long>> months = new TreeMap<>();
+            for (RewardChangeLog entry : logged.get(shard).subList(0, consumed[shard])) {
+                YearMonth month = YearMonth.from(entry.getRewardMonth());
+                months.computeIfAbsent(month, m -> new TreeSet<>()).add(entry.getCustomerId());
+                changedMonthsByCustomer.computeIfAbsent(entry.getCustomerId(), id -> new TreeSet<>()).add(month);
+            }
+            customersByMonth.add(months);
+        }
+        List<Map<YearMonth, Map<Long, Long>>> pointsByShard = RequestCost.time("transactions", () ->
+                shardRouter.onEachShard(shard -> changedMonthPoints(customersByMonth.get(shard))));
+        Map<YearMonth, Map<Long, Long>> pointsByMonth = new HashMap<>();
+        pointsByShard.forEach(points -> points.forEach((month, byCustomer) ->
+                pointsByMonth.computeIfAbsent(month, m -> new HashMap<>()).putAll(byCustomer)));
+
+        List<RewardChangeDTO> changes = new ArrayList<>();
+        changedMonthsByCustomer.forEach((customerId, months) -> {
+            for (YearMonth yearMonth : months) {
+                changes.add(new RewardChangeDTO(customerId, yearMonth.getYear(), yearMonth.getMonth().name(),
+                        pointsByMonth.getOrDefault(yearMonth, Map.of()).getOrDefault(customerId, 0L)));
+            }
+        });
+
+        return new RewardChangesDTO(changes, since.toString(), new ChangeCursor(marks).toString(), hasMore);
+    }
+
+    /**
+     * Assigns change versions to the current shard's newly committed entries, then reads the entries after a version.
+     *
+     * @param version the exclusive change version to read from
+     * @param limit the maximum number of entries read
+     * @return the entries, in version order
+     */
+    private List<RewardChangeLog> sequencedChanges(long version, int limit) {
+        changeSequencer.sequence(limit);
+        return changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(version,
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * Sums the current points of changed customer months on the current shard, one statement per changed month.
+     *
+     * @param customersByMonth the customers changed in each month
+     * @return the points of each changed customer month that still has transactions
+     */
+    private Map<YearMonth, Map<Long, Long>> changedMonthPoints(Map<YearMonth, Set<Long>> customersByMonth) {
+        Map<YearMonth, Map<Long, Long>> points = new HashMap<>();
+        customersByMonth.forEach((month, customerIds) -> {
+            Map<Long, Long> byCustomer = new HashMap<>();
+            for (CustomerPointsTotal total : transactionRepository.sumPointsByCustomer(customerIds, month.atDay(1),
+                    month.atEndOfMonth())) {
+                byCustomer.put(total.getCustomerId(), total.getPoints().longValue());
+            }
+            points.put(month, byCustomer);
+        });
+        return points;
+    }
+
+    @Override
+    /**
+     * Retrieves a customer's reward points over several date windows in one call.
+     * Whole months inside a window are answered from the customer's prefix-sum index by one subtraction;
+     * only partial months at the edges of a window are summed from the raw transactions.
+     *
+     * @param customerId the customer ID
+     * @param windows the date windows
+     * @return the points of each window, in request order
+     * @throws CustomerNotFoundException if customer does not exist
+     * @throws InvalidDateRangeException if a window starts after it ends
+     */
+    public RewardWindowsDTO getRewardWindows(Long customerId, List<DateWindow> windows) {
+        for (DateWindow window : windows) {
+            if (window.from().isAfter(window.to())) {
+                throw new InvalidDateRangeException(window.from(), window.to());
+            }
+        }
+
+        return shardRouter.onShard(shardRouter.shardFor(customerId), () -> {
+            if (RequestCost.time("customers", () -> customerRepository.findById(customerId)).isEmpty()) {
+                throw new CustomerNotFoundException(customerId);
+            }
+            RewardPrefixSumIndex.PrefixSums prefixSums = RequestCost.time("prefix-index", () -> prefixSumIndex.get(customerId));
+            List<RewardWindowDTO> totals = windows.stream()
+                    .map(window -> new RewardWindowDTO(window.from(), window.to(),
+                            windowPoints(customerId, prefixSums, window)))
+                    .toList();
+            return new RewardWindowsDTO(customerId, totals);
+        });
+    }
+
+    /**
+     * Computes the points of one window from the prefix sums plus a scan of its partial edge months.
+     *
+     * @param customerId the customer ID
+     * @param prefixSums the customer's prefix sums
+     * @param window the date window
+     * @return the points earned within the window
+     */
+    private long windowPoints(Long customerId, RewardPrefixSumIndex.PrefixSums prefixSums, DateWindow window) {
+        YearMonth firstMonth = YearMonth.from(window.from());
+        YearMonth lastMonth = YearMonth.from(window.to());
+        boolean startsOnMonth = window.from().getDayOfMonth() == 1;
+        boolean endsOnMonth = window.to().equals(lastMonth.atEndOfMonth());
+
+        if (firstMonth.equals(lastMonth) && !(startsOnMonth && endsOnMonth)) {
+            return scanPoints(customerId, window.from(), window.to());
+        }
+
+        long points = prefixSums.points(startsOnMonth ? firstMonth : firstMonth.plusMonths(1),
+                endsOnMonth ? lastMonth : lastMonth.minusMonths(1));
+        if (!startsOnMonth) {
+            points += scanPoints(customerId, window.from(), firstMonth.atEndOfMonth());
+        }
+        if (!endsOnMonth) {
+            points += scanPoints(customerId, lastMonth.atDay(1), window.to());
+        }
+        return points;
+    }
+
+    /**
+     * Sums a customer's points from the raw transactions of a date range.
+     *
+     * @param customerId the customer ID
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return the points earned within the range
+     */
+    private long scanPoints(Long customerId, LocalDate from, LocalDate to) {
+        return RequestCost.time("transactions", () -> transactionRepository.sumPointsByCustomer(List.of(customerId), from, to))
+                .stream()
+                .mapToLong(total -> total.getPoints().longValue())
+                .sum();
+    }
+
+    /**
+     * Builds the reward summaries of customers on the current shard, in the given customer order.
+     * {@link RewardView#TOTALS} sums points per customer in the database and allocates no monthly structures;
+     * {@link RewardView#MONTHLY} sums them per customer and month; {@link RewardView#FULL} reads the transactions.
+     * When the range covers sealed months, every view reads those from their snapshots and sums only the rest
+     * of the range from the transactions, in a single statement.
+     *
+     * @param customers the customers to summarize
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param view how much of each summary is computed
+     * @return one summary per customer
+     */
+    private List<CustomerRewardSummaryDTO> buildSummaries(List<Customer> customers, LocalDate startDate, LocalDate endDate,
+                                                          RewardView view) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> customerIds = customers.stream().map(Customer::getId).toList();
+
+        Optional<MonthCloseService.SealedMonths> sealed = sealedMonthsWithin(startDate, endDate);
+        if (sealed.isPresent()) {
+            YearMonth first = sealed.get().first();
+            YearMonth last = sealed.get().last();
+            List<CustomerMonthlyPoints> rows = RequestCost.time("snapshots", () -> snapshotRepository
+                    .sumPointsByCustomerMonth(customerIds, startDate, endDate,
+                            first.atDay(1), last.atDay(1), last.atEndOfMonth()));
+            return RequestCost.time("grouping", () -> toMonthlySummaries(customers, rows, view != RewardView.TOTALS));
+        }
+
+        switch (view) {
+            case TOTALS -> {
+                List<CustomerPointsTotal> rows = RequestCost.time("transactions",
+                        () -> transactionRepository.sumPointsByCustomer(customerIds, startDate, endDate));
+                return RequestCost.time("grouping", () -> {
+                    Map<Long, Long> totals = new HashMap<>();
+                    for (CustomerPointsTotal total : rows) {
+                        totals.put(total.getCustomerId(), total.getPoints().longValue());
+                    }
+                    return customers.stream()
+                            .map(customer -> new CustomerRewardSummaryDTO(customer.getId(), customer.getName(), null,
+                                    totals.getOrDefault(customer.getId(), 0L)))
+                            .toList();
+                });
+            }
+            case MONTHLY -> {
+                List<CustomerMonthlyPoints> rows = RequestCost.time("transactions",
+                        () -> transactionRepository.sumPointsByCustomerMonth(customerIds, startDate, endDate));
+                return RequestCost.time("grouping", () -> toMonthlySummaries(customers, rows, true));
+            }
+            default -> {
+                List<Transaction> transactions = RequestCost.time("transactions",
+                        () -> transactionRepository.findByCustomerIdsAndDateRange(customerIds, startDate, endDate));
+                return RequestCost.time("grouping", () -> {
+                    Map<Long, List<Transaction>> transactionsByCustomer = transactions.stream()
+                            .collect(Collectors.groupingBy(t -> t.getCustomer().getId()));
+                    return customers.stream()
+                            .map(customer -> buildCustomerSummary(customer,
+                                    transactionsByCustomer.getOrDefault(customer.getId(), List.of())))
+                            .toList();
+                });
+            }
+        }
+    }
+
+    /**
+     * Builds reward summaries from points per customer and month, in the given customer order.
+     *
+     * @param customers the customers to summarize
+     * @param rows points per customer and month, ordered by month within each customer
+     * @param withMonths whether to include the monthly breakdown or only the total points
+     * @return one summary per customer
+     */
+    private static List<CustomerRewardSummaryDTO> toMonthlySummaries(List<Customer> customers,
+                                                                     List<CustomerMonthlyPoints> rows,
+                                                                     boolean withMonths) {
+        Map<Long, List<MonthlyRewardDTO>> monthsByCustomer = new HashMap<>();
+        for (CustomerMonthlyPoints month : rows) {
+            monthsByCustomer.computeIfAbsent(month.getCustomerId(), id -> new ArrayList<>())
+                    .add(new MonthlyRewardDTO(month.getRewardYear(),
+                            Month.of(month.getRewardMonth()).name(), month.getPoints().longValue()));
+        }
+        return customers.stream()
+                .map(customer -> {
+                    List<MonthlyRewardDTO> months = monthsByCustomer.getOrDefault(customer.getId(), List.of());
+                    long totalPoints = months.stream().mapToLong(MonthlyRewardDTO::points).sum();
+                    return new CustomerRewardSummaryDTO(customer.getId(), customer.getName(),
+                            withMonths ? months : null, totalPoints);
+                })
+                .toList();
+    }
+
+    /**
+     * Gets the leading run of closed months of a summary.
+     *
+     * @param months the summary's months, oldest first
+     * @param latestClosed the latest closed month
+     * @return the months up to and including the latest closed month
+     */
+    private static List<MonthlyRewardDTO> closedMonths(List<MonthlyRewardDTO> months, YearMonth latestClosed) {
+        int closed = 0;
+        while (closed < months.size() && !YearMonth.of(months.get(closed).year(),
+                Month.valueOf(months.get(closed).month())).isAfter(latestClosed)) {
+            closed++;
+        }
+        return months.subList(0, closed);
+    }
+
+    /**
+     * Gets the sealed months of the current shard that lie entirely within a date range.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the covered sealed months, or empty if the range covers none
+     */
+    private Optional<MonthCloseService.SealedMonths> sealedMonthsWithin(LocalDate startDate, LocalDate endDate) {
+        return monthCloseService.getSealedMonths().flatMap(sealed -> sealed.within(startDate, endDate));
     }
 
     /**
@@ -116,43 +826,83 @@ public class RewardServiceImpl implements RewardService {
      * @return customer reward summary with monthly breakdowns and total points
      */
     private CustomerRewardSummaryDTO buildCustomerSummary(Customer customer, List<Transaction> transactions) {
-        Map<YearMonth, Long> pointsByMonth = new TreeMap<>();
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator();
 
         for (Transaction transaction : transactions) {
-            YearMonth yearMonth = YearMonth.from(transaction.getTransactionDate());
-            long points = calculatePoints(transaction.getAmount());
-            pointsByMonth.merge(yearMonth, points, Long::sum);
+            accumulator.add(transaction.getTransactionDate(), transaction.getAmount());
         }
+        return toCustomerSummary(customer.getId(), customer.getName(), accumulator);
+    }
 
+    /**
+     * Builds a customer reward summary from the points accumulated per month.
+     *
+     * @param customerId the customer ID
+     * @param customerName the customer name
+     * @param accumulator the accumulated monthly points
+     * @return customer reward summary with monthly breakdowns and total points
+     */
+    private static CustomerRewardSummaryDTO toCustomerSummary(Long customerId, String customerName,
+                                                              MonthlyPointsAccumulator accumulator) {
         List<MonthlyRewardDTO> monthlyRewards = new ArrayList<>();
-        long totalPoints = 0;
-
-        for (Map.Entry<YearMonth, Long> entry : pointsByMonth.entrySet()) {
-            YearMonth yearMonth = entry.getKey();
-            long points = entry.getValue();
-            monthlyRewards.add(new MonthlyRewardDTO(yearMonth.getYear(), yearMonth.getMonth().name(), points));
-            totalPoints += points;
+        for (MonthlyPointsAccumulator.MonthlyPoints month : accumulator.months()) {
+            monthlyRewards.add(new MonthlyRewardDTO(month.month().getYear(), month.month().getMonth().name(), month.points()));
         }
 
-        return new CustomerRewardSummaryDTO(customer.getId(), customer.getName(), monthlyRewards, totalPoints);
+        return new CustomerRewardSummaryDTO(customerId, customerName, monthlyRewards, accumulator.totalPoints());
     }
 
     /**
-     * Calculates reward points for a transaction amount.
-     * Rules: 0 points for $0-$50, 1 point per dollar over $50, 2 points per dollar over $100.
+     * Coalescing key identifying a single-customer reward request.
      *
-     * @param amount the transaction amount
-     * @return calculated reward points
+     * @param customerId the customer ID
+     * @param from the requested start date, or null
+     * @param to the requested end date, or null
+     * @param view the requested view
      */
-    private long calculatePoints(BigDecimal amount) {
-        long dollars = amount.longValue();
+    private record RewardQueryKey(Long customerId, LocalDate from, LocalDate to, RewardView view) {
+    }
 
-        if (dollars <= 50) {
-            return 0;
-        } else if (dollars <= 100) {
-            return dollars - 50;
-        } else {
-            return 50 + (dollars - 100) * 2;
+    /**
+     * A customer's months read from the database.
+     *
+     * @param summary the summary of the months, with monthly breakdowns
+     * @param transactions the number of transactions read or summed
+     * @param closedTransactions the number of those transactions in closed months
+     */
+    private record LoadedMonths(CustomerRewardSummaryDTO summary, long transactions, long closedTransactions) {
+    }
+
+    /**
+     * Batch key of single-customer lookups of points per month that can share one statement.
+     *
+     * @param shard the shard of the customers
+     * @param from the start date
+     * @param to the end date
+     * @param sealed the sealed months read from the snapshots, or null
+     */
+    private record LookupBatchKey(int shard, LocalDate from, LocalDate to, MonthCloseService.SealedMonths sealed) {
+    }
+
+    /**
+     * Head of one shard's customer list, with the shard's customer count when an exact total is requested.
+     *
+     * @param customers the shard's first customers in ID order
+     * @param count the shard's customer count, or 0 if not requested
+     */
+    private record ShardSlice(Slice<Customer> customers, long count) {
+    }
+
+    /**
+     * Position in one sorted customer list during a merge.
+     *
+     * @param list the sorted list
+     * @param index the position of the current customer
+     */
+    private record MergeCursor(List<Customer> list, int index) {
+
+        Customer current() {
+            return list.get(index);
         }
     }
 }
@@ -0,0 +1,354 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.dto.CustomerPointsDeltaDTO;
+import com.charter.reward_api.dto.RewardScenarioDTO;
+import com.charter.reward_api.dto.RewardScenarioResultDTO;
+import com.charter.reward_api.dto.RewardSimulationDTO;
+import com.charter.reward_api.dto.RewardSimulationRequestDTO;
+import com.charter.reward_api.dto.RewardTierDTO;
+import com.charter.reward_api.exception.InvalidDateRangeException;
+import com.charter.reward_api.exception.InvalidSimulationException;
+import com.charter.reward_api.exception.SimulationTooLargeException;
+import com.charter.reward_core.RewardPointsCalculator;
+import com.charter.reward_core.TieredPointsRule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulates candidate reward rules over historical transactions, comparing them with the current rule.
+ * <p>
+ * Transactions are read once into a {@link TransactionSnapshot}, from every shard, and reused by later
+ * simulations until it is older than {@code reward.simulation.snapshot-max-age} or a refresh is requested.
+ * The transactions are counted before they are read, and a snapshot is never loaded beyond
+ * {@code reward.simulation.max-transactions}, so a large table fails the simulation instead of the heap.
+ * A simulation never touches the database otherwise. It splits the snapshot's customers into chunks evaluated
+ * on a dedicated fork-join pool; each chunk applies the current rule and every candidate rule in one pass over
+ * its transactions, and the chunk results are merged pairwise.
+ */
+@Service
+public class RewardSimulationService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardSimulationService.class);
+
+    private static final String SNAPSHOT_SQL =
+            "SELECT customer_id, transaction_date, amount FROM transaction ORDER BY customer_id";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM transaction";
+    private static final int DEFAULT_TOP_CUSTOMERS = 10;
+    private static final int CHUNK_CUSTOMERS = 4096;
+    private static final Comparator<CustomerPointsDeltaDTO> LARGEST_CHANGE_LAST = Comparator
+            .comparingLong((CustomerPointsDeltaDTO delta) -> Math.abs(delta.delta()))
+            .thenComparing(Comparator.comparingLong(CustomerPointsDeltaDTO::customerId).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ForkJoinPool pool;
+    private final Duration snapshotMaxAge;
+    private final long maxTransactions;
+    private final int fetchSize;
+    private volatile TransactionSnapshot snapshot;
+
+    public RewardSimulationService(JdbcTemplate jdbcTemplate,
+                                   ShardRouter shardRouter,
+                                   @Value("${reward.simulation.parallelism:4}") int parallelism,
+                                   @Value("${reward.simulation.snapshot-max-age:1h}") Duration snapshotMaxAge,
+                                   @Value("${reward.simulation.max-transactions:10000000}") long maxTransactions,
+                                   @Value("${reward.rebuild.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.pool = new ForkJoinPool(parallelism);
+        this.snapshotMaxAge = snapshotMaxAge;
+        this.maxTransactions = maxTransactions;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Shuts down the simulation pool.
+     */
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Simulates candidate reward rules over the transactions of an optional date range.
+     *
+     * @param request the date range, the candidate rules and the number of customers to report per rule
+     * @param refresh whether to read the transactions again instead of reusing the current snapshot
+     * @return the points of the current rule and, per candidate rule, its points, changes and top customers
+     * @throws InvalidDateRangeException if the range starts after it ends
+     * @throws InvalidSimulationException if a candidate rule's tiers are not valid
+     * @throws SimulationTooLargeException if a new snapshot would hold more than the allowed transactions
+     */
+    public RewardSimulationDTO simulate(RewardSimulationRequestDTO request, boolean refresh) {
+        if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+            throw new InvalidDateRangeException(request.from(), request.to());
+        }
+        List<TieredPointsRule> rules = request.scenarios().stream().map(RewardSimulationService::toRule).toList();
+        int topCustomers = request.topCustomers() != null ? request.topCustomers() : DEFAULT_TOP_CUSTOMERS;
+        long firstDay = request.from() != null ? request.from().toEpochDay() : Long.MIN_VALUE;
+        long lastDay = request.to() != null ? request.to().toEpochDay() : Long.MAX_VALUE;
+
+        TransactionSnapshot transactions = RequestCost.time("snapshot", () -> snapshot(refresh));
+        Totals totals = RequestCost.time("simulation", () -> pool.invoke(new SimulationTask(transactions,
+                rules.toArray(TieredPointsRule[]::new), firstDay, lastDay, topCustomers, 0,
+                transactions.customerCount())));
+
+        List<RewardScenarioResultDTO> scenarios = new ArrayList<>();
+        for (int s = 0; s < rules.size(); s++) {
+            List<CustomerPointsDeltaDTO> top = new ArrayList<>(totals.top[s]);
+            top.sort(LARGEST_CHANGE_LAST.reversed());
+            scenarios.add(new RewardScenarioResultDTO(request.scenarios().get(s).name(), totals.points[s],
+                    totals.points[s] - totals.currentPoints, totals.gaining[s], totals.losing[s], top));
+        }
+        return new RewardSimulationDTO(request.from(), request.to(), transactions.takenAt(), totals.transactions,
+                totals.customers, totals.currentPoints, scenarios);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reward.simulation.snapshot.transactions", this,
+                        service -> service.snapshot != null ? service.snapshot.transactionCount() : 0)
+                .description("Transactions held by the reward simulation snapshot")
+                .register(registry);
+        Gauge.builder("reward.simulation.snapshot.size", this,
+                        service -> service.snapshot != null ? service.snapshot.sizeInBytes() : 0)
+                .description("Memory held by the reward simulation snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Gets the current snapshot, reading a new one if there is none, it is too old or a refresh is requested.
+     * Concurrent callers share one read.
+     *
+     * @param refresh whether to read a new snapshot regardless of its age
+     * @return the snapshot
+     */
+    private synchronized TransactionSnapshot snapshot(boolean refresh) {
+        TransactionSnapshot current = snapshot;
+        if (current == null || refresh || current.takenAt().plus(snapshotMaxAge).isBefore(Instant.now())) {
+            current = load();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads every transaction of every shard into a new snapshot, streaming each shard in customer order.
+     * The shards' transactions are counted first; transactions inserted after the count still cannot take the
+     * snapshot beyond the limit.
+     *
+     * @return the snapshot
+     * @throws SimulationTooLargeException if the shards hold more than the allowed transactions
+     */
+    private TransactionSnapshot load() {
+        long started = System.nanoTime();
+        long count = shardRouter.onEachShard(shard -> jdbcTemplate.queryForObject(COUNT_SQL, Long.class)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        if (count > maxTransactions) {
+            throw new SimulationTooLargeException(maxTransactions);
+        }
+        TransactionSnapshot.Builder builder = new TransactionSnapshot.Builder(Instant.now(), maxTransactions);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement statement = con.prepareStatement(SNAPSHOT_SQL);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                }, rs -> {
+                    builder.add(rs.getLong(1), (int) rs.getObject(2, LocalDate.class).toEpochDay(),
+                            rs.getBigDecimal(3).movePointRight(2).longValue());
+                });
+                return null;
+            });
+        }
+        TransactionSnapshot loaded = builder.build();
+        log.info("Loaded reward simulation snapshot of {} transactions of {} customers ({} bytes) in {} ms",
+                loaded.transactionCount(), loaded.customerCount(), loaded.sizeInBytes(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return loaded;
+    }
+
+    /**
+     * Converts a scenario's tiers to a rule.
+     *
+     * @param scenario the scenario
+     * @return the rule
+     * @throws InvalidSimulationException if the tiers are not valid
+     */
+    private static TieredPointsRule toRule(RewardScenarioDTO scenario) {
+        try {
+            return new TieredPointsRule(scenario.tiers().stream().mapToLong(RewardTierDTO::aboveDollars).toArray(),
+                    scenario.tiers().stream().mapToLong(RewardTierDTO::pointsPerDollar).toArray());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidSimulationException("Scenario " + scenario.name() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Fork-join task that splits a customer range in halves down to chunks of {@value #CHUNK_CUSTOMERS} customers.
+     */
+    private static final class SimulationTask extends RecursiveTask<Totals> {
+
+        private final TransactionSnapshot transactions;
+        private final TieredPointsRule[] rules;
+        private final long firstDay;
+        private final long lastDay;
+        private final int topCustomers;
+        private final int from;
+        private final int to;
+
+        SimulationTask(TransactionSnapshot transactions, TieredPointsRule[] rules, long firstDay, long lastDay,
+                       int topCustomers, int from, int to) {
+            this.transactions = transactions;
+            this.rules = rules;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.topCustomers = topCustomers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= CHUNK_CUSTOMERS) {
+                return evaluate();
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(transactions, rules, firstDay, lastDay, topCustomers, from, middle);
+            SimulationTask right = new SimulationTask(transactions, rules, firstDay, lastDay, topCustomers, middle, to);
+            left.fork();
+            Totals totals = right.compute();
+            totals.merge(left.join());
+            return totals;
+        }
+
+        /**
+         * Applies the current rule and every candidate rule to the transactions of each customer of the chunk.
+         */
+        private Totals evaluate() {
+            Totals totals = new Totals(rules.length, topCustomers);
+            long[] points = new long[rules.length];
+            for (int customer = from; customer < to; customer++) {
+                long current = 0;
+                int matched = 0;
+                Arrays.fill(points, 0);
+                for (int t = transactions.start(customer); t < transactions.end(customer); t++) {
+                    int day = transactions.epochDay(t);
+                    if (day < firstDay || day > lastDay) {
+                        continue;
+                    }
+                    long dollars = transactions.amountCents(t) / 100;
+                    current += RewardPointsCalculator.pointsForDollars(dollars);
+                    for (int s = 0; s < rules.length; s++) {
+                        points[s] += rules[s].pointsForDollars(dollars);
+                    }
+                    matched++;
+                }
+                if (matched > 0) {
+                    totals.add(transactions.customerId(customer), matched, current, points);
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Simulation totals of a customer range, with the customers of largest change per rule.
+     */
+    private static final class Totals {
+
+        private final int topCustomers;
+        private final long[] points;
+        private final long[] gaining;
+        private final long[] losing;
+        private final PriorityQueue<CustomerPointsDeltaDTO>[] top;
+        private long transactions;
+        private long customers;
+        private long currentPoints;
+
+        @SuppressWarnings("unchecked")
+        Totals(int rules, int topCustomers) {
+            this.topCustomers = topCustomers;
+            this.points = new long[rules];
+            this.gaining = new long[rules];
+            this.losing = new long[rules];
+            this.top = new PriorityQueue[rules];
+            for (int s = 0; s < rules; s++) {
+                top[s] = new PriorityQueue<>(LARGEST_CHANGE_LAST);
+            }
+        }
+
+        /**
+         * Adds one customer's points under the current rule and under every candidate rule.
+         */
+        void add(long customerId, int matched, long current, long[] candidates) {
+            transactions += matched;
+            customers++;
+            currentPoints += current;
+            for (int s = 0; s < candidates.length; s++) {
+                points[s] += candidates[s];
+                long delta = candidates[s] - current;
+                if (delta != 0) {
+                    if (delta > 0) {
+                        gaining[s]++;
+                    } else {
+                        losing[s]++;
+                    }
+                    offer(s, new CustomerPointsDeltaDTO(customerId, current, candidates[s], delta));
+                }
+            }
+        }
+
+        /**
+         * Adds the totals of another customer range.
+         */
+        void merge(Totals other) {
+            transactions += other.transactions;
+            customers += other.customers;
+            currentPoints += other.currentPoints;
+            for (int s = 0; s < points.length; s++) {
+                points[s] += other.points[s];
+                gaining[s] += other.gaining[s];
+                losing[s] += other.losing[s];
+                for (CustomerPointsDeltaDTO delta : other.top[s]) {
+                    offer(s, delta);
+                }
+            }
+        }
+
+        /**
+         * Keeps a customer among the largest changes of a rule if it ranks within the limit.
+         */
+        private void offer(int rule, CustomerPointsDeltaDTO delta) {
+            PriorityQueue<CustomerPointsDeltaDTO> queue = top[rule];
+            if (queue.size() < topCustomers) {
+                queue.add(delta);
+            } else if (topCustomers > 0 && LARGEST_CHANGE_LAST.compare(delta, queue.peek()) > 0) {
+                queue.poll();
+                queue.add(delta);
+            }
+        }
+    }
+}
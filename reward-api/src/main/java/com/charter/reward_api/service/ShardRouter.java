@@ -0,0 +1,193 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.Bulkhead;
+import com.charter.reward_api.config.Bulkheads;
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.config.ShardContext;
+import com.charter.reward_api.config.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes data access to the shard owning a customer ID and fans work out across all shards.
+ * With a single shard every call runs inline on the caller's thread.
+ * <p>
+ * A fan-out runs the first shard on the caller's thread and the others on a pool shared by all requests. The pool
+ * never queues: a shard for which no pool thread is free also runs on the caller's thread, so concurrent requests
+ * degrade to reading their shards one after another instead of waiting behind each other.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardingProperties.Strategy strategy;
+    private final long[] rangeBounds;
+    private final int shardCount;
+    private final ThreadPoolExecutor executor;
+
+    public ShardRouter(ShardingProperties properties) {
+        this.strategy = properties.strategy();
+        this.shardCount = properties.shardCount();
+        this.rangeBounds = properties.rangeBounds().stream().mapToLong(Long::longValue).toArray();
+        if (strategy == ShardingProperties.Strategy.RANGE && rangeBounds.length != shardCount - 1) {
+            throw new IllegalStateException("reward.sharding.range-bounds must have " + (shardCount - 1)
+                    + " entries for " + shardCount + " shards");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        if (shardCount > 1) {
+            this.executor = new ThreadPoolExecutor(properties.scatterThreads(), properties.scatterThreads(),
+                    60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "shard-scatter-" + threads.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.executor.allowCoreThreadTimeOut(true);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Gets the shard owning a customer ID.
+     *
+     * @param customerId the customer ID
+     * @return the shard number
+     */
+    public int shardFor(long customerId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        if (strategy == ShardingProperties.Strategy.RANGE) {
+            for (int shard = 0; shard < rangeBounds.length; shard++) {
+                if (customerId < rangeBounds[shard]) {
+                    return shard;
+                }
+            }
+            return rangeBounds.length;
+        }
+        return Math.floorMod(Long.hashCode(customerId), shardCount);
+    }
+
+    /**
+     * Runs work with its data access routed to one shard.
+     * Must not be called inside a transaction, whose connection is already bound to a shard.
+     *
+     * @param shard the shard number
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the work's result
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside an active transaction");
+        }
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Runs work on every shard in parallel and waits for all results.
+     * The first shard, and any shard no pool thread is free for, runs on the caller's thread, which must
+     * therefore not be inside a transaction. The caller's {@link RequestCost} and bulkhead are carried over
+     * to the pool threads, so shard connections are charged to the caller's bulkhead.
+     *
+     * @param work the work to run, given the shard number
+     * @param <T> the result type
+     * @return the results, indexed by shard number
+     */
+    public <T> List<T> onEachShard(IntFunction<T> work) {
+        if (shardCount == 1) {
+            return List.of(work.apply(0));
+        }
+        RequestCost cost = RequestCost.current();
+        Bulkhead bulkhead = Bulkheads.current();
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        futures.add(null);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            try {
+                futures.add(executor.submit(() -> {
+                    RequestCost.set(cost);
+                    Bulkheads.setCurrent(bulkhead);
+                    try {
+                        return onShard(target, () -> work.apply(target));
+                    } finally {
+                        RequestCost.set(null);
+                        Bulkheads.setCurrent(null);
+                    }
+                }));
+            } catch (RejectedExecutionException ex) {
+                futures.add(null);
+            }
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                int target = shard;
+                Future<T> future = futures.get(shard);
+                results.add(future != null ? future.get() : onShard(target, () -> work.apply(target)));
+            }
+        } catch (RuntimeException | Error ex) {
+            cancel(futures);
+            throw ex;
+        } catch (InterruptedException ex) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard results", ex);
+        } catch (ExecutionException ex) {
+            cancel(futures);
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        return results;
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.ImportRejectionDTO;
+import com.charter.reward_api.dto.TransactionImportResultDTO;
+import com.charter.reward_api.exception.ImportCapacityExceededException;
+import com.charter.reward_api.exception.InvalidImportFileException;
+import com.charter.reward_api.model.MonthlyPointsDelta;
+import com.charter.reward_api.model.RewardPointsChangedEvent;
+import com.charter.reward_core.RewardPointsCalculator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Imports transaction files uploaded as CSV, parsing and inserting at the same time so that memory use does not
+ * depend on the size of the file.
+ * <p>
+ * The request thread reads the file line by line and hands validated rows, in chunks of {@code batch-size}, to a
+ * writer thread through a queue of at most {@code queue-depth} chunks; a full queue blocks the reader, so no more
+ * than that many chunks are ever held. The writer resolves a chunk's customers through a cache of known customer
+ * IDs, looking the misses up with one query per shard, and inserts the chunk with batched statements in its own
+ * transaction. It publishes a {@link RewardPointsChangedEvent} for the inserted rows, so the aggregates, the
+ * change log and the caches follow the import as they follow any other write. Chunks commit independently:
+ * an import that fails midway keeps the chunks written before the failure.
+ * <p>
+ * The header names the columns {@code customer_id}, {@code amount} and {@code transaction_date} in any order;
+ * other columns are ignored. Malformed rows and rows of unknown customers are rejected and counted.
+ * <p>
+ * Each import holds one of the {@code writer-threads} writers from start to end. An import arriving while all of
+ * them are busy is rejected at once, rather than parsing into a queue no writer will ever drain.
+ */
+@Service
+public class TransactionImportService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)";
+    private static final List<String> COLUMNS = List.of("customer_id", "amount", "transaction_date");
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+    private static final int MAX_QUOTED_VALUE = 32;
+    private static final List<ImportRow> END_OF_FILE = List.of();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int queueDepth;
+    private final int maxLineLength;
+    private final int maxRejections;
+    private final Cache<Long, Boolean> knownCustomers;
+    private final int writerThreads;
+    private final Semaphore freeWriters;
+    private final ExecutorService writers;
+    private final AtomicLong imports = new AtomicLong();
+    private final AtomicLong importsRejected = new AtomicLong();
+    private final AtomicLong rowsAccepted = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    public TransactionImportService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ShardRouter shardRouter,
+                                    @Value("${reward.import.batch-size:1000}") int batchSize,
+                                    @Value("${reward.import.queue-depth:4}") int queueDepth,
+                                    @Value("${reward.import.writer-threads:2}") int writerThreads,
+                                    @Value("${reward.import.max-line-length:4096}") int maxLineLength,
+                                    @Value("${reward.import.max-rejections:100}") int maxRejections,
+                                    @Value("${reward.import.customer-cache-size:100000}") long customerCacheSize,
+                                    @Value("${reward.import.customer-cache-ttl:10m}") Duration customerCacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.queueDepth = queueDepth;
+        this.maxLineLength = maxLineLength;
+        this.maxRejections = maxRejections;
+        this.writerThreads = writerThreads;
+        this.freeWriters = new Semaphore(writerThreads);
+        this.knownCustomers = Caffeine.newBuilder()
+                .maximumSize(customerCacheSize)
+                .expireAfterWrite(customerCacheTtl)
+                .build();
+        AtomicInteger threads = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "reward-import-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * Imports the transactions of a CSV file, reading it from the stream as the rows are inserted.
+     *
+     * @param input the file contents, UTF-8 encoded; not closed by this method
+     * @return the rows accepted and rejected, and the import throughput
+     * @throws InvalidImportFileException if the file is empty or its header lacks a required column
+     * @throws ImportCapacityExceededException if every writer is busy with another import
+     */
+    public TransactionImportResultDTO importCsv(InputStream input) {
+        if (!freeWriters.tryAcquire()) {
+            importsRejected.incrementAndGet();
+            throw new ImportCapacityExceededException(writerThreads);
+        }
+        try {
+            return importWithWriter(input);
+        } finally {
+            freeWriters.release();
+        }
+    }
+
+    /**
+     * Imports a CSV file on a writer this import holds.
+     */
+    private TransactionImportResultDTO importWithWriter(InputStream input) {
+        long start = System.nanoTime();
+        LineReader reader = new LineReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024), maxLineLength);
+        int[] columns = readHeader(reader);
+        int width = Math.max(columns[0], Math.max(columns[1], columns[2])) + 1;
+
+        ImportRun run = new ImportRun(maxRejections);
+        BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(queueDepth);
+        Future<Void> writer = writers.submit(() -> {
+            for (List<ImportRow> chunk = queue.take(); chunk != END_OF_FILE; chunk = queue.take()) {
+                writeChunk(run, chunk);
+            }
+            return null;
+        });
+        try {
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                ImportRow row = parse(run, reader, line, columns, width);
+                if (row != null) {
+                    chunk.add(row);
+                    if (chunk.size() == batchSize) {
+                        handOver(queue, chunk, writer);
+                        chunk = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                handOver(queue, chunk, writer);
+            }
+            handOver(queue, END_OF_FILE, writer);
+            writer.get();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the uploaded file at line " + reader.lineNumber, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing transactions", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            writer.cancel(true);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        long accepted = run.accepted.sum();
+        long rejected = run.rejected.sum();
+        imports.incrementAndGet();
+        rowsAccepted.addAndGet(accepted);
+        rowsRejected.addAndGet(rejected);
+        log.info("Imported {} transactions, rejected {} rows in {} ms", accepted, rejected,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return new TransactionImportResultDTO(accepted, rejected, run.sampledRejections(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), (accepted + rejected) * 1e9 / elapsedNanos);
+    }
+
+    /**
+     * Reads the first non-blank line and locates the required columns in it.
+     *
+     * @return the positions of {@code customer_id}, {@code amount} and {@code transaction_date}
+     */
+    private static int[] readHeader(LineReader reader) {
+        String header;
+        try {
+            header = reader.readLine();
+            while (header != null && header.isBlank()) {
+                header = reader.readLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the uploaded file header", ex);
+        }
+        if (header == null) {
+            throw new InvalidImportFileException("Uploaded file is empty");
+        }
+        List<String> fields = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        List<String> names = fields == null ? List.of()
+                : fields.stream().map(TransactionImportService::normalize).toList();
+        int[] columns = new int[COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns[i] = names.indexOf(normalize(COLUMNS.get(i)));
+            if (columns[i] < 0) {
+                missing.add(COLUMNS.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("CSV header is missing column(s): " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String normalize(String column) {
+        return column.replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Validates one data line, recording a rejection if it is not a valid transaction.
+     *
+     * @return the parsed row, or null if the line is blank or was rejected
+     */
+    private static ImportRow parse(ImportRun run, LineReader reader, String line, int[] columns, int width) {
+        long lineNumber = reader.lineNumber;
+        if (reader.truncated) {
+            run.reject(lineNumber, "Line is longer than " + reader.maxLength + " characters");
+            return null;
+        }
+        if (line.isBlank()) {
+            return null;
+        }
+        List<String> fields = split(line);
+        if (fields == null) {
+            run.reject(lineNumber, "Unbalanced quotes");
+            return null;
+        }
+        if (fields.size() < width) {
+            run.reject(lineNumber, "Expected at least " + width + " columns, found " + fields.size());
+            return null;
+        }
+
+        String customerField = fields.get(columns[0]);
+        String amountField = fields.get(columns[1]);
+        String dateField = fields.get(columns[2]);
+        long customerId;
+        try {
+            customerId = Long.parseLong(customerField);
+        } catch (NumberFormatException ex) {
+            run.reject(lineNumber, "Invalid customer_id " + quote(customerField));
+            return null;
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(amountField);
+        } catch (NumberFormatException ex) {
+            run.reject(lineNumber, "Invalid amount " + quote(amountField));
+            return null;
+        }
+        if (amount.signum() <= 0) {
+            run.reject(lineNumber, "Amount must be positive: " + quote(amountField));
+            return null;
+        }
+        if (amount.stripTrailingZeros().scale() > 2 || amount.compareTo(MAX_AMOUNT) > 0) {
+            run.reject(lineNumber, "Amount must have at most 2 decimals and not exceed " + MAX_AMOUNT + ": "
+                    + quote(amountField));
+            return null;
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(dateField);
+        } catch (DateTimeParseException ex) {
+            run.reject(lineNumber, "Invalid transaction_date " + quote(dateField) + ", expected yyyy-MM-dd");
+            return null;
+        }
+        return new ImportRow(lineNumber, customerId, amount.setScale(2), date);
+    }
+
+    private static String quote(String value) {
+        return "'" + (value.length() > MAX_QUOTED_VALUE ? value.substring(0, MAX_QUOTED_VALUE) + "..." : value) + "'";
+    }
+
+    /**
+     * Splits a CSV line into trimmed fields. Fields may be enclosed in double quotes, with {@code ""} standing
+     * for a quote inside them; quoted fields cannot span lines.
+     *
+     * @return the fields, or null if a quote is not closed
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Hands a chunk to the writer, waiting while the queue is full, and fails fast if the writer stopped.
+     */
+    private static void handOver(BlockingQueue<List<ImportRow>> queue, List<ImportRow> chunk, Future<Void> writer)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped before the end of the file");
+            }
+        }
+    }
+
+    /**
+     * Writes one chunk, split by the shard owning each row's customer.
+     */
+    private void writeChunk(ImportRun run, List<ImportRow> chunk) {
+        Map<Integer, List<ImportRow>> byShard = chunk.stream()
+                .collect(Collectors.groupingBy(row -> shardRouter.shardFor(row.customerId()), TreeMap::new,
+                        Collectors.toList()));
+        byShard.forEach((shard, rows) -> shardRouter.onShard(shard, () -> writeOnShard(run, rows)));
+    }
+
+    /**
+     * Inserts the rows of known customers on the current shard and rejects the others.
+     * A cached customer deleted since it was looked up fails the insert; the customers of the rows are then
+     * looked up again and the insert retried once.
+     */
+    private Void writeOnShard(ImportRun run, List<ImportRow> rows) {
+        Set<Long> unknown;
+        try {
+            unknown = insertKnown(rows);
+        } catch (DataIntegrityViolationException ex) {
+            rows.forEach(row -> knownCustomers.invalidate(row.customerId()));
+            unknown = insertKnown(rows);
+        }
+        long rejected = 0;
+        for (ImportRow row : rows) {
+            if (unknown.contains(row.customerId())) {
+                run.reject(row.line(), "Unknown customer " + row.customerId());
+                rejected++;
+            }
+        }
+        run.accepted.add(rows.size() - rejected);
+        return null;
+    }
+
+    private Set<Long> insertKnown(List<ImportRow> rows) {
+        Set<Long> unknown = unknownCustomers(rows);
+        List<ImportRow> known = unknown.isEmpty() ? rows
+                : rows.stream().filter(row -> !unknown.contains(row.customerId())).toList();
+        if (known.isEmpty()) {
+            return unknown;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, known, known.size(), (statement, row) -> {
+                statement.setLong(1, row.customerId());
+                statement.setBigDecimal(2, row.amount());
+                statement.setObject(3, row.transactionDate());
+            });
+            eventPublisher.publishEvent(new RewardPointsChangedEvent(deltas(known)));
+        });
+        return unknown;
+    }
+
+    /**
+     * Finds the customers of the rows that do not exist on the current shard, querying only those not cached.
+     */
+    private Set<Long> unknownCustomers(List<ImportRow> rows) {
+        Set<Long> missing = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (knownCustomers.getIfPresent(row.customerId()) == null) {
+                missing.add(row.customerId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(missing.size(), "?"));
+        List<Long> found = jdbcTemplate.queryForList("SELECT id FROM customer WHERE id IN (" + placeholders + ")",
+                Long.class, missing.toArray());
+        for (Long id : found) {
+            knownCustomers.put(id, Boolean.TRUE);
+            missing.remove(id);
+        }
+        return missing;
+    }
+
+    /**
+     * Sums a chunk's rows per month and customer. The deltas are ordered by month, then customer, so that every
+     * listener locks the rows they touch in the same order across concurrent chunks.
+     */
+    private static List<MonthlyPointsDelta> deltas(List<ImportRow> rows) {
+        Map<YearMonth, Map<Long, long[]>> totals = new TreeMap<>();
+        for (ImportRow row : rows) {
+            long[] values = totals.computeIfAbsent(YearMonth.from(row.transactionDate()), month -> new TreeMap<>())
+                    .computeIfAbsent(row.customerId(), id -> new long[2]);
+            values[0] += RewardPointsCalculator.calculatePoints(row.amount());
+            values[1]++;
+        }
+        List<MonthlyPointsDelta> deltas = new ArrayList<>();
+        totals.forEach((month, customers) -> customers.forEach((customerId, values) ->
+                deltas.add(new MonthlyPointsDelta(customerId, month, values[0], values[1]))));
+        return deltas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reward.import.files", imports, AtomicLong::get)
+                .description("Transaction files imported to completion")
+                .register(registry);
+        FunctionCounter.builder("reward.import.rejected", importsRejected, AtomicLong::get)
+                .description("Transaction files rejected because every import writer was busy")
+                .register(registry);
+        FunctionCounter.builder("reward.import.rows", rowsAccepted, AtomicLong::get)
+                .tag("outcome", "accepted")
+                .description("Imported rows, by outcome")
+                .register(registry);
+        FunctionCounter.builder("reward.import.rows", rowsRejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .description("Imported rows, by outcome")
+                .register(registry);
+    }
+
+    /**
+     * A validated data row of an imported file.
+     *
+     * @param line the 1-based line number in the file
+     * @param customerId the customer ID, not yet checked to exist
+     * @param amount the transaction amount
+     * @param transactionDate the transaction date
+     */
+    private record ImportRow(long line, long customerId, BigDecimal amount, LocalDate transactionDate) {
+    }
+
+    /**
+     * Reads lines of at most a maximum length, discarding the excess, so that a file without line breaks
+     * cannot exhaust memory.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder line;
+        private long lineNumber;
+        private boolean truncated;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+            this.line = new StringBuilder(Math.min(maxLength, 256));
+        }
+
+        /**
+         * Reads the next line without its terminator.
+         *
+         * @return the line, cut at the maximum length if {@link #truncated} is set, or null at the end of the file
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                read = true;
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    truncated = true;
+                }
+            }
+            if (c == -1 && !read) {
+                return null;
+            }
+            lineNumber++;
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return line.toString();
+        }
+    }
+
+    /**
+     * Counts of one import, shared by the reader and the writer. Keeps the rejections with the lowest line numbers
+     * in a bounded heap, as the reader and the writer reject rows out of line order.
+     */
+    private static final class ImportRun {
+
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final int maxRejections;
+        private final PriorityQueue<ImportRejectionDTO> rejections =
+                new PriorityQueue<>(Comparator.comparingLong(ImportRejectionDTO::line).reversed());
+
+        private ImportRun(int maxRejections) {
+            this.maxRejections = maxRejections;
+        }
+
+        private synchronized void reject(long line, String reason) {
+            rejected.increment();
+            if (rejections.size() < maxRejections) {
+                rejections.add(new ImportRejectionDTO(line, reason));
+            } else if (maxRejections > 0 && line < rejections.peek().line()) {
+                rejections.poll();
+                rejections.add(new ImportRejectionDTO(line, reason));
+            }
+        }
+
+        private synchronized List<ImportRejectionDTO> sampledRejections() {
+            return rejections.stream().sorted(Comparator.comparingLong(ImportRejectionDTO::line)).toList();
+        }
+    }
+}
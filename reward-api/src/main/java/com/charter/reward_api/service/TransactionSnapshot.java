@@ -0,0 +1,186 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.exception.SimulationTooLargeException;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Read-only columnar copy of every transaction, for evaluating reward rules without touching the database.
+ * Transactions are grouped by customer: customer {@code c} owns the transactions from {@link #start(int)} to
+ * {@link #end(int)}, whose days and amounts are held in two primitive columns. A transaction takes 12 bytes,
+ * and a scan reads the columns sequentially.
+ */
+final class TransactionSnapshot {
+
+    private final long[] customerIds;
+    private final int[] starts;
+    private final int[] epochDays;
+    private final long[] amountCents;
+    private final Instant takenAt;
+
+    private TransactionSnapshot(long[] customerIds, int[] starts, int[] epochDays, long[] amountCents,
+                                Instant takenAt) {
+        this.customerIds = customerIds;
+        this.starts = starts;
+        this.epochDays = epochDays;
+        this.amountCents = amountCents;
+        this.takenAt = takenAt;
+    }
+
+    /**
+     * Gets the number of customers with at least one transaction.
+     *
+     * @return the customer count
+     */
+    int customerCount() {
+        return customerIds.length;
+    }
+
+    /**
+     * Gets the number of transactions.
+     *
+     * @return the transaction count
+     */
+    int transactionCount() {
+        return epochDays.length;
+    }
+
+    /**
+     * Gets the ID of a customer.
+     *
+     * @param customer the customer's position in the snapshot
+     * @return the customer ID
+     */
+    long customerId(int customer) {
+        return customerIds[customer];
+    }
+
+    /**
+     * Gets the position of a customer's first transaction.
+     *
+     * @param customer the customer's position in the snapshot
+     * @return the first transaction position (inclusive)
+     */
+    int start(int customer) {
+        return starts[customer];
+    }
+
+    /**
+     * Gets the position after a customer's last transaction.
+     *
+     * @param customer the customer's position in the snapshot
+     * @return the last transaction position (exclusive)
+     */
+    int end(int customer) {
+        return starts[customer + 1];
+    }
+
+    /**
+     * Gets the day of a transaction.
+     *
+     * @param transaction the transaction's position
+     * @return the transaction date as days since 1970-01-01
+     */
+    int epochDay(int transaction) {
+        return epochDays[transaction];
+    }
+
+    /**
+     * Gets the amount of a transaction.
+     *
+     * @param transaction the transaction's position
+     * @return the amount in cents
+     */
+    long amountCents(int transaction) {
+        return amountCents[transaction];
+    }
+
+    /**
+     * Gets the time the snapshot was taken.
+     *
+     * @return the time loading started
+     */
+    Instant takenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Estimates the memory held by the columns.
+     *
+     * @return the size in bytes
+     */
+    long sizeInBytes() {
+        return customerIds.length * 12L + epochDays.length * 12L;
+    }
+
+    /**
+     * Collects transactions into growing columns. A customer's transactions must be added consecutively.
+     */
+    static final class Builder {
+
+        private final Instant takenAt;
+        private final long maxTransactions;
+        private long[] customerIds = new long[1024];
+        private int[] starts = new int[1025];
+        private int[] epochDays = new int[4096];
+        private long[] amountCents = new long[4096];
+        private int customers;
+        private int transactions;
+
+        /**
+         * Creates an empty builder.
+         *
+         * @param takenAt the time loading started
+         * @param maxTransactions the largest number of transactions the snapshot may hold
+         */
+        Builder(Instant takenAt, long maxTransactions) {
+            this.takenAt = takenAt;
+            this.maxTransactions = maxTransactions;
+        }
+
+        /**
+         * Adds a transaction, starting a new customer when its customer differs from the previous one.
+         *
+         * @param customerId the customer ID
+         * @param epochDay the transaction date as days since 1970-01-01
+         * @param cents the amount in cents
+         * @return this builder
+         * @throws SimulationTooLargeException if the snapshot already holds the largest number of transactions
+         */
+        Builder add(long customerId, int epochDay, long cents) {
+            if (transactions >= maxTransactions) {
+                throw new SimulationTooLargeException(maxTransactions);
+            }
+            if (customers == 0 || customerIds[customers - 1] != customerId) {
+                if (customers == customerIds.length) {
+                    customerIds = Arrays.copyOf(customerIds, customers * 2);
+                    starts = Arrays.copyOf(starts, customers * 2 + 1);
+                }
+                customerIds[customers] = customerId;
+                starts[customers] = transactions;
+                customers++;
+            }
+            if (transactions == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, transactions * 2);
+                amountCents = Arrays.copyOf(amountCents, transactions * 2);
+            }
+            epochDays[transactions] = epochDay;
+            amountCents[transactions] = cents;
+            transactions++;
+            return this;
+        }
+
+        /**
+         * Trims the columns to their contents.
+         *
+         * @return the snapshot
+         */
+        TransactionSnapshot build() {
+            int[] bounds = Arrays.copyOf(starts, customers + 1);
+            bounds[customers] = transactions;
+            return new TransactionSnapshot(Arrays.copyOf(customerIds, customers), bounds,
+                    Arrays.copyOf(epochDays, transactions), Arrays.copyOf(amountCents, transactions), takenAt);
+        }
+    }
+}
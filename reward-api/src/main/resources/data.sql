@@ -48,3 +48,17 @@ INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 125.0
 INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 155.00, '2026-01-12');
 INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 70.00, '2026-02-18');
 INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 240.00, '2026-03-22');
+
+-- Baseline change log entries for the seeded transactions
+INSERT INTO reward_change_log (customer_id, reward_month, changed_at)
+SELECT DISTINCT customer_id, DATE_FORMAT(transaction_date, '%Y-%m-01'), NOW() FROM transaction;
+
+-- Baseline monthly aggregates for the seeded transactions
+INSERT INTO customer_monthly_reward (customer_id, reward_month, points, transaction_count, updated_at)
+SELECT customer_id, DATE_FORMAT(transaction_date, '%Y-%m-01'),
+       SUM(CASE WHEN TRUNCATE(amount, 0) > 100 THEN 50 + (TRUNCATE(amount, 0) - 100) * 2
+                WHEN TRUNCATE(amount, 0) > 50 THEN TRUNCATE(amount, 0) - 50
+                ELSE 0 END),
+       COUNT(*), NOW()
+FROM transaction
+GROUP BY customer_id, DATE_FORMAT(transaction_date, '%Y-%m-01');
@@ -0,0 +1,105 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.config.Bulkhead;
+import com.charter.reward_api.config.BulkheadType;
+import com.charter.reward_api.config.Bulkheads;
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the bulkheads, with a listing bulkhead of one call slot, no queue and one connection.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkhead",
+        "reward.bulkhead.listing.max-concurrent=1",
+        "reward.bulkhead.listing.max-queue=0",
+        "reward.bulkhead.listing.max-wait=50ms",
+        "reward.bulkhead.listing.max-connections=1",
+        "reward.bulkhead.listing.retry-after=1500ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkheadIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Customer alice;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+    }
+
+    @Test
+    void testFullListingBulkhead_RejectsListingsButNotLookups() throws Exception {
+        Bulkhead listing = bulkheads.get(BulkheadType.LISTING);
+        listing.enter();
+        try {
+            mockMvc.perform(get("/api/rewards"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.status", is(503)));
+
+            mockMvc.perform(get("/api/rewards/" + alice.getId()))
+                    .andExpect(status().isOk());
+        } finally {
+            listing.exit();
+        }
+
+        mockMvc.perform(get("/api/rewards"))
+                .andExpect(status().isOk());
+        assertEquals(0, listing.getActiveCalls());
+        assertEquals(1.0, meterRegistry.get("reward.bulkhead.rejected")
+                .tags("bulkhead", "listing", "resource", "call").functionCounter().count());
+    }
+
+    @Test
+    void testExhaustedListingConnections_RejectsListings() throws Exception {
+        Bulkhead listing = bulkheads.get(BulkheadType.LISTING);
+        listing.acquireConnection();
+        try {
+            mockMvc.perform(get("/api/rewards"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+
+            mockMvc.perform(get("/api/rewards/" + alice.getId()))
+                    .andExpect(status().isOk());
+        } finally {
+            listing.releaseConnection();
+        }
+
+        assertEquals(0, listing.getActiveCalls());
+        assertEquals(0, listing.getActiveConnections());
+    }
+}
@@ -0,0 +1,120 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the second-level and query caches of customers: repeated reads skip the customer
+ * queries, and writes through JPA are visible to the next read.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:customer-cache")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerCacheIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Customer alice;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        Customer bob = customerRepository.save(new Customer("Bob Smith"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("75.00"), LocalDate.of(2024, 1, 12)));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testRepeatedListing_ServedFromQueryAndEntityCaches() throws Exception {
+        RequestBuilder listing = get("/api/rewards").param("view", "FULL").param("debug", "true");
+        long first = statements(listing);
+        long second = statements(listing);
+
+        assertEquals(first - 1, second, "the customer page should come from the query cache");
+        mockMvc.perform(get("/api/admin/rewards/customer-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].region", hasItem("customer")))
+                .andExpect(jsonPath("$[?(@.region == 'customer')].hits", contains(greaterThan(0))))
+                .andExpect(jsonPath("$[?(@.region == 'default-query-results-region')].hitRatio", contains(0.5)));
+    }
+
+    @Test
+    void testRewardWindows_CustomerCheckServedFromEntityCache() throws Exception {
+        RequestBuilder windows = get("/api/rewards/" + alice.getId() + "/windows")
+                .param("window", "2024-01-01/2024-01-31").param("debug", "true");
+        long first = statements(windows);
+        long second = statements(windows);
+
+        assertEquals(2, first, "the customer and the prefix sums are read once");
+        assertEquals(0, second, "the customer comes from the entity cache, the prefix sums from their index");
+        mockMvc.perform(get("/api/rewards/999999/windows").param("window", "2024-01-01/2024-01-31"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCustomerUpdate_VisibleToNextRead() throws Exception {
+        mockMvc.perform(get("/api/rewards"))
+                .andExpect(jsonPath("$.content[0].customerName", is("Alice Johnson")));
+
+        alice.setName("Alice Cooper");
+        customerRepository.save(alice);
+        mockMvc.perform(get("/api/rewards"))
+                .andExpect(jsonPath("$.content[0].customerName", is("Alice Cooper")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        customerRepository.save(new Customer("Carol White"));
+        mockMvc.perform(get("/api/rewards"))
+                .andExpect(jsonPath("$.totalElements", is(3)))
+                .andExpect(jsonPath("$.content[2].customerName", is("Carol White")));
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long statements = ((Number) JsonPath.read(body, "$.debug.statements")).longValue();
+        assertTrue(statements >= 0);
+        return statements;
+    }
+}
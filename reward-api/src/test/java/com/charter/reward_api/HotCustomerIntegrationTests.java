@@ -0,0 +1,160 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.HotCustomerCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for hot-customer detection: promotion, precomputed lookups, refresh on writes and cool-down.
+ * Alice is requested often and reads 3 transactions per lookup; Bob reads only one and never becomes hot.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-customers",
+        "reward.hot-customers.min-requests=3",
+        "reward.hot-customers.min-transactions=2",
+        "reward.hot-customers.decay-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HotCustomerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private HotCustomerCache hotCustomerCache;
+
+    private Customer alice;
+    private Customer bob;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            hotCustomerCache.decay();
+        }
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        bob = customerRepository.save(new Customer("Bob Smith"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("45.00"), LocalDate.of(2024, 1, 20)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("200.00"), LocalDate.of(2024, 2, 10)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("75.00"), LocalDate.of(2024, 1, 12)));
+    }
+
+    @Test
+    void testFrequentHeavyCustomer_ServedFromPrecomputedSummary() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/rewards/" + alice.getId())).andExpect(status().isOk());
+            mockMvc.perform(get("/api/rewards/" + bob.getId())).andExpect(status().isOk());
+        }
+        awaitWarm();
+
+        mockMvc.perform(get("/api/admin/rewards/hot-customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].customerId", is(alice.getId().intValue())));
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards[*].points", contains(90, 250)))
+                .andExpect(jsonPath("$.totalPoints", is(340)))
+                .andExpect(jsonPath("$.debug.statements", is(0)));
+        mockMvc.perform(get("/api/rewards/" + alice.getId())
+                        .param("from", "2024-01-01").param("to", "2024-01-31").param("view", "TOTALS")
+                        .param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards").doesNotExist())
+                .andExpect(jsonPath("$.totalPoints", is(90)))
+                .andExpect(jsonPath("$.debug.statements", is(0)));
+        mockMvc.perform(get("/api/rewards/" + alice.getId())
+                        .param("from", "2024-01-16").param("to", "2024-02-29").param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is(250)))
+                .andExpect(jsonPath("$.debug.statements", is(1)));
+    }
+
+    @Test
+    void testWriteToHotCustomer_AppliedToSummaryWithoutRecomputing() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/rewards/" + alice.getId())).andExpect(status().isOk());
+        }
+        awaitWarm();
+        Instant precomputedAt = precomputedAt();
+        Transaction januaryPurchase = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getAmount().compareTo(new BigDecimal("45.00")) == 0)
+                .findFirst().orElseThrow();
+
+        transactionRepository.save(new Transaction(alice, new BigDecimal("75.00"), LocalDate.of(2024, 3, 5)));
+        transactionRepository.delete(januaryPurchase);
+        awaitWarm();
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards[*].month", contains("JANUARY", "FEBRUARY", "MARCH")))
+                .andExpect(jsonPath("$.monthlyRewards[*].points", contains(90, 250, 25)))
+                .andExpect(jsonPath("$.totalPoints", is(365)))
+                .andExpect(jsonPath("$.debug.statements", is(0)));
+        assertEquals(precomputedAt, precomputedAt());
+    }
+
+    @Test
+    void testCooledDownCustomer_Evicted() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/rewards/" + alice.getId())).andExpect(status().isOk());
+        }
+        awaitWarm();
+
+        hotCustomerCache.decay();
+
+        mockMvc.perform(get("/api/admin/rewards/hot-customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("debug", "true"))
+                .andExpect(jsonPath("$.debug.statements", is(1)))
+                .andExpect(jsonPath("$.monthlyRewards[*].points", contains(90, 250)));
+    }
+
+    private Instant precomputedAt() {
+        return hotCustomerCache.getHotCustomers().stream()
+                .filter(hot -> hot.customerId().equals(alice.getId()))
+                .findFirst().orElseThrow().precomputedAt();
+    }
+
+    private void awaitWarm() {
+        await().atMost(Duration.ofSeconds(5)).until(() -> hotCustomerCache.getHotCustomers().stream()
+                .anyMatch(hot -> hot.customerId().equals(alice.getId()) && hot.warm()));
+        assertTrue(hotCustomerCache.getHotCustomers().stream().noneMatch(hot -> hot.customerId().equals(bob.getId())));
+    }
+}
@@ -0,0 +1,210 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.RewardAdjustment;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.RewardAdjustmentRepository;
+import com.charter.reward_api.repository.RewardMonthSnapshotRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.ClosedMonthPolicy;
+import com.charter.reward_api.service.MonthCloseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the month close: sealed snapshots, reads of sealed months and post-close adjustments.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:month-close;LOCK_TIMEOUT=10000",
+        "reward.month-close.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MonthCloseIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardMonthSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private RewardAdjustmentRepository adjustmentRepository;
+
+    @Autowired
+    private MonthCloseService monthCloseService;
+
+    @Autowired
+    private ClosedMonthPolicy closedMonthPolicy;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer alice;
+    private Transaction february;
+
+    /**
+     * Seeds Alice with 90 points in January 2024, 25 in February 2024 and 250 in the current, open month,
+     * then opens the months for the tests to seal.
+     */
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM reward_month_close");
+        jdbcTemplate.update("DELETE FROM reward_month_snapshot");
+        jdbcTemplate.update("DELETE FROM reward_adjustment");
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        february = transactionRepository.save(new Transaction(alice, new BigDecimal("75.00"), LocalDate.of(2024, 2, 10)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("200.00"), LocalDate.now()));
+        monthCloseService.closeMonths();
+    }
+
+    @Test
+    void testCloseMonths_SealsClosedMonthsOnce() throws Exception {
+        mockMvc.perform(post("/api/admin/rewards/month-close"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sealedMonths", hasItems("2024-01", "2024-02")))
+                .andExpect(jsonPath("$.firstSealed", is("2024-01")))
+                .andExpect(jsonPath("$.lastSealed", is(closedMonthPolicy.latestClosedMonth().toString())));
+        assertEquals(2, snapshotRepository.count());
+
+        mockMvc.perform(post("/api/admin/rewards/month-close"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sealedMonths", hasSize(0)));
+    }
+
+    @Test
+    void testCloseMonths_SealsOnlyMonthsOpenedByEarlierRun() {
+        jdbcTemplate.update("DELETE FROM reward_month_close");
+
+        assertEquals(List.of(), monthCloseService.closeMonths());
+        assertEquals(List.of("OPEN"), jdbcTemplate.queryForList(
+                "SELECT DISTINCT status FROM reward_month_close", String.class));
+        assertEquals(LocalDate.now().withDayOfMonth(1).plusMonths(1), jdbcTemplate.queryForObject(
+                "SELECT MAX(reward_month) FROM reward_month_close", LocalDate.class));
+
+        assertTrue(monthCloseService.closeMonths().containsAll(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2))));
+    }
+
+    @Test
+    void testSealedMonths_ReadFromSnapshotsNotTransactions() throws Exception {
+        monthCloseService.closeMonths();
+        jdbcTemplate.update("UPDATE transaction SET amount = 500 WHERE transaction_date = ?", LocalDate.of(2024, 1, 15));
+
+        for (String view : List.of("FULL", "MONTHLY", "TOTALS")) {
+            mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", view))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalPoints", is(365)));
+        }
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", "MONTHLY"))
+                .andExpect(jsonPath("$.monthlyRewards[*].points", contains(90, 25, 250)));
+        mockMvc.perform(get("/api/rewards").param("view", "MONTHLY"))
+                .andExpect(jsonPath("$.content[0].totalPoints", is(365)));
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId())
+                        .param("from", "2024-01-10").param("to", "2024-02-29").param("view", "MONTHLY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards[*].points", contains(850, 25)));
+    }
+
+    @Test
+    void testWritesToSealedMonths_RecordedAsAdjustments() throws Exception {
+        monthCloseService.closeMonths();
+
+        transactionRepository.save(new Transaction(alice, new BigDecimal("60.00"), LocalDate.of(2024, 1, 20)));
+        transactionRepository.delete(february);
+        transactionRepository.save(new Transaction(alice, new BigDecimal("90.00"), LocalDate.now()));
+
+        List<RewardAdjustment> adjustments = adjustmentRepository.findByCustomerIdOrderByIdAsc(alice.getId());
+        assertEquals(2, adjustments.size());
+        assertEquals(LocalDate.of(2024, 1, 1), adjustments.get(0).getRewardMonth());
+        assertEquals(10, adjustments.get(0).getPoints());
+        assertEquals(1, adjustments.get(0).getTransactionCount());
+        assertEquals(-25, adjustments.get(1).getPoints());
+        assertEquals(-1, adjustments.get(1).getTransactionCount());
+        assertEquals(2, snapshotRepository.count());
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", "MONTHLY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards[*].month", contains("JANUARY", LocalDate.now().getMonth().name())))
+                .andExpect(jsonPath("$.monthlyRewards[0].points", is(100)))
+                .andExpect(jsonPath("$.totalPoints", is(390)));
+    }
+
+    @Test
+    void testWriteUncommittedDuringClose_IsPartOfSnapshot() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch written = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> write = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                transactionRepository.save(new Transaction(alice, new BigDecimal("60.00"), LocalDate.of(2024, 1, 20)));
+                written.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+
+            Future<List<YearMonth>> close = executor.submit(monthCloseService::closeMonths);
+            assertThrows(TimeoutException.class, () -> close.get(500, TimeUnit.MILLISECONDS));
+            release.countDown();
+            write.get(10, TimeUnit.SECONDS);
+
+            assertTrue(close.get(10, TimeUnit.SECONDS).contains(YearMonth.of(2024, 1)));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, adjustmentRepository.count());
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", "MONTHLY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards[0].points", is(100)))
+                .andExpect(jsonPath("$.totalPoints", is(375)));
+    }
+}
@@ -0,0 +1,187 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.MonthCloseService;
+import com.charter.reward_api.service.RequestBatcher;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integration tests for single-customer lookups merged into one statement by the request batcher.
+ * Each test holds another load in flight, so new batches wait for the window; the window is long and a batch
+ * holds three customers, so three concurrent lookups always share one load.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:request-batching",
+        "reward.month-close.enabled=false",
+        "reward.batching.window=2s",
+        "reward.batching.max-batch-size=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestBatchingIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthCloseService monthCloseService;
+
+    @Autowired
+    private RequestBatcher requestBatcher;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private Customer alice;
+    private Customer bob;
+    private Customer carol;
+
+    /**
+     * Seeds Alice with 90 points in January 2024 and 250 in February 2024, Bob with 25 in January 2024 and
+     * Carol without transactions.
+     */
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM reward_month_close");
+        jdbcTemplate.update("DELETE FROM reward_month_snapshot");
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        bob = customerRepository.save(new Customer("Bob Smith"));
+        carol = customerRepository.save(new Customer("Carol White"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("200.00"), LocalDate.of(2024, 2, 10)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("75.00"), LocalDate.of(2024, 1, 20)));
+        monthCloseService.closeMonths();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentMonthlyLookups_ShareOneStatement() throws Exception {
+        long loads = requestBatcher.getLoadCount();
+
+        List<MvcResult> results = getConcurrently("MONTHLY", alice.getId(), bob.getId(), carol.getId());
+
+        assertEquals(loads + 2, requestBatcher.getLoadCount());
+        assertTotal(results.get(0), "Alice Johnson", 340);
+        assertTotal(results.get(1), "Bob Smith", 25);
+        assertTotal(results.get(2), "Carol White", 0);
+    }
+
+    @Test
+    void testConcurrentFullLookups_ReadTransactionsPerCustomer() throws Exception {
+        long loads = requestBatcher.getLoadCount();
+
+        List<MvcResult> results = getConcurrently("FULL", alice.getId(), bob.getId(), carol.getId());
+
+        assertEquals(loads + 1, requestBatcher.getLoadCount());
+        assertTotal(results.get(0), "Alice Johnson", 340);
+        assertTotal(results.get(1), "Bob Smith", 25);
+        assertTotal(results.get(2), "Carol White", 0);
+        assertEquals(List.of(90, 250), JsonPath.read(results.get(0).getResponse().getContentAsString(),
+                "$.monthlyRewards[*].points"));
+    }
+
+    @Test
+    void testUnknownCustomerInBatch_OnlyItIsNotFound() throws Exception {
+        long loads = requestBatcher.getLoadCount();
+
+        List<MvcResult> results = getConcurrently("MONTHLY", alice.getId(), carol.getId() + 1000, bob.getId());
+
+        assertEquals(loads + 2, requestBatcher.getLoadCount());
+        assertTotal(results.get(0), "Alice Johnson", 340);
+        assertEquals(404, results.get(1).getResponse().getStatus());
+        assertTotal(results.get(2), "Bob Smith", 25);
+    }
+
+    @Test
+    void testSealedMonths_ShareOneSnapshotStatement() throws Exception {
+        monthCloseService.closeMonths();
+        long loads = requestBatcher.getLoadCount();
+
+        List<MvcResult> results = getConcurrently("FULL", carol.getId(), bob.getId(), alice.getId());
+
+        assertEquals(loads + 2, requestBatcher.getLoadCount());
+        assertTotal(results.get(0), "Carol White", 0);
+        assertTotal(results.get(1), "Bob Smith", 25);
+        assertTotal(results.get(2), "Alice Johnson", 340);
+    }
+
+    /**
+     * Looks customers up concurrently while a load under another key is in flight, then ends that load.
+     */
+    private List<MvcResult> getConcurrently(String view, Long... customerIds) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> blocker = executor.submit(() -> requestBatcher.load("blocker", 0L, ids -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of();
+        }));
+        started.await(10, TimeUnit.SECONDS);
+
+        List<Future<MvcResult>> futures = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            futures.add(executor.submit(() -> mockMvc.perform(get("/api/rewards/" + customerId)
+                    .param("view", view)).andReturn()));
+        }
+        List<MvcResult> results = new ArrayList<>();
+        for (Future<MvcResult> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        release.countDown();
+        blocker.get(10, TimeUnit.SECONDS);
+        return results;
+    }
+
+    private static void assertTotal(MvcResult result, String customerName, int totalPoints) throws Exception {
+        String body = result.getResponse().getContentAsString();
+        assertEquals(200, result.getResponse().getStatus(), body);
+        assertEquals(customerName, JsonPath.read(body, "$.customerName"));
+        assertEquals(totalPoints, (int) JsonPath.read(body, "$.totalPoints"));
+    }
+}
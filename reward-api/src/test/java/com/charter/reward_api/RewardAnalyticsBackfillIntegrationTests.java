@@ -0,0 +1,54 @@
+package com.charter.reward_api;
+
+import com.charter.reward_core.RewardPointsCalculator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the startup backfill of the monthly analytics from transactions loaded by SQL,
+ * which bypass the write listeners.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-analytics-backfill",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.data-locations=classpath:analytics-backfill.sql",
+        "reward.month-close.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RewardAnalyticsBackfillIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMonthlyAnalytics_BackfilledFromSeededTransactions() throws Exception {
+        long points = jdbcTemplate.queryForList("SELECT amount FROM transaction", BigDecimal.class).stream()
+                .mapToLong(RewardPointsCalculator::calculatePoints)
+                .sum();
+        Integer transactions = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Integer.class);
+        Integer customers = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT customer_id) FROM transaction",
+                Integer.class);
+
+        mockMvc.perform(get("/api/rewards/analytics/monthly").param("from", "2023-01").param("to", "2024-12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is((int) points)))
+                .andExpect(jsonPath("$.totalTransactions", is(transactions)))
+                .andExpect(jsonPath("$.activeCustomers", is(customers)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.RewardAnalyticsService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the population-wide monthly analytics: rollups maintained on write and active
+ * customers estimated from sketches, both before and after the sketches are flushed.
+ * Sketches never forget a customer, so every test writes to its own year.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-analytics",
+        "reward.month-close.enabled=false",
+        "reward.analytics.stripes=4",
+        "reward.analytics.sketch-flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RewardAnalyticsIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testMonthlyAnalytics_ServedFromRollupsBeforeAndAfterFlush() throws Exception {
+        seed(2019);
+
+        String body = expectSeededAnalytics(get("/api/rewards/analytics/monthly")
+                .param("from", "2019-01").param("to", "2019-03").param("debug", "true"));
+        assertEquals(2, ((Number) JsonPath.read(body, "$.debug.statements")).intValue());
+
+        analyticsService.flush();
+        expectSeededAnalytics(get("/api/rewards/analytics/monthly").param("from", "2019-01").param("to", "2019-03"));
+    }
+
+    @Test
+    void testMonthlyAnalytics_FollowsDeletes() throws Exception {
+        transactionRepository.delete(seed(2018));
+
+        mockMvc.perform(get("/api/rewards/analytics/monthly").param("from", "2018-01").param("to", "2018-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months[0].points", is(115)))
+                .andExpect(jsonPath("$.months[0].transactions", is(2)));
+    }
+
+    @Test
+    void testMonthlyAnalytics_InvalidRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rewards/analytics/monthly").param("from", "2019-03").param("to", "2019-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/rewards/analytics/monthly").param("from", "2000-01").param("to", "2019-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Range from 2000-01 to 2019-01 exceeds 120 months")));
+        mockMvc.perform(get("/api/rewards/analytics/monthly").param("from", "2019-13"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Seeds three customers active in January of a year, one of them also in February.
+     *
+     * @return the transaction of the third customer
+     */
+    private Transaction seed(int year) {
+        Customer alice = customerRepository.save(new Customer("Alice Johnson"));
+        Customer bob = customerRepository.save(new Customer("Bob Smith"));
+        Customer carol = customerRepository.save(new Customer("Carol White"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(year, 1, 15)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("75.00"), LocalDate.of(year, 1, 20)));
+        Transaction carolJanuary = transactionRepository.save(new Transaction(carol, new BigDecimal("200.00"),
+                LocalDate.of(year, 1, 31)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(year, 2, 1)));
+        return carolJanuary;
+    }
+
+    private String expectSeededAnalytics(RequestBuilder request) throws Exception {
+        ResultActions result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is(455)))
+                .andExpect(jsonPath("$.totalTransactions", is(4)))
+                .andExpect(jsonPath("$.activeCustomers", is(3)))
+                .andExpect(jsonPath("$.months.length()", is(3)))
+                .andExpect(jsonPath("$.months[0].month", is("2019-01")))
+                .andExpect(jsonPath("$.months[0].points", is(365)))
+                .andExpect(jsonPath("$.months[0].activeCustomers", is(3)))
+                .andExpect(jsonPath("$.months[1].points", is(90)))
+                .andExpect(jsonPath("$.months[1].activeCustomers", is(1)))
+                .andExpect(jsonPath("$.months[2].transactions", is(0)))
+                .andExpect(jsonPath("$.months[2].activeCustomers", is(0)));
+        return result.andReturn().getResponse().getContentAsString();
+    }
+}
@@ -1,8 +1,16 @@
 package com.charter.reward_api;
 
+import com.charter.reward_api.model.AggregateRebuildCheckpoint;
+import com.charter.reward_api.model.AggregateRebuildJob;
 import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.MonthlyRewardAggregate;
+import com.charter.reward_api.model.RebuildStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.AggregateRebuildCheckpointRepository;
+import com.charter.reward_api.repository.AggregateRebuildJobRepository;
 import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.MonthlyRewardAggregateRepository;
 import com.charter.reward_api.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +21,20 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,12 +46,24 @@ class RewardApiIntegrationTests {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private CustomerRepository customerRepository;
 
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private MonthlyRewardAggregateRepository aggregateRepository;
+
+    @Autowired
+    private AggregateRebuildJobRepository rebuildJobRepository;
+
+    @Autowired
+    private AggregateRebuildCheckpointRepository checkpointRepository;
+
     @BeforeEach
     void setUp() {
         transactionRepository.deleteAll();
@@ -119,6 +148,225 @@ class RewardApiIntegrationTests {
                 .andExpect(jsonPath("$.last", is(false)));
     }
 
+    @Test
+    void testGetRewardChanges_ReturnsOnlyChangesSinceVersion() throws Exception {
+        Customer bob = customerRepository.findAll().get(1);
+        long version = currentHighWaterMark();
+
+        transactionRepository.save(new Transaction(bob, new BigDecimal("130.00"), LocalDate.of(2024, 2, 5)));
+
+        mockMvc.perform(get("/api/rewards/changes").param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].customerId", is(bob.getId().intValue())))
+                .andExpect(jsonPath("$.changes[0].month", is("FEBRUARY")))
+                .andExpect(jsonPath("$.changes[0].points", is(110)))
+                .andExpect(jsonPath("$.since", is(String.valueOf(version))))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void testGetRewardChanges_DeletedMonthReportsZeroPoints() throws Exception {
+        long version = currentHighWaterMark();
+
+        transactionRepository.deleteAll(transactionRepository.findAll().stream()
+                .filter(t -> t.getCustomer().getName().equals("Bob Smith"))
+                .toList());
+
+        mockMvc.perform(get("/api/rewards/changes").param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].month", is("JANUARY")))
+                .andExpect(jsonPath("$.changes[0].points", is(0)));
+    }
+
+    @Test
+    void testGetRewardChanges_Limit() throws Exception {
+        mockMvc.perform(get("/api/rewards/changes")
+                        .param("since", "0")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void testPagination_WithoutTotals() throws Exception {
+        mockMvc.perform(get("/api/rewards")
+                        .param("page", "0")
+                        .param("size", "1")
+                        .param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.totalExact", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void testPagination_EstimatedTotals() throws Exception {
+        mockMvc.perform(get("/api/rewards")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .param("total", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.totalExact", is(false)))
+                .andExpect(jsonPath("$.totalElements").exists());
+    }
+
+    @Test
+    void testPagination_InvalidTotalMode() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("total", "SOMETIMES"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid parameter: total")));
+    }
+
+    @Test
+    void testGetCustomerRewards_TotalsView() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", "TOTALS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName", is("Alice Johnson")))
+                .andExpect(jsonPath("$.totalPoints", is(340)))
+                .andExpect(jsonPath("$.monthlyRewards").doesNotExist());
+    }
+
+    @Test
+    void testGetCustomerRewards_MonthlyView() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId())
+                        .param("view", "MONTHLY")
+                        .param("from", "2024-01-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyRewards", hasSize(2)))
+                .andExpect(jsonPath("$.monthlyRewards[0].year", is(2024)))
+                .andExpect(jsonPath("$.monthlyRewards[0].month", is("JANUARY")))
+                .andExpect(jsonPath("$.monthlyRewards[0].points", is(0)))
+                .andExpect(jsonPath("$.monthlyRewards[1].month", is("FEBRUARY")))
+                .andExpect(jsonPath("$.monthlyRewards[1].points", is(250)))
+                .andExpect(jsonPath("$.totalPoints", is(250)));
+    }
+
+    @Test
+    void testGetAllCustomerRewards_TotalsView() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("view", "TOTALS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].totalPoints", is(340)))
+                .andExpect(jsonPath("$.content[1].totalPoints", is(25)))
+                .andExpect(jsonPath("$.content[0].monthlyRewards").doesNotExist());
+    }
+
+    @Test
+    void testGetAllCustomerRewards_InvalidView() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("view", "SUMMARY"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid parameter: view")));
+    }
+
+    @Test
+    void testRequestCost_ServerTimingHeader() throws Exception {
+        mockMvc.perform(get("/api/rewards"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("customers;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("transactions;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("serialization;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")))
+                .andExpect(jsonPath("$.debug").doesNotExist());
+    }
+
+    @Test
+    void testRequestCost_DebugBody() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is(340)))
+                .andExpect(jsonPath("$.debug.phases.customers").exists())
+                .andExpect(jsonPath("$.debug.phases.serialization").exists())
+                .andExpect(jsonPath("$.debug.statements", is(1)))
+                .andExpect(jsonPath("$.debug.rowsRead", greaterThan(2)));
+    }
+
+    @Test
+    void testRequestCost_CustomerSummaryInOneStatement() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+        Customer carol = customerRepository.save(new Customer("Carol White"));
+
+        for (String view : List.of("FULL", "MONTHLY", "TOTALS")) {
+            mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", view).param("debug", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalPoints", is(340)))
+                    .andExpect(jsonPath("$.debug.statements", is(1)));
+            mockMvc.perform(get("/api/rewards/" + carol.getId()).param("view", view).param("debug", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.customerName", is("Carol White")))
+                    .andExpect(jsonPath("$.totalPoints", is(0)))
+                    .andExpect(jsonPath("$.debug.statements", is(1)));
+            mockMvc.perform(get("/api/rewards/999999").param("view", view))
+                    .andExpect(status().isNotFound())
+                    .andExpect(header().string("Server-Timing", containsString("desc=\"1 statements, 0 rows\"")));
+        }
+    }
+
+    @Test
+    void testGetRewardWindows_AlignedAndPartialWindows() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/windows")
+                        .param("window", "2024-01-01/2024-02-29")
+                        .param("window", "2024-01-16/2024-02-29")
+                        .param("window", "2024-01-01/2024-02-09")
+                        .param("window", "2024-01-15/2024-01-15")
+                        .param("window", "2023-01-01/2023-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId", is(alice.getId().intValue())))
+                .andExpect(jsonPath("$.windows", hasSize(5)))
+                .andExpect(jsonPath("$.windows[0].from", is("2024-01-01")))
+                .andExpect(jsonPath("$.windows[0].points", is(340)))
+                .andExpect(jsonPath("$.windows[1].points", is(250)))
+                .andExpect(jsonPath("$.windows[2].points", is(90)))
+                .andExpect(jsonPath("$.windows[3].points", is(90)))
+                .andExpect(jsonPath("$.windows[4].points", is(0)));
+    }
+
+    @Test
+    void testGetRewardWindows_ReflectsNewTransactions() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+        String path = "/api/rewards/" + alice.getId() + "/windows";
+
+        mockMvc.perform(get(path).param("window", "2024-01-01/2024-02-29"))
+                .andExpect(jsonPath("$.windows[0].points", is(340)));
+
+        transactionRepository.save(new Transaction(alice, new BigDecimal("110.00"), LocalDate.of(2024, 2, 20)));
+
+        mockMvc.perform(get(path).param("window", "2024-01-01/2024-02-29"))
+                .andExpect(jsonPath("$.windows[0].points", is(410)));
+    }
+
+    @Test
+    void testGetRewardWindows_InvalidRequests() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+        String path = "/api/rewards/" + alice.getId() + "/windows";
+
+        mockMvc.perform(get(path).param("window", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid parameter: window")));
+        mockMvc.perform(get(path))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Missing parameter: window")));
+        mockMvc.perform(get(path).param("window", "2024-03-01/2024-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/rewards/999999/windows").param("window", "2024-01-01/2024-01-31"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testInvalidDateRange() throws Exception {
         Customer alice = customerRepository.findAll().get(0);
@@ -176,6 +424,100 @@ class RewardApiIntegrationTests {
                 .andExpect(jsonPath("$.size", is(100)));
     }
 
+    @Test
+    void testMonthlyAggregates_MaintainedOnTransactionWrites() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+
+        List<MonthlyRewardAggregate> aggregates = aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(alice.getId());
+        assertEquals(2, aggregates.size());
+        assertEquals(90, aggregates.get(0).getPoints());
+        assertEquals(2, aggregates.get(0).getTransactionCount());
+        assertEquals(250, aggregates.get(1).getPoints());
+
+        Transaction february = transactionRepository.findAll().stream()
+                .filter(t -> t.getAmount().compareTo(new BigDecimal("200.00")) == 0)
+                .findFirst().orElseThrow();
+        february.setAmount(new BigDecimal("80.00"));
+        transactionRepository.save(february);
+
+        aggregates = aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(alice.getId());
+        assertEquals(30, aggregates.get(1).getPoints());
+        assertEquals(1, aggregates.get(1).getTransactionCount());
+    }
+
+    @Test
+    void testAggregateRebuild_RestoresAggregates() throws Exception {
+        Customer alice = customerRepository.findAll().get(0);
+        aggregateRepository.deleteAll();
+
+        mockMvc.perform(post("/api/admin/rewards/aggregates/rebuild").param("fresh", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.totalRanges", is(2)));
+        awaitRebuild();
+
+        mockMvc.perform(get("/api/admin/rewards/aggregates/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.completedRanges", is(2)))
+                .andExpect(jsonPath("$.transactionsProcessed", is(4)));
+
+        List<MonthlyRewardAggregate> aggregates = aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(alice.getId());
+        assertEquals(2, aggregates.size());
+        assertEquals(90, aggregates.get(0).getPoints());
+        assertEquals(250, aggregates.get(1).getPoints());
+    }
+
+    @Test
+    void testAggregateRebuild_ResumeSkipsCompletedRanges() throws Exception {
+        List<Customer> customers = customerRepository.findAll();
+        Customer alice = customers.get(0);
+        Customer bob = customers.get(1);
+        AggregateRebuildJob job = new AggregateRebuildJob(alice.getId(), bob.getId(), 1, 2, Instant.now());
+        job.setStatus(RebuildStatus.CANCELLED);
+        job = rebuildJobRepository.save(job);
+        checkpointRepository.save(new AggregateRebuildCheckpoint(job.getId(), alice.getId(), alice.getId(), 3, Instant.now()));
+        aggregateRepository.deleteAll();
+
+        mockMvc.perform(post("/api/admin/rewards/aggregates/rebuild"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId", is(job.getId().intValue())));
+        awaitRebuild();
+
+        mockMvc.perform(get("/api/admin/rewards/aggregates/rebuild"))
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.completedRanges", is(2)))
+                .andExpect(jsonPath("$.transactionsProcessed", is(4)));
+        assertTrue(aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(alice.getId()).isEmpty());
+        assertEquals(1, aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(bob.getId()).size());
+    }
+
+    @Test
+    void testAggregateRebuild_CancelWithoutRunningJob() throws Exception {
+        awaitRebuild();
+
+        mockMvc.perform(delete("/api/admin/rewards/aggregates/rebuild"))
+                .andExpect(status().isConflict());
+    }
+
+    private void awaitRebuild() throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            String body = mockMvc.perform(get("/api/admin/rewards/aggregates/rebuild"))
+                    .andReturn().getResponse().getContentAsString();
+            if (body.isEmpty() || !"RUNNING".equals(objectMapper.readTree(body).path("status").asText())) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Aggregate rebuild did not finish");
+    }
+
+    private long currentHighWaterMark() throws Exception {
+        String body = mockMvc.perform(get("/api/rewards/changes").param("since", "0").param("limit", "10000"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("highWaterMark").asLong();
+    }
+
     @Test
     void testGetCustomerRewards_SameDateRange() throws Exception {
         Customer alice = customerRepository.findAll().get(0);
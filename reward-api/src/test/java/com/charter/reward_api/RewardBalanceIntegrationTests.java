@@ -0,0 +1,227 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.exception.InsufficientPointsException;
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.LedgerEntryType;
+import com.charter.reward_api.model.RewardLedgerEntry;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.RewardLedgerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.RewardBalanceService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for redeemable points balances: earned points kept current by transaction writes,
+ * redemptions under concurrency, and expiry of the oldest points.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-balance",
+        "reward.month-close.enabled=false",
+        "reward.balance.expiry.enabled=false",
+        "reward.balance.max-retries=50"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RewardBalanceIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardLedgerRepository ledgerRepository;
+
+    @Autowired
+    private RewardBalanceService balanceService;
+
+    private Customer alice;
+    private Transaction older;
+
+    /**
+     * Seeds Alice with 250 points earned three years ago and 90 points earned this month.
+     */
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM reward_ledger");
+        jdbcTemplate.update("DELETE FROM reward_balance");
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        older = transactionRepository.save(new Transaction(alice, new BigDecimal("200.00"),
+                LocalDate.now().minusYears(3)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.now().withDayOfMonth(1)));
+    }
+
+    @Test
+    void testBalance_FollowsTransactionWritesAndIsReadByPrimaryKey() throws Exception {
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.earnedPoints", is(340)))
+                .andExpect(jsonPath("$.balance", is(340)));
+
+        transactionRepository.save(new Transaction(alice, new BigDecimal("75.00"), LocalDate.now().withDayOfMonth(1)));
+        transactionRepository.delete(older);
+        String body = mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance").param("debug", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.earnedPoints", is(115)))
+                .andExpect(jsonPath("$.balance", is(115)))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(1, ((Number) JsonPath.read(body, "$.debug.statements")).intValue());
+
+        mockMvc.perform(get("/api/rewards/999999/balance"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testBalance_CreatedFromAggregatesOnFirstRead() throws Exception {
+        jdbcTemplate.update("DELETE FROM reward_balance");
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.earnedPoints", is(340)))
+                .andExpect(jsonPath("$.redeemedPoints", is(0)));
+    }
+
+    @Test
+    void testRedemption_DebitsBalanceAndRecordsLedgerEntry() throws Exception {
+        mockMvc.perform(post("/api/rewards/" + alice.getId() + "/redemptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"points\": 100, \"reference\": \"order-17\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.redeemedPoints", is(100)))
+                .andExpect(jsonPath("$.balance", is(240)));
+
+        mockMvc.perform(post("/api/rewards/" + alice.getId() + "/redemptions")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 241}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message",
+                        is("Customer " + alice.getId() + " cannot redeem 241 points, balance is 240")));
+        mockMvc.perform(post("/api/rewards/" + alice.getId() + "/redemptions")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("points Points must be > 0")));
+        mockMvc.perform(post("/api/rewards/999999/redemptions")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 1}"))
+                .andExpect(status().isNotFound());
+
+        List<RewardLedgerEntry> ledger = ledgerRepository.findByCustomerIdOrderByIdAsc(alice.getId());
+        assertEquals(1, ledger.size());
+        assertEquals(LedgerEntryType.REDEMPTION, ledger.get(0).getType());
+        assertEquals(100, ledger.get(0).getPoints());
+        assertEquals("order-17", ledger.get(0).getReference());
+    }
+
+    @Test
+    void testRemovedRedeemedTransaction_WritesOffShortfallAndRecordsClawback() throws Exception {
+        balanceService.redeem(alice.getId(), 300, null);
+
+        transactionRepository.delete(older);
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance"))
+                .andExpect(jsonPath("$.earnedPoints", is(90)))
+                .andExpect(jsonPath("$.redeemedPoints", is(300)))
+                .andExpect(jsonPath("$.writtenOffPoints", is(210)))
+                .andExpect(jsonPath("$.balance", is(0)));
+        List<RewardLedgerEntry> ledger = ledgerRepository.findByCustomerIdOrderByIdAsc(alice.getId());
+        assertEquals(2, ledger.size());
+        assertEquals(LedgerEntryType.CLAWBACK, ledger.get(1).getType());
+        assertEquals(210, ledger.get(1).getPoints());
+
+        transactionRepository.save(new Transaction(alice, new BigDecimal("75.00"), LocalDate.now().withDayOfMonth(1)));
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance"))
+                .andExpect(jsonPath("$.balance", is(25)));
+        mockMvc.perform(post("/api/rewards/" + alice.getId() + "/redemptions")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"points\": 25}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(0)));
+        assertEquals(3, ledgerRepository.findByCustomerIdOrderByIdAsc(alice.getId()).size());
+    }
+
+    @Test
+    void testConcurrentRedemptions_NeverOverdrawBalance() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        balanceService.redeem(alice.getId(), 50, null);
+                        return true;
+                    } catch (InsufficientPointsException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            long accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get() ? 1 : 0;
+            }
+            assertEquals(6, accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(40, balanceService.getBalance(alice.getId()).balance());
+        assertEquals(6, ledgerRepository.findByCustomerIdOrderByIdAsc(alice.getId()).size());
+    }
+
+    @Test
+    void testExpiry_ConsumesOldestPointsFirst() throws Exception {
+        balanceService.redeem(alice.getId(), 100, null);
+
+        mockMvc.perform(post("/api/admin/rewards/expirations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", is(1)))
+                .andExpect(jsonPath("$.points", is(150)));
+        mockMvc.perform(post("/api/admin/rewards/expirations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points", is(0)));
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId() + "/balance"))
+                .andExpect(jsonPath("$.earnedPoints", is(340)))
+                .andExpect(jsonPath("$.redeemedPoints", is(100)))
+                .andExpect(jsonPath("$.expiredPoints", is(150)))
+                .andExpect(jsonPath("$.balance", is(90)));
+        List<RewardLedgerEntry> ledger = ledgerRepository.findByCustomerIdOrderByIdAsc(alice.getId());
+        assertEquals(LedgerEntryType.EXPIRY, ledger.get(1).getType());
+        assertEquals(150, ledger.get(1).getPoints());
+    }
+}
@@ -0,0 +1,88 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.dto.DateWindow;
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.RewardService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for cache coherence between two application instances sharing one database.
+ * Each instance caches reward data in process and learns about the other's writes only from the change log.
+ */
+class RewardCacheCoherenceIntegrationTests {
+
+    private static final List<DateWindow> FIRST_QUARTER =
+            List.of(new DateWindow(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)));
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(RewardApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:coherence;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "reward.cache-sync.poll-interval=100ms")
+                .run();
+    }
+
+    @Test
+    void testWritesOnOneNode_EvictCachesOnTheOther() {
+        Customer alice = nodeA.getBean(CustomerRepository.class).save(new Customer("Alice Johnson"));
+        nodeA.getBean(TransactionRepository.class)
+                .save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        assertEquals(90, windowPoints(nodeB, alice.getId()));
+        assertEquals(90, windowPoints(nodeA, alice.getId()));
+
+        nodeA.getBean(TransactionRepository.class)
+                .save(new Transaction(alice, new BigDecimal("75.00"), LocalDate.of(2024, 2, 10)));
+        assertEquals(115, windowPoints(nodeA, alice.getId()));
+        await().atMost(Duration.ofSeconds(5)).until(() -> windowPoints(nodeB, alice.getId()) == 115);
+
+        nodeB.getBean(TransactionRepository.class)
+                .save(new Transaction(alice, new BigDecimal("200.00"), LocalDate.of(2024, 3, 5)));
+        await().atMost(Duration.ofSeconds(5)).until(() -> windowPoints(nodeA, alice.getId()) == 365);
+
+        MeterRegistry registryB = nodeB.getBean(MeterRegistry.class);
+        assertTrue(registryB.get("reward.cache-sync.invalidations").functionCounter().count() >= 1);
+        assertTrue(registryB.get("reward.cache-sync.staleness").gauge().value() < 5);
+        assertEquals(0, registryB.get("reward.cache-sync.failures").functionCounter().count());
+    }
+
+    private static long windowPoints(ConfigurableApplicationContext node, Long customerId) {
+        return node.getBean(RewardService.class).getRewardWindows(customerId, FIRST_QUARTER)
+                .windows().get(0).points();
+    }
+}
@@ -0,0 +1,177 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.RewardTotalWriter;
+import com.charter.reward_api.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the reward listing sorted by points: all-time and calendar-year totals maintained on
+ * write, month and arbitrary ranges sorted in the database, and keyset cursors over (points, customer ID).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-ranking",
+        "reward.month-close.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RewardRankingIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardTotalWriter totalWriter;
+
+    private Customer alice;
+    private Customer bob;
+    private Customer carol;
+    private Customer dave;
+    private Customer erin;
+    private Customer frank;
+
+    /**
+     * Seeds six customers. All time: Alice 340 (250 in 2023), Frank 290, Bob 170, Carol 25, Dave 0 and Erin
+     * without transactions. March 2024: Frank 290, Alice 90, Carol 25 (on the 20th).
+     */
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM reward_total");
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        bob = customerRepository.save(new Customer("Bob Smith"));
+        carol = customerRepository.save(new Customer("Carol White"));
+        dave = customerRepository.save(new Customer("Dave Brown"));
+        erin = customerRepository.save(new Customer("Erin Green"));
+        frank = customerRepository.save(new Customer("Frank Black"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 3, 10)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("200.00"), LocalDate.of(2023, 6, 1)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("160.00"), LocalDate.of(2024, 1, 5)));
+        transactionRepository.save(new Transaction(carol, new BigDecimal("75.00"), LocalDate.of(2024, 3, 20)));
+        transactionRepository.save(new Transaction(carol, new BigDecimal("40.00"), LocalDate.of(2024, 3, 21)));
+        transactionRepository.save(new Transaction(dave, new BigDecimal("30.00"), LocalDate.of(2024, 2, 1)));
+        transactionRepository.save(new Transaction(frank, new BigDecimal("220.00"), LocalDate.of(2024, 3, 31)));
+    }
+
+    @Test
+    void testSortedByAllTimePoints_ContinuesFromCursorThroughCustomersWithoutPoints() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "2").param("view", "TOTALS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(alice), id(frank))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(340, 290)))
+                .andExpect(jsonPath("$.totalElements", is(6)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("290:" + frank.getId())));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "2")
+                        .param("after", "290:" + frank.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(bob), id(carol))))
+                .andExpect(jsonPath("$.nextCursor", is("25:" + carol.getId())));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "2")
+                        .param("after", "25:" + carol.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(dave), id(erin))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(0, 0)))
+                .andExpect(jsonPath("$.last", is(true)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "2").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(bob), id(carol))));
+    }
+
+    @Test
+    void testSortedByPoints_FollowsTransactionWrites() throws Exception {
+        transactionRepository.save(new Transaction(bob, new BigDecimal("300.00"), LocalDate.of(2024, 7, 4)));
+        transactionRepository.deleteAll(transactionRepository.findByCustomerIdsAndDateRange(
+                List.of(alice.getId()), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31)));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3").param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(bob), id(frank), id(alice))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(620, 290, 90)));
+    }
+
+    @Test
+    void testSortedByPoints_WithinYearMonthsAndArbitraryRange() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "4")
+                        .param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(frank), id(bob), id(alice), id(carol))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(290, 170, 90, 25)));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "4")
+                        .param("from", "2024-03-01").param("to", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(frank), id(alice), id(carol), id(bob))))
+                .andExpect(jsonPath("$.nextCursor", is("0:" + bob.getId())));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3")
+                        .param("from", "2024-03-15").param("to", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(frank), id(carol), id(alice))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(290, 25, 0)));
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3")
+                        .param("from", "2024-03-15").param("to", "2024-03-31").param("after", "25:" + carol.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(alice), id(bob), id(dave))));
+    }
+
+    @Test
+    void testTotalsRebuiltFromAggregates() throws Exception {
+        jdbcTemplate.update("DELETE FROM reward_total");
+        transactionTemplate.executeWithoutResult(status -> totalWriter.rebuildRange(0, Long.MAX_VALUE));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3")
+                        .param("from", "2023-01-01").param("to", "2023-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(id(alice), id(bob), id(carol))))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(250, 0, 0)));
+    }
+
+    @Test
+    void testSortedByPoints_MalformedCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("after", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static int id(Customer customer) {
+        return customer.getId().intValue();
+    }
+}
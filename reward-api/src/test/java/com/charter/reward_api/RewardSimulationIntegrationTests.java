@@ -0,0 +1,147 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for reward rule simulations over the in-memory transaction snapshot.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-simulation",
+        "reward.month-close.enabled=false",
+        "reward.simulation.max-transactions=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RewardSimulationIntegrationTests {
+
+    private static final String SCENARIOS = "\"scenarios\": [" +
+            "{\"name\": \"platinum\", \"tiers\": [{\"aboveDollars\": 50, \"pointsPerDollar\": 1}, " +
+            "{\"aboveDollars\": 100, \"pointsPerDollar\": 2}, {\"aboveDollars\": 150, \"pointsPerDollar\": 3}]}, " +
+            "{\"name\": \"flat\", \"tiers\": [{\"aboveDollars\": 0, \"pointsPerDollar\": 1}]}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Customer alice;
+    private Customer bob;
+    private Customer carol;
+
+    /**
+     * Seeds Alice with $120 in January and $200 in February (340 points), Bob with $75 in January (25 points)
+     * and Carol with $40 in February (no points).
+     */
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        bob = customerRepository.save(new Customer("Bob Smith"));
+        carol = customerRepository.save(new Customer("Carol White"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("200.99"), LocalDate.of(2024, 2, 10)));
+        transactionRepository.save(new Transaction(bob, new BigDecimal("75.00"), LocalDate.of(2024, 1, 20)));
+        transactionRepository.save(new Transaction(carol, new BigDecimal("40.00"), LocalDate.of(2024, 2, 5)));
+    }
+
+    @Test
+    void testSimulation_ComparesEveryScenarioWithCurrentRule() throws Exception {
+        mockMvc.perform(post("/api/admin/rewards/simulations").param("refresh", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content("{" + SCENARIOS + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", is(4)))
+                .andExpect(jsonPath("$.customers", is(3)))
+                .andExpect(jsonPath("$.currentPoints", is(365)))
+                .andExpect(jsonPath("$.scenarios[0].name", is("platinum")))
+                .andExpect(jsonPath("$.scenarios[0].points", is(415)))
+                .andExpect(jsonPath("$.scenarios[0].delta", is(50)))
+                .andExpect(jsonPath("$.scenarios[0].customersGaining", is(1)))
+                .andExpect(jsonPath("$.scenarios[0].topCustomers[*].customerId", contains(id(alice))))
+                .andExpect(jsonPath("$.scenarios[0].topCustomers[0].currentPoints", is(340)))
+                .andExpect(jsonPath("$.scenarios[0].topCustomers[0].points", is(390)))
+                .andExpect(jsonPath("$.scenarios[1].points", is(435)))
+                .andExpect(jsonPath("$.scenarios[1].customersGaining", is(2)))
+                .andExpect(jsonPath("$.scenarios[1].customersLosing", is(1)))
+                .andExpect(jsonPath("$.scenarios[1].topCustomers[*].customerId", contains(id(bob), id(carol), id(alice))))
+                .andExpect(jsonPath("$.scenarios[1].topCustomers[*].delta", contains(50, 40, -20)));
+    }
+
+    @Test
+    void testSimulation_FiltersDatesAndReusesSnapshotUntilRefreshed() throws Exception {
+        String request = "{\"from\": \"2024-02-01\", \"to\": \"2024-02-29\", \"topCustomers\": 1, " + SCENARIOS + "}";
+        mockMvc.perform(post("/api/admin/rewards/simulations").param("refresh", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", is(2)))
+                .andExpect(jsonPath("$.currentPoints", is(250)))
+                .andExpect(jsonPath("$.scenarios[1].points", is(240)))
+                .andExpect(jsonPath("$.scenarios[1].topCustomers[*].customerId", contains(id(alice))));
+
+        transactionRepository.save(new Transaction(bob, new BigDecimal("110.00"), LocalDate.of(2024, 2, 20)));
+        mockMvc.perform(post("/api/admin/rewards/simulations")
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", is(2)));
+        mockMvc.perform(post("/api/admin/rewards/simulations").param("refresh", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", is(3)))
+                .andExpect(jsonPath("$.currentPoints", is(320)));
+    }
+
+    @Test
+    void testSimulation_InvalidRequest_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/admin/rewards/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scenarios\": [{\"name\": \"bad\", \"tiers\": [" +
+                                "{\"aboveDollars\": 100, \"pointsPerDollar\": 2}, {\"aboveDollars\": 50, \"pointsPerDollar\": 1}]}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Scenario bad: Tier thresholds must be strictly ascending")));
+        mockMvc.perform(post("/api/admin/rewards/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scenarios\": []}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/rewards/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"from\": \"2024-03-01\", \"to\": \"2024-02-01\", " + SCENARIOS + "}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSimulation_MoreTransactionsThanLimit_ReturnsUnprocessableEntity() throws Exception {
+        transactionRepository.save(new Transaction(bob, new BigDecimal("110.00"), LocalDate.of(2024, 2, 20)));
+        transactionRepository.save(new Transaction(carol, new BigDecimal("60.00"), LocalDate.of(2024, 3, 2)));
+
+        mockMvc.perform(post("/api/admin/rewards/simulations").param("refresh", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content("{" + SCENARIOS + "}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message", is("Simulations are limited to 5 transactions")));
+    }
+
+    private static int id(Customer customer) {
+        return customer.getId().intValue();
+    }
+}
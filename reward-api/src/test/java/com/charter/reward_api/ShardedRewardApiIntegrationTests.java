@@ -0,0 +1,334 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.dto.AggregateRebuildStatusDTO;
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.MonthlyRewardAggregate;
+import com.charter.reward_api.model.RebuildStatus;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.MonthlyRewardAggregateRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.RewardAggregateRebuildService;
+import com.charter.reward_api.service.ShardRouter;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Reward API sharded by customer ID over three in-memory H2 databases.
+ */
+@SpringBootTest(properties = {
+        "reward.sharding.strategy=HASH",
+        "reward.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "reward.sharding.shards[0].username=sa",
+        "reward.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "reward.sharding.shards[1].username=sa",
+        "reward.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "reward.sharding.shards[2].username=sa"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedRewardApiIntegrationTests {
+
+    private static final int CUSTOMERS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRewardAggregateRepository aggregateRepository;
+
+    @Autowired
+    private RewardAggregateRebuildService rebuildService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Seeds customers 1 to 7 on their owning shards; customer i has one $(100 + i) purchase worth 50 + 2i points.
+     */
+    @BeforeEach
+    void setUp() {
+        shardRouter.onEachShard(shard -> {
+            transactionRepository.deleteAll();
+            customerRepository.deleteAll();
+            return null;
+        });
+
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            long customerId = id;
+            shardRouter.onShard(shardRouter.shardFor(customerId), () -> {
+                jdbcTemplate.update("INSERT INTO customer (id, name) VALUES (?, ?)", customerId, "Customer " + customerId);
+                Customer customer = customerRepository.findById(customerId).orElseThrow();
+                return transactionRepository.save(new Transaction(customer,
+                        BigDecimal.valueOf(100 + customerId), LocalDate.of(2024, 1, 10)));
+            });
+        }
+    }
+
+    @Test
+    void testCustomersAreStoredOnlyOnTheirShard() {
+        assertEquals(List.of(2L, 3L, 2L), shardRouter.onEachShard(shard -> customerRepository.count()));
+        assertFalse(shardRouter.onShard(0, () -> customerRepository.existsById(5L)));
+        assertTrue(shardRouter.onShard(2, () -> customerRepository.existsById(5L)));
+    }
+
+    @Test
+    void testGetCustomerRewards_RoutedToOwningShard() throws Exception {
+        mockMvc.perform(get("/api/rewards/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName", is("Customer 5")))
+                .andExpect(jsonPath("$.totalPoints", is(60)));
+
+        mockMvc.perform(get("/api/rewards/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllCustomerRewards_MergesShardsInCustomerOrder() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("page", "0").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(1, 2, 3)))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(52, 54, 56)))
+                .andExpect(jsonPath("$.totalElements", is(CUSTOMERS)))
+                .andExpect(jsonPath("$.totalPages", is(3)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        mockMvc.perform(get("/api/rewards").param("page", "1").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(4, 5, 6)));
+
+        mockMvc.perform(get("/api/rewards").param("page", "2").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(7)))
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
+    @Test
+    void testGetAllCustomerRewards_SortedByPointsAcrossShards() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(7, 6, 5)))
+                .andExpect(jsonPath("$.content[*].totalPoints", contains(64, 62, 60)))
+                .andExpect(jsonPath("$.totalElements", is(CUSTOMERS)))
+                .andExpect(jsonPath("$.nextCursor", is("60:5")));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3").param("after", "60:5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(4, 3, 2)))
+                .andExpect(jsonPath("$.nextCursor", is("54:2")));
+
+        mockMvc.perform(get("/api/rewards").param("sort", "POINTS").param("size", "3").param("after", "54:2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].customerId", contains(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void testGetAllCustomerRewards_WithoutTotals() throws Exception {
+        mockMvc.perform(get("/api/rewards").param("page", "1").param("size", "4").param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/rewards").param("page", "3").param("size", "4").param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void testTransactionWrites_UpdateAggregatesOnOwningShard() {
+        assertEquals(1, shardRouter.onShard(2, () -> aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(5L)).size());
+        assertTrue(shardRouter.onShard(0, () -> aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(5L)).isEmpty());
+    }
+
+    @Test
+    void testGetRewardChanges_ReadsEveryShardFromItsOwnVersion() throws Exception {
+        String since = highWaterMark();
+        addFebruaryPurchase(5L);
+        addFebruaryPurchase(1L);
+
+        String body = mockMvc.perform(get("/api/rewards/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].customerId", contains(1, 5)))
+                .andExpect(jsonPath("$.changes[*].month", contains("FEBRUARY", "FEBRUARY")))
+                .andExpect(jsonPath("$.changes[*].points", contains(52, 60)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.highWaterMark");
+        assertEquals(3, next.split(":").length);
+
+        mockMvc.perform(get("/api/rewards/changes").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.highWaterMark", is(next)));
+    }
+
+    @Test
+    void testGetRewardChanges_ReturnsEntryCommittedAfterLaterOneWasRead() throws Exception {
+        String since = highWaterMark();
+        String next;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch written = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> write = executor.submit(() -> shardRouter.onShard(0,
+                    () -> transactionTemplate.execute(status -> {
+                        jdbcTemplate.update(
+                                "INSERT INTO reward_change_log (customer_id, reward_month, changed_at) VALUES (?, ?, ?)",
+                                3L, LocalDate.of(2024, 2, 1), Timestamp.from(Instant.now().minus(Duration.ofHours(1))));
+                        written.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return null;
+                    })));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            addFebruaryPurchase(6L);
+
+            String body = mockMvc.perform(get("/api/rewards/changes").param("since", since))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changes[*].customerId", contains(6)))
+                    .andReturn().getResponse().getContentAsString();
+            next = JsonPath.read(body, "$.highWaterMark");
+            release.countDown();
+            write.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/api/rewards/changes").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].customerId", contains(3)))
+                .andExpect(jsonPath("$.changes[*].month", contains("FEBRUARY")));
+    }
+
+    @Test
+    void testAggregateRebuild_RebuildsEveryShard() throws Exception {
+        shardRouter.onEachShard(shard -> {
+            aggregateRepository.deleteAll();
+            return null;
+        });
+
+        rebuildService.start(true);
+        AggregateRebuildStatusDTO status = awaitRebuild();
+
+        assertEquals(RebuildStatus.COMPLETED, status.status());
+        assertEquals(CUSTOMERS, status.transactionsProcessed());
+        assertEquals(List.of(2L, 3L, 2L), shardRouter.onEachShard(shard -> aggregateRepository.count()));
+    }
+
+    @Test
+    void testAggregateRebuild_KeepsWriteCommittedDuringRebuild() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch written = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> write = executor.submit(() -> shardRouter.onShard(shardRouter.shardFor(5L),
+                    () -> transactionTemplate.execute(status -> {
+                        Customer customer = customerRepository.findById(5L).orElseThrow();
+                        transactionRepository.save(new Transaction(customer, BigDecimal.valueOf(105),
+                                LocalDate.of(2024, 1, 20)));
+                        written.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return null;
+                    })));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+
+            rebuildService.start(true);
+            Thread.sleep(500);
+            assertEquals(RebuildStatus.RUNNING, rebuildService.getStatus().status());
+            release.countDown();
+            write.get(10, TimeUnit.SECONDS);
+            assertEquals(RebuildStatus.COMPLETED, awaitRebuild().status());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<MonthlyRewardAggregate> aggregates = shardRouter.onShard(shardRouter.shardFor(5L),
+                () -> aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(5L));
+        assertEquals(1, aggregates.size());
+        assertEquals(120, aggregates.get(0).getPoints());
+        assertEquals(2, aggregates.get(0).getTransactionCount());
+        mockMvc.perform(get("/api/rewards/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is(120)));
+    }
+
+    private AggregateRebuildStatusDTO awaitRebuild() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            AggregateRebuildStatusDTO status = rebuildService.getStatus();
+            if (status.status() != RebuildStatus.RUNNING) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Aggregate rebuild did not finish");
+    }
+
+    private String highWaterMark() throws Exception {
+        String body = mockMvc.perform(get("/api/rewards/changes").param("limit", "10000"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.highWaterMark");
+    }
+
+    /**
+     * Adds a February purchase of the same amount as the customer's January one, on the customer's shard.
+     */
+    private void addFebruaryPurchase(long customerId) {
+        shardRouter.onShard(shardRouter.shardFor(customerId), () -> {
+            Customer customer = customerRepository.findById(customerId).orElseThrow();
+            return transactionRepository.save(new Transaction(customer, BigDecimal.valueOf(100 + customerId),
+                    LocalDate.of(2024, 2, 10)));
+        });
+    }
+}
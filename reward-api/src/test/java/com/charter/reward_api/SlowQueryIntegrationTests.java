@@ -0,0 +1,90 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the slow-query log, with every statement treated as slow.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slow-query",
+        "reward.slow-query.threshold=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueryIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Customer alice;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        transactionRepository.save(new Transaction(alice, new BigDecimal("120.00"), LocalDate.of(2024, 1, 15)));
+    }
+
+    @Test
+    void testSlowQueries_ListsShapesWithPlans() throws Exception {
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("from", "2024-01-01").param("to", "2024-01-31"))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> mockMvc.perform(get("/api/admin/slow-queries")
+                        .param("limit", "100"))
+                .andExpect(jsonPath("$[?(@.sql =~ /select.*from transaction.*/)].plan",
+                        hasItem(containsString("TRANSACTION")))));
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].sql", hasItem(containsString("from transaction"))))
+                .andExpect(jsonPath("$[*].sql", not(hasItem(containsString("2024-01")))))
+                .andExpect(jsonPath("$[?(@.sql =~ /select.*from transaction.*/)].plan",
+                        hasItem(containsString("TRANSACTION"))))
+                .andExpect(jsonPath("$[0].count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$[0].p99Millis").isNumber());
+
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testSlowQueries_RejectsRemoteCallers() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+    }
+}
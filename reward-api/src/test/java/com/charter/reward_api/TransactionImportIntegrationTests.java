@@ -0,0 +1,180 @@
+package com.charter.reward_api;
+
+import com.charter.reward_api.dto.TransactionImportResultDTO;
+import com.charter.reward_api.model.Customer;
+import com.charter.reward_api.model.MonthlyRewardAggregate;
+import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.MonthlyRewardAggregateRepository;
+import com.charter.reward_api.repository.TransactionRepository;
+import com.charter.reward_api.service.TransactionImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the streaming CSV transaction import.
+ * A batch size of 2 and a queue depth of 1 make every file span several chunks handed to the writer,
+ * and a single writer lets one unfinished import hold off the others.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-import",
+        "reward.import.batch-size=2",
+        "reward.import.queue-depth=1",
+        "reward.import.writer-threads=1",
+        "reward.import.max-rejections=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionImportIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRewardAggregateRepository aggregateRepository;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    private Customer alice;
+    private Customer bob;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        aggregateRepository.deleteAll();
+        customerRepository.deleteAll();
+        alice = customerRepository.save(new Customer("Alice Johnson"));
+        bob = customerRepository.save(new Customer("Bob Smith"));
+    }
+
+    @Test
+    void testMultipartImport_InsertsValidRowsAndUpdatesAggregates() throws Exception {
+        String csv = "transaction_date,store,customer_id,amount\r\n"
+                + "2024-01-15,north,\"" + alice.getId() + "\",120.00\r\n"
+                + "2024-01-20,north," + alice.getId() + ",75\r\n"
+                + "\r\n"
+                + "2024-02-10,\"south, mall\"," + bob.getId() + ",200.00\r\n"
+                + "2024-02-11,south," + bob.getId() + ",\"1,000.00\"\r\n"
+                + "2024-02-12,south," + bob.getId() + ",-5.00\r\n";
+        MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/transactions/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsAccepted", is(3)))
+                .andExpect(jsonPath("$.rowsRejected", is(2)))
+                .andExpect(jsonPath("$.rejections[*].line", contains(6, 7)))
+                .andExpect(jsonPath("$.rejections[0].reason", is("Invalid amount '1,000.00'")))
+                .andExpect(jsonPath("$.rowsPerSecond", greaterThan(0.0)));
+
+        mockMvc.perform(get("/api/rewards/" + alice.getId()).param("view", "MONTHLY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPoints", is(115)));
+        List<MonthlyRewardAggregate> aggregates =
+                aggregateRepository.findByIdCustomerIdOrderByIdRewardMonthAsc(bob.getId());
+        assertEquals(1, aggregates.size());
+        assertEquals(250, aggregates.get(0).getPoints());
+        assertEquals(1, aggregates.get(0).getTransactionCount());
+    }
+
+    @Test
+    void testCsvBodyImport_RejectsUnknownCustomersAndKeepsFirstRejections() throws Exception {
+        StringBuilder csv = new StringBuilder("customer_id,amount,transaction_date\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(alice.getId()).append(",120.00,2024-03-").append(String.format("%02d", i % 28 + 1)).append('\n');
+        }
+        csv.append("999999,120.00,2024-03-01\n");
+        csv.append(alice.getId()).append(",120.00,2024-13-01\n");
+        csv.append(alice.getId()).append(",120.00\n");
+        csv.append("999999,80.00,2024-03-02\n");
+        csv.append(alice.getId()).append(",\"120.00,2024-03-01\n");
+
+        mockMvc.perform(post("/api/transactions/import").contentType("text/csv").content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsAccepted", is(100)))
+                .andExpect(jsonPath("$.rowsRejected", is(5)))
+                .andExpect(jsonPath("$.rejections[*].line", contains(102, 103, 104)))
+                .andExpect(jsonPath("$.rejections[0].reason", is("Unknown customer 999999")))
+                .andExpect(jsonPath("$.rejections[2].reason", is("Expected at least 3 columns, found 2")));
+
+        assertEquals(100, transactionRepository.count());
+        mockMvc.perform(get("/api/rewards/" + alice.getId()))
+                .andExpect(jsonPath("$.totalPoints", is(9000)));
+    }
+
+    @Test
+    void testImport_HeaderMissingColumn_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/transactions/import").contentType("text/csv")
+                        .content("customer_id,total,transaction_date\n" + alice.getId() + ",120.00,2024-01-15\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("CSV header is missing column(s): amount")));
+
+        mockMvc.perform(multipart("/api/transactions/import")
+                        .file(new MockMultipartFile("file", "empty.csv", "text/csv", new byte[0])))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Uploaded file is empty")));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void testImport_AllWritersBusy_ReturnsServiceUnavailable() throws Exception {
+        PipedOutputStream upload = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(upload);
+        CompletableFuture<TransactionImportResultDTO> running =
+                CompletableFuture.supplyAsync(() -> importService.importCsv(body));
+        upload.write(("customer_id,amount,transaction_date\n" + alice.getId() + ",120.00,2024-01-15\n"
+                + alice.getId() + ",75.00,2024-01-20\n").getBytes(StandardCharsets.UTF_8));
+        upload.flush();
+        while (transactionRepository.count() == 0 && !running.isDone()) {
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(post("/api/transactions/import").contentType("text/csv")
+                        .content("customer_id,amount,transaction_date\n" + bob.getId() + ",75.00,2024-01-20\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is("Too many imports in progress, retry later")));
+
+        upload.close();
+        assertEquals(2, running.get(10, TimeUnit.SECONDS).rowsAccepted());
+        mockMvc.perform(post("/api/transactions/import").contentType("text/csv")
+                        .content("customer_id,amount,transaction_date\n" + bob.getId() + ",75.00,2024-01-20\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsAccepted", is(1)));
+    }
+
+    @Test
+    void testImport_UnsupportedContentType_Rejected() throws Exception {
+        mockMvc.perform(post("/api/transactions/import").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,84 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_core.benchmark.HttpLoadDriver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the blocking listing under concurrent load. Run with {@code mvn test -Pbenchmark}.
+ * Seeds and drives the same workload as the reactive module's {@code ConcurrentThroughputBenchmarkTest}, through
+ * the shared {@link HttpLoadDriver}, so the two printed tables compare directly.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:throughput-benchmark")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConcurrentThroughputBenchmarkTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 12;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] CONCURRENCY = {1, 8, 32, 128};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURED = Duration.ofSeconds(5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            customers.add(new Object[]{id, "Benchmark Customer " + id});
+            for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                transactions.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                        LocalDate.of(2023, 1, 1).plusDays(i * 30L)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customers);
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                transactions);
+    }
+
+    @Test
+    void benchmarkConcurrentListing() throws Exception {
+        HttpLoadDriver driver = new HttpLoadDriver();
+        int pages = CUSTOMERS / PAGE_SIZE;
+        driver.run(CONCURRENCY[CONCURRENCY.length - 1], WARMUP, random -> listing(random % pages));
+
+        System.out.println("Blocking (MVC + JPA) listing, " + PAGE_SIZE + " customers per page");
+        System.out.println("concurrency   req/s     p50 ms     p99 ms   errors");
+        for (int concurrency : CONCURRENCY) {
+            HttpLoadDriver.Result result = driver.run(concurrency, MEASURED, random -> listing(random % pages));
+            System.out.println(result);
+            assertEquals(0, result.errors());
+            assertTrue(result.requests() > 0);
+        }
+    }
+
+    private URI listing(int page) {
+        return URI.create("http://localhost:" + port + "/api/rewards?total=NONE&view=MONTHLY&size=" + PAGE_SIZE
+                + "&page=" + page);
+    }
+}
@@ -0,0 +1,185 @@
+package com.charter.reward_api.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmark of reward requests with the customer caches enabled and disabled. Run with {@code mvn test -Pbenchmark}.
+ * Each mode runs in its own application context and database, seeded alike. Requests cycle through 100 listing
+ * pages and 2000 customers, so after the warm-up every customer and page has been cached once. The median latency
+ * and the statements per request of each request shape are printed side by side, with the cache hit ratios.
+ * Only the statement counts are asserted: against an in-process H2 database a saved query is worth tens of
+ * microseconds, less than the latency noise between two application contexts in one JVM.
+ */
+@Tag("benchmark")
+class CustomerCacheBenchmarkTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 12;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    private static final Map<String, Map<String, Cost>> RESULTS = new ConcurrentHashMap<>();
+
+    @AfterAll
+    static void report() {
+        Map<String, Cost> enabled = RESULTS.get("enabled");
+        Map<String, Cost> disabled = RESULTS.get("disabled");
+        if (enabled == null || disabled == null) {
+            return;
+        }
+        System.out.printf("%n%-16s %14s %14s %16s %16s%n", "request", "p50 us (off)", "p50 us (on)",
+                "statements (off)", "statements (on)");
+        disabled.forEach((shape, off) -> {
+            Cost on = enabled.get(shape);
+            System.out.printf("%-16s %14d %14d %16.2f %16.2f%n", shape, off.p50Nanos() / 1_000, on.p50Nanos() / 1_000,
+                    off.statementsPerRequest(), on.statementsPerRequest());
+        });
+        disabled.forEach((shape, off) -> assertTrue(enabled.get(shape).statementsPerRequest() < off.statementsPerRequest(),
+                shape + " should issue fewer statements with the customer caches enabled"));
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:customer-cache-benchmark-off",
+            "reward.customer-cache.enabled=false",
+            "reward.month-close.enabled=false"
+    })
+    @AutoConfigureMockMvc
+    @ActiveProfiles("test")
+    class CacheDisabled extends Workload {
+
+        CacheDisabled() {
+            super("disabled");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:customer-cache-benchmark-on",
+            "reward.customer-cache.enabled=true",
+            "reward.month-close.enabled=false"
+    })
+    @AutoConfigureMockMvc
+    @ActiveProfiles("test")
+    class CacheEnabled extends Workload {
+
+        CacheEnabled() {
+            super("enabled");
+        }
+    }
+
+    /**
+     * Seeds one database and measures every request shape against it.
+     */
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    abstract static class Workload {
+
+        private final String mode;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        Workload(String mode) {
+            this.mode = mode;
+        }
+
+        @BeforeAll
+        void seed() {
+            List<Object[]> customers = new ArrayList<>();
+            List<Object[]> transactions = new ArrayList<>();
+            for (long id = 1; id <= CUSTOMERS; id++) {
+                customers.add(new Object[]{id, "Benchmark Customer " + id});
+                for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                    transactions.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                            LocalDate.of(2023, 1, 1).plusDays(i * 30L)});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customers);
+            jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                    transactions);
+        }
+
+        @Test
+        void benchmarkRewardRequests() throws Exception {
+            int pages = CUSTOMERS / PAGE_SIZE;
+            Map<String, IntFunction<RequestBuilder>> shapes = new LinkedHashMap<>();
+            shapes.put("listing-totals", i -> get("/api/rewards").param("page", String.valueOf(i % pages))
+                    .param("size", String.valueOf(PAGE_SIZE)).param("view", "TOTALS").param("debug", "true"));
+            shapes.put("listing-full", i -> get("/api/rewards").param("page", String.valueOf(i % pages))
+                    .param("size", String.valueOf(PAGE_SIZE)).param("view", "FULL").param("debug", "true"));
+            shapes.put("windows", i -> get("/api/rewards/" + (i % CUSTOMERS + 1) + "/windows")
+                    .param("window", "2023-01-01/2023-12-31").param("debug", "true"));
+
+            Map<String, Cost> costs = new LinkedHashMap<>();
+            for (Map.Entry<String, IntFunction<RequestBuilder>> shape : shapes.entrySet()) {
+                measure(shape.getValue(), WARMUP_ITERATIONS);
+                costs.put(shape.getKey(), measure(shape.getValue(), MEASURED_ITERATIONS));
+            }
+            RESULTS.put(mode, costs);
+
+            String statistics = mockMvc.perform(get("/api/admin/rewards/customer-cache"))
+                    .andReturn().getResponse().getContentAsString();
+            List<Map<String, Object>> regions = JsonPath.read(statistics, "$");
+            System.out.printf("%nCustomer caches %s%n", mode);
+            for (Map<String, Object> region : regions) {
+                System.out.printf("%-32s hits %10s misses %8s hit ratio %.3f%n", region.get("region"),
+                        region.get("hits"), region.get("misses"), ((Number) region.get("hitRatio")).doubleValue());
+            }
+        }
+
+        private Cost measure(IntFunction<RequestBuilder> request, int iterations) throws Exception {
+            long[] nanos = new long[iterations];
+            long statements = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                MvcResult result = mockMvc.perform(request.apply(i)).andReturn();
+                nanos[i] = System.nanoTime() - start;
+                assertEquals(200, result.getResponse().getStatus());
+                statements += ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.debug.statements"))
+                        .longValue();
+            }
+            Arrays.sort(nanos);
+            return new Cost(nanos[iterations / 2], (double) statements / iterations);
+        }
+    }
+
+    /**
+     * Cost of one request shape in one mode.
+     *
+     * @param p50Nanos the median latency in nanoseconds
+     * @param statementsPerRequest the mean number of statements per request
+     */
+    private record Cost(long p50Nanos, double statementsPerRequest) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_api.dto.QueryShapeDTO;
+import com.charter.reward_api.service.QueryShapeStatistics;
+import com.charter.reward_api.service.RequestBatcher;
+import com.charter.reward_core.benchmark.HttpLoadDriver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of concurrent single-customer {@code MONTHLY} lookups with the request batcher enabled and disabled.
+ * Run with {@code mvn test -Pbenchmark}. Each mode runs in its own application context and database, seeded
+ * alike, and is driven by the shared {@link HttpLoadDriver} over random customers. Database statements are counted
+ * from the slow-query log's shape statistics, so the printed table compares request throughput with the
+ * statements per second the database has to serve. Failed requests are reported, not asserted: without batching,
+ * lookups queue for the lookup bulkhead's connections and may be rejected at high concurrency. Only the statement
+ * reduction under concurrency is asserted.
+ */
+@Tag("benchmark")
+class RequestBatchingBenchmarkTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 12;
+    private static final int[] CONCURRENCY = {1, 16, 64};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURED = Duration.ofSeconds(5);
+
+    private static final Map<String, Map<Integer, Load>> RESULTS = new ConcurrentHashMap<>();
+
+    @AfterAll
+    static void report() {
+        Map<Integer, Load> enabled = RESULTS.get("enabled");
+        Map<Integer, Load> disabled = RESULTS.get("disabled");
+        if (enabled == null || disabled == null) {
+            return;
+        }
+        System.out.printf("%n%-11s %12s %12s %14s %14s %12s %12s %12s %12s%n", "concurrency", "req/s (off)",
+                "req/s (on)", "stmt/s (off)", "stmt/s (on)", "p50 ms (off)", "p50 ms (on)", "errors (off)",
+                "errors (on)");
+        disabled.forEach((concurrency, off) -> {
+            Load on = enabled.get(concurrency);
+            System.out.printf("%-11d %12.0f %12.0f %14.0f %14.0f %12.2f %12.2f %12d %12d%n", concurrency,
+                    off.result().throughput(), on.result().throughput(), off.statementsPerSecond(),
+                    on.statementsPerSecond(), off.result().p50Millis(), on.result().p50Millis(),
+                    off.result().errors(), on.result().errors());
+        });
+        int highest = CONCURRENCY[CONCURRENCY.length - 1];
+        assertTrue(enabled.get(highest).statementsPerRequest() < disabled.get(highest).statementsPerRequest(),
+                "Batched lookups should issue fewer statements per request");
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:request-batching-benchmark-off",
+            "reward.batching.enabled=false",
+            "reward.hot-customers.enabled=false",
+            "reward.month-close.enabled=false"
+    })
+    @ActiveProfiles("test")
+    class BatchingDisabled extends Workload {
+
+        BatchingDisabled() {
+            super("disabled");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:request-batching-benchmark-on",
+            "reward.batching.enabled=true",
+            "reward.hot-customers.enabled=false",
+            "reward.month-close.enabled=false"
+    })
+    @ActiveProfiles("test")
+    class BatchingEnabled extends Workload {
+
+        BatchingEnabled() {
+            super("enabled");
+        }
+    }
+
+    /**
+     * Seeds one database and drives lookups against it at every concurrency.
+     */
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    abstract static class Workload {
+
+        private final String mode;
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private QueryShapeStatistics queryShapeStatistics;
+
+        @Autowired
+        private RequestBatcher requestBatcher;
+
+        Workload(String mode) {
+            this.mode = mode;
+        }
+
+        @BeforeAll
+        void seed() {
+            List<Object[]> customers = new ArrayList<>();
+            List<Object[]> transactions = new ArrayList<>();
+            for (long id = 1; id <= CUSTOMERS; id++) {
+                customers.add(new Object[]{id, "Benchmark Customer " + id});
+                for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                    transactions.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                            LocalDate.of(2023, 1, 1).plusDays(i * 30L)});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customers);
+            jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                    transactions);
+        }
+
+        @Test
+        void benchmarkConcurrentLookups() throws Exception {
+            HttpLoadDriver driver = new HttpLoadDriver();
+            driver.run(CONCURRENCY[CONCURRENCY.length - 1], WARMUP, this::lookup);
+
+            Map<Integer, Load> loads = new LinkedHashMap<>();
+            for (int concurrency : CONCURRENCY) {
+                long statements = statementCount();
+                long batcherLoads = requestBatcher.getLoadCount();
+                long lookups = requestBatcher.getLookupCount();
+                HttpLoadDriver.Result result = driver.run(concurrency, MEASURED, this::lookup);
+                statements = statementCount() - statements;
+                assertTrue(result.requests() > 0);
+                loads.put(concurrency, new Load(result, statements / (MEASURED.toNanos() / 1e9),
+                        (double) statements / result.requests()));
+                System.out.printf("batching %s, concurrency %d: %.2f customers per lookup statement%n", mode,
+                        concurrency, (double) (requestBatcher.getLookupCount() - lookups)
+                                / Math.max(requestBatcher.getLoadCount() - batcherLoads, 1));
+            }
+            RESULTS.put(mode, loads);
+        }
+
+        private URI lookup(int random) {
+            return URI.create("http://localhost:" + port + "/api/rewards/" + (random % CUSTOMERS + 1) + "?view=MONTHLY");
+        }
+
+        private long statementCount() {
+            return queryShapeStatistics.getSlowestShapes(Integer.MAX_VALUE).stream()
+                    .mapToLong(QueryShapeDTO::count)
+                    .sum();
+        }
+    }
+
+    /**
+     * Outcome of one load run in one mode.
+     *
+     * @param result the achieved throughput and latency
+     * @param statementsPerSecond the database statements executed per second
+     * @param statementsPerRequest the mean number of statements per successful request
+     */
+    private record Load(HttpLoadDriver.Result result, double statementsPerSecond, double statementsPerRequest) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.config.RequestCostFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmark of the overhead of request cost tracking. Run with {@code mvn test -Pbenchmark}.
+ * Compares the median latency of a 100-customer {@code TOTALS} listing without the tracking filter, with it,
+ * and in debug mode, and measures the cost of a phase timer when no request is tracked, which is all that
+ * remains on the request path with {@code reward.request-cost.enabled=false}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:request-cost-benchmark")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequestCostBenchmarkTest {
+
+    private static final int CUSTOMERS = 500;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 24;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final int TIMER_CALLS = 10_000_000;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private RequestCostFilter requestCostFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            customers.add(new Object[]{id, "Benchmark Customer " + id});
+            for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                transactions.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                        LocalDate.of(2023, 1, 1).plusDays(i * 30L)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customers);
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                transactions);
+    }
+
+    @Test
+    void benchmarkRequestCostOverhead() throws Exception {
+        MockMvc untracked = MockMvcBuilders.webAppContextSetup(context).build();
+        MockMvc tracked = MockMvcBuilders.webAppContextSetup(context).addFilters(requestCostFilter).build();
+
+        for (MockMvc mockMvc : List.of(untracked, tracked, untracked)) {
+            medianNanos(mockMvc, listing());
+        }
+        long untrackedMedian = medianNanos(untracked, listing());
+        long trackedMedian = medianNanos(tracked, listing());
+        long debugMedian = medianNanos(tracked, listing().param("debug", "true"));
+        double timerNanos = untrackedTimerNanos();
+
+        System.out.printf("%n%-22s %12s%n", "mode", "p50 us");
+        System.out.printf("%-22s %12d%n", "untracked", untrackedMedian / 1_000);
+        System.out.printf("%-22s %12d%n", "Server-Timing", trackedMedian / 1_000);
+        System.out.printf("%-22s %12d%n", "Server-Timing + debug", debugMedian / 1_000);
+        System.out.printf("untracked phase timer: %.2f ns per call%n", timerNanos);
+
+        assertTrue(timerNanos < 100, "an untracked phase timer should cost well under a microsecond");
+    }
+
+    private static MockHttpServletRequestBuilder listing() {
+        return get("/api/rewards").param("size", "100").param("view", "TOTALS");
+    }
+
+    private long medianNanos(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertEquals(200, mockMvc.perform(request).andReturn().getResponse().getStatus());
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            mockMvc.perform(request).andReturn();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2];
+    }
+
+    private static double untrackedTimerNanos() {
+        long sink = 0;
+        for (int i = 0; i < TIMER_CALLS; i++) {
+            int value = i;
+            sink += RequestCost.time("phase", () -> value);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMER_CALLS; i++) {
+            int value = i;
+            sink += RequestCost.time("phase", () -> value);
+        }
+        double perCall = (double) (System.nanoTime() - start) / TIMER_CALLS;
+        assertTrue(sink != 0);
+        return perCall;
+    }
+}
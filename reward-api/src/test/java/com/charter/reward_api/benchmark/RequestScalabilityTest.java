@@ -0,0 +1,233 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_api.dto.AggregateRebuildStatusDTO;
+import com.charter.reward_api.model.RebuildStatus;
+import com.charter.reward_api.service.RewardAggregateRebuildService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Scalability tier asserting that the cost of a request stays sublinear in the size of the tables.
+ * Run with {@code mvn test -Pscalability}.
+ * <p>
+ * Grows the database to 10k, 100k and 1M transactions, 20 per customer, and measures at each size the median
+ * latency, the bytes allocated and the rows read per request for a single-customer lookup and for listing pages.
+ * Seeding inserts rows directly, bypassing the write listeners, so the aggregate rebuild runs after each seed to
+ * derive the monthly aggregates and totals the listings read, as they would be after the same writes in production.
+ * Each cost is fitted as {@code cost ~ size^k} between the smallest and the largest size; the test fails when an
+ * exponent {@code k} exceeds its declared bound. A request that scans a whole table has {@code k} close to 1.
+ * Requests run on the test thread, so the allocation counter of that thread covers the whole request.
+ * A discarded first pass at the smallest size lets the JIT compile the request path before anything is measured.
+ */
+@Tag("scalability")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scalability",
+        "reward.month-close.enabled=false",
+        "reward.hot-customers.enabled=false",
+        "reward.rebuild.range-size=1000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequestScalabilityTest {
+
+    private static final int[] TRANSACTION_COUNTS = {10_000, 100_000, 1_000_000};
+    private static final int TRANSACTIONS_PER_CUSTOMER = 20;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 100;
+    private static final long REBUILD_TIMEOUT_MILLIS = 600_000;
+
+    /** Largest growth exponent of the median latency; a B-tree lookup grows with log(size). */
+    private static final double MAX_LATENCY_EXPONENT = 0.3;
+    /** Largest growth exponent of the bytes allocated per request. */
+    private static final double MAX_ALLOCATION_EXPONENT = 0.1;
+    /** Largest growth exponent of the rows read per request. */
+    private static final double MAX_ROWS_EXPONENT = 0.0;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RewardAggregateRebuildService rebuildService;
+
+    private long seededCustomers;
+
+    @BeforeAll
+    void checkAllocationCounter() {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counter not supported by this JVM");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void requestCostGrowsSublinearlyWithTableSize() throws Exception {
+        Map<String, RequestBuilder> requests = new LinkedHashMap<>();
+        requests.put("lookup", get("/api/rewards/42").param("debug", "true"));
+        requests.put("listing", get("/api/rewards").param("size", "20").param("debug", "true"));
+        requests.put("listing-monthly", get("/api/rewards").param("size", "20").param("view", "MONTHLY")
+                .param("total", "ESTIMATED").param("debug", "true"));
+
+        seedUpTo(TRANSACTION_COUNTS[0] / TRANSACTIONS_PER_CUSTOMER);
+        for (RequestBuilder request : requests.values()) {
+            measure(request);
+        }
+
+        Map<String, List<Cost>> costs = new LinkedHashMap<>();
+        for (int transactions : TRANSACTION_COUNTS) {
+            seedUpTo(transactions / TRANSACTIONS_PER_CUSTOMER);
+            for (Map.Entry<String, RequestBuilder> request : requests.entrySet()) {
+                costs.computeIfAbsent(request.getKey(), name -> new ArrayList<>()).add(measure(request.getValue()));
+            }
+        }
+
+        System.out.printf("%n%-16s %12s %14s %14s %10s%n", "request", "transactions", "p50 us", "bytes", "rows");
+        costs.forEach((name, results) -> {
+            for (int i = 0; i < results.size(); i++) {
+                Cost cost = results.get(i);
+                System.out.printf("%-16s %12d %14d %14d %10d%n", name, TRANSACTION_COUNTS[i],
+                        cost.p50Nanos() / 1_000, cost.allocatedBytes(), cost.rowsRead());
+            }
+        });
+
+        double sizeRatio = (double) TRANSACTION_COUNTS[TRANSACTION_COUNTS.length - 1] / TRANSACTION_COUNTS[0];
+        List<Executable> bounds = new ArrayList<>();
+        costs.forEach((name, results) -> {
+            Cost smallest = results.get(0);
+            Cost largest = results.get(results.size() - 1);
+            double latency = exponent(smallest.p50Nanos(), largest.p50Nanos(), sizeRatio);
+            double allocation = exponent(smallest.allocatedBytes(), largest.allocatedBytes(), sizeRatio);
+            double rows = exponent(smallest.rowsRead(), largest.rowsRead(), sizeRatio);
+            System.out.printf("%-16s exponents: latency %.3f, allocation %.3f, rows %.3f%n",
+                    name, latency, allocation, rows);
+            bounds.add(() -> assertTrue(latency <= MAX_LATENCY_EXPONENT,
+                    name + " latency grows as size^" + String.format("%.3f", latency)));
+            bounds.add(() -> assertTrue(allocation <= MAX_ALLOCATION_EXPONENT,
+                    name + " allocation grows as size^" + String.format("%.3f", allocation)));
+            bounds.add(() -> assertTrue(rows <= MAX_ROWS_EXPONENT,
+                    name + " rows read grow as size^" + String.format("%.3f", rows)));
+        });
+        assertAll(bounds);
+    }
+
+    /**
+     * Adds customers, each with the same transactions, until the given number of customers exists, and rebuilds
+     * the aggregates from every transaction.
+     */
+    private void seedUpTo(long customers) throws InterruptedException {
+        if (customers <= seededCustomers) {
+            return;
+        }
+        List<Object[]> customerRows = new ArrayList<>();
+        List<Object[]> transactionRows = new ArrayList<>();
+        for (long id = seededCustomers + 1; id <= customers; id++) {
+            customerRows.add(new Object[]{id, "Scalability Customer " + id});
+            for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                transactionRows.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                        LocalDate.of(2023, 1, 1).plusDays(i * 36L)});
+            }
+            if (transactionRows.size() >= INSERT_BATCH_SIZE) {
+                insert(customerRows, transactionRows);
+            }
+        }
+        insert(customerRows, transactionRows);
+        seededCustomers = customers;
+        assertEquals(customers * TRANSACTIONS_PER_CUSTOMER,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Long.class));
+        rebuildAggregates();
+        assertEquals(customers * TRANSACTIONS_PER_CUSTOMER,
+                jdbcTemplate.queryForObject("SELECT SUM(transaction_count) FROM customer_monthly_reward", Long.class));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insert(List<Object[]> customerRows, List<Object[]> transactionRows) {
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customerRows);
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                transactionRows);
+        customerRows.clear();
+        transactionRows.clear();
+    }
+
+    private void rebuildAggregates() throws InterruptedException {
+        rebuildService.start(true);
+        long deadline = System.currentTimeMillis() + REBUILD_TIMEOUT_MILLIS;
+        AggregateRebuildStatusDTO status = rebuildService.getStatus();
+        while (status.status() == RebuildStatus.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Aggregate rebuild did not finish");
+            Thread.sleep(100);
+            status = rebuildService.getStatus();
+        }
+        assertEquals(RebuildStatus.COMPLETED, status.status());
+    }
+
+    private Cost measure(RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mockMvc.perform(request);
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        long[] allocated = new long[MEASURED_ITERATIONS];
+        long rowsRead = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(request).andReturn();
+            nanos[i] = System.nanoTime() - start;
+            allocated[i] = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+            assertEquals(200, result.getResponse().getStatus());
+            rowsRead = ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.debug.rowsRead"))
+                    .longValue();
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(allocated);
+        return new Cost(nanos[MEASURED_ITERATIONS / 2], allocated[MEASURED_ITERATIONS / 2], rowsRead);
+    }
+
+    /**
+     * Fits {@code cost ~ size^k} through two measurements.
+     *
+     * @return the exponent {@code k}
+     */
+    private static double exponent(long smallCost, long largeCost, double sizeRatio) {
+        return Math.log((double) Math.max(largeCost, 1) / Math.max(smallCost, 1)) / Math.log(sizeRatio);
+    }
+
+    /**
+     * Cost of one request shape at one table size.
+     *
+     * @param p50Nanos the median latency in nanoseconds
+     * @param allocatedBytes the median bytes allocated by the request thread
+     * @param rowsRead the rows read from the database by one request
+     */
+    private record Cost(long p50Nanos, long allocatedBytes, long rowsRead) {
+    }
+}
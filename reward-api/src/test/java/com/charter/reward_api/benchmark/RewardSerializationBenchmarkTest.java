@@ -0,0 +1,108 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_api.config.CustomerRewardSummarySerializer;
+import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.MonthlyRewardDTO;
+import com.charter.reward_api.service.ClosedMonthFragmentCache;
+import com.charter.reward_api.service.ClosedMonthPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of the CPU time and heap allocation of serializing one customer summary,
+ * comparing Jackson's default record serialization with closed-month fragment splicing.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RewardSerializationBenchmarkTest {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int MONTHS = 36;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    void benchmarkSerialization() throws Exception {
+        List<CustomerRewardSummaryDTO> summaries = summaries();
+        ObjectMapper defaultMapper = new ObjectMapper();
+        ClosedMonthPolicy closedMonthPolicy = new ClosedMonthPolicy(Duration.ofDays(5));
+        ClosedMonthFragmentCache fragmentCache = new ClosedMonthFragmentCache(CUSTOMERS);
+        for (CustomerRewardSummaryDTO summary : summaries) {
+            List<MonthlyRewardDTO> closed = summary.monthlyRewards().stream()
+                    .filter(month -> closedMonthPolicy.isClosed(
+                            YearMonth.of(month.year(), Month.valueOf(month.month()))))
+                    .toList();
+            fragmentCache.put(summary.customerId(), LocalDate.of(1900, 1, 1),
+                    closedMonthPolicy.latestClosedMonth().atEndOfMonth(), closed, closed.size(), fragmentCache.generation());
+        }
+        ObjectMapper fragmentMapper = new ObjectMapper().registerModule(new SimpleModule().addSerializer(
+                CustomerRewardSummaryDTO.class, new CustomerRewardSummarySerializer(closedMonthPolicy, fragmentCache)));
+
+        for (CustomerRewardSummaryDTO summary : summaries) {
+            assertArrayEquals(defaultMapper.writeValueAsBytes(summary), fragmentMapper.writeValueAsBytes(summary));
+        }
+
+        Result reflective = measure(defaultMapper, summaries);
+        Result spliced = measure(fragmentMapper, summaries);
+
+        System.out.printf("%n%-12s %-14s %-14s%n", "path", "cpu ns/resp", "alloc B/resp");
+        System.out.printf("%-12s %-14d %-14d%n", "reflective", reflective.cpuNanos(), reflective.allocatedBytes());
+        System.out.printf("%-12s %-14d %-14d%n", "fragments", spliced.cpuNanos(), spliced.allocatedBytes());
+
+        assertTrue(spliced.allocatedBytes() < reflective.allocatedBytes(),
+                "fragment splicing should allocate less per response");
+    }
+
+    private static List<CustomerRewardSummaryDTO> summaries() {
+        YearMonth open = YearMonth.now();
+        List<CustomerRewardSummaryDTO> summaries = new ArrayList<>(CUSTOMERS);
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            List<MonthlyRewardDTO> months = new ArrayList<>(MONTHS);
+            long total = 0;
+            for (int i = MONTHS - 1; i >= 0; i--) {
+                YearMonth month = open.minusMonths(i);
+                long points = (id * 31 + i * 17) % 250;
+                months.add(new MonthlyRewardDTO(month.getYear(), month.getMonth().name(), points));
+                total += points;
+            }
+            summaries.add(new CustomerRewardSummaryDTO(id, "Benchmark Customer " + id, months, total));
+        }
+        return summaries;
+    }
+
+    private static Result measure(ObjectMapper mapper, List<CustomerRewardSummaryDTO> summaries) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (CustomerRewardSummaryDTO summary : summaries) {
+                mapper.writeValueAsBytes(summary);
+            }
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (CustomerRewardSummaryDTO summary : summaries) {
+                mapper.writeValueAsBytes(summary);
+            }
+        }
+        long responses = (long) MEASURED_ROUNDS * summaries.size();
+        return new Result((threads.getCurrentThreadCpuTime() - cpuBefore) / responses,
+                (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / responses);
+    }
+
+    private record Result(long cpuNanos, long allocatedBytes) {
+    }
+}
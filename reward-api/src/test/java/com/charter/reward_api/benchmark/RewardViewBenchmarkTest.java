@@ -0,0 +1,115 @@
+package com.charter.reward_api.benchmark;
+
+import com.charter.reward_api.dto.RewardView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmark of latency and payload size per reward view. Run with {@code mvn test -Pbenchmark}.
+ * Seeds 500 customers with two years of transactions and reports, per view, the median and p95 latency
+ * and the response size of a 100-customer listing page and of a single-customer lookup.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:view-benchmark")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RewardViewBenchmarkTest {
+
+    private static final int CUSTOMERS = 500;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 48;
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            customers.add(new Object[]{id, "Benchmark Customer " + id});
+            for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                transactions.add(new Object[]{id, 20 + (id * 31 + i * 17) % 200,
+                        LocalDate.of(2023, 1, 1).plusDays(i * 15L)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name) VALUES (?, ?)", customers);
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (?, ?, ?)",
+                transactions);
+    }
+
+    @Test
+    void benchmarkViews() throws Exception {
+        Map<RewardView, Result> listing = new EnumMap<>(RewardView.class);
+        Map<RewardView, Result> single = new EnumMap<>(RewardView.class);
+        for (RewardView view : RewardView.values()) {
+            listing.put(view, measure(get("/api/rewards").param("size", "100").param("view", view.name())));
+            single.put(view, measure(get("/api/rewards/42").param("view", view.name())));
+        }
+
+        System.out.printf("%n%-8s %-28s %-28s%n", "view", "listing p50/p95 us, bytes", "single p50/p95 us, bytes");
+        for (RewardView view : RewardView.values()) {
+            System.out.printf("%-8s %-28s %-28s%n", view, listing.get(view), single.get(view));
+        }
+
+        assertTrue(listing.get(RewardView.TOTALS).bytes() < listing.get(RewardView.FULL).bytes());
+        assertEquals(listing.get(RewardView.MONTHLY).bytes(), listing.get(RewardView.FULL).bytes());
+    }
+
+    private Result measure(RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mockMvc.perform(request);
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        int bytes = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(request).andReturn();
+            nanos[i] = System.nanoTime() - start;
+            bytes = result.getResponse().getContentAsByteArray().length;
+        }
+        Arrays.sort(nanos);
+        return new Result(nanos[MEASURED_ITERATIONS / 2] / 1_000, nanos[MEASURED_ITERATIONS * 95 / 100] / 1_000, bytes);
+    }
+
+    /**
+     * Latency percentiles and payload size of one request shape.
+     *
+     * @param p50Micros the median latency in microseconds
+     * @param p95Micros the 95th percentile latency in microseconds
+     * @param bytes the response body size in bytes
+     */
+    private record Result(long p50Micros, long p95Micros, int bytes) {
+
+        @Override
+        public String toString() {
+            return p50Micros + "/" + p95Micros + ", " + bytes;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkheadTest {
+
+    @Test
+    void testEnter_RejectsWhenQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead(BulkheadType.LISTING,
+                new BulkheadProperties.Limits(1, 0, Duration.ofSeconds(10), 1, Duration.ofSeconds(3)));
+        bulkhead.enter();
+
+        BulkheadFullException ex = assertThrows(BulkheadFullException.class, bulkhead::enter);
+
+        assertEquals(Duration.ofSeconds(3), ex.getRetryAfter());
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(1, bulkhead.getRejectedCalls());
+    }
+
+    @Test
+    void testEnter_QueuedCallGetsTheReleasedSlotOrTimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(BulkheadType.LOOKUP,
+                new BulkheadProperties.Limits(1, 1, Duration.ofSeconds(5), 1, Duration.ofSeconds(1)));
+        bulkhead.enter();
+
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(bulkhead::enter);
+        while (bulkhead.getQueuedCalls() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThrows(BulkheadFullException.class, bulkhead::enter);
+        bulkhead.exit();
+        queued.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueuedCalls());
+
+        Bulkhead impatient = new Bulkhead(BulkheadType.LOOKUP,
+                new BulkheadProperties.Limits(1, 1, Duration.ofMillis(20), 1, Duration.ofSeconds(1)));
+        impatient.enter();
+        assertThrows(BulkheadFullException.class, impatient::enter);
+        assertEquals(0, impatient.getQueuedCalls());
+    }
+
+    @Test
+    void testAcquireConnection_LimitsConnections() {
+        Bulkhead bulkhead = new Bulkhead(BulkheadType.LISTING,
+                new BulkheadProperties.Limits(4, 0, Duration.ofMillis(20), 2, Duration.ofSeconds(1)));
+        bulkhead.acquireConnection();
+        bulkhead.acquireConnection();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquireConnection);
+        bulkhead.releaseConnection();
+        bulkhead.acquireConnection();
+
+        assertEquals(2, bulkhead.getActiveConnections());
+        assertEquals(1, bulkhead.getRejectedConnections());
+    }
+}
@@ -0,0 +1,69 @@
+package com.charter.reward_api.config;
+
+import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.MonthlyRewardDTO;
+import com.charter.reward_api.service.ClosedMonthFragmentCache;
+import com.charter.reward_api.service.ClosedMonthPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for CustomerRewardSummarySerializer.
+ */
+class CustomerRewardSummarySerializerTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ClosedMonthFragmentCache fragmentCache = new ClosedMonthFragmentCache(100);
+    private ObjectMapper fragmentMapper;
+
+    @BeforeEach
+    void setUp() {
+        CustomerRewardSummarySerializer serializer =
+                new CustomerRewardSummarySerializer(new ClosedMonthPolicy(Duration.ofDays(5)), fragmentCache);
+        fragmentMapper = new ObjectMapper()
+                .registerModule(new SimpleModule().addSerializer(CustomerRewardSummaryDTO.class, serializer));
+    }
+
+    @Test
+    void testSerialize_MatchesDefaultSerialization() throws Exception {
+        YearMonth current = YearMonth.now();
+        List<CustomerRewardSummaryDTO> summaries = List.of(
+                new CustomerRewardSummaryDTO(1L, "Alice \"AJ\" Johnson", List.of(
+                        new MonthlyRewardDTO(2024, "JANUARY", 90),
+                        new MonthlyRewardDTO(2024, "FEBRUARY", 250),
+                        new MonthlyRewardDTO(current.getYear(), current.getMonth().name(), 15)), 355),
+                new CustomerRewardSummaryDTO(2L, "Bob Smith", List.of(), 0),
+                new CustomerRewardSummaryDTO(3L, "Charlie Brown", null, 120),
+                new CustomerRewardSummaryDTO(null, null, List.of(new MonthlyRewardDTO(2024, "MARCH", 5)), 5));
+        fragmentCache.put(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31),
+                summaries.get(0).monthlyRewards().subList(0, 2), 3, fragmentCache.generation());
+
+        for (CustomerRewardSummaryDTO summary : summaries) {
+            assertEquals(defaultMapper.writeValueAsString(summary), fragmentMapper.writeValueAsString(summary));
+        }
+        assertEquals(defaultMapper.writeValueAsString(summaries), fragmentMapper.writeValueAsString(summaries));
+    }
+
+    @Test
+    void testSerialize_GeneratesClosedMonthsWithoutMatchingFragment() throws Exception {
+        CustomerRewardSummaryDTO before = new CustomerRewardSummaryDTO(1L, "Alice Johnson",
+                List.of(new MonthlyRewardDTO(2024, "JANUARY", 90)), 90);
+        CustomerRewardSummaryDTO after = new CustomerRewardSummaryDTO(1L, "Alice Johnson",
+                List.of(new MonthlyRewardDTO(2024, "JANUARY", 140)), 140);
+
+        fragmentCache.put(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), before.monthlyRewards(), 1,
+                fragmentCache.generation());
+
+        assertEquals(defaultMapper.writeValueAsString(after), fragmentMapper.writeValueAsString(after));
+        assertEquals(defaultMapper.writeValueAsString(before), fragmentMapper.writeValueAsString(before));
+    }
+}
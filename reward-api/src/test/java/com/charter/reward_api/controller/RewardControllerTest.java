@@ -1,8 +1,18 @@
 package com.charter.reward_api.controller;
 
+import com.charter.reward_api.dto.ChangeCursor;
 import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_api.dto.DateWindow;
 import com.charter.reward_api.dto.MonthlyRewardDTO;
 import com.charter.reward_api.dto.PagedRewardSummaryDTO;
+import com.charter.reward_api.dto.PointsCursor;
+import com.charter.reward_api.dto.RewardChangeDTO;
+import com.charter.reward_api.dto.RewardChangesDTO;
+import com.charter.reward_api.dto.RewardSort;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.dto.RewardWindowDTO;
+import com.charter.reward_api.dto.RewardWindowsDTO;
+import com.charter.reward_api.dto.TotalCountMode;
 import com.charter.reward_api.exception.CustomerNotFoundException;
 import com.charter.reward_api.exception.InvalidDateRangeException;
 import com.charter.reward_api.service.RewardService;
@@ -23,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -59,18 +70,20 @@ class RewardControllerTest {
                 List.of(customerRewardSummary),
                 0,
                 10,
+                1L,
                 1,
-                1,
+                true,
+                false,
                 true
         );
     }
 
     @Test
     void testGetAllCustomerRewards_Success() {
-        when(rewardService.getAllCustomerRewards(anyInt(), anyInt(), any(), any()))
+        when(rewardService.getAllCustomerRewards(anyInt(), anyInt(), any(), any(), any(), any()))
                 .thenReturn(pagedRewardSummary);
 
-        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, null, null);
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -78,7 +91,7 @@ class RewardControllerTest {
         assertEquals(1, response.getBody().content().size());
         assertEquals(0, response.getBody().page());
         assertEquals(10, response.getBody().size());
-        verify(rewardService).getAllCustomerRewards(0, 10, null, null);
+        verify(rewardService).getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL);
     }
 
     @Test
@@ -86,28 +99,42 @@ class RewardControllerTest {
         LocalDate from = LocalDate.of(2024, 1, 1);
         LocalDate to = LocalDate.of(2024, 3, 31);
 
-        when(rewardService.getAllCustomerRewards(0, 10, from, to))
+        when(rewardService.getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL))
                 .thenReturn(pagedRewardSummary);
 
-        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, from, to);
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(rewardService).getAllCustomerRewards(0, 10, from, to);
+        verify(rewardService).getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL);
     }
 
     @Test
     void testGetAllCustomerRewards_WithPagination() {
-        when(rewardService.getAllCustomerRewards(2, 5, null, null))
-                .thenReturn(new PagedRewardSummaryDTO(List.of(), 2, 5, 0, 0, true));
+        when(rewardService.getAllCustomerRewards(2, 5, null, null, TotalCountMode.EXACT, RewardView.FULL))
+                .thenReturn(new PagedRewardSummaryDTO(List.of(), 2, 5, 0L, 0, true, false, true));
 
-        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(2, 5, null, null);
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(2, 5, null, null, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().page());
         assertEquals(5, response.getBody().size());
-        verify(rewardService).getAllCustomerRewards(2, 5, null, null);
+        verify(rewardService).getAllCustomerRewards(2, 5, null, null, TotalCountMode.EXACT, RewardView.FULL);
+    }
+
+    @Test
+    void testGetAllCustomerRewards_SortedByPoints() {
+        PointsCursor after = new PointsCursor(120, 7);
+        when(rewardService.getAllCustomerRewardsByPoints(0, 5, null, null, after, TotalCountMode.NONE, RewardView.TOTALS))
+                .thenReturn(new PagedRewardSummaryDTO(List.of(customerRewardSummary), 0, 5, null, null, false, true, false,
+                        "90:1"));
+
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 5, null, null, TotalCountMode.NONE, RewardView.TOTALS, RewardSort.POINTS, after);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("90:1", response.getBody().nextCursor());
+        verify(rewardService, never()).getAllCustomerRewards(anyInt(), anyInt(), any(), any(), any(), any());
     }
 
     @Test
@@ -115,19 +142,49 @@ class RewardControllerTest {
         LocalDate from = LocalDate.of(2024, 3, 1);
         LocalDate to = LocalDate.of(2024, 1, 1);
 
-        when(rewardService.getAllCustomerRewards(0, 10, from, to))
+        when(rewardService.getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL))
                 .thenThrow(new InvalidDateRangeException(from, to));
 
         assertThrows(InvalidDateRangeException.class,
-                () -> rewardController.getAllCustomerRewards(0, 10, from, to));
+                () -> rewardController.getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null));
+    }
+
+    @Test
+    void testGetRewardWindows_Success() {
+        List<DateWindow> windows = List.of(new DateWindow(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)));
+        RewardWindowsDTO result = new RewardWindowsDTO(1L,
+                List.of(new RewardWindowDTO(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 340)));
+        when(rewardService.getRewardWindows(1L, windows)).thenReturn(result);
+
+        ResponseEntity<RewardWindowsDTO> response = rewardController.getRewardWindows(1L, windows);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(340, response.getBody().windows().get(0).points());
+        verify(rewardService).getRewardWindows(1L, windows);
+    }
+
+    @Test
+    void testGetRewardChanges_Success() {
+        RewardChangesDTO changes = new RewardChangesDTO(
+                List.of(new RewardChangeDTO(1L, 2024, "JANUARY", 90)), "5", "7", false);
+        when(rewardService.getRewardChanges(ChangeCursor.parse("5"), 1000)).thenReturn(changes);
+
+        ResponseEntity<RewardChangesDTO> response = rewardController.getRewardChanges(ChangeCursor.parse("5"), 1000);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("7", response.getBody().highWaterMark());
+        assertEquals(1, response.getBody().changes().size());
+        verify(rewardService).getRewardChanges(ChangeCursor.parse("5"), 1000);
     }
 
     @Test
     void testGetCustomerRewards_Success() {
-        when(rewardService.getCustomerRewards(1L, null, null))
+        when(rewardService.getCustomerRewards(1L, null, null, RewardView.FULL))
                 .thenReturn(customerRewardSummary);
 
-        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null);
+        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -136,7 +193,7 @@ class RewardControllerTest {
         assertEquals("Alice Johnson", response.getBody().customerName());
         assertEquals(340, response.getBody().totalPoints());
         assertEquals(2, response.getBody().monthlyRewards().size());
-        verify(rewardService).getCustomerRewards(1L, null, null);
+        verify(rewardService).getCustomerRewards(1L, null, null, RewardView.FULL);
     }
 
     @Test
@@ -144,23 +201,23 @@ class RewardControllerTest {
         LocalDate from = LocalDate.of(2024, 1, 1);
         LocalDate to = LocalDate.of(2024, 2, 28);
 
-        when(rewardService.getCustomerRewards(1L, from, to))
+        when(rewardService.getCustomerRewards(1L, from, to, RewardView.FULL))
                 .thenReturn(customerRewardSummary);
 
-        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, from, to);
+        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, from, to, RewardView.FULL);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(rewardService).getCustomerRewards(1L, from, to);
+        verify(rewardService).getCustomerRewards(1L, from, to, RewardView.FULL);
     }
 
     @Test
     void testGetCustomerRewards_CustomerNotFound() {
-        when(rewardService.getCustomerRewards(999L, null, null))
+        when(rewardService.getCustomerRewards(999L, null, null, RewardView.FULL))
                 .thenThrow(new CustomerNotFoundException(999L));
 
         assertThrows(CustomerNotFoundException.class,
-                () -> rewardController.getCustomerRewards(999L, null, null));
+                () -> rewardController.getCustomerRewards(999L, null, null, RewardView.FULL));
     }
 
     @Test
@@ -168,11 +225,11 @@ class RewardControllerTest {
         LocalDate from = LocalDate.of(2024, 3, 1);
         LocalDate to = LocalDate.of(2024, 1, 1);
 
-        when(rewardService.getCustomerRewards(1L, from, to))
+        when(rewardService.getCustomerRewards(1L, from, to, RewardView.FULL))
                 .thenThrow(new InvalidDateRangeException(from, to));
 
         assertThrows(InvalidDateRangeException.class,
-                () -> rewardController.getCustomerRewards(1L, from, to));
+                () -> rewardController.getCustomerRewards(1L, from, to, RewardView.FULL));
     }
 
     @Test
@@ -184,10 +241,10 @@ class RewardControllerTest {
                 0
         );
 
-        when(rewardService.getCustomerRewards(1L, null, null))
+        when(rewardService.getCustomerRewards(1L, null, null, RewardView.FULL))
                 .thenReturn(emptyRewards);
 
-        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null);
+        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -201,15 +258,17 @@ class RewardControllerTest {
                 List.of(),
                 0,
                 10,
+                0L,
                 0,
-                0,
+                true,
+                false,
                 true
         );
 
-        when(rewardService.getAllCustomerRewards(0, 10, null, null))
+        when(rewardService.getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL))
                 .thenReturn(emptyPage);
 
-        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, null, null);
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -221,14 +280,14 @@ class RewardControllerTest {
     void testGetCustomerRewards_SameDateRange() {
         LocalDate sameDate = LocalDate.of(2024, 1, 15);
 
-        when(rewardService.getCustomerRewards(1L, sameDate, sameDate))
+        when(rewardService.getCustomerRewards(1L, sameDate, sameDate, RewardView.FULL))
                 .thenReturn(customerRewardSummary);
 
-        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, sameDate, sameDate);
+        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, sameDate, sameDate, RewardView.FULL);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(rewardService).getCustomerRewards(1L, sameDate, sameDate);
+        verify(rewardService).getCustomerRewards(1L, sameDate, sameDate, RewardView.FULL);
     }
 
     @Test
@@ -237,15 +296,17 @@ class RewardControllerTest {
                 List.of(customerRewardSummary),
                 2,
                 10,
-                25,
+                25L,
                 3,
+                true,
+                false,
                 true
         );
 
-        when(rewardService.getAllCustomerRewards(2, 10, null, null))
+        when(rewardService.getAllCustomerRewards(2, 10, null, null, TotalCountMode.EXACT, RewardView.FULL))
                 .thenReturn(lastPage);
 
-        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(2, 10, null, null);
+        ResponseEntity<PagedRewardSummaryDTO> response = rewardController.getAllCustomerRewards(2, 10, null, null, TotalCountMode.EXACT, RewardView.FULL, RewardSort.ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -268,10 +329,10 @@ class RewardControllerTest {
                 490
         );
 
-        when(rewardService.getCustomerRewards(1L, null, null))
+        when(rewardService.getCustomerRewards(1L, null, null, RewardView.FULL))
                 .thenReturn(multiMonthSummary);
 
-        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null);
+        ResponseEntity<CustomerRewardSummaryDTO> response = rewardController.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
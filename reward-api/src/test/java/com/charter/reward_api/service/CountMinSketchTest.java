@@ -0,0 +1,40 @@
+package com.charter.reward_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for CountMinSketch.
+ */
+class CountMinSketchTest {
+
+    @Test
+    void testEstimate_NeverUndercountsAndSeparatesHeavyKeys() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (long customerId = 1; customerId <= 1000; customerId++) {
+            sketch.add(customerId, 1);
+        }
+        assertTrue(sketch.add(42L, 5000) >= 5001);
+
+        for (long customerId = 1; customerId <= 1000; customerId++) {
+            assertTrue(sketch.estimate(customerId) >= (customerId == 42 ? 5001 : 1));
+        }
+        assertTrue(sketch.estimate(7L) < 100);
+    }
+
+    @Test
+    void testHalve_AgesCounts() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+        sketch.add(1L, 10);
+
+        sketch.halve();
+        assertEquals(5, sketch.estimate(1L));
+
+        sketch.halve();
+        sketch.halve();
+        sketch.halve();
+        assertEquals(0, sketch.estimate(1L));
+    }
+}
@@ -0,0 +1,56 @@
+package com.charter.reward_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for HyperLogLog.
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testEstimate_WithinThreeStandardErrors() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (long customerId = 1; customerId <= 100_000; customerId++) {
+            sketch.add(customerId);
+            sketch.add(customerId);
+        }
+
+        double error = Math.abs(sketch.estimate() - 100_000) / 100_000.0;
+        assertTrue(error < 3 * sketch.relativeError(), "relative error " + error);
+    }
+
+    @Test
+    void testEstimate_SmallCountsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        assertEquals(0, sketch.estimate());
+        for (long customerId = 1; customerId <= 10; customerId++) {
+            sketch.add(customerId);
+        }
+        assertEquals(10, sketch.estimate());
+    }
+
+    @Test
+    void testMerge_EstimatesUnion() {
+        HyperLogLog january = new HyperLogLog(12);
+        HyperLogLog february = new HyperLogLog(12);
+        HyperLogLog both = new HyperLogLog(12);
+        for (long customerId = 1; customerId <= 30_000; customerId++) {
+            january.add(customerId);
+            both.add(customerId);
+        }
+        for (long customerId = 20_001; customerId <= 50_000; customerId++) {
+            february.add(customerId);
+            both.add(customerId);
+        }
+
+        january.merge(february);
+        assertArrayEquals(both.toBytes(), january.toBytes());
+        assertArrayEquals(both.toBytes(), HyperLogLog.fromBytes(12, both.toBytes()).toBytes());
+        assertThrows(IllegalArgumentException.class, () -> january.merge(new HyperLogLog(10)));
+    }
+}
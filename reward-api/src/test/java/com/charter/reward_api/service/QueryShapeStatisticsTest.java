@@ -0,0 +1,57 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.dto.QueryShapeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for QueryShapeStatistics.
+ */
+class QueryShapeStatisticsTest {
+
+    @Test
+    void testShapeOf_ReplacesLiteralsAndCollapsesInLists() {
+        assertEquals("select c1_0.id from customer c1_0 where c1_0.name=? and c1_0.id in (?...) limit ?",
+                QueryShapeStatistics.shapeOf("select c1_0.id from customer c1_0\n  where c1_0.name='O''Brien' "
+                        + "and c1_0.id in (1, 2, 3) limit 10"));
+        assertEquals(QueryShapeStatistics.shapeOf("select * from t where id in (?, ?)"),
+                QueryShapeStatistics.shapeOf("select * from t where id in (?)"));
+    }
+
+    @Test
+    void testGetSlowestShapes_OrdersByP99WithCounts() {
+        QueryShapeStatistics statistics = new QueryShapeStatistics(10, Duration.ofMinutes(10));
+        for (int i = 1; i <= 100; i++) {
+            statistics.record("fast", i * 1_000L, false);
+            statistics.record("slow", i * 1_000_000L, i > 90);
+        }
+
+        List<QueryShapeDTO> shapes = statistics.getSlowestShapes(10);
+
+        assertEquals(List.of("slow", "fast"), shapes.stream().map(QueryShapeDTO::sql).toList());
+        QueryShapeDTO slow = shapes.get(0);
+        assertEquals(100, slow.count());
+        assertEquals(10, slow.slowCount());
+        assertEquals(50.0, slow.p50Millis());
+        assertEquals(95.0, slow.p95Millis());
+        assertEquals(99.0, slow.p99Millis());
+        assertEquals(100.0, slow.maxMillis());
+    }
+
+    @Test
+    void testClaimExplain_OncePerIntervalAndBoundedShapes() {
+        QueryShapeStatistics statistics = new QueryShapeStatistics(1, Duration.ofMinutes(10));
+
+        assertTrue(statistics.claimExplain("first"));
+        assertFalse(statistics.claimExplain("first"));
+        assertFalse(statistics.claimExplain("second"));
+        statistics.record("second", 1_000L, false);
+        assertEquals(1, statistics.getSlowestShapes(10).size());
+    }
+}
@@ -0,0 +1,195 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.RequestCost;
+import com.charter.reward_api.exception.RequestBatchTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RequestBatcher.
+ */
+class RequestBatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentLookups_ShareOneLoadUntilBatchIsFull() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(true, Duration.ofSeconds(5), 4, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocker = holdLoad(batcher, release);
+        List<Set<Long>> loads = new CopyOnWriteArrayList<>();
+        Function<Set<Long>, Map<Long, String>> loader = ids -> {
+            loads.add(ids);
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> "customer-" + id));
+        };
+
+        List<Future<String>> lookups = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            long customerId = id;
+            lookups.add(executor.submit(() -> batcher.load("key", customerId, loader)));
+        }
+
+        for (int i = 0; i < lookups.size(); i++) {
+            assertEquals("customer-" + (i + 1), lookups.get(i).get(5, TimeUnit.SECONDS));
+        }
+        release.countDown();
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1L, 2L, 3L, 4L)), loads);
+        assertEquals(5, batcher.getLookupCount());
+        assertEquals(2, batcher.getLoadCount());
+    }
+
+    @Test
+    void testBatchedLookups_ShareLoadCostPerId() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(true, Duration.ofSeconds(5), 2, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        holdLoad(batcher, release);
+        Function<Set<Long>, Map<Long, String>> loader = ids -> {
+            RequestCost.current().addStatements(1, 40);
+            for (int row = 0; row < 10; row++) {
+                RequestCost.current().addRowRead();
+            }
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> "customer-" + id));
+        };
+
+        List<Future<RequestCost>> lookups = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            long customerId = id;
+            lookups.add(executor.submit(() -> {
+                RequestCost cost = new RequestCost();
+                RequestCost.set(cost);
+                try {
+                    batcher.load("key", customerId, loader);
+                    return cost;
+                } finally {
+                    RequestCost.set(null);
+                }
+            }));
+        }
+
+        for (Future<RequestCost> lookup : lookups) {
+            RequestCost cost = lookup.get(5, TimeUnit.SECONDS);
+            assertEquals(1, cost.getStatements());
+            assertEquals(20, cost.getStatementMillis());
+            assertEquals(5, cost.getRowsRead());
+        }
+        release.countDown();
+    }
+
+    @Test
+    void testLoneLookup_LoadsWithoutWaitingForWindow() {
+        RequestBatcher batcher = new RequestBatcher(true, Duration.ofSeconds(5), 100, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        assertEquals("one", batcher.load("key", 1L, ids -> Map.of(1L, "one")));
+        assertNull(batcher.load("key", 2L, ids -> Map.of()));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, batcher.getLoadCount());
+    }
+
+    @Test
+    void testDisabled_LoadsEachLookupAlone() {
+        RequestBatcher batcher = new RequestBatcher(false, Duration.ofSeconds(5), 100, Duration.ofSeconds(5));
+        List<Set<Long>> loads = new ArrayList<>();
+
+        batcher.load("key", 1L, ids -> {
+            loads.add(ids);
+            return Map.of();
+        });
+
+        assertEquals(List.of(Set.of(1L)), loads);
+    }
+
+    @Test
+    void testLoadFailure_PropagatesToWholeBatch() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(true, Duration.ofSeconds(5), 2, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        holdLoad(batcher, release);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Function<Set<Long>, Map<Long, String>> loader = ids -> {
+            throw failure;
+        };
+
+        Future<String> first = executor.submit(() -> batcher.load("key", 1L, loader));
+        Future<String> second = executor.submit(() -> batcher.load("key", 2L, loader));
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+        release.countDown();
+        assertEquals(2, batcher.getLoadCount());
+    }
+
+    @Test
+    void testFollowerWait_IsBounded() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(true, Duration.ofSeconds(5), 2, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        holdLoad(batcher, release);
+        Function<Set<Long>, Map<Long, String>> loader = ids -> {
+            await(release);
+            return Map.of(1L, "slow", 2L, "slow");
+        };
+
+        Future<String> first = executor.submit(() -> batcher.load("key", 1L, loader));
+        Future<String> second = executor.submit(() -> batcher.load("key", 2L, loader));
+
+        while (!first.isDone() && !second.isDone()) {
+            Thread.onSpinWait();
+        }
+        Future<String> follower = first.isDone() ? first : second;
+        Future<String> leader = first.isDone() ? second : first;
+        ExecutionException error = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestBatchTimeoutException.class, error.getCause());
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Starts a load under another key that runs until released, so that new batches wait for the window.
+     */
+    private Future<String> holdLoad(RequestBatcher batcher, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> blocker = executor.submit(() -> batcher.load("blocker", 0L, ids -> {
+            started.countDown();
+            await(release);
+            return Map.of(0L, "blocker");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        return blocker;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.exception.CustomerNotFoundException;
+import com.charter.reward_api.exception.RequestCoalescingTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for RequestCoalescer.
+ */
+class RequestCoalescerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalCalls_ShareOneExecution() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "result";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("key", () -> {
+                executions.incrementAndGet();
+                return "other";
+            })));
+        }
+        while (coalescer.getCoalescedCount() < 5) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescer.getExecutedCount());
+        assertEquals(5, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void testSequentialCalls_ExecuteEachTime() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+
+        assertEquals(1, coalescer.execute("key", () -> 1));
+        assertEquals(2, coalescer.execute("key", () -> 2));
+        assertEquals(2, coalescer.getExecutedCount());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void testLeaderFailure_PropagatesToFollowers() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CustomerNotFoundException failure = new CustomerNotFoundException(42L);
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw failure;
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<Object> follower = executor.submit(() -> coalescer.execute("key", () -> "unused"));
+        while (coalescer.getCoalescedCount() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderError.getCause());
+        assertSame(failure, followerError.getCause());
+        assertEquals("recovered", coalescer.execute("key", () -> "recovered"));
+    }
+
+    @Test
+    void testFollowerWait_IsBounded() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "slow";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        Future<String> follower = executor.submit(() -> coalescer.execute("key", () -> "unused"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestCoalescingTimeoutException.class, error.getCause());
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
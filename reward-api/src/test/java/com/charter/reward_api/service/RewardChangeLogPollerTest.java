@@ -0,0 +1,113 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.ShardingProperties;
+import com.charter.reward_api.model.RewardChangeLog;
+import com.charter.reward_api.repository.RewardChangeLogRepository;
+import com.charter.reward_api.repository.RewardChangeLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RewardChangeLogPoller.
+ */
+class RewardChangeLogPollerTest {
+
+    private final RewardChangeLogRepository changeLogRepository = mock(RewardChangeLogRepository.class);
+    private final RewardChangeSequencer changeSequencer = mock(RewardChangeSequencer.class);
+    private final RewardChangeLogWriter changeLogWriter = mock(RewardChangeLogWriter.class);
+    private final RewardPrefixSumIndex prefixSumIndex = mock(RewardPrefixSumIndex.class);
+    private final HotCustomerCache hotCustomerCache = mock(HotCustomerCache.class);
+    private final ClosedMonthFragmentCache fragmentCache = mock(ClosedMonthFragmentCache.class);
+    private final ShardRouter shardRouter = new ShardRouter(new ShardingProperties(null, null, null, null));
+    private RewardChangeLogPoller poller;
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+    }
+
+    @Test
+    void testPoll_StartsAtEndOfLogAndEvictsNewEntriesOnce() {
+        poller = startPoller();
+        when(changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(10L), any()))
+                .thenReturn(List.of(entry(12L, 11L, 2L)));
+        when(changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(11L), any()))
+                .thenReturn(List.of(entry(13L, 12L, 1L)));
+
+        assertEquals(1, poller.poll());
+        verify(prefixSumIndex).invalidate(2L);
+        verify(hotCustomerCache).invalidate(2L);
+        verify(fragmentCache).invalidate(2L);
+
+        assertEquals(1, poller.poll());
+        verify(prefixSumIndex).invalidate(1L);
+        verify(prefixSumIndex, times(1)).invalidate(2L);
+        verify(changeSequencer, times(2)).sequence(100);
+    }
+
+    @Test
+    void testPoll_ReadsEntryCommittedLateByItsChangeVersion() {
+        poller = startPoller();
+        when(changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(10L), any()))
+                .thenReturn(List.of(entry(14L, 11L, 2L)));
+        when(changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(11L), any()))
+                .thenReturn(List.of(entry(13L, 12L, 1L)));
+
+        assertEquals(1, poller.poll());
+        assertEquals(1, poller.poll());
+
+        verify(prefixSumIndex).invalidate(1L);
+        verify(hotCustomerCache).invalidate(1L);
+    }
+
+    @Test
+    void testPoll_SkipsEntriesWrittenByThisInstance() {
+        poller = startPoller();
+        RewardChangeLog local = entry(11L, 11L, 1L);
+        ReflectionTestUtils.setField(local, "origin", "local");
+        when(changeLogRepository.findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(10L), any()))
+                .thenReturn(List.of(local, entry(12L, 12L, 2L)));
+
+        assertEquals(1, poller.poll());
+        assertEquals(0, poller.poll());
+
+        verify(prefixSumIndex, never()).invalidate(1L);
+        verify(hotCustomerCache, never()).invalidate(1L);
+        verify(fragmentCache, never()).invalidate(1L);
+        verify(hotCustomerCache).invalidate(2L);
+        verify(changeLogRepository).findByCommitVersionGreaterThanOrderByCommitVersionAsc(eq(12L), any());
+    }
+
+    private RewardChangeLogPoller startPoller() {
+        when(changeLogWriter.getOrigin()).thenReturn("local");
+        when(changeLogRepository.findTopByCommitVersionNotNullOrderByCommitVersionDesc())
+                .thenReturn(Optional.of(entry(9L, 10L, 9L)));
+        RewardChangeLogPoller started = new RewardChangeLogPoller(changeLogRepository, changeSequencer, changeLogWriter,
+                prefixSumIndex, hotCustomerCache, fragmentCache, shardRouter, true, Duration.ofHours(1), 100);
+        started.afterSingletonsInstantiated();
+        return started;
+    }
+
+    private static RewardChangeLog entry(Long id, Long version, Long customerId) {
+        RewardChangeLog entry = new RewardChangeLog(customerId, LocalDate.of(2024, 1, 1), Instant.now());
+        ReflectionTestUtils.setField(entry, "id", id);
+        ReflectionTestUtils.setField(entry, "commitVersion", version);
+        return entry;
+    }
+}
@@ -1,34 +1,49 @@
 package com.charter.reward_api.service;
 
+import com.charter.reward_api.config.ShardingProperties;
 import com.charter.reward_api.dto.CustomerRewardSummaryDTO;
 import com.charter.reward_api.dto.PagedRewardSummaryDTO;
+import com.charter.reward_api.dto.RewardView;
+import com.charter.reward_api.dto.TotalCountMode;
 import com.charter.reward_api.exception.CustomerNotFoundException;
 import com.charter.reward_api.exception.InvalidDateRangeException;
 import com.charter.reward_api.model.Customer;
 import com.charter.reward_api.model.Transaction;
+import com.charter.reward_api.repository.CustomerMonthRow;
 import com.charter.reward_api.repository.CustomerRepository;
+import com.charter.reward_api.repository.RewardMonthSnapshotRepository;
+import com.charter.reward_api.repository.CustomerTransactionRow;
 import com.charter.reward_api.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +55,33 @@ class RewardServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerCountCache customerCountCache;
+
+    @Mock
+    private RewardMonthSnapshotRepository snapshotRepository;
+
+    @Mock
+    private MonthCloseService monthCloseService;
+
+    @Mock
+    private HotCustomerCache hotCustomerCache;
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(Duration.ofSeconds(5));
+
+    @Spy
+    private RequestBatcher requestBatcher = new RequestBatcher(true, Duration.ZERO, 100, Duration.ofSeconds(5));
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(new ShardingProperties(null, null, null, null));
+
+    @Spy
+    private ClosedMonthPolicy closedMonthPolicy = new ClosedMonthPolicy(Duration.ofDays(5));
+
+    @Spy
+    private ClosedMonthFragmentCache fragmentCache = new ClosedMonthFragmentCache(100);
+
     @InjectMocks
     private RewardServiceImpl rewardService;
 
@@ -60,11 +102,10 @@ class RewardServiceImplTest {
 
     @Test
     void testGetCustomerRewards_Success() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(transactions);
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(transactions));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertNotNull(result);
         assertEquals(1L, result.customerId());
@@ -77,21 +118,42 @@ class RewardServiceImplTest {
 
     @Test
     void testGetCustomerRewards_CustomerNotFound() {
-        when(customerRepository.findById(999L)).thenReturn(Optional.empty());
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any())).thenReturn(List.of());
 
         assertThrows(CustomerNotFoundException.class,
-                () -> rewardService.getCustomerRewards(999L, null, null));
+                () -> rewardService.getCustomerRewards(999L, null, null, RewardView.FULL));
     }
 
     @Test
     void testGetCustomerRewards_InvalidDateRange() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-
         LocalDate from = LocalDate.of(2024, 3, 1);
         LocalDate to = LocalDate.of(2024, 1, 1);
 
         assertThrows(InvalidDateRangeException.class,
-                () -> rewardService.getCustomerRewards(1L, from, to));
+                () -> rewardService.getCustomerRewards(1L, from, to, RewardView.FULL));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testGetCustomerRewards_ReadsOnlyOpenMonthsOnceClosedMonthsAreCached() {
+        LocalDate start = LocalDate.of(1900, 1, 1);
+        LocalDate end = LocalDate.of(2100, 12, 31);
+        LocalDate openStart = closedMonthPolicy.latestClosedMonth().plusMonths(1).atDay(1);
+        Transaction open = new Transaction(customer, new BigDecimal("75.00"), LocalDate.now());
+        List<Transaction> all = new ArrayList<>(transactions);
+        all.add(open);
+        when(customerRepository.findWithTransactionsInRange(1L, start, end)).thenReturn(transactionRows(all));
+        when(customerRepository.findWithTransactionsInRange(1L, openStart, end))
+                .thenReturn(transactionRows(List.of(open)));
+
+        CustomerRewardSummaryDTO first = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
+        CustomerRewardSummaryDTO second = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
+
+        assertEquals(first, second);
+        assertEquals(3, second.monthlyRewards().size());
+        assertEquals(365, second.totalPoints());
+        verify(customerRepository).findWithTransactionsInRange(1L, start, end);
+        verify(customerRepository).findWithTransactionsInRange(1L, openStart, end);
     }
 
     @Test
@@ -100,15 +162,17 @@ class RewardServiceImplTest {
         Page<Customer> customerPage = new PageImpl<>(List.of(customer), pageable, 1);
 
         when(customerRepository.findAll(pageable)).thenReturn(customerPage);
-        when(transactionRepository.findByDateRange(any(), any())).thenReturn(transactions);
+        when(transactionRepository.findByCustomerIdsAndDateRange(any(), any(), any())).thenReturn(transactions);
 
-        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, null, null);
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL);
 
         assertNotNull(result);
         assertEquals(1, result.content().size());
         assertEquals(0, result.page());
         assertEquals(10, result.size());
         assertEquals(1, result.totalElements());
+        assertEquals(340, result.content().get(0).totalPoints());
+        verify(transactionRepository).findByCustomerIdsAndDateRange(eq(List.of(1L)), any(), any());
     }
 
     @Test
@@ -117,27 +181,72 @@ class RewardServiceImplTest {
         Page<Customer> customerPage = new PageImpl<>(List.of(customer), pageable, 1);
 
         when(customerRepository.findAll(pageable)).thenReturn(customerPage);
-        when(transactionRepository.findByDateRange(any(), any()))
+        when(transactionRepository.findByCustomerIdsAndDateRange(any(), any(), any()))
                 .thenReturn(transactions.subList(0, 2));
 
         LocalDate from = LocalDate.of(2024, 1, 1);
         LocalDate to = LocalDate.of(2024, 1, 31);
 
-        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, from, to);
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, from, to, TotalCountMode.EXACT, RewardView.FULL);
 
         assertNotNull(result);
         assertEquals(1, result.content().size());
-        verify(transactionRepository).findByDateRange(from, to);
+        verify(transactionRepository).findByCustomerIdsAndDateRange(List.of(1L), from, to);
+    }
+
+    @Test
+    void testGetAllCustomerRewards_NoTotals_SkipsCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(customerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(customer), pageable, true));
+        when(transactionRepository.findByCustomerIdsAndDateRange(any(), any(), any())).thenReturn(transactions);
+
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 1, null, null, TotalCountMode.NONE, RewardView.FULL);
+
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertFalse(result.last());
+        assertNull(result.totalElements());
+        assertNull(result.totalPages());
+        assertFalse(result.totalExact());
+        verify(customerRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(customerCountCache);
+    }
+
+    @Test
+    void testGetAllCustomerRewards_EstimatedTotals_UseCachedCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(customerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(customer), pageable, true));
+        when(transactionRepository.findByCustomerIdsAndDateRange(any(), any(), any())).thenReturn(transactions);
+        when(customerCountCache.getCount()).thenReturn(5L);
+
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 1, null, null, TotalCountMode.ESTIMATED, RewardView.FULL);
+
+        assertEquals(5L, result.totalElements());
+        assertEquals(5, result.totalPages());
+        assertFalse(result.totalExact());
+        verify(customerRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllCustomerRewards_EstimatedTotals_NeverBelowObservedCustomers() {
+        Pageable pageable = PageRequest.of(3, 1);
+        when(customerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(customer), pageable, true));
+        when(transactionRepository.findByCustomerIdsAndDateRange(any(), any(), any())).thenReturn(List.of());
+        when(customerCountCache.getCount()).thenReturn(2L);
+
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(3, 1, null, null, TotalCountMode.ESTIMATED, RewardView.FULL);
+
+        assertEquals(5L, result.totalElements());
+        assertEquals(5, result.totalPages());
     }
 
     @Test
     void testPointsCalculation_Under50() {
         Transaction transaction = new Transaction(customer, new BigDecimal("45.00"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(0, result.totalPoints());
     }
@@ -145,11 +254,10 @@ class RewardServiceImplTest {
     @Test
     void testPointsCalculation_Between50And100() {
         Transaction transaction = new Transaction(customer, new BigDecimal("75.00"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(25, result.totalPoints());
     }
@@ -157,11 +265,10 @@ class RewardServiceImplTest {
     @Test
     void testPointsCalculation_Over100() {
         Transaction transaction = new Transaction(customer, new BigDecimal("120.00"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(90, result.totalPoints());
     }
@@ -169,11 +276,10 @@ class RewardServiceImplTest {
     @Test
     void testPointsCalculation_CentsTruncated() {
         Transaction transaction = new Transaction(customer, new BigDecimal("120.99"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(90, result.totalPoints());
     }
@@ -181,11 +287,10 @@ class RewardServiceImplTest {
     @Test
     void testPointsCalculation_Exactly50() {
         Transaction transaction = new Transaction(customer, new BigDecimal("50.00"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(0, result.totalPoints());
     }
@@ -193,22 +298,20 @@ class RewardServiceImplTest {
     @Test
     void testPointsCalculation_Exactly100() {
         Transaction transaction = new Transaction(customer, new BigDecimal("100.00"), LocalDate.now());
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(50, result.totalPoints());
     }
 
     @Test
     void testGetCustomerRewards_NoTransactions() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of());
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of()));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.FULL);
 
         assertEquals(0, result.totalPoints());
         assertEquals(0, result.monthlyRewards().size());
@@ -220,9 +323,8 @@ class RewardServiceImplTest {
         Page<Customer> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
         when(customerRepository.findAll(pageable)).thenReturn(emptyPage);
-        when(transactionRepository.findByDateRange(any(), any())).thenReturn(List.of());
 
-        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, null, null);
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(0, 10, null, null, TotalCountMode.EXACT, RewardView.FULL);
 
         assertEquals(0, result.content().size());
         assertEquals(0, result.totalElements());
@@ -234,25 +336,125 @@ class RewardServiceImplTest {
         Page<Customer> customerPage = new PageImpl<>(List.of(), pageable, 0);
 
         when(customerRepository.findAll(pageable)).thenReturn(customerPage);
-        when(transactionRepository.findByDateRange(any(), any())).thenReturn(List.of());
 
-        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(10, 100, null, null);
+        PagedRewardSummaryDTO result = rewardService.getAllCustomerRewards(10, 100, null, null, TotalCountMode.EXACT, RewardView.FULL);
 
         assertEquals(10, result.page());
         assertEquals(100, result.size());
     }
 
+    @Test
+    void testGetCustomerRewards_TotalsView_SumsInDatabase() {
+        when(customerRepository.findWithPointsByMonthInRange(anyLong(), any(), any()))
+                .thenReturn(List.of(monthRow(2024, 1, 90), monthRow(2024, 2, 250)));
+
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.TOTALS);
+
+        assertEquals(340, result.totalPoints());
+        assertNull(result.monthlyRewards());
+        verify(customerRepository, never()).findWithTransactionsInRange(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetCustomerRewards_MonthlyView_CustomerWithoutTransactions() {
+        when(customerRepository.findWithPointsByMonthInRange(anyLong(), any(), any()))
+                .thenReturn(List.of(monthRow(null, null, null)));
+
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, null, null, RewardView.MONTHLY);
+
+        assertEquals("Alice Johnson", result.customerName());
+        assertEquals(0, result.totalPoints());
+        assertEquals(0, result.monthlyRewards().size());
+    }
+
+    @Test
+    void testGetCustomerRewards_MonthlyView_CustomerNotFound() {
+        when(customerRepository.findWithPointsByMonthInRange(anyLong(), any(), any())).thenReturn(List.of());
+
+        assertThrows(CustomerNotFoundException.class,
+                () -> rewardService.getCustomerRewards(999L, null, null, RewardView.MONTHLY));
+    }
+
     @Test
     void testGetCustomerRewards_SameDateRange() {
         LocalDate sameDate = LocalDate.of(2024, 1, 15);
         Transaction transaction = new Transaction(customer, new BigDecimal("120.00"), sameDate);
         
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(transactionRepository.findByCustomerIdAndDateRange(anyLong(), any(), any()))
-                .thenReturn(List.of(transaction));
+        when(customerRepository.findWithTransactionsInRange(anyLong(), any(), any()))
+                .thenReturn(transactionRows(List.of(transaction)));
 
-        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, sameDate, sameDate);
+        CustomerRewardSummaryDTO result = rewardService.getCustomerRewards(1L, sameDate, sameDate, RewardView.FULL);
 
         assertEquals(90, result.totalPoints());
     }
+
+    /**
+     * Builds the rows of Alice left-joined to her transactions; no transactions yield one row without a transaction.
+     */
+    private List<CustomerTransactionRow> transactionRows(List<Transaction> customerTransactions) {
+        if (customerTransactions.isEmpty()) {
+            return List.of(transactionRow(null, null));
+        }
+        return customerTransactions.stream()
+                .map(transaction -> transactionRow(transaction.getAmount(), transaction.getTransactionDate()))
+                .toList();
+    }
+
+    private CustomerTransactionRow transactionRow(BigDecimal amount, LocalDate transactionDate) {
+        return new CustomerTransactionRow() {
+            @Override
+            public Long getCustomerId() {
+                return customer.getId();
+            }
+
+            @Override
+            public String getCustomerName() {
+                return customer.getName();
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return amount;
+            }
+
+            @Override
+            public LocalDate getTransactionDate() {
+                return transactionDate;
+            }
+        };
+    }
+
+    private CustomerMonthRow monthRow(Integer year, Integer month, Integer points) {
+        return new CustomerMonthRow() {
+            @Override
+            public Long getCustomerId() {
+                return customer.getId();
+            }
+
+            @Override
+            public String getCustomerName() {
+                return customer.getName();
+            }
+
+            @Override
+            public Integer getRewardYear() {
+                return year;
+            }
+
+            @Override
+            public Integer getRewardMonth() {
+                return month;
+            }
+
+            @Override
+            public Number getPoints() {
+                return points;
+            }
+
+            @Override
+            public Number getTransactionCount() {
+                return month != null ? 1 : 0;
+            }
+        };
+    }
 }
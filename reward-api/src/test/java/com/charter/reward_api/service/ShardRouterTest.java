@@ -0,0 +1,71 @@
+package com.charter.reward_api.service;
+
+import com.charter.reward_api.config.ShardingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ShardRouter.
+ */
+class ShardRouterTest {
+
+    private final ShardRouter shardRouter = new ShardRouter(new ShardingProperties(null, null,
+            Collections.nCopies(3, new ShardingProperties.Shard("jdbc:h2:mem:unused", "sa", null, null)), 1));
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void testOnEachShard_RunsFirstShardOnCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        List<Thread> threads = shardRouter.onEachShard(shard -> Thread.currentThread());
+
+        assertEquals(caller, threads.get(0));
+        assertNotEquals(caller, threads.get(1));
+    }
+
+    @Test
+    void testOnEachShard_RunsShardsOnCallerThreadWhenPoolIsBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busy = new Thread(() -> shardRouter.onEachShard(shard -> {
+            if (shard == 1) {
+                started.countDown();
+                await(release);
+            }
+            return shard;
+        }));
+        busy.start();
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread caller = Thread.currentThread();
+
+            List<Thread> threads = shardRouter.onEachShard(shard -> Thread.currentThread());
+
+            assertEquals(List.of(caller, caller, caller), threads);
+        } finally {
+            release.countDown();
+            busy.join(5_000);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
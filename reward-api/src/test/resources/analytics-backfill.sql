@@ -0,0 +1,9 @@
+INSERT INTO customer (name) VALUES ('Rajesh Kumar');
+INSERT INTO customer (name) VALUES ('Priya Sharma');
+INSERT INTO customer (name) VALUES ('Amit Patel');
+
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 120.00, '2023-01-10');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 75.50, '2023-02-14');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 210.00, '2023-01-22');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 49.99, '2023-03-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 101.00, '2024-02-29');
@@ -0,0 +1,177 @@
+package com.charter.reward_batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calculates reward points per customer and month over a transaction CSV file of any size.
+ * The file is cut into chunks at line breaks; each worker thread memory-maps one chunk at a time and
+ * parses it into its own {@link CustomerMonthPoints} table, so workers share nothing until their tables
+ * are merged and sorted into {@link RewardTotals} at the end. Memory is bounded by the number of distinct
+ * customer months, not by the size of the file.
+ */
+public final class BatchRewardCalculator {
+
+    private static final int BOUNDARY_SCAN_BYTES = 64 * 1024;
+
+    private final int threads;
+    private final long chunkBytes;
+
+    /**
+     * Creates a calculator.
+     *
+     * @param threads the number of worker threads
+     * @param chunkBytes the approximate size of each mapped chunk; at most {@link Integer#MAX_VALUE}
+     */
+    public BatchRewardCalculator(int threads, long chunkBytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        if (chunkBytes < 1 || chunkBytes > Integer.MAX_VALUE - BOUNDARY_SCAN_BYTES) {
+            throw new IllegalArgumentException("chunkBytes must be between 1 and " + (Integer.MAX_VALUE - BOUNDARY_SCAN_BYTES));
+        }
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Calculates the points of every customer with transactions in a file.
+     *
+     * @param csv the transaction CSV file
+     * @return the points per customer and month, and the amount of input read
+     * @throws IOException if the file cannot be read
+     * @throws MalformedCsvException if a row cannot be parsed
+     */
+    public Result calculate(Path csv) throws IOException {
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CsvLayout layout = CsvLayout.detect(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(size, BOUNDARY_SCAN_BYTES)));
+            List<long[]> chunks = split(channel, layout.headerLength(), size);
+
+            AtomicInteger nextChunk = new AtomicInteger();
+            AtomicInteger workerCount = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "reward-batch-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<CustomerMonthPoints>> futures = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    futures.add(workers.submit(() -> parseChunks(channel, layout, chunks, nextChunk)));
+                }
+                List<CustomerMonthPoints> tables = new ArrayList<>(threads);
+                for (Future<CustomerMonthPoints> future : futures) {
+                    tables.add(await(future));
+                }
+                return merge(tables, size);
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private static CustomerMonthPoints parseChunks(FileChannel channel, CsvLayout layout, List<long[]> chunks,
+                                                   AtomicInteger nextChunk) throws IOException {
+        CustomerMonthPoints table = new CustomerMonthPoints();
+        TransactionCsvParser parser = new TransactionCsvParser(layout);
+        int index;
+        while ((index = nextChunk.getAndIncrement()) < chunks.size()) {
+            long[] chunk = chunks.get(index);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+            parser.parse(mapped, chunk[0], table);
+        }
+        return table;
+    }
+
+    /**
+     * Cuts the rows of a file into chunks of about {@link #chunkBytes}, each ending after a line break,
+     * and into at least one chunk per worker.
+     *
+     * @return the chunks as {start, end} byte offsets
+     */
+    private List<long[]> split(FileChannel channel, long start, long size) throws IOException {
+        long rowBytes = size - start;
+        long count = Math.max(threads, (rowBytes + chunkBytes - 1) / chunkBytes);
+        long target = Math.max(1, (rowBytes + count - 1) / count);
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long chunkStart = start;
+        while (chunkStart < size) {
+            long chunkEnd = Math.min(size, chunkStart + target);
+            if (chunkEnd < size) {
+                chunkEnd = afterNextLineBreak(channel, chunkEnd - 1, size, scan);
+            }
+            chunks.add(new long[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    private static long afterNextLineBreak(FileChannel channel, long from, long size, ByteBuffer scan)
+            throws IOException {
+        long position = from;
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += Math.max(read, 0);
+            if (position - from > BOUNDARY_SCAN_BYTES) {
+                throw new MalformedCsvException(from, "Row longer than " + BOUNDARY_SCAN_BYTES + " bytes");
+            }
+        }
+        return size;
+    }
+
+    private static Result merge(List<CustomerMonthPoints> tables, long bytes) {
+        CustomerMonthPoints merged = tables.get(0);
+        for (int i = 1; i < tables.size(); i++) {
+            merged.addAll(tables.get(i));
+            tables.set(i, null);
+        }
+        return new Result(merged.toTotals(), merged.rows(), bytes);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch workers", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Outcome of a batch calculation.
+     *
+     * @param totals the points per customer and month
+     * @param rows the number of transaction rows read
+     * @param bytes the size of the input file in bytes
+     */
+    public record Result(RewardTotals totals, long rows, long bytes) {
+    }
+}
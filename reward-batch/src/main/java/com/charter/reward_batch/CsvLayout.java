@@ -0,0 +1,74 @@
+package com.charter.reward_batch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Positions of the columns the calculator reads in a transaction CSV file.
+ * Files exported with a header row may have the columns in any order and extra columns;
+ * files without one are read as {@code customer_id,amount,transaction_date}.
+ *
+ * @param customerIdColumn the index of the {@code customer_id} column
+ * @param amountColumn the index of the {@code amount} column
+ * @param dateColumn the index of the {@code transaction_date} column
+ * @param headerLength the length of the header row in bytes, including its line break, or 0 without a header
+ */
+public record CsvLayout(int customerIdColumn, int amountColumn, int dateColumn, int headerLength) {
+
+    /**
+     * The layout of a file without a header row.
+     */
+    public static final CsvLayout DEFAULT = new CsvLayout(0, 1, 2, 0);
+
+    /**
+     * Detects the layout from the start of a file. The first row is a header unless it starts with a digit.
+     *
+     * @param start the first bytes of the file, at least its whole first row
+     * @return the layout
+     * @throws MalformedCsvException if the header lacks a required column
+     */
+    public static CsvLayout detect(ByteBuffer start) {
+        int limit = start.limit();
+        int first = 0;
+        while (first < limit && start.get(first) == '"') {
+            first++;
+        }
+        if (first == limit || (start.get(first) >= '0' && start.get(first) <= '9')) {
+            return DEFAULT;
+        }
+        int end = 0;
+        while (end < limit && start.get(end) != '\n') {
+            end++;
+        }
+        if (end == limit) {
+            throw new MalformedCsvException(0, "Header row is not terminated");
+        }
+        byte[] header = new byte[end];
+        start.get(0, header);
+        List<String> columns = List.of(new String(header, StandardCharsets.UTF_8).strip().split(","));
+        List<String> names = columns.stream()
+                .map(column -> column.strip().replace("\"", "").toLowerCase(Locale.ROOT))
+                .toList();
+        return new CsvLayout(column(names, "customer_id"), column(names, "amount"),
+                column(names, "transaction_date"), end + 1);
+    }
+
+    private static int column(List<String> names, String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new MalformedCsvException(0, "Header row has no " + name + " column");
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of columns up to and including the last one read.
+     *
+     * @return the number of columns that must be present on every row
+     */
+    public int requiredColumns() {
+        return Math.max(customerIdColumn, Math.max(amountColumn, dateColumn)) + 1;
+    }
+}
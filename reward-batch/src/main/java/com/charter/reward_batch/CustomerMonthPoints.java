@@ -0,0 +1,163 @@
+package com.charter.reward_batch;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing table of reward points per customer and month, keyed by primitive longs so that
+ * adding a transaction allocates nothing. Not thread-safe; each worker fills its own table.
+ */
+final class CustomerMonthPoints {
+
+    private static final int MONTH_BITS = 17;
+    private static final long MONTH_MASK = (1L << MONTH_BITS) - 1;
+    static final long MAX_CUSTOMER_ID = (1L << (63 - MONTH_BITS)) - 1;
+
+    private long[] keys = new long[1 << 12];
+    private long[] points = new long[1 << 12];
+    private int size;
+    private long rows;
+
+    /**
+     * Adds the points of one transaction.
+     *
+     * @param customerId the customer ID, between 0 and {@link #MAX_CUSTOMER_ID}
+     * @param monthKey the month as {@code year * 12 + month - 1}, which is never 0 for years after 0
+     * @param transactionPoints the points earned
+     */
+    void add(long customerId, int monthKey, long transactionPoints) {
+        rows++;
+        addToKey(key(customerId, monthKey), transactionPoints);
+    }
+
+    /**
+     * Adds every customer month of another table to this one.
+     *
+     * @param other the table to add
+     */
+    void addAll(CustomerMonthPoints other) {
+        rows += other.rows;
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != 0) {
+                addToKey(other.keys[slot], other.points[slot]);
+            }
+        }
+    }
+
+    private void addToKey(long key, long transactionPoints) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                points[slot] += transactionPoints;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        points[slot] = transactionPoints;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Gets the number of transactions added.
+     *
+     * @return the transaction count
+     */
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Visits every customer month in no particular order.
+     *
+     * @param visitor receives each customer month and its points
+     */
+    void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                visitor.accept(customerId(keys[slot]), monthKey(keys[slot]), points[slot]);
+            }
+        }
+    }
+
+    /**
+     * Copies the customer months out in key order, which is customer ID order and then month order.
+     *
+     * @return the sorted totals
+     */
+    RewardTotals toTotals() {
+        long[] sortedKeys = new long[size];
+        int count = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                sortedKeys[count++] = key;
+            }
+        }
+        Arrays.sort(sortedKeys);
+        long[] sortedPoints = new long[size];
+        int mask = keys.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(sortedKeys[i]) & mask;
+            while (keys[slot] != sortedKeys[i]) {
+                slot = (slot + 1) & mask;
+            }
+            sortedPoints[i] = points[slot];
+        }
+        return new RewardTotals(sortedKeys, sortedPoints);
+    }
+
+    static long key(long customerId, int monthKey) {
+        return customerId << MONTH_BITS | monthKey;
+    }
+
+    static long customerId(long key) {
+        return key >>> MONTH_BITS;
+    }
+
+    static int monthKey(long key) {
+        return (int) (key & MONTH_MASK);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldPoints = points;
+        keys = new long[oldKeys.length * 2];
+        points = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                points[slot] = oldPoints[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Receives the entries of a {@link CustomerMonthPoints} table.
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+
+        /**
+         * Accepts one customer month.
+         *
+         * @param customerId the customer ID
+         * @param monthKey the month as {@code year * 12 + month - 1}
+         * @param points the points earned in the month
+         */
+        void accept(long customerId, int monthKey, long points);
+    }
+}
@@ -0,0 +1,64 @@
+package com.charter.reward_batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads customer names from an {@code id,name} CSV export, with or without a header row.
+ * Names may be quoted, with {@code ""} for a quote inside the name.
+ */
+public final class CustomerNames {
+
+    private CustomerNames() {
+    }
+
+    /**
+     * Reads a customer CSV file.
+     *
+     * @param csv the customer file
+     * @return the names by customer ID
+     * @throws IOException if the file cannot be read
+     * @throws MalformedCsvException if a row cannot be parsed
+     */
+    public static Map<Long, String> read(Path csv) throws IOException {
+        Map<Long, String> names = new HashMap<>();
+        long offset = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                long lineOffset = offset;
+                offset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                String row = line.strip();
+                if (row.isEmpty() || (first && !Character.isDigit(row.charAt(row.startsWith("\"") && row.length() > 1 ? 1 : 0)))) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                int comma = row.indexOf(',');
+                if (comma < 0) {
+                    throw new MalformedCsvException(lineOffset, "Expected id,name");
+                }
+                try {
+                    names.put(Long.parseLong(row.substring(0, comma).replace("\"", "").strip()),
+                            unquote(row.substring(comma + 1).strip()));
+                } catch (NumberFormatException ex) {
+                    throw new MalformedCsvException(lineOffset, "Invalid customer ID");
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String unquote(String field) {
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            return field.substring(1, field.length() - 1).replace("\"\"", "\"");
+        }
+        return field;
+    }
+}
@@ -0,0 +1,17 @@
+package com.charter.reward_batch;
+
+/**
+ * Exception thrown when a transaction CSV file cannot be parsed.
+ */
+public class MalformedCsvException extends RuntimeException {
+
+    /**
+     * Constructs a new MalformedCsvException for a byte offset of the input.
+     *
+     * @param offset the byte offset of the offending line or field
+     * @param message what is wrong at that offset
+     */
+    public MalformedCsvException(long offset, String message) {
+        super(message + " at byte " + offset);
+    }
+}
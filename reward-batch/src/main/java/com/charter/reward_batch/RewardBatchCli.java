@@ -0,0 +1,124 @@
+package com.charter.reward_batch;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the offline reward calculator.
+ * <pre>
+ * java -jar reward-batch.jar --input transactions.csv [--customers customers.csv] [--output rewards.json]
+ *                            [--threads N] [--chunk-mb N]
+ * </pre>
+ * Writes the reward summaries as JSON to the output file or standard output, and a throughput line to standard error.
+ */
+public final class RewardBatchCli {
+
+    private static final int DEFAULT_CHUNK_MB = 256;
+
+    private RewardBatchCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the calculator.
+     *
+     * @param args the command-line arguments
+     * @param stdout where results go without {@code --output}
+     * @param stderr where usage, errors and statistics go
+     * @return the process exit code: 0 on success, 1 if the input cannot be processed, 2 on invalid arguments
+     */
+    static int run(String[] args, PrintStream stdout, PrintStream stderr) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException ex) {
+            stderr.println(ex.getMessage());
+            stderr.println("Usage: --input <transactions.csv> [--customers <customers.csv>] [--output <rewards.json>]"
+                    + " [--threads <n>] [--chunk-mb <n>]");
+            return 2;
+        }
+
+        try {
+            long start = System.nanoTime();
+            BatchRewardCalculator.Result result = new BatchRewardCalculator(options.threads(),
+                    options.chunkMb() * 1024L * 1024L).calculate(options.input());
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Map<Long, String> names = options.customers() != null ? CustomerNames.read(options.customers()) : Map.of();
+
+            if (options.output() != null) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(options.output()), 1 << 16)) {
+                    RewardSummaryWriter.write(out, result.totals(), names);
+                }
+            } else {
+                RewardSummaryWriter.write(stdout, result.totals(), names);
+                stdout.flush();
+            }
+            stderr.printf("Read %d transactions (%.1f MB) for %d customers in %.2f s: %.0f MB/s on %d threads%n",
+                    result.rows(), result.bytes() / 1e6, result.totals().customerCount(), seconds,
+                    result.bytes() / 1e6 / seconds, options.threads());
+            return 0;
+        } catch (IOException | MalformedCsvException ex) {
+            stderr.println("Failed: " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Parsed command-line options.
+     *
+     * @param input the transaction CSV file
+     * @param customers the optional customer CSV file
+     * @param output the optional output file
+     * @param threads the number of worker threads
+     * @param chunkMb the size of each mapped chunk in MB
+     */
+    record Options(Path input, Path customers, Path output, int threads, int chunkMb) {
+
+        static Options parse(String[] args) {
+            Path input = null;
+            Path customers = null;
+            Path output = null;
+            int threads = Runtime.getRuntime().availableProcessors();
+            int chunkMb = DEFAULT_CHUNK_MB;
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                switch (args[i]) {
+                    case "--input" -> input = Path.of(value);
+                    case "--customers" -> customers = Path.of(value);
+                    case "--output" -> output = Path.of(value);
+                    case "--threads" -> threads = positive(args[i], value, Integer.MAX_VALUE);
+                    case "--chunk-mb" -> chunkMb = positive(args[i], value, 2000);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("--input is required");
+            }
+            return new Options(input, customers, output, threads, chunkMb);
+        }
+
+        private static int positive(String option, String value, int max) {
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed >= 1 && parsed <= max) {
+                    return parsed;
+                }
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+            throw new IllegalArgumentException(option + " must be between 1 and " + max);
+        }
+    }
+}
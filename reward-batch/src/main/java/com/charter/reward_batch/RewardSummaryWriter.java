@@ -0,0 +1,126 @@
+package com.charter.reward_batch;
+
+import com.charter.reward_core.MonthlyPointsAccumulator;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes batch results as a JSON array of reward summaries, in the shape of the API's
+ * {@code CustomerRewardSummaryDTO}: customerId, customerName, monthlyRewards (year, month, points) and totalPoints.
+ * Summaries are streamed one at a time, so output size does not bound memory.
+ */
+public final class RewardSummaryWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private RewardSummaryWriter() {
+    }
+
+    /**
+     * Writes one summary per customer in customer ID order.
+     * Customers named but without transactions are written with no months and 0 points;
+     * {@code customerName} is omitted for customers without a name.
+     *
+     * @param out the output stream, left open
+     * @param totals the points per customer and month
+     * @param names the customer names by ID; may be empty
+     * @throws IOException if writing fails
+     */
+    public static void write(OutputStream out, RewardTotals totals, Map<Long, String> names) throws IOException {
+        try (JsonGenerator gen = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            gen.setPrettyPrinter(new OneSummaryPerLine());
+            gen.writeStartArray();
+            NamesWithoutTransactions unmatched = new NamesWithoutTransactions(names);
+            totals.forEachCustomer((customerId, points) -> {
+                unmatched.writeBefore(gen, customerId);
+                writeSummary(gen, customerId, names.get(customerId), points);
+            });
+            unmatched.writeBefore(gen, Long.MAX_VALUE);
+            gen.writeEndArray();
+            gen.writeRaw('\n');
+        }
+    }
+
+    private static void writeSummary(JsonGenerator gen, long customerId, String name, MonthlyPointsAccumulator points)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("customerId", customerId);
+        if (name != null) {
+            gen.writeStringField("customerName", name);
+        }
+        gen.writeArrayFieldStart("monthlyRewards");
+        for (MonthlyPointsAccumulator.MonthlyPoints month : points.months()) {
+            gen.writeStartObject();
+            gen.writeNumberField("year", month.month().getYear());
+            gen.writeStringField("month", month.month().getMonth().name());
+            gen.writeNumberField("points", month.points());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("totalPoints", points.totalPoints());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Walks the named customers in ID order alongside the customers with transactions,
+     * writing a zero summary for each named customer the totals skip.
+     */
+    private static final class NamesWithoutTransactions {
+
+        private static final MonthlyPointsAccumulator NONE = new MonthlyPointsAccumulator();
+
+        private final Map<Long, String> names;
+        private final long[] ids;
+        private int next;
+
+        NamesWithoutTransactions(Map<Long, String> names) {
+            this.names = names;
+            this.ids = names.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        /**
+         * Writes the named customers with IDs below a customer with transactions, and passes over that customer.
+         */
+        void writeBefore(JsonGenerator gen, long customerId) throws IOException {
+            while (next < ids.length && ids[next] < customerId) {
+                writeSummary(gen, ids[next], names.get(ids[next]), NONE);
+                next++;
+            }
+            if (next < ids.length && ids[next] == customerId) {
+                next++;
+            }
+        }
+    }
+
+    /**
+     * Compact JSON with each summary of the top-level array on its own line.
+     */
+    private static final class OneSummaryPerLine extends MinimalPrettyPrinter {
+
+        @Override
+        public void writeStartArray(JsonGenerator gen) throws IOException {
+            gen.writeRaw(isTopLevel(gen) ? "[\n" : "[");
+        }
+
+        @Override
+        public void writeArrayValueSeparator(JsonGenerator gen) throws IOException {
+            gen.writeRaw(isTopLevel(gen) ? ",\n" : ",");
+        }
+
+        @Override
+        public void writeEndArray(JsonGenerator gen, int nrOfValues) throws IOException {
+            gen.writeRaw(isTopLevel(gen) && nrOfValues > 0 ? "\n]" : "]");
+        }
+
+        private static boolean isTopLevel(JsonGenerator gen) {
+            return gen.getOutputContext().getParent().inRoot();
+        }
+    }
+}
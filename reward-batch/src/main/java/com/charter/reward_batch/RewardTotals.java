@@ -0,0 +1,104 @@
+package com.charter.reward_batch;
+
+import com.charter.reward_core.MonthlyPointsAccumulator;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * Reward points per customer and month from a batch run, held as two sorted primitive arrays so that
+ * millions of customer months take 16 bytes each. Customers are handed out one at a time as a
+ * {@link MonthlyPointsAccumulator}, the same month breakdown the services build per request.
+ */
+public final class RewardTotals {
+
+    private final long[] keys;
+    private final long[] points;
+    private final int customerCount;
+
+    RewardTotals(long[] keys, long[] points) {
+        this.keys = keys;
+        this.points = points;
+        int customers = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || CustomerMonthPoints.customerId(keys[i]) != CustomerMonthPoints.customerId(keys[i - 1])) {
+                customers++;
+            }
+        }
+        this.customerCount = customers;
+    }
+
+    /**
+     * Gets the number of customers with transactions.
+     *
+     * @return the customer count
+     */
+    public int customerCount() {
+        return customerCount;
+    }
+
+    /**
+     * Gets one customer's points.
+     *
+     * @param customerId the customer ID
+     * @return the customer's monthly points, or null if the customer has no transactions
+     */
+    public MonthlyPointsAccumulator get(long customerId) {
+        int index = Arrays.binarySearch(keys, CustomerMonthPoints.key(customerId, 0));
+        int first = index >= 0 ? index : -index - 1;
+        if (first == keys.length || CustomerMonthPoints.customerId(keys[first]) != customerId) {
+            return null;
+        }
+        return accumulate(first, end(first));
+    }
+
+    /**
+     * Visits every customer in customer ID order.
+     *
+     * @param visitor receives each customer's monthly points
+     * @throws IOException if the visitor fails to write a customer
+     */
+    public void forEachCustomer(CustomerVisitor visitor) throws IOException {
+        int first = 0;
+        while (first < keys.length) {
+            int end = end(first);
+            visitor.accept(CustomerMonthPoints.customerId(keys[first]), accumulate(first, end));
+            first = end;
+        }
+    }
+
+    private int end(int first) {
+        long customerId = CustomerMonthPoints.customerId(keys[first]);
+        int end = first + 1;
+        while (end < keys.length && CustomerMonthPoints.customerId(keys[end]) == customerId) {
+            end++;
+        }
+        return end;
+    }
+
+    private MonthlyPointsAccumulator accumulate(int first, int end) {
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator();
+        for (int i = first; i < end; i++) {
+            int monthKey = CustomerMonthPoints.monthKey(keys[i]);
+            accumulator.addPoints(YearMonth.of(monthKey / 12, monthKey % 12 + 1), points[i]);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Receives the customers of a {@link RewardTotals}.
+     */
+    @FunctionalInterface
+    public interface CustomerVisitor {
+
+        /**
+         * Accepts one customer.
+         *
+         * @param customerId the customer ID
+         * @param points the customer's monthly points
+         * @throws IOException if the customer cannot be written
+         */
+        void accept(long customerId, MonthlyPointsAccumulator points) throws IOException;
+    }
+}
@@ -0,0 +1,259 @@
+package com.charter.reward_batch;
+
+import com.charter.reward_core.RewardPointsCalculator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses transaction rows straight from the bytes of a CSV file into a {@link CustomerMonthPoints} table.
+ * Customer IDs, amounts and dates are decoded in place, without creating a String, BigDecimal or LocalDate
+ * per row. Amounts are truncated to whole dollars, as {@link RewardPointsCalculator#calculatePoints} does.
+ * Fields may be quoted; columns that are not read are skipped, honouring commas inside quotes.
+ * The input is bulk-copied window by window into one reused array, which the JIT reads far faster than
+ * a {@link ByteBuffer} byte by byte. Not thread-safe; each worker uses its own parser.
+ */
+final class TransactionCsvParser {
+
+    static final int WINDOW_BYTES = 1 << 20;
+
+    private final int customerIdColumn;
+    private final int amountColumn;
+    private final int dateColumn;
+    private final int requiredColumns;
+    private final byte[] buffer = new byte[WINDOW_BYTES];
+
+    private int pos;
+    private int limit;
+    private long baseOffset;
+
+    TransactionCsvParser(CsvLayout layout) {
+        this.customerIdColumn = layout.customerIdColumn();
+        this.amountColumn = layout.amountColumn();
+        this.dateColumn = layout.dateColumn();
+        this.requiredColumns = layout.requiredColumns();
+    }
+
+    /**
+     * Parses every row of a buffer holding whole lines, none longer than {@link #WINDOW_BYTES}.
+     *
+     * @param rows the rows, from position 0 to the limit
+     * @param offset the byte offset of the buffer in the file, for error messages
+     * @param into the table receiving the points of each row
+     * @throws MalformedCsvException if a row cannot be parsed
+     */
+    void parse(ByteBuffer rows, long offset, CustomerMonthPoints into) {
+        int total = rows.limit();
+        int copied = 0;
+        int carried = 0;
+        while (copied < total) {
+            int length = Math.min(WINDOW_BYTES - carried, total - copied);
+            rows.get(copied, buffer, carried, length);
+            long windowOffset = offset + copied - carried;
+            copied += length;
+            int end = carried + length;
+            if (copied < total) {
+                int lastLineBreak = end - 1;
+                while (lastLineBreak >= 0 && buffer[lastLineBreak] != '\n') {
+                    lastLineBreak--;
+                }
+                if (lastLineBreak < 0) {
+                    throw new MalformedCsvException(windowOffset, "Row longer than " + WINDOW_BYTES + " bytes");
+                }
+                parseLines(lastLineBreak + 1, windowOffset, into);
+                carried = end - lastLineBreak - 1;
+                System.arraycopy(buffer, lastLineBreak + 1, buffer, 0, carried);
+            } else {
+                parseLines(end, windowOffset, into);
+            }
+        }
+    }
+
+    private void parseLines(int end, long offset, CustomerMonthPoints into) {
+        this.baseOffset = offset;
+        this.pos = 0;
+        this.limit = end;
+        while (pos < limit) {
+            byte first = buffer[pos];
+            if (first == '\n' || first == '\r') {
+                pos++;
+                continue;
+            }
+            parseRow(into);
+        }
+    }
+
+    private void parseRow(CustomerMonthPoints into) {
+        int rowStart = pos;
+        long customerId = -1;
+        long dollars = 0;
+        int monthKey = 0;
+        for (int column = 0; column < requiredColumns; column++) {
+            if (column == customerIdColumn) {
+                customerId = parseCustomerId();
+            } else if (column == amountColumn) {
+                dollars = parseDollars();
+            } else if (column == dateColumn) {
+                monthKey = parseMonthKey();
+            } else {
+                skipField();
+            }
+            if (column < requiredColumns - 1) {
+                if (pos >= limit || buffer[pos] != ',') {
+                    throw new MalformedCsvException(baseOffset + rowStart,
+                            "Expected " + requiredColumns + " columns");
+                }
+                pos++;
+            }
+        }
+        skipLine();
+        into.add(customerId, monthKey, RewardPointsCalculator.pointsForDollars(dollars));
+    }
+
+    private long parseCustomerId() {
+        int start = pos;
+        boolean quoted = openQuote();
+        byte[] bytes = buffer;
+        int end = limit;
+        int at = pos;
+        long value = 0;
+        while (at < end) {
+            byte c = bytes[at];
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            at++;
+        }
+        int digits = at - pos;
+        pos = at;
+        if (digits == 0 || digits > 14 || value > CustomerMonthPoints.MAX_CUSTOMER_ID) {
+            throw new MalformedCsvException(baseOffset + start, "Invalid customer ID");
+        }
+        closeQuote(quoted, start);
+        return value;
+    }
+
+    private long parseDollars() {
+        int start = pos;
+        boolean quoted = openQuote();
+        boolean negative = pos < limit && buffer[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        byte[] bytes = buffer;
+        int end = limit;
+        int at = pos;
+        long value = 0;
+        while (at < end) {
+            byte c = bytes[at];
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            at++;
+        }
+        int wholeDigits = at - pos;
+        int digits = wholeDigits;
+        if (at < end && bytes[at] == '.') {
+            int fraction = ++at;
+            while (at < end && bytes[at] >= '0' && bytes[at] <= '9') {
+                at++;
+            }
+            digits += at - fraction;
+        }
+        pos = at;
+        if (digits == 0 || wholeDigits > 13 || value > 1_000_000_000_000L) {
+            throw new MalformedCsvException(baseOffset + start, "Invalid amount");
+        }
+        closeQuote(quoted, start);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date, ignoring any time of day that follows it.
+     */
+    private int parseMonthKey() {
+        int start = pos;
+        boolean quoted = openQuote();
+        if (limit - pos < 10 || buffer[pos + 4] != '-' || buffer[pos + 7] != '-') {
+            throw new MalformedCsvException(baseOffset + start, "Invalid date");
+        }
+        int year = digits(pos, 4, start);
+        int month = digits(pos + 5, 2, start);
+        int day = digits(pos + 8, 2, start);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new MalformedCsvException(baseOffset + start, "Invalid date");
+        }
+        pos += 10;
+        while (pos < limit) {
+            byte c = buffer[pos];
+            if (c == ',' || c == '\n' || c == '\r' || c == '"') {
+                break;
+            }
+            pos++;
+        }
+        closeQuote(quoted, start);
+        return year * 12 + month - 1;
+    }
+
+    private int digits(int at, int count, int fieldStart) {
+        int value = 0;
+        for (int i = at; i < at + count; i++) {
+            byte c = buffer[i];
+            if (c < '0' || c > '9') {
+                throw new MalformedCsvException(baseOffset + fieldStart, "Invalid date");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private boolean openQuote() {
+        if (pos < limit && buffer[pos] == '"') {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void closeQuote(boolean quoted, int fieldStart) {
+        if (quoted) {
+            if (pos >= limit || buffer[pos] != '"') {
+                throw new MalformedCsvException(baseOffset + fieldStart, "Unterminated quoted field");
+            }
+            pos++;
+        }
+    }
+
+    private void skipField() {
+        boolean inQuotes = false;
+        while (pos < limit) {
+            byte c = buffer[pos];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes && (c == ',' || c == '\n' || c == '\r')) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Skips columns after the last one read, and the line break.
+     */
+    private void skipLine() {
+        while (pos < limit && buffer[pos] == ',') {
+            pos++;
+            skipField();
+        }
+        if (pos < limit && buffer[pos] == '\r') {
+            pos++;
+        }
+        if (pos < limit) {
+            if (buffer[pos] != '\n') {
+                throw new MalformedCsvException(baseOffset + pos, "Unexpected character");
+            }
+            pos++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.charter.reward_batch;
+
+import com.charter.reward_core.MonthlyPointsAccumulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RewardBatchCliTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRun_WritesRewardSummaries() throws IOException {
+        Path transactions = Files.writeString(dir.resolve("transactions.csv"), """
+                customer_id,amount,transaction_date
+                1,120.00,2024-01-15
+                1,45.00,2024-01-20
+                1,200.00,2024-02-10
+                2,75.00,2024-01-12
+                """);
+        Path customers = Files.writeString(dir.resolve("customers.csv"), """
+                id,name
+                1,Alice Johnson
+                2,"Bob ""B"" Smith"
+                3,Carol White
+                """);
+        Path output = dir.resolve("rewards.json");
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        int exitCode = RewardBatchCli.run(new String[]{"--input", transactions.toString(), "--customers",
+                customers.toString(), "--output", output.toString(), "--threads", "2", "--chunk-mb", "1"},
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(stderr));
+
+        assertEquals(0, exitCode);
+        assertEquals("""
+                [
+                {"customerId":1,"customerName":"Alice Johnson","monthlyRewards":[{"year":2024,"month":"JANUARY","points":90},{"year":2024,"month":"FEBRUARY","points":250}],"totalPoints":340}
+                {"customerId":2,"customerName":"Bob \\"B\\" Smith","monthlyRewards":[{"year":2024,"month":"JANUARY","points":25}],"totalPoints":25}
+                {"customerId":3,"customerName":"Carol White","monthlyRewards":[],"totalPoints":0}
+                ]
+                """.replace("}\n{", "},\n{"), Files.readString(output));
+        assertTrue(stderr.toString(StandardCharsets.UTF_8).startsWith("Read 4 transactions"));
+    }
+
+    @Test
+    void testCalculate_SmallChunksMatchTheSharedAccumulator() throws IOException {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder();
+        Map<Long, MonthlyPointsAccumulator> expected = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long customerId = 1 + random.nextInt(50);
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(30000), 2);
+            LocalDate date = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500));
+            csv.append(customerId).append(',').append(amount).append(',').append(date).append('\n');
+            expected.computeIfAbsent(customerId, id -> new MonthlyPointsAccumulator()).add(date, amount);
+        }
+        Path transactions = Files.writeString(dir.resolve("random.csv"), csv);
+
+        BatchRewardCalculator.Result result = new BatchRewardCalculator(3, 1000).calculate(transactions);
+
+        assertEquals(5000, result.rows());
+        assertEquals(expected.size(), result.totals().customerCount());
+        expected.forEach((customerId, accumulator) -> {
+            assertEquals(accumulator.months(), result.totals().get(customerId).months());
+            assertEquals(accumulator.totalPoints(), result.totals().get(customerId).totalPoints());
+        });
+    }
+
+    @Test
+    void testRun_InvalidArgumentsAndInput() throws IOException {
+        Path malformed = Files.writeString(dir.resolve("malformed.csv"), "1,abc,2024-01-01\n");
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        assertEquals(2, RewardBatchCli.run(new String[]{"--threads", "0"}, out, new PrintStream(stderr)));
+        assertEquals(1, RewardBatchCli.run(new String[]{"--input", malformed.toString()}, out, new PrintStream(stderr)));
+        assertTrue(stderr.toString(StandardCharsets.UTF_8).contains("Failed: Invalid amount at byte 2"));
+    }
+}
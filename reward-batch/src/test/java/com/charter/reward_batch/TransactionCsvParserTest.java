@@ -0,0 +1,72 @@
+package com.charter.reward_batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionCsvParserTest {
+
+    @Test
+    void testParse_HeaderWithExtraQuotedColumnsAndCrlf() {
+        String csv = "\"id\",\"note\",\"transaction_date\",\"customer_id\",\"amount\"\r\n"
+                + "1,\"refund, partial\",\"2024-01-15 10:30:00\",\"7\",\"120.99\"\r\n"
+                + "2,,2024-01-20,7,45.00\r\n"
+                + "\r\n"
+                + "3,x,2024-02-10,8,-200.00";
+        ByteBuffer bytes = ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+        CsvLayout layout = CsvLayout.detect(bytes);
+
+        Map<String, Long> points = parse(layout, bytes.slice(layout.headerLength(), bytes.limit() - layout.headerLength()));
+
+        assertEquals(new CsvLayout(3, 4, 2, csv.indexOf('\n') + 1), layout);
+        assertEquals(Map.of("7/2024-1", 90L, "8/2024-2", 0L), points);
+    }
+
+    @Test
+    void testParse_WithoutHeader() {
+        ByteBuffer bytes = ByteBuffer.wrap("1,75.50,2024-03-01\n1,101,2024-03-31\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(CsvLayout.DEFAULT, CsvLayout.detect(bytes));
+        assertEquals(Map.of("1/2024-3", 77L), parse(CsvLayout.DEFAULT, bytes));
+    }
+
+    @Test
+    void testParse_MalformedRowsReportTheirOffset() {
+        MalformedCsvException missingColumn = assertThrows(MalformedCsvException.class, () ->
+                parse(CsvLayout.DEFAULT, ByteBuffer.wrap("1,75.50,2024-03-01\n2,80.00\n".getBytes(StandardCharsets.UTF_8))));
+        MalformedCsvException badDate = assertThrows(MalformedCsvException.class, () ->
+                parse(CsvLayout.DEFAULT, ByteBuffer.wrap("1,75.50,2024-13-01\n".getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals("Expected 3 columns at byte 19", missingColumn.getMessage());
+        assertTrue(badDate.getMessage().startsWith("Invalid date"));
+    }
+
+    @Test
+    void testParse_AmountTooLongToFitIsRejected() {
+        MalformedCsvException overflow = assertThrows(MalformedCsvException.class, () ->
+                parse(CsvLayout.DEFAULT, ByteBuffer.wrap("1,18446744073709551717,2024-03-01\n".getBytes(StandardCharsets.UTF_8))));
+        MalformedCsvException tooLarge = assertThrows(MalformedCsvException.class, () ->
+                parse(CsvLayout.DEFAULT, ByteBuffer.wrap("1,10000000000000.00,2024-03-01\n".getBytes(StandardCharsets.UTF_8))));
+
+        assertTrue(overflow.getMessage().startsWith("Invalid amount"));
+        assertTrue(tooLarge.getMessage().startsWith("Invalid amount"));
+        assertEquals(Map.of("1/2024-3", 1_999_999_999_850L), parse(CsvLayout.DEFAULT,
+                ByteBuffer.wrap("1,1000000000000.00,2024-03-01\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static Map<String, Long> parse(CsvLayout layout, ByteBuffer rows) {
+        CustomerMonthPoints table = new CustomerMonthPoints();
+        new TransactionCsvParser(layout).parse(rows, 0, table);
+        Map<String, Long> points = new HashMap<>();
+        table.forEach((customerId, monthKey, monthPoints) ->
+                points.put(customerId + "/" + monthKey / 12 + "-" + (monthKey % 12 + 1), monthPoints));
+        return points;
+    }
+}
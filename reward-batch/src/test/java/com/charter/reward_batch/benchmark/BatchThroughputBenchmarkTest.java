@@ -0,0 +1,105 @@
+package com.charter.reward_batch.benchmark;
+
+import com.charter.reward_batch.BatchRewardCalculator;
+import com.charter.reward_core.MonthlyPointsAccumulator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the batch calculator over a generated 256 MB transaction file. Run with {@code mvn test -Pbenchmark}.
+ * Compares the memory-mapped, allocation-free parser at one thread and at every core against reading the same
+ * file line by line with {@code String.split}, {@code BigDecimal} and {@code LocalDate}, as a straightforward
+ * port of the service code would. The first pass of each mode warms the page cache and the JIT.
+ */
+@Tag("benchmark")
+class BatchThroughputBenchmarkTest {
+
+    private static final long FILE_BYTES = 256L * 1024 * 1024;
+    private static final int CUSTOMERS = 50_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void benchmarkBatchThroughput() throws IOException {
+        Path csv = generate(dir.resolve("transactions.csv"));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        BatchRewardCalculator.Result warmup = new BatchRewardCalculator(cores, 256L << 20).calculate(csv);
+        double mappedSingle = megabytesPerSecond(() -> new BatchRewardCalculator(1, 256L << 20).calculate(csv).rows());
+        double mappedAll = megabytesPerSecond(() -> new BatchRewardCalculator(cores, 256L << 20).calculate(csv).rows());
+        long baselineRows = lineByLine(csv);
+        double baseline = megabytesPerSecond(() -> lineByLine(csv));
+
+        System.out.printf("%n%-32s %10s%n", "mode (" + Files.size(csv) / (1 << 20) + " MB)", "MB/s");
+        System.out.printf("%-32s %10.0f%n", "line by line, BigDecimal", baseline);
+        System.out.printf("%-32s %10.0f%n", "memory-mapped, 1 thread", mappedSingle);
+        System.out.printf("%-32s %10.0f%n", "memory-mapped, " + cores + (cores == 1 ? " thread" : " threads"), mappedAll);
+
+        assertEquals(baselineRows, warmup.rows());
+        assertTrue(mappedSingle > baseline, "the mapped parser should outrun line-by-line parsing");
+    }
+
+    private static Path generate(Path csv) throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate first = LocalDate.of(2021, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.US_ASCII)) {
+            writer.write("customer_id,amount,transaction_date\n");
+            long written = 0;
+            StringBuilder row = new StringBuilder(48);
+            while (written < FILE_BYTES) {
+                row.setLength(0);
+                int cents = random.nextInt(40_000);
+                row.append(1 + random.nextInt(CUSTOMERS)).append(',')
+                        .append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100)
+                        .append(',').append(first.plusDays(random.nextInt(1461))).append('\n');
+                writer.append(row);
+                written += row.length();
+            }
+        }
+        return csv;
+    }
+
+    private static long lineByLine(Path csv) throws IOException {
+        Map<Long, MonthlyPointsAccumulator> customers = new HashMap<>();
+        long rows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.US_ASCII)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                customers.computeIfAbsent(Long.parseLong(fields[0]), id -> new MonthlyPointsAccumulator())
+                        .add(LocalDate.parse(fields[2]), new BigDecimal(fields[1]));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static double megabytesPerSecond(IoWork work) throws IOException {
+        long start = System.nanoTime();
+        work.run();
+        return FILE_BYTES / 1e6 / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface IoWork {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,86 @@
+package com.charter.reward_core;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Accumulates one customer's reward points per calendar month from a stream of transactions.
+ * A month with transactions appears in the result even if none of them earned points.
+ * Not thread-safe; accumulators filled in parallel are combined with {@link #merge(MonthlyPointsAccumulator)}.
+ */
+public final class MonthlyPointsAccumulator {
+
+    private final TreeMap<YearMonth, Long> pointsByMonth = new TreeMap<>();
+    private long totalPoints;
+
+    /**
+     * Adds one transaction.
+     *
+     * @param date the transaction date
+     * @param amount the transaction amount
+     * @return this accumulator
+     */
+    public MonthlyPointsAccumulator add(LocalDate date, BigDecimal amount) {
+        return addPoints(YearMonth.from(date), RewardPointsCalculator.calculatePoints(amount));
+    }
+
+    /**
+     * Adds points already calculated for a month.
+     *
+     * @param month the month
+     * @param points the points earned
+     * @return this accumulator
+     */
+    public MonthlyPointsAccumulator addPoints(YearMonth month, long points) {
+        pointsByMonth.merge(month, points, Long::sum);
+        totalPoints += points;
+        return this;
+    }
+
+    /**
+     * Adds the months of another accumulator to this one.
+     *
+     * @param other the accumulator to add
+     * @return this accumulator
+     */
+    public MonthlyPointsAccumulator merge(MonthlyPointsAccumulator other) {
+        other.pointsByMonth.forEach(this::addPoints);
+        return this;
+    }
+
+    /**
+     * Gets the points per month, oldest month first.
+     *
+     * @return the monthly points
+     */
+    public List<MonthlyPoints> months() {
+        List<MonthlyPoints> months = new ArrayList<>(pointsByMonth.size());
+        for (Map.Entry<YearMonth, Long> entry : pointsByMonth.entrySet()) {
+            months.add(new MonthlyPoints(entry.getKey(), entry.getValue()));
+        }
+        return months;
+    }
+
+    /**
+     * Gets the points of all months.
+     *
+     * @return the total points
+     */
+    public long totalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Points earned in one month.
+     *
+     * @param month the month
+     * @param points the points earned
+     */
+    public record MonthlyPoints(YearMonth month, long points) {
+    }
+}
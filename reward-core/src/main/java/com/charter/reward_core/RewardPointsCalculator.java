@@ -0,0 +1,40 @@
+package com.charter.reward_core;
+
+import java.math.BigDecimal;
+
+/**
+ * Reward points rule shared by request-time calculation, incremental aggregate maintenance and rebuilds.
+ * Rules: 0 points for $0-$50, 1 point per dollar over $50, 2 points per dollar over $100.
+ * Cents are truncated before the rule is applied.
+ */
+public final class RewardPointsCalculator {
+
+    private RewardPointsCalculator() {
+    }
+
+    /**
+     * Calculates reward points for a transaction amount.
+     *
+     * @param amount the transaction amount
+     * @return calculated reward points
+     */
+    public static long calculatePoints(BigDecimal amount) {
+        return pointsForDollars(amount.longValue());
+    }
+
+    /**
+     * Calculates reward points for a whole-dollar transaction amount.
+     *
+     * @param dollars the transaction amount in whole dollars
+     * @return calculated reward points
+     */
+    public static long pointsForDollars(long dollars) {
+        if (dollars <= 50) {
+            return 0;
+        } else if (dollars <= 100) {
+            return dollars - 50;
+        } else {
+            return 50 + (dollars - 100) * 2;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.charter.reward_core;
+
+import java.util.Arrays;
+
+/**
+ * Candidate reward points rule made of marginal tiers, for evaluating rule changes against
+ * {@link RewardPointsCalculator}. Each tier pays its rate for every whole dollar above its threshold, up to the
+ * threshold of the next tier. The current rule is the tiers (above $50: 1 point, above $100: 2 points).
+ * Cents are truncated before the rule is applied.
+ */
+public final class TieredPointsRule {
+
+    private final long[] thresholds;
+    private final long[] rates;
+
+    /**
+     * Creates a rule from its tiers.
+     *
+     * @param thresholds the dollar amount above which each tier starts paying, strictly ascending and not negative
+     * @param rates the points per dollar of each tier, not negative
+     * @throws IllegalArgumentException if the tiers are empty, differ in number or are not ordered
+     */
+    public TieredPointsRule(long[] thresholds, long[] rates) {
+        if (thresholds.length == 0 || thresholds.length != rates.length) {
+            throw new IllegalArgumentException("A rule needs one rate per tier threshold and at least one tier");
+        }
+        for (int i = 0; i < thresholds.length; i++) {
+            if (thresholds[i] < 0 || rates[i] < 0) {
+                throw new IllegalArgumentException("Tier thresholds and rates must not be negative");
+            }
+            if (i > 0 && thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Tier thresholds must be strictly ascending");
+            }
+        }
+        this.thresholds = Arrays.copyOf(thresholds, thresholds.length);
+        this.rates = Arrays.copyOf(rates, rates.length);
+    }
+
+    /**
+     * Calculates reward points for a whole-dollar transaction amount.
+     *
+     * @param dollars the transaction amount in whole dollars
+     * @return calculated reward points
+     */
+    public long pointsForDollars(long dollars) {
+        long points = 0;
+        for (int i = 0; i < thresholds.length && dollars > thresholds[i]; i++) {
+            long upper = i + 1 < thresholds.length ? Math.min(dollars, thresholds[i + 1]) : dollars;
+            points += (upper - thresholds[i]) * rates[i];
+        }
+        return points;
+    }
+
+    /**
+     * Calculates reward points for a transaction amount in cents.
+     *
+     * @param cents the transaction amount in cents
+     * @return calculated reward points
+     */
+    public long pointsForCents(long cents) {
+        return pointsForDollars(cents / 100);
+    }
+}
@@ -0,0 +1,54 @@
+package com.charter.reward_core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for MonthlyPointsAccumulator and RewardPointsCalculator.
+ */
+class MonthlyPointsAccumulatorTest {
+
+    @Test
+    void testCalculatePoints_Tiers() {
+        assertEquals(0, RewardPointsCalculator.calculatePoints(new BigDecimal("50.99")));
+        assertEquals(25, RewardPointsCalculator.calculatePoints(new BigDecimal("75.00")));
+        assertEquals(50, RewardPointsCalculator.calculatePoints(new BigDecimal("100.99")));
+        assertEquals(90, RewardPointsCalculator.calculatePoints(new BigDecimal("120.00")));
+    }
+
+    @Test
+    void testAdd_GroupsByMonthInOrder() {
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator()
+                .add(LocalDate.of(2024, 2, 10), new BigDecimal("200.00"))
+                .add(LocalDate.of(2024, 1, 15), new BigDecimal("120.00"))
+                .add(LocalDate.of(2024, 1, 20), new BigDecimal("45.00"))
+                .add(LocalDate.of(2024, 3, 1), new BigDecimal("10.00"));
+
+        assertEquals(List.of(
+                new MonthlyPointsAccumulator.MonthlyPoints(YearMonth.of(2024, 1), 90),
+                new MonthlyPointsAccumulator.MonthlyPoints(YearMonth.of(2024, 2), 250),
+                new MonthlyPointsAccumulator.MonthlyPoints(YearMonth.of(2024, 3), 0)), accumulator.months());
+        assertEquals(340, accumulator.totalPoints());
+    }
+
+    @Test
+    void testMerge_SumsOverlappingMonths() {
+        MonthlyPointsAccumulator first = new MonthlyPointsAccumulator().addPoints(YearMonth.of(2024, 1), 10);
+        MonthlyPointsAccumulator second = new MonthlyPointsAccumulator()
+                .addPoints(YearMonth.of(2024, 1), 5)
+                .addPoints(YearMonth.of(2024, 2), 7);
+
+        first.merge(second);
+
+        assertEquals(List.of(
+                new MonthlyPointsAccumulator.MonthlyPoints(YearMonth.of(2024, 1), 15),
+                new MonthlyPointsAccumulator.MonthlyPoints(YearMonth.of(2024, 2), 7)), first.months());
+        assertEquals(22, first.totalPoints());
+    }
+}
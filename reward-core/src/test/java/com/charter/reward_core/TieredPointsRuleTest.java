@@ -0,0 +1,37 @@
+package com.charter.reward_core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for TieredPointsRule.
+ */
+class TieredPointsRuleTest {
+
+    @Test
+    void testCurrentTiers_MatchRewardPointsCalculator() {
+        TieredPointsRule rule = new TieredPointsRule(new long[]{50, 100}, new long[]{1, 2});
+
+        for (long dollars = -5; dollars <= 1_000; dollars++) {
+            assertEquals(RewardPointsCalculator.pointsForDollars(dollars), rule.pointsForDollars(dollars));
+        }
+        assertEquals(90, rule.pointsForCents(12_099));
+    }
+
+    @Test
+    void testAddedTier_PaysOnlyAboveItsThreshold() {
+        TieredPointsRule rule = new TieredPointsRule(new long[]{50, 100, 500}, new long[]{1, 2, 3});
+
+        assertEquals(850, rule.pointsForDollars(500));
+        assertEquals(853, rule.pointsForDollars(501));
+    }
+
+    @Test
+    void testInvalidTiers_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredPointsRule(new long[]{}, new long[]{}));
+        assertThrows(IllegalArgumentException.class, () -> new TieredPointsRule(new long[]{100, 50}, new long[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new TieredPointsRule(new long[]{50}, new long[]{-1}));
+    }
+}
@@ -0,0 +1,115 @@
+package com.charter.reward_core.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load generator shared by the throughput benchmarks of the reward services.
+ * Each of {@code concurrency} client threads sends its next request as soon as the previous one completes,
+ * so the services are compared at the same number of requests in flight.
+ */
+public final class HttpLoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Runs a closed-loop load for a fixed duration.
+     *
+     * @param concurrency the number of requests kept in flight
+     * @param duration how long to send requests
+     * @param uris produces the request URI from a random number, e.g. to spread requests over customers
+     * @return the achieved throughput and latency
+     * @throws Exception if a client thread fails
+     */
+    public Result run(int concurrency, Duration duration, IntFunction<URI> uris) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> loop(deadline, uris)));
+            }
+            List<Long> latencies = new ArrayList<>();
+            long errors = 0;
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                for (long sample : samples) {
+                    if (sample < 0) {
+                        errors++;
+                    } else {
+                        latencies.add(sample);
+                    }
+                }
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(concurrency, sorted.length, errors, sorted.length / (duration.toNanos() / 1e9),
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private long[] loop(long deadline, IntFunction<URI> uris) {
+        long[] samples = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(uris.apply(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            long sample;
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                sample = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+            } catch (Exception ex) {
+                sample = -1;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = sample;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max((int) Math.ceil(quantile * sorted.length) - 1, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Outcome of one load run.
+     *
+     * @param concurrency the number of requests kept in flight
+     * @param requests the number of successful requests
+     * @param errors the number of failed requests
+     * @param throughput successful requests per second
+     * @param p50Millis median latency in milliseconds
+     * @param p99Millis 99th percentile latency in milliseconds
+     */
+    public record Result(int concurrency, long requests, long errors, double throughput, double p50Millis,
+                         double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-11d %10.0f %10.2f %10.2f %8d", concurrency, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
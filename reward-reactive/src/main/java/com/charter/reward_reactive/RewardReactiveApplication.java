@@ -0,0 +1,22 @@
+package com.charter.reward_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Main application class for the reactive Reward API.
+ * Serves the {@code /api/rewards} contract on WebFlux and R2DBC without blocking request threads.
+ */
+@SpringBootApplication
+public class RewardReactiveApplication {
+
+	/**
+	 * Main method to start the Spring Boot application.
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+		SpringApplication.run(RewardReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.charter.reward_reactive.controller;
+
+import com.charter.reward_reactive.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_reactive.dto.PagedRewardSummaryDTO;
+import com.charter.reward_reactive.dto.RewardView;
+import com.charter.reward_reactive.dto.TotalCountMode;
+import com.charter.reward_reactive.service.ReactiveRewardService;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking REST controller for customer reward points, serving the same paths and JSON as the blocking API.
+ * Calculates points based on purchase transactions: 1 point per dollar over $50, and 2 points per dollar over $100.
+ */
+@RestController
+@RequestMapping("/api/rewards")
+public class ReactiveRewardController {
+
+    private final ReactiveRewardService rewardService;
+
+    public ReactiveRewardController(ReactiveRewardService rewardService) {
+        this.rewardService = rewardService;
+    }
+
+    /**
+     * Retrieves reward summaries for all customers with pagination and optional date filtering.
+     *
+     * @param page the page number (default: 0, must be >= 0)
+     * @param size the page size (default: 10, must be >= 1)
+     * @param from optional start date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param to optional end date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param total how totals are reported: EXACT or ESTIMATED (both counted exactly here) or NONE (hasNext only)
+     * @param view how much of each summary is returned: TOTALS, MONTHLY or FULL
+     * @return paginated list of customer reward summaries with monthly breakdowns and total points
+     */
+    @GetMapping
+    public Mono<PagedRewardSummaryDTO> getAllCustomerRewards(
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must be >= 0") int page,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be >= 1") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "EXACT") TotalCountMode total,
+            @RequestParam(defaultValue = "FULL") RewardView view
+    ) {
+        return rewardService.getAllCustomerRewards(page, size, from, to, total, view);
+    }
+
+    /**
+     * Retrieves reward summary for a specific customer with optional date filtering.
+     *
+     * @param customerId the customer ID (must be >= 1)
+     * @param from optional start date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param to optional end date for filtering transactions (ISO-8601 format: yyyy-MM-dd)
+     * @param view how much of the summary is returned: TOTALS, MONTHLY or FULL
+     * @return customer reward summary with monthly breakdowns and total points
+     */
+    @GetMapping("/{customerId}")
+    public Mono<CustomerRewardSummaryDTO> getCustomerRewards(
+            @PathVariable @Min(value = 1, message = "Customer ID must be >= 1") Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "FULL") RewardView view
+    ) {
+        return rewardService.getCustomerRewards(customerId, from, to, view);
+    }
+}
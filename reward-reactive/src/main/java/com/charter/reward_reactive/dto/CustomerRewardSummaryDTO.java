@@ -0,0 +1,23 @@
+package com.charter.reward_reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a customer's reward summary.
+ * Contains customer information, monthly reward breakdowns, and total points earned.
+ *
+ * @param customerId the unique identifier of the customer
+ * @param customerName the name of the customer
+ * @param monthlyRewards list of monthly reward breakdowns, or null for the {@link RewardView#TOTALS} view
+ * @param totalPoints total reward points earned across all months
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerRewardSummaryDTO(
+        Long customerId,
+        String customerName,
+        List<MonthlyRewardDTO> monthlyRewards,
+        long totalPoints
+) {
+}
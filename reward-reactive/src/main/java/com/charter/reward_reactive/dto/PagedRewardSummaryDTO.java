@@ -0,0 +1,32 @@
+package com.charter.reward_reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for paginated reward summary responses.
+ * Contains customer reward summaries and pagination metadata.
+ * Totals are omitted when the listing was requested without counting.
+ *
+ * @param content list of customer reward summaries for the current page
+ * @param page current page number (zero-based)
+ * @param size number of items per page
+ * @param totalElements total number of customers across all pages, or null if not counted
+ * @param totalPages total number of pages, or null if not counted
+ * @param last indicates if this is the last page
+ * @param hasNext indicates if a further page exists
+ * @param totalExact indicates if the totals come from an exact count
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PagedRewardSummaryDTO(
+        List<CustomerRewardSummaryDTO> content,
+        int page,
+        int size,
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        boolean hasNext,
+        boolean totalExact
+) {
+}
@@ -0,0 +1,22 @@
+package com.charter.reward_reactive.dto;
+
+/**
+ * How much of a customer's reward summary is returned.
+ */
+public enum RewardView {
+
+    /**
+     * Total points only, without a monthly breakdown.
+     */
+    TOTALS,
+
+    /**
+     * Monthly breakdown and total points; the same as {@link #FULL} in this service.
+     */
+    MONTHLY,
+
+    /**
+     * Monthly breakdown and total points; computed from the streamed transactions.
+     */
+    FULL
+}
@@ -0,0 +1,22 @@
+package com.charter.reward_reactive.dto;
+
+/**
+ * How the reward listing reports the total number of customers.
+ */
+public enum TotalCountMode {
+
+    /**
+     * Runs a count query on every request; the total is exact.
+     */
+    EXACT,
+
+    /**
+     * Accepted for compatibility with the blocking API; this service counts exactly.
+     */
+    ESTIMATED,
+
+    /**
+     * Skips counting entirely; only {@code hasNext} is reported.
+     */
+    NONE
+}
@@ -0,0 +1,98 @@
+package com.charter.reward_reactive.exception;
+
+import com.charter.reward_reactive.dto.ErrorResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Global exception handler for the reactive Reward API.
+ * Produces the same structured error responses as the blocking API.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    /**
+     * Handles CustomerNotFoundException and returns a 404 Not Found response.
+     *
+     * @param ex the exception
+     * @return error response with 404 status
+     */
+    @ExceptionHandler(CustomerNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponseDTO handleNotFound(CustomerNotFoundException ex) {
+        return errorBody(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidDateRangeException and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidDateRange(InvalidDateRangeException ex) {
+        return errorBody(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Handles constraint violations on request parameters and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleValidation(HandlerMethodValidationException ex) {
+        String message = ex.getAllErrors().stream()
+                .map(error -> error.getDefaultMessage())
+                .findFirst()
+                .orElse("Invalid request parameter");
+        return errorBody(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Handles unparseable or missing request parameters and returns a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @return error response with 400 status
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInput(ServerWebInputException ex) {
+        String name = ex.getMethodParameter() != null ? ex.getMethodParameter().getParameterName() : null;
+        return errorBody(HttpStatus.BAD_REQUEST, name != null ? "Invalid parameter: " + name : ex.getReason());
+    }
+
+    /**
+     * Handles all unhandled exceptions and returns a 500 Internal Server Error response.
+     *
+     * @param ex the exception
+     * @return error response with 500 status
+     */
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponseDTO handleGeneric(Exception ex) {
+        log.error("Unexpected error", ex);
+        return errorBody(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    }
+
+    /**
+     * Creates a standardized error response body.
+     *
+     * @param status HTTP status
+     * @param message error message
+     * @return error response DTO
+     */
+    private ErrorResponseDTO errorBody(HttpStatus status, String message) {
+        return new ErrorResponseDTO(status.value(), status.getReasonPhrase(), message);
+    }
+}
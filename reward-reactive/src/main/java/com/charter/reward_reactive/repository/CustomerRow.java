@@ -0,0 +1,10 @@
+package com.charter.reward_reactive.repository;
+
+/**
+ * A customer as read from the {@code customer} table.
+ *
+ * @param id the customer ID
+ * @param name the customer name
+ */
+public record CustomerRow(Long id, String name) {
+}
@@ -0,0 +1,84 @@
+package com.charter.reward_reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Non-blocking access to the customer and transaction tables shared with the blocking API.
+ * Rows are emitted as the driver reads them, so downstream demand bounds how many are in memory.
+ */
+@Repository
+public class RewardRowRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public RewardRowRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds a page of customers in ID order.
+     *
+     * @param offset the number of customers to skip
+     * @param limit the maximum number of customers
+     * @return the customers
+     */
+    public Flux<CustomerRow> findCustomers(long offset, int limit) {
+        return databaseClient.sql("SELECT id, name FROM customer ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new CustomerRow(row.get("id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    /**
+     * Finds a customer by ID.
+     *
+     * @param id the customer ID
+     * @return the customer, or empty if none exists
+     */
+    public Mono<CustomerRow> findCustomer(Long id) {
+        return databaseClient.sql("SELECT id, name FROM customer WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> new CustomerRow(row.get("id", Long.class), row.get("name", String.class)))
+                .one();
+    }
+
+    /**
+     * Counts all customers.
+     *
+     * @return the customer count
+     */
+    public Mono<Long> countCustomers() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM customer")
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Streams the transactions of customers within a date range, grouped by customer ID.
+     *
+     * @param customerIds the customer IDs
+     * @param from the start date (inclusive)
+     * @param to the end date (inclusive)
+     * @return the transactions, ordered by customer ID
+     */
+    public Flux<TransactionRow> streamTransactions(Collection<Long> customerIds, LocalDate from, LocalDate to) {
+        return databaseClient.sql("""
+                        SELECT customer_id, amount, transaction_date FROM transaction
+                        WHERE customer_id IN (:customerIds) AND transaction_date BETWEEN :from AND :to
+                        ORDER BY customer_id""")
+                .bind("customerIds", customerIds)
+                .bind("from", from)
+                .bind("to", to)
+                .map((row, metadata) -> new TransactionRow(row.get("customer_id", Long.class),
+                        row.get("amount", BigDecimal.class), row.get("transaction_date", LocalDate.class)))
+                .all();
+    }
+}
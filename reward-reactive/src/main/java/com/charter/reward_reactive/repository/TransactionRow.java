@@ -0,0 +1,14 @@
+package com.charter.reward_reactive.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The columns of a transaction needed for the point calculation.
+ *
+ * @param customerId the customer ID
+ * @param amount the transaction amount
+ * @param transactionDate the transaction date
+ */
+public record TransactionRow(Long customerId, BigDecimal amount, LocalDate transactionDate) {
+}
@@ -0,0 +1,150 @@
+package com.charter.reward_reactive.service;
+
+import com.charter.reward_core.MonthlyPointsAccumulator;
+import com.charter.reward_reactive.dto.CustomerRewardSummaryDTO;
+import com.charter.reward_reactive.dto.MonthlyRewardDTO;
+import com.charter.reward_reactive.dto.PagedRewardSummaryDTO;
+import com.charter.reward_reactive.dto.RewardView;
+import com.charter.reward_reactive.dto.TotalCountMode;
+import com.charter.reward_reactive.exception.CustomerNotFoundException;
+import com.charter.reward_reactive.exception.InvalidDateRangeException;
+import com.charter.reward_reactive.repository.CustomerRow;
+import com.charter.reward_reactive.repository.RewardRowRepository;
+import com.charter.reward_reactive.repository.TransactionRow;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive reward calculation over R2DBC.
+ * Transactions are streamed in customer order and folded into one {@link MonthlyPointsAccumulator} per customer
+ * as they arrive, so memory is bounded by the customers of a page rather than by their transactions, and the
+ * database is read only as fast as the point calculation consumes rows.
+ */
+@Service
+public class ReactiveRewardService {
+
+    private static final LocalDate DEFAULT_START = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DEFAULT_END = LocalDate.of(2100, 12, 31);
+
+    private final RewardRowRepository repository;
+
+    public ReactiveRewardService(RewardRowRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Retrieves paginated reward summaries for all customers within the specified date range.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param from optional start date (defaults to 1900-01-01 if null)
+     * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param totalMode how the total is reported; {@link TotalCountMode#NONE} skips the count query
+     * @param view how much of each summary is returned
+     * @return paginated reward summaries, or an {@link InvalidDateRangeException} error
+     */
+    public Mono<PagedRewardSummaryDTO> getAllCustomerRewards(int page, int size, LocalDate from, LocalDate to,
+                                                             TotalCountMode totalMode, RewardView view) {
+        LocalDate startDate = from != null ? from : DEFAULT_START;
+        LocalDate endDate = to != null ? to : DEFAULT_END;
+        if (startDate.isAfter(endDate)) {
+            return Mono.error(new InvalidDateRangeException(startDate, endDate));
+        }
+
+        Mono<List<CustomerRow>> customers = repository.findCustomers((long) page * size, size + 1).collectList();
+        Mono<Long> count = totalMode == TotalCountMode.NONE ? Mono.just(-1L) : repository.countCustomers();
+
+        return Mono.zip(customers, count).flatMap(result -> {
+            List<CustomerRow> rows = result.getT1();
+            boolean hasNext = rows.size() > size;
+            List<CustomerRow> pageCustomers = hasNext ? rows.subList(0, size) : rows;
+            return summarize(pageCustomers, startDate, endDate, view).collectList().map(content -> {
+                Long totalElements = result.getT2() >= 0 ? result.getT2() : null;
+                Integer totalPages = totalElements != null ? (int) ((totalElements + size - 1) / size) : null;
+                return new PagedRewardSummaryDTO(content, page, size, totalElements, totalPages, !hasNext, hasNext,
+                        totalElements != null);
+            });
+        });
+    }
+
+    /**
+     * Retrieves reward summary for a specific customer within the specified date range.
+     *
+     * @param customerId the customer ID
+     * @param from optional start date (defaults to 1900-01-01 if null)
+     * @param to optional end date (defaults to 2100-12-31 if null)
+     * @param view how much of the summary is returned
+     * @return the customer's reward summary, or a {@link CustomerNotFoundException} or
+     *         {@link InvalidDateRangeException} error
+     */
+    public Mono<CustomerRewardSummaryDTO> getCustomerRewards(Long customerId, LocalDate from, LocalDate to,
+                                                             RewardView view) {
+        LocalDate startDate = from != null ? from : DEFAULT_START;
+        LocalDate endDate = to != null ? to : DEFAULT_END;
+
+        return repository.findCustomer(customerId)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(customerId)))
+                .flatMap(customer -> startDate.isAfter(endDate)
+                        ? Mono.error(new InvalidDateRangeException(startDate, endDate))
+                        : summarize(List.of(customer), startDate, endDate, view).single());
+    }
+
+    /**
+     * Streams the transactions of a page of customers through the point calculation.
+     * Rows arrive ordered by customer, so each customer's run of rows is folded into its accumulator
+     * and released before the next customer's rows are requested.
+     *
+     * @param customers the customers, in response order
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param view how much of each summary is returned
+     * @return one summary per customer, in the given order
+     */
+    private Flux<CustomerRewardSummaryDTO> summarize(List<CustomerRow> customers, LocalDate startDate, LocalDate endDate,
+                                                     RewardView view) {
+        if (customers.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Long> customerIds = customers.stream().map(CustomerRow::id).toList();
+
+        Mono<Map<Long, MonthlyPointsAccumulator>> pointsByCustomer = repository
+                .streamTransactions(customerIds, startDate, endDate)
+                .windowUntilChanged(TransactionRow::customerId)
+                .concatMap(rows -> rows.reduce(new CustomerPoints(), CustomerPoints::add))
+                .filter(points -> points.customerId != null)
+                .collectMap(points -> points.customerId, points -> points.accumulator);
+
+        return pointsByCustomer.flatMapMany(points -> Flux.fromIterable(customers)
+                .map(customer -> toSummary(customer,
+                        points.getOrDefault(customer.id(), new MonthlyPointsAccumulator()), view)));
+    }
+
+    private static CustomerRewardSummaryDTO toSummary(CustomerRow customer, MonthlyPointsAccumulator accumulator,
+                                                      RewardView view) {
+        List<MonthlyRewardDTO> monthlyRewards = view == RewardView.TOTALS ? null : accumulator.months().stream()
+                .map(month -> new MonthlyRewardDTO(month.month().getYear(), month.month().getMonth().name(),
+                        month.points()))
+                .toList();
+        return new CustomerRewardSummaryDTO(customer.id(), customer.name(), monthlyRewards, accumulator.totalPoints());
+    }
+
+    /**
+     * Points of one customer, accumulated from that customer's run of transaction rows.
+     */
+    private static final class CustomerPoints {
+
+        private final MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator();
+        private Long customerId;
+
+        CustomerPoints add(TransactionRow row) {
+            customerId = row.customerId();
+            accumulator.add(row.transactionDate(), row.amount());
+            return this;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+INSERT INTO customer (name) VALUES ('Rajesh Kumar');
+INSERT INTO customer (name) VALUES ('Priya Sharma');
+INSERT INTO customer (name) VALUES ('Amit Patel');
+
+-- 2023 Transactions
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 110.00, '2023-01-10');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 85.00, '2023-02-15');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 150.00, '2023-03-20');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 95.00, '2023-01-25');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 200.00, '2023-02-10');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 75.00, '2023-03-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 250.00, '2023-03-28');
+
+-- 2024 Transactions
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 120.00, '2024-01-15');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 45.00, '2024-01-20');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 200.00, '2024-02-10');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 75.00, '2024-02-25');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 90.00, '2024-03-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 60.00, '2024-03-18');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 120.00, '2024-01-12');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 45.00, '2024-01-28');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 49.99, '2024-02-14');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 150.00, '2024-03-08');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 300.00, '2024-01-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 44.00, '2024-02-20');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 175.00, '2024-03-12');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 75.00, '2024-03-25');
+
+-- 2025 Transactions
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 130.00, '2025-01-08');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 180.00, '2025-02-12');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 55.00, '2025-03-22');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 220.00, '2025-01-18');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 90.00, '2025-02-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 160.00, '2025-03-15');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 100.00, '2025-01-30');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 275.00, '2025-02-20');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 65.00, '2025-03-10');
+
+-- 2026 Transactions
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 140.00, '2026-01-05');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 95.00, '2026-02-14');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 210.00, '2026-03-01');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 80.00, '2026-01-20');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 190.00, '2026-02-25');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 125.00, '2026-03-08');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 155.00, '2026-01-12');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 70.00, '2026-02-18');
+INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (3, 240.00, '2026-03-22');
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS customer (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS transaction (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    transaction_date DATE NOT NULL,
+    CONSTRAINT fk_transaction_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_customer_date ON transaction (customer_id, transaction_date);
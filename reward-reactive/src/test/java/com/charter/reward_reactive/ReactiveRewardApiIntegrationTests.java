@@ -0,0 +1,100 @@
+package com.charter.reward_reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Integration tests for the reactive Reward API; the expectations match the blocking API's for the same data.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class ReactiveRewardApiIntegrationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        Flux.just(
+                "DELETE FROM transaction",
+                "DELETE FROM customer",
+                "INSERT INTO customer (id, name) VALUES (1, 'Alice Johnson')",
+                "INSERT INTO customer (id, name) VALUES (2, 'Bob Smith')",
+                "INSERT INTO customer (id, name) VALUES (3, 'Carol White')",
+                "INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 120.00, '2024-01-15')",
+                "INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 45.00, '2024-01-20')",
+                "INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (1, 200.00, '2024-02-10')",
+                "INSERT INTO transaction (customer_id, amount, transaction_date) VALUES (2, 75.00, '2024-01-12')"
+        ).concatMap(sql -> databaseClient.sql(sql).then()).blockLast();
+    }
+
+    @Test
+    void testGetAllCustomerRewards_FullIntegration() {
+        webTestClient.get().uri("/api/rewards")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.content[0].customerName").isEqualTo("Alice Johnson")
+                .jsonPath("$.content[0].totalPoints").isEqualTo(340)
+                .jsonPath("$.content[0].monthlyRewards[1].month").isEqualTo("FEBRUARY")
+                .jsonPath("$.content[1].totalPoints").isEqualTo(25)
+                .jsonPath("$.content[2].totalPoints").isEqualTo(0)
+                .jsonPath("$.content[2].monthlyRewards.length()").isEqualTo(0)
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.last").isEqualTo(true);
+    }
+
+    @Test
+    void testGetAllCustomerRewards_PagedWithoutTotals() {
+        webTestClient.get().uri("/api/rewards?page=0&size=2&total=NONE&view=TOTALS")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].monthlyRewards").doesNotExist()
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.totalElements").doesNotExist();
+    }
+
+    @Test
+    void testGetCustomerRewards_WithDateRange() {
+        webTestClient.get().uri("/api/rewards/1?from=2024-01-01&to=2024-01-31")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.monthlyRewards.length()").isEqualTo(1)
+                .jsonPath("$.monthlyRewards[0].points").isEqualTo(90)
+                .jsonPath("$.totalPoints").isEqualTo(90);
+    }
+
+    @Test
+    void testErrors() {
+        webTestClient.get().uri("/api/rewards/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Customer not found with id: 999");
+
+        webTestClient.get().uri("/api/rewards?from=2024-12-31&to=2024-01-01")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/rewards?page=-1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Page must be >= 0");
+    }
+}